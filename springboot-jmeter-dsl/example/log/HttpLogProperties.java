@@ -0,0 +1,41 @@
+package com.example.shop.support.aspect;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 请求日志切面配置（前缀 http-log）
+ * - async: 异步模式，请求线程只做快照入队，写日志在后台线程完成；@LogSample(freeze = true) 的端点在请求线程上序列化入参与返回值
+ * - sampleRates: 按 "类名#方法名"（与日志中的 classMethod 一致）配置采样率，优先于 @LogSample
+ */
+@Component
+@ConfigurationProperties(prefix = "http-log")
+public class HttpLogProperties {
+
+    /** 是否异步写请求日志 */
+    private boolean async = false;
+
+    /** 异步队列容量，满时丢弃并计数 */
+    private int queueCapacity = 8192;
+
+    /** 默认采样率，0 ~ 1 */
+    private double defaultSampleRate = 1.0;
+
+    /** 按端点的采样率，如 MetricsController#snapshot: 0.01 */
+    private Map<String, Double> sampleRates = new HashMap<>();
+
+    public boolean isAsync() { return async; }
+    public void setAsync(boolean async) { this.async = async; }
+
+    public int getQueueCapacity() { return queueCapacity; }
+    public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+
+    public double getDefaultSampleRate() { return defaultSampleRate; }
+    public void setDefaultSampleRate(double defaultSampleRate) { this.defaultSampleRate = defaultSampleRate; }
+
+    public Map<String, Double> getSampleRates() { return sampleRates; }
+    public void setSampleRates(Map<String, Double> sampleRates) { this.sampleRates = sampleRates; }
+}
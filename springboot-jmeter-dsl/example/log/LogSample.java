@@ -0,0 +1,19 @@
+package com.example.shop.support.aspect;
+
+import java.lang.annotation.*;
+
+/**
+ * 请求日志采样率，标注在 Controller 类或方法上（方法优先），如指标轮询、探活接口 @LogSample(0.01)
+ * - 0 表示只在抛出异常时记录
+ * - 配置项 http-log.sample-rates 优先于注解
+ * - freeze=true：异步模式下在请求线程上序列化入参与返回值，用于 Controller 返回后仍会修改入参或返回对象的端点，
+ *   如 @LogSample(value = 1, freeze = true)
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface LogSample {
+    double value();
+
+    boolean freeze() default false;
+}
@@ -12,26 +12,41 @@ import org.slf4j.MDC;
 import org.springframework.core.DefaultParameterNameDiscoverer;
 import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.util.ReflectionUtils;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.context.request.*;
 
+import javax.annotation.PreDestroy;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 import java.util.stream.Collectors;
 
 /**
  * 请求 / 响应 / 耗时 日志切面
  * - 仅作用于 @RestController 标注的类
  * - 需要配合 TraceFilter/TraceUtil，确保 MDC 中有 requestId
+ * - 按端点采样（http-log.sample-rates > 方法上的 @LogSample > 类上的 @LogSample > 默认采样率），
+ *   未采样的请求只在抛出异常时记录
+ * - http-log.async=true 时请求线程只截取快照放入有界无锁队列，格式化与写日志在后台线程完成；队列满时丢弃并计数，不阻塞请求。
+ *   入参按引用保存，返回值为 ResponseEntity 时只保留 body 的引用，由后台线程序列化；
+ *   Controller 返回后仍会修改入参或返回对象的端点用 @LogSample(freeze = true) 标注，改为在请求线程上脱敏并序列化
  */
 @Aspect
 @Component
@@ -49,36 +64,84 @@ public class LoggingAspect {
 
     private static final DefaultParameterNameDiscoverer NAME_DISCOVERER = new DefaultParameterNameDiscoverer();
 
+    /** 后台线程队列为空时的休眠时间 */
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final HttpLogProperties properties;
+    /** 按处理方法缓存的采样策略，避免每次请求查注解 */
+    private final Map<Method, Sampling> samplings = new ConcurrentHashMap<>();
+
+    // ConcurrentLinkedQueue 无锁，容量由 queued 计数约束
+    private final Queue<LogEvent> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder dropped = new LongAdder();
+    private long reportedDropped;
+    private volatile boolean running = true;
+    private final Thread writer;
+
+    public LoggingAspect(HttpLogProperties properties) {
+        this.properties = properties;
+        if (properties.isAsync()) {
+            writer = new Thread(this::drain, "http-log-writer");
+            writer.setDaemon(true);
+            writer.start();
+        } else {
+            writer = null;
+        }
+    }
+
     @Pointcut("@within(org.springframework.web.bind.annotation.RestController)")
     public void anyRestController() {}
 
     @Around("anyRestController()")
     public Object around(ProceedingJoinPoint pjp) throws Throwable {
-        long startNs = System.nanoTime();
-        HttpServletRequest req = currentRequest();
-        HttpServletResponse resp = currentResponse();
-
-        // 确保 requestId 存在
-        String reqId = TraceUtil.ensure();
-
         MethodSignature ms = (MethodSignature) pjp.getSignature();
-        String classMethod = ms.getDeclaringType().getSimpleName() + "#" + ms.getName();
-
-        // 请求上下文
-        String method = req != null ? req.getMethod() : "N/A";
-        String uri = req != null ? req.getRequestURI() : classMethod;
-        String query = req != null ? emptyIfNull(req.getQueryString()) : "";
-        Map<String, String> headers = req != null ? extractHeaders(req) : Map.of();
+        Sampling sampling = sampling(ms);
+        double rate = sampling.rate();
+        boolean sampled = rate >= 1 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+        if (!sampled) {
+            return proceedUnsampled(pjp, ms, sampling.freeze());
+        }
+        if (!properties.isAsync()) {
+            return aroundSync(pjp, ms);
+        }
+        LogEvent event = capture(pjp, ms);
+        if (sampling.freeze()) {
+            // 入参按进入方法时的状态记录，与同步模式先打 REQ 一致
+            freezeArgs(event);
+        }
+        Object result = null;
+        Throwable ex = null;
+        try {
+            result = pjp.proceed();
+            return result;
+        } catch (Throwable t) {
+            ex = t;
+            throw t;
+        } finally {
+            enqueue(event.complete(result, ex), sampling.freeze());
+        }
+    }
 
-        // 入参快照（带脱敏/忽略）
-        Object argsView = buildArgsView(pjp);
+    /** 异步队列累计丢弃的日志条数 */
+    public long droppedCount() {
+        return dropped.sum();
+    }
 
-        // 打印请求日志
-        if (log.isInfoEnabled()) {
-            log.info("REQ | id={} | {} {}{} | headers={} | args={}",
-                    reqId, method, uri, formatQuery(query), truncate(JsonUtil.toJson(headers)),
-                    truncate(JsonUtil.toJson(argsView)));
+    /** 停止后台线程前写完队列中剩余的日志 */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+            writer.join(TimeUnit.SECONDS.toMillis(5));
         }
+    }
+
+    /** 同步模式：请求前打印 REQ，返回后打印 RESP */
+    private Object aroundSync(ProceedingJoinPoint pjp, MethodSignature ms) throws Throwable {
+        LogEvent event = capture(pjp, ms);
+        writeRequest(event);
 
         Object result = null;
         Throwable ex = null;
@@ -89,24 +152,205 @@ public class LoggingAspect {
             ex = t;
             throw t;
         } finally {
-            long costMs = (System.nanoTime() - startNs) / 1_000_000;
-            int status = resp != null ? resp.getStatus() : (ex == null ? 200 : 500);
+            writeResponse(event.complete(result, ex));
+        }
+    }
 
-            // 响应体（尽力取，避免超大/循环引用）
-            String resultStr;
+    /** 未采样：不截取快照，只有抛出异常时补记一条 */
+    private Object proceedUnsampled(ProceedingJoinPoint pjp, MethodSignature ms, boolean freeze) throws Throwable {
+        long startNs = System.nanoTime();
+        try {
+            return pjp.proceed();
+        } catch (Throwable t) {
+            LogEvent event = capture(pjp, ms, startNs).complete(null, t);
+            if (properties.isAsync()) {
+                if (freeze) freezeArgs(event);
+                enqueue(event, freeze);
+            } else {
+                writeRequest(event);
+                writeResponse(event);
+            }
+            throw t;
+        }
+    }
+
+    // ----------------- snapshot / queue -----------------
+
+    private LogEvent capture(ProceedingJoinPoint pjp, MethodSignature ms) {
+        return capture(pjp, ms, System.nanoTime());
+    }
+
+    /** 请求线程上的快照：只做字符串读取与数组复制，入参按引用保存 */
+    private LogEvent capture(ProceedingJoinPoint pjp, MethodSignature ms, long startNs) {
+        HttpServletRequest req = currentRequest();
+        String classMethod = ms.getDeclaringType().getSimpleName() + "#" + ms.getName();
+        Object[] args = pjp.getArgs();
+        return new LogEvent(
+                startNs,
+                TraceUtil.ensure(),
+                req != null ? req.getMethod() : "N/A",
+                req != null ? req.getRequestURI() : classMethod,
+                req != null ? emptyIfNull(req.getQueryString()) : "",
+                req != null ? extractHeaders(req) : Map.of(),
+                ms.getMethod(),
+                args == null ? new Object[0] : args.clone(),
+                currentResponse());
+    }
+
+    private void enqueue(LogEvent event, boolean freeze) {
+        if (queued.incrementAndGet() > properties.getQueueCapacity()) {
+            queued.decrementAndGet();
+            dropped.increment();
+            return;
+        }
+        if (freeze) {
+            // 放过容量检查后再序列化，被丢弃的事件不多花时间
+            event.resultJson = resultJson(event);
+            event.result = null;
+        }
+        queue.offer(event);
+    }
+
+    /** 在请求线程上脱敏并序列化入参，不再保留引用 */
+    private void freezeArgs(LogEvent e) {
+        // 不打印 REQ 时入参无需保留
+        e.argsJson = log.isInfoEnabled() ? argsJson(e) : "";
+        e.args = null;
+    }
+
+    private void drain() {
+        while (running || !queue.isEmpty()) {
+            LogEvent event = queue.poll();
+            if (event == null) {
+                reportDropped();
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            queued.decrementAndGet();
+            MDC.put(TraceUtil.REQUEST_ID, event.reqId);
             try {
-                resultStr = truncate(JsonUtil.toJson(result));
+                writeRequest(event);
+                writeResponse(event);
             } catch (Exception e) {
-                resultStr = "<unserializable>";
+                log.warn("write http log failed | id={}", event.reqId, e);
+            } finally {
+                MDC.remove(TraceUtil.REQUEST_ID);
             }
+        }
+        reportDropped();
+    }
+
+    private void reportDropped() {
+        long total = dropped.sum();
+        if (total > reportedDropped) {
+            log.warn("http log queue full, dropped={} (total={})", total - reportedDropped, total);
+            reportedDropped = total;
+        }
+    }
+
+    private Sampling sampling(MethodSignature ms) {
+        return samplings.computeIfAbsent(ms.getMethod(), m -> {
+            LogSample sample = AnnotatedElementUtils.findMergedAnnotation(m, LogSample.class);
+            if (sample == null) sample = AnnotatedElementUtils.findMergedAnnotation(ms.getDeclaringType(), LogSample.class);
+            Double configured = properties.getSampleRates().get(ms.getDeclaringType().getSimpleName() + "#" + m.getName());
+            double rate = configured != null ? configured
+                    : sample != null ? sample.value() : properties.getDefaultSampleRate();
+            return new Sampling(rate, sample != null && sample.freeze());
+        });
+    }
+
+    /** 端点的采样率，以及异步模式下是否在请求线程上序列化入参与返回值 */
+    private record Sampling(double rate, boolean freeze) {}
+
+    // ----------------- write -----------------
 
-            if (ex == null) {
-                log.info("RESP | id={} | {} {} | status={} | costMs={} | body={}",
-                        reqId, method, uri, status, costMs, resultStr);
+    private void writeRequest(LogEvent e) {
+        if (log.isInfoEnabled()) {
+            log.info("REQ | id={} | {} {}{} | headers={} | args={}",
+                    e.reqId, e.method, e.uri, formatQuery(e.query), truncate(JsonUtil.toJson(e.headers)), argsJson(e));
+        }
+    }
+
+    private void writeResponse(LogEvent e) {
+        String resultStr = resultJson(e);
+
+        if (e.ex == null) {
+            log.info("RESP | id={} | {} {} | status={} | costMs={} | body={}",
+                    e.reqId, e.method, e.uri, e.status, e.costMs, resultStr);
+        } else {
+            log.warn("RESP | id={} | {} {} | status={} | costMs={} | ex={} | body={}",
+                    e.reqId, e.method, e.uri, e.status, e.costMs, e.ex.toString(), resultStr);
+        }
+    }
+
+    private String argsJson(LogEvent e) {
+        if (e.argsJson != null) return e.argsJson;
+        try {
+            return truncate(JsonUtil.toJson(buildArgsView(e.handler, e.args)));
+        } catch (Exception ex) {
+            return "<unserializable>";
+        }
+    }
+
+    /** 响应体（尽力取，避免超大/循环引用） */
+    private String resultJson(LogEvent e) {
+        if (e.resultJson != null) return e.resultJson;
+        try {
+            return truncate(JsonUtil.toJson(e.result));
+        } catch (Exception ex) {
+            return "<unserializable>";
+        }
+    }
+
+    /**
+     * 一次调用的日志快照，在请求线程上创建并由 complete 补齐结果；
+     * freeze 的端点在入队前把入参与返回值替换为序列化后的字符串。入队之后只由后台线程读取
+     */
+    private static final class LogEvent {
+        final long startNs;
+        final String reqId;
+        final String method;
+        final String uri;
+        final String query;
+        final Map<String, String> headers;
+        final Method handler;
+        /** 入参引用，freeze 时为 null 并改用 argsJson */
+        Object[] args;
+        String argsJson;
+        /** 只在请求线程上读取状态码，complete 后释放，容器会回收响应对象 */
+        HttpServletResponse resp;
+        Object result;
+        String resultJson;
+        Throwable ex;
+        int status;
+        long costMs;
+
+        LogEvent(long startNs, String reqId, String method, String uri, String query, Map<String, String> headers,
+                 Method handler, Object[] args, HttpServletResponse resp) {
+            this.startNs = startNs;
+            this.reqId = reqId;
+            this.method = method;
+            this.uri = uri;
+            this.query = query;
+            this.headers = headers;
+            this.handler = handler;
+            this.args = args;
+            this.resp = resp;
+        }
+
+        LogEvent complete(Object result, Throwable ex) {
+            this.ex = ex;
+            this.costMs = (System.nanoTime() - startNs) / 1_000_000;
+            this.status = resp != null ? resp.getStatus() : (ex == null ? 200 : 500);
+            if (result instanceof ResponseEntity<?> entity) {
+                // 此时状态码还未写入 resp，以 ResponseEntity 为准；只保留 body 的引用，不记录响应头
+                this.status = entity.getStatusCode().value();
+                this.result = entity.getBody();
             } else {
-                log.warn("RESP | id={} | {} {} | status={} | costMs={} | ex={} | body={}",
-                        reqId, method, uri, status, costMs, ex.toString(), resultStr);
+                this.result = result;
             }
+            this.resp = null;
+            return this;
         }
     }
 
@@ -163,13 +407,11 @@ public class LoggingAspect {
     }
 
     /** 构造入参视图：支持 @LogIgnore 忽略与常见字段脱敏 */
-    private Object buildArgsView(ProceedingJoinPoint pjp) {
-        Object[] args = pjp.getArgs();
+    private Object buildArgsView(Method handler, Object[] args) {
         if (args == null || args.length == 0) return List.of();
 
-        MethodSignature ms = (MethodSignature) pjp.getSignature();
-        Parameter[] params = ms.getMethod().getParameters();
-        String[] names = NAME_DISCOVERER.getParameterNames(ms.getMethod());
+        Parameter[] params = handler.getParameters();
+        String[] names = NAME_DISCOVERER.getParameterNames(handler);
 
         List<Map<String, Object>> list = new ArrayList<>();
         for (int i = 0; i < args.length; i++) {
@@ -1,17 +1,20 @@
 package com.example.shop.common.util;
 
+import com.example.jmeterdsl.util.Ulid;
+import com.example.jmeterdsl.util.UlidGenerator;
 import java.security.SecureRandom;
-import java.time.Instant;
 import java.util.Base64;
 import java.util.Objects;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
 
 /**
  * ID 生成工具：
  * - uuid(): 标准 UUIDv4
  * - shortUuid(): 使用 Base62 压缩的短 UUID（适合日志展示/URL）
- * - snowflake(): 雪花算法（64bit，趋势递增，适合主键）
- * - ulid(): ULID（时间有序，字符串排序即时间排序）
+ * - snowflake() / snowflakes(n): 雪花算法（64bit，趋势递增，适合主键），无锁实现，支持批量发号
+ * - ulid() / fastUlid() / monotonicUlid(): ULID（时间有序，字符串排序即时间排序），UlidGenerator 支持写入调用方缓冲区与二进制形式
  */
 public final class IdUtil {
     private IdUtil() {}
@@ -44,7 +47,16 @@ public final class IdUtil {
         return SNOWFLAKE.nextId();
     }
 
-    // 经典雪花实现
+    /** 批量获取 n 个连续递增的雪花 ID，同一毫秒内的一段序列号只需一次 CAS */
+    public static long[] snowflakes(int n) {
+        return SNOWFLAKE.nextIds(n);
+    }
+
+    /**
+     * 无锁雪花实现：最近一次发号的 (时间戳, 序列号) 打包在一个 AtomicLong 中，发号即一次 CAS，
+     * 不再持有锁，也不在锁内自旋或 sleep。位布局与原实现一致（41 位时间 + 5 位机房 + 5 位机器 + 12 位序列），
+     * 同一实例发出的 ID 严格递增：时钟回拨时沿用上次的时间戳继续递增序列号，序列号用尽时自旋等待下一毫秒。
+     */
     public static final class Snowflake {
         private static final long EPOCH = 1577836800000L; // 2020-01-01
         private static final long WORKER_ID_BITS = 5L;
@@ -58,50 +70,74 @@ public final class IdUtil {
         private static final long TIMESTAMP_LEFT_SHIFT = SEQUENCE_BITS + WORKER_ID_BITS + DATACENTER_ID_BITS; // 22
         private static final long SEQUENCE_MASK = ~(-1L << SEQUENCE_BITS); // 4095
 
-        private final long workerId;
-        private final long datacenterId;
-        private long sequence = 0L;
-        private long lastTimestamp = -1L;
+        /** 机房与机器位，发号时直接或上 */
+        private final long node;
+        /** (ts - EPOCH) << SEQUENCE_BITS | sequence，初始为 -1 表示尚未发号 */
+        private final AtomicLong state = new AtomicLong(-1L);
+        private final LongSupplier clock;
 
         public Snowflake(long datacenterId, long workerId) {
+            this(datacenterId, workerId, System::currentTimeMillis);
+        }
+
+        /** clock 返回毫秒时间戳（不早于 EPOCH），测试或基准中可用逻辑时钟替代系统时钟 */
+        public Snowflake(long datacenterId, long workerId, LongSupplier clock) {
             if (workerId > MAX_WORKER_ID || workerId < 0)
                 throw new IllegalArgumentException("workerId out of range");
             if (datacenterId > MAX_DATACENTER_ID || datacenterId < 0)
                 throw new IllegalArgumentException("datacenterId out of range");
-            this.workerId = workerId;
-            this.datacenterId = datacenterId;
+            this.node = (datacenterId << DATACENTER_ID_SHIFT) | (workerId << WORKER_ID_SHIFT);
+            this.clock = Objects.requireNonNull(clock);
         }
 
-        public synchronized long nextId() {
-            long ts = timeGen();
-            if (ts < lastTimestamp) {
-                // 时钟回拨：等待至可用
-                long offset = lastTimestamp - ts;
-                try { Thread.sleep(Math.min(offset, 5)); } catch (InterruptedException ignored) {}
-                ts = timeGen();
-                if (ts < lastTimestamp) ts = lastTimestamp; // 兜底
+        public long nextId() {
+            while (true) {
+                long prev = state.get();
+                long next = advance(prev, timeGen() - EPOCH);
+                if (next < 0) {
+                    Thread.onSpinWait(); // 本毫秒序列号用尽，等待时钟前进
+                    continue;
+                }
+                if (state.compareAndSet(prev, next)) return compose(next);
             }
+        }
 
-            if (lastTimestamp == ts) {
-                sequence = (sequence + 1) & SEQUENCE_MASK;
-                if (sequence == 0) ts = tilNextMillis(lastTimestamp);
-            } else {
-                sequence = ThreadLocalRandom.current().nextInt(1, 3); // 抖动，降低碰撞
+        /** 批量发号：每次 CAS 预留当前毫秒内剩余的一段序列号，返回的 ID 严格递增 */
+        public long[] nextIds(int n) {
+            if (n < 0) throw new IllegalArgumentException("n must be >= 0");
+            long[] ids = new long[n];
+            int filled = 0;
+            while (filled < n) {
+                long prev = state.get();
+                long first = advance(prev, timeGen() - EPOCH);
+                if (first < 0) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                int count = (int) Math.min(n - filled, SEQUENCE_MASK - (first & SEQUENCE_MASK) + 1);
+                if (state.compareAndSet(prev, first + count - 1)) {
+                    for (int i = 0; i < count; i++) ids[filled + i] = compose(first + i);
+                    filled += count;
+                }
             }
-            lastTimestamp = ts;
+            return ids;
+        }
 
-            return ((ts - EPOCH) << TIMESTAMP_LEFT_SHIFT)
-                    | (datacenterId << DATACENTER_ID_SHIFT)
-                    | (workerId << WORKER_ID_SHIFT)
-                    | sequence;
+        /** 根据上一次状态与当前时间计算下一个状态，本毫秒序列号用尽时返回 -1 */
+        private static long advance(long prev, long now) {
+            long lastTs = prev >> SEQUENCE_BITS;
+            if (now > lastTs) {
+                return (now << SEQUENCE_BITS) | ThreadLocalRandom.current().nextInt(1, 3); // 抖动，降低碰撞
+            }
+            // 同一毫秒或时钟回拨：沿用上次时间戳
+            return (prev & SEQUENCE_MASK) == SEQUENCE_MASK ? -1 : prev + 1;
         }
 
-        private long tilNextMillis(long lastTs) {
-            long ts = timeGen();
-            while (ts <= lastTs) ts = timeGen();
-            return ts;
+        private long compose(long state) {
+            return ((state >>> SEQUENCE_BITS) << TIMESTAMP_LEFT_SHIFT) | node | (state & SEQUENCE_MASK);
         }
-        private long timeGen() { return System.currentTimeMillis(); }
+
+        private long timeGen() { return clock.getAsLong(); }
     }
 
     private static long getPropAsLong(String key, long def) {
@@ -112,34 +148,29 @@ public final class IdUtil {
     }
 
     // ---------------- ULID ----------------
-    private static final char[] ENCODING = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray(); // Crockford
     private static final SecureRandom SEC = new SecureRandom();
+    private static final UlidGenerator FAST_ULID = UlidGenerator.random();
+    private static final UlidGenerator MONOTONIC_ULID = UlidGenerator.monotonic();
 
-    /** 26位 ULID（字典序即时间序） */
+    /** 26位 ULID（字典序即时间序），随机部分来自 SecureRandom，需要不可预测时使用 */
     public static String ulid() {
-        long time = Instant.now().toEpochMilli();
+        long time = System.currentTimeMillis();
+        // 不用 ThreadLocal 复用缓冲：SecureRandom 内部本身会分配，ThreadLocal 查找反而更慢
         byte[] rand = new byte[10]; SEC.nextBytes(rand);
-        char[] out = new char[26];
-        // 48-bit time -> 10 chars
-        encodeBase32(out, 0, time >>> 40, 2);
-        encodeBase32(out, 2, time >>> 32, 2);
-        encodeBase32(out, 4, time >>> 24, 2);
-        encodeBase32(out, 6, time >>> 16, 2);
-        encodeBase32(out, 8, time >>> 8, 2);
-        encodeBase32(out,10, time, 2);
-        // 80-bit random -> 16 chars
-        long r0 = bytesToLong(rand, 0);
-        long r1 = ((long)(rand[8] & 0xFF) << 8) | (rand[9] & 0xFF);
-        encodeBase32(out, 12, r0 >>> 32, 8);
-        encodeBase32(out, 20, ((r0 & 0xFFFFFFFFL) << 16) | r1, 6);
-        return new String(out);
+        long msb = (time << 16) | ((rand[0] & 0xFFL) << 8) | (rand[1] & 0xFFL);
+        return Ulid.toString(msb, bytesToLong(rand, 2));
     }
-    private static void encodeBase32(char[] out, int pos, long val, int chars) {
-        for (int i = chars - 1; i >= 0; i--) {
-            out[pos + i] = ENCODING[(int)(val & 31)];
-            val >>>= 5;
-        }
+
+    /** 随机部分来自 ThreadLocalRandom，无锁，适合高频的运行/采样 ID，不可用作令牌 */
+    public static String fastUlid() {
+        return FAST_ULID.next();
     }
+
+    /** 同一毫秒内严格递增的 ULID（进程内全局有序），适合按主键顺序插入的 log_event 等表 */
+    public static String monotonicUlid() {
+        return MONOTONIC_ULID.next();
+    }
+
     private static long bytesToLong(byte[] b, int off) {
         long v = 0; for (int i = 0; i < 8; i++) v = (v << 8) | (b[off + i] & 0xFF); return v;
     }
@@ -0,0 +1,156 @@
+package com.example.jmeterdsl.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * 比较两份 JMH JSON 结果：参数为基线文件、本次结果文件与容忍比例。
+ * 主指标变差超过容忍比例，且差值大于两边误差（99.9% 置信区间半宽）之和时判为回归；
+ * 每次操作分配字节数（gc.alloc.rate.norm）增加超过容忍比例且多于 16 字节时同样判为回归。
+ * 存在回归时以状态码 1 退出，基线中没有的基准只打印不判定。
+ * 以 --record 启动时把本次结果写成新基线：去掉 JVM 路径等机器相关字段，默认不收录 @Threads 多线程基准。
+ */
+public final class BaselineComparison {
+
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+    /** 分配量的绝对下限，避免 0 字节与几个字节之间的抖动被判为回归 */
+    private static final double MIN_ALLOCATION_BYTES = 16;
+    /** JMH 结果中与录制机器相关的字段，不进入基线 */
+    private static final List<String> HOST_FIELDS = List.of("jvm", "jvmArgs", "jdkVersion", "vmName", "vmVersion");
+
+    private BaselineComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length >= 3 && "--record".equals(args[0])) {
+            record(new File(args[1]), new File(args[2]), args.length > 3 && Boolean.parseBoolean(args[3]));
+            return;
+        }
+        if (args.length < 2) {
+            System.err.println("用法: BaselineComparison <baseline.json> <result.json> [tolerance]");
+            System.err.println("      BaselineComparison --record <result.json> <baseline.json> [multiThread]");
+            System.exit(2);
+        }
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : 0.15;
+        Map<String, JsonNode> baseline = load(new File(args[0]));
+        Map<String, JsonNode> current = load(new File(args[1]));
+        int regressions = 0;
+        System.out.printf("%-80s %14s %14s %9s %12s %12s  %s%n",
+                "benchmark", "baseline", "current", "change", "B/op base", "B/op now", "verdict");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode now = entry.getValue();
+            JsonNode base = baseline.get(entry.getKey());
+            JsonNode metric = now.path("primaryMetric");
+            if (base == null) {
+                System.out.printf("%-80s %14s %14.3f %9s %12s %12s  %s%n", entry.getKey(), "-",
+                        metric.path("score").asDouble(), "-", "-", format(allocation(now)),
+                        multiThreaded(now) ? "SKIP (threads)" : "NEW");
+                continue;
+            }
+            JsonNode baseMetric = base.path("primaryMetric");
+            double baseScore = baseMetric.path("score").asDouble();
+            double score = metric.path("score").asDouble();
+            // 吞吐模式越大越好，其余模式（平均时间、采样时间）越小越好
+            boolean higherIsBetter = "thrpt".equals(now.path("mode").asText());
+            double worse = higherIsBetter ? baseScore - score : score - baseScore;
+            double noise = error(baseMetric) + error(metric);
+            boolean slower = baseScore > 0 && worse / baseScore > tolerance && worse > noise;
+            double baseAllocation = allocation(base);
+            double allocationNow = allocation(now);
+            boolean allocates = !Double.isNaN(baseAllocation) && !Double.isNaN(allocationNow)
+                    && allocationNow - baseAllocation > Math.max(MIN_ALLOCATION_BYTES, baseAllocation * tolerance);
+            String verdict = slower && allocates ? "REGRESSED (time, alloc)"
+                    : slower ? "REGRESSED (time)" : allocates ? "REGRESSED (alloc)" : "OK";
+            if (slower || allocates) {
+                regressions++;
+            }
+            System.out.printf("%-80s %14.3f %14.3f %+8.1f%% %12s %12s  %s%n", entry.getKey(), baseScore, score,
+                    baseScore > 0 ? (score / baseScore - 1) * 100 : 0, format(baseAllocation),
+                    format(allocationNow), verdict);
+        }
+        if (regressions > 0) {
+            System.out.println(regressions + " 个基准相对基线回归");
+            System.exit(1);
+        }
+    }
+
+    /** 多线程基准的数值取决于录制机器的核数，只有在固定的参考机器上录制时才收录 */
+    private static void record(File result, File baseline, boolean multiThread) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        ArrayNode recorded = mapper.createArrayNode();
+        for (JsonNode node : mapper.readTree(result)) {
+            if (!multiThread && multiThreaded(node)) {
+                continue;
+            }
+            ((ObjectNode) node).remove(HOST_FIELDS);
+            recorded.add(node);
+        }
+        mapper.writerWithDefaultPrettyPrinter().writeValue(baseline, recorded);
+        System.out.println("已写入 " + recorded.size() + " 个基准到 " + baseline);
+    }
+
+    /**
+     * 按 @Threads 注解判断，而不是结果里的线程数：Threads.MAX 在单核机器上录制时线程数为 1，
+     * 但换到多核机器上就是另一个基准。
+     */
+    private static boolean multiThreaded(JsonNode result) {
+        if (result.path("threads").asInt(1) > 1) {
+            return true;
+        }
+        String benchmark = result.path("benchmark").asText();
+        int dot = benchmark.lastIndexOf('.');
+        try {
+            Class<?> type = Class.forName(benchmark.substring(0, dot));
+            for (Method method : type.getMethods()) {
+                if (method.getName().equals(benchmark.substring(dot + 1))) {
+                    Threads threads = method.isAnnotationPresent(Threads.class)
+                            ? method.getAnnotation(Threads.class) : type.getAnnotation(Threads.class);
+                    return threads != null && threads.value() != 1;
+                }
+            }
+        } catch (ClassNotFoundException | StringIndexOutOfBoundsException e) {
+            // 基准类不在 classpath 上时只能依据线程数
+        }
+        return false;
+    }
+
+    /** 以基准方法名加参数为键，@Threads 不同的同名方法各自是独立的基准 */
+    private static Map<String, JsonNode> load(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode node : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(node.path("benchmark").asText());
+            Iterator<Map.Entry<String, JsonNode>> params = node.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                key.append(key.indexOf(":") < 0 ? ":" : ",").append(param.getKey()).append('=')
+                        .append(param.getValue().asText());
+            }
+            results.put(key.toString(), node);
+        }
+        return results;
+    }
+
+    private static double error(JsonNode metric) {
+        double error = metric.path("scoreError").asDouble(0);
+        return Double.isNaN(error) ? 0 : error;
+    }
+
+    private static double allocation(JsonNode result) {
+        JsonNode metric = result.path("secondaryMetrics").path(ALLOCATION);
+        return metric.isMissingNode() ? Double.NaN : metric.path("score").asDouble();
+    }
+
+    private static String format(double bytes) {
+        return Double.isNaN(bytes) ? "-" : String.format("%.1f", bytes);
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.jmeterdsl.benchmark;
+
+import com.example.jmeterdsl.util.Ulid;
+import com.example.jmeterdsl.util.UlidGenerator;
+import com.example.shop.common.util.IdUtil;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 给采样、日志事件打 ID 的开销；多线程版本测量全局生成器上的竞争。
+ * 系统时钟下单个雪花生成器每毫秒最多发 4096 个 ID（约 244 ns/个），snowflake* 测到的是这个上限；
+ * uncapped* 使用约 1 微秒前进一次的逻辑时钟，测量生成器本身的开销与 CAS 竞争。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IdUtilBenchmark {
+
+    private static final int BATCH = 64;
+
+    private IdUtil.Snowflake uncapped;
+    private UlidGenerator monotonicUlid;
+
+    @State(Scope.Thread)
+    public static class Buffers {
+        final byte[] ascii = new byte[Ulid.LENGTH];
+        final long[] binary = new long[2];
+    }
+
+    @Setup
+    public void setUp() {
+        long base = System.currentTimeMillis();
+        long start = System.nanoTime();
+        uncapped = new IdUtil.Snowflake(1, 1, () -> base + ((System.nanoTime() - start) >> 10));
+        monotonicUlid = UlidGenerator.monotonic();
+    }
+
+    @Benchmark
+    public long snowflake() {
+        return IdUtil.snowflake();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public long snowflakeAllCores() {
+        return IdUtil.snowflake();
+    }
+
+    /** 按单个 ID 计时，便于与 snowflake 直接比较 */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long[] snowflakeBatch() {
+        return IdUtil.snowflakes(BATCH);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    @OperationsPerInvocation(BATCH)
+    public long[] snowflakeBatchAllCores() {
+        return IdUtil.snowflakes(BATCH);
+    }
+
+    @Benchmark
+    public long uncapped() {
+        return uncapped.nextId();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public long uncappedAllCores() {
+        return uncapped.nextId();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long[] uncappedBatch() {
+        return uncapped.nextIds(BATCH);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    @OperationsPerInvocation(BATCH)
+    public long[] uncappedBatchAllCores() {
+        return uncapped.nextIds(BATCH);
+    }
+
+    @Benchmark
+    public String ulid() {
+        return IdUtil.ulid();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String ulidAllCores() {
+        return IdUtil.ulid();
+    }
+
+    @Benchmark
+    public String fastUlid() {
+        return IdUtil.fastUlid();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String fastUlidAllCores() {
+        return IdUtil.fastUlid();
+    }
+
+    @Benchmark
+    public String monotonicUlid() {
+        return IdUtil.monotonicUlid();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String monotonicUlidAllCores() {
+        return IdUtil.monotonicUlid();
+    }
+
+    /** 写入调用方缓冲区，不分配 */
+    @Benchmark
+    public byte[] monotonicUlidIntoBuffer(Buffers buffers) {
+        monotonicUlid.next(buffers.ascii, 0);
+        return buffers.ascii;
+    }
+
+    /** (msb, lsb) 二进制形式，不分配 */
+    @Benchmark
+    public long[] monotonicUlidBinary(Buffers buffers) {
+        monotonicUlid.next(buffers.binary, 0);
+        return buffers.binary;
+    }
+
+    @Benchmark
+    public String shortUuid() {
+        return IdUtil.shortUuid();
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.jmeterdsl.benchmark;
+
+import com.example.shop.common.util.JsonUtil;
+import com.example.shop.common.util.MaskUtil;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 请求日志每次调用的序列化与脱敏：请求头 Map、脱敏后的入参视图与返回对象各做一次 toJson。
+ * LoggingAspect 本身依赖 javax.servlet 与 AspectJ，无法在本模块编译，这里按它的调用顺序组合 MaskUtil 与 JsonUtil。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonUtilBenchmark {
+
+    private Map<String, String> headers;
+    private Order order;
+
+    public record Order(long id, String customerName, String phone, String email, BigDecimal amount,
+                        LocalDateTime createdAt, List<String> items) {
+    }
+
+    @Setup
+    public void setUp() {
+        headers = new LinkedHashMap<>();
+        headers.put("content-type", "application/json");
+        headers.put("user-agent", "Apache-HttpClient/4.5.14 (Java/17)");
+        headers.put("x-request-id", "kq3XW5bYQ0i1p7m2c9fZrA");
+        headers.put("authorization", "Bearer eyJhbG****x9Qk");
+        order = new Order(1234567890L, "张三丰", "13812345678", "zhangsan@example.com", new BigDecimal("199.90"),
+                LocalDateTime.of(2024, 5, 1, 12, 30), List.of("sku-1001", "sku-1002", "sku-1003"));
+    }
+
+    @Benchmark
+    public String headers() {
+        return JsonUtil.toJson(headers);
+    }
+
+    @Benchmark
+    public String result() {
+        return JsonUtil.toJson(order);
+    }
+
+    @Benchmark
+    public String maskedArgs() {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("id", order.id());
+        view.put("customerName", MaskUtil.name(order.customerName()));
+        view.put("phone", MaskUtil.phone(order.phone()));
+        view.put("email", MaskUtil.email(order.email()));
+        view.put("amount", order.amount());
+        view.put("createdAt", order.createdAt());
+        view.put("items", order.items());
+        return JsonUtil.toJson(List.of(Map.of("order", view)));
+    }
+}
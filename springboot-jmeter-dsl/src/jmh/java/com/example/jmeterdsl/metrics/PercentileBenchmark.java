@@ -0,0 +1,55 @@
+package com.example.jmeterdsl.metrics;
+
+import com.example.jmeterdsl.dto.DistributionStats;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 分位数与汇总统计，实时指标每个窗口、门禁每次检查都会计算。直方图预先填入一百万个对数正态分布的微秒值。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PercentileBenchmark {
+
+    private LogHistogram histogram;
+
+    @Setup
+    public void setUp() {
+        histogram = new LogHistogram();
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 1_000_000; i++) {
+            double gaussian = Math.sqrt(-2 * Math.log(1 - random.nextDouble()))
+                    * Math.cos(2 * Math.PI * random.nextDouble());
+            histogram.record((long) Math.exp(10 + 0.6 * gaussian));
+        }
+    }
+
+    @Benchmark
+    public long p99() {
+        return histogram.valueAtPercentile(0.99);
+    }
+
+    @Benchmark
+    public DistributionStats summary() {
+        return histogram.summary(1_000.0);
+    }
+
+    @Benchmark
+    public String encode() {
+        return histogram.encode();
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.jmeterdsl.metrics;
+
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.jmeter.samplers.SampleResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 每个采样进入结果收集器的开销；多线程版本的各线程共用同一个收集器，与 JMeter 线程组一致。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResultRecordingBenchmark {
+
+    private static final String LABEL = "chat-turn-1";
+
+    private ResultRecorder recorder;
+    private LogHistogram histogram;
+    private SampleResult result;
+
+    @Setup
+    public void setUp() {
+        recorder = new ResultRecorder(Set.of(LABEL));
+        histogram = new LogHistogram();
+        result = new SampleResult();
+        result.setSampleLabel(LABEL);
+        result.setSuccessful(true);
+        result.setLatency(35);
+        result.setConnectTime(2);
+    }
+
+    @Benchmark
+    public void histogramRecord() {
+        histogram.record(ThreadLocalRandom.current().nextLong(1_000, 2_000_000));
+    }
+
+    @Benchmark
+    public void recorderSample() {
+        recorder.sampleOccurred(result, ThreadLocalRandom.current().nextLong(1, 2_000));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recorderSampleContended() {
+        recorder.sampleOccurred(result, ThreadLocalRandom.current().nextLong(1, 2_000));
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.jmeterdsl.sampler;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 从响应中读取 usage：非流式响应体每个采样扫描一次，流式响应每个 chunk 都要检查一次。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenUsageBenchmark {
+
+    private byte[] completion;
+    private String contentChunk;
+
+    @Setup
+    public void setUp() {
+        completion = ("{\"id\":\"cmpl-1\",\"object\":\"chat.completion\",\"model\":\"demo\",\"choices\":[{\"index\":0,"
+                + "\"message\":{\"role\":\"assistant\",\"content\":\"" + "lorem ipsum dolor sit amet ".repeat(60)
+                + "\"},\"finish_reason\":\"stop\"}],\"usage\":{\"prompt_tokens\":312,\"completion_tokens\":256,"
+                + "\"total_tokens\":568}}").getBytes(StandardCharsets.UTF_8);
+        contentChunk = "{\"id\":\"cmpl-1\",\"object\":\"chat.completion.chunk\",\"model\":\"demo\","
+                + "\"choices\":[{\"index\":0,\"delta\":{\"content\":\" lorem\"},\"finish_reason\":null}]}";
+    }
+
+    @Benchmark
+    public TokenUsage responseBody() {
+        return TokenUsage.find(completion);
+    }
+
+    @Benchmark
+    public TokenUsage streamingChunk() {
+        return TokenUsage.find(contentChunk);
+    }
+}
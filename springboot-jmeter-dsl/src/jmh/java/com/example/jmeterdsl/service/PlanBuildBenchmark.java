@@ -0,0 +1,92 @@
+package com.example.jmeterdsl.service;
+
+import com.example.jmeterdsl.dto.AssertionType;
+import com.example.jmeterdsl.dto.LoadTestRequest;
+import com.example.jmeterdsl.dto.ScenarioStep;
+import com.example.jmeterdsl.dto.StepAssertion;
+import com.example.jmeterdsl.dto.StepExtractor;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import us.abstracta.jmeter.javadsl.core.threadgroups.BaseThreadGroup;
+
+/**
+ * 把请求编译为 DSL 元素（buildSampler 及提取器、断言）的开销，计划缓存未命中时每次压测都要付出。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlanBuildBenchmark {
+
+    private LoadTestRequest single;
+    private LoadTestRequest scenario;
+    private PlanBinding binding;
+
+    @Setup
+    public void setUp() {
+        single = request();
+        single.setMethod("POST");
+        single.setPath("/v1/completions");
+        single.setBody("{\"model\":\"demo\",\"prompt\":\"hello\",\"max_tokens\":64}");
+        single.setHeaders(Map.of("Authorization", "Bearer token", "X-Tenant", "bench"));
+
+        scenario = request();
+        StepExtractor extractor = new StepExtractor();
+        extractor.setVariable("answer");
+        extractor.setExpression("$.choices[0].message.content");
+        StepAssertion assertion = new StepAssertion();
+        assertion.setType(AssertionType.STATUS_CODE);
+        assertion.setValue("200");
+        ScenarioStep first = step("chat-turn-1", "{\"messages\":[{\"role\":\"user\",\"content\":\"hi\"}]}");
+        first.setExtractors(List.of(extractor));
+        first.setAssertions(List.of(assertion));
+        ScenarioStep second = step("chat-turn-2",
+                "{\"messages\":[{\"role\":\"assistant\",\"content\":\"${answer}\"},{\"role\":\"user\",\"content\":\"go on\"}]}");
+        ScenarioStep embed = step("embed", "{\"input\":\"hello\"}");
+        embed.setWeight(3);
+        ScenarioStep rerank = step("rerank", "{\"query\":\"hello\",\"documents\":[\"a\",\"b\"]}");
+        rerank.setWeight(1);
+        scenario.setSteps(List.of(first, second, embed, rerank));
+
+        binding = new PlanBinding();
+    }
+
+    @Benchmark
+    public List<BaseThreadGroup.ThreadGroupChild> singleRequest() {
+        return new ScenarioPlanBuilder(single, binding).build();
+    }
+
+    @Benchmark
+    public List<BaseThreadGroup.ThreadGroupChild> weightedScenario() {
+        return new ScenarioPlanBuilder(scenario, binding).build();
+    }
+
+    private static LoadTestRequest request() {
+        LoadTestRequest request = new LoadTestRequest();
+        request.setIp("127.0.0.1");
+        request.setPort(8000);
+        return request;
+    }
+
+    private static ScenarioStep step(String name, String body) {
+        ScenarioStep step = new ScenarioStep();
+        step.setName(name);
+        step.setMethod("POST");
+        step.setPath("/v1/chat/completions");
+        step.setBody(body);
+        return step;
+    }
+}
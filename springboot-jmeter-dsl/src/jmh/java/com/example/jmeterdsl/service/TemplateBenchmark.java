@@ -0,0 +1,54 @@
+package com.example.jmeterdsl.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 异步引擎每个请求对 URL、请求头与 JSON 请求体做的 ${变量} 替换。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateBenchmark {
+
+    private AsyncLoadEngine.Template staticBody;
+    private AsyncLoadEngine.Template promptBody;
+    private Map<String, String> vars;
+
+    @Setup
+    public void setUp() {
+        staticBody = new AsyncLoadEngine.Template(
+                "{\"model\":\"demo\",\"stream\":true,\"messages\":[{\"role\":\"user\",\"content\":\"hello\"}]}");
+        promptBody = new AsyncLoadEngine.Template(
+                "{\"model\":\"${model}\",\"stream\":true,\"max_tokens\":${max_tokens},"
+                        + "\"messages\":[{\"role\":\"user\",\"content\":\"${prompt}\"}]}");
+        vars = new HashMap<>();
+        vars.put("model", "qwen2-7b-instruct");
+        vars.put("max_tokens", "256");
+        vars.put("prompt", "Summarize the following paragraph in two sentences. ".repeat(8));
+    }
+
+    @Benchmark
+    public String staticBody() {
+        return staticBody.resolve(vars);
+    }
+
+    @Benchmark
+    public String promptBody() {
+        return promptBody.resolve(vars);
+    }
+}
@@ -6,7 +6,13 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 @SpringBootApplication
 public class SpringbootJmeterDslApplication {
 
+    private static final String ALLOW_RESTRICTED_HEADERS = "jdk.httpclient.allowRestrictedHeaders";
+
     public static void main(String[] args) {
+        // 关闭长连接时基于 JDK HttpClient 的采样要发送 Connection: close，该属性在 HttpClient 首次加载时读取
+        if (System.getProperty(ALLOW_RESTRICTED_HEADERS) == null) {
+            System.setProperty(ALLOW_RESTRICTED_HEADERS, "connection");
+        }
         SpringApplication.run(SpringbootJmeterDslApplication.class, args);
     }
 }
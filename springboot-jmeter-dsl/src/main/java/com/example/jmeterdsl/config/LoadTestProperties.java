@@ -0,0 +1,455 @@
+package com.example.jmeterdsl.config;
+
+import com.example.jmeterdsl.dto.HardwareCost;
+import com.example.jmeterdsl.dto.LoadTestRequest;
+import com.example.jmeterdsl.stub.DelayDistribution;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "load-test")
+public class LoadTestProperties {
+
+    private final Executor executor = new Executor();
+    private final LiveMetrics liveMetrics = new LiveMetrics();
+    private final Datasets datasets = new Datasets();
+    private final Distributed distributed = new Distributed();
+    private final SampleLog sampleLog = new SampleLog();
+    private final Engine engine = new Engine();
+    private final Stub stub = new Stub();
+
+    /** 按 labels.hardware 配置的硬件成本，请求未指定 hardwareCost 时使用 */
+    private Map<String, HardwareCost> hardwareCosts = new HashMap<>();
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public LiveMetrics getLiveMetrics() {
+        return liveMetrics;
+    }
+
+    public Datasets getDatasets() {
+        return datasets;
+    }
+
+    public Distributed getDistributed() {
+        return distributed;
+    }
+
+    public SampleLog getSampleLog() {
+        return sampleLog;
+    }
+
+    public Engine getEngine() {
+        return engine;
+    }
+
+    public Stub getStub() {
+        return stub;
+    }
+
+    public Map<String, HardwareCost> getHardwareCosts() {
+        return hardwareCosts;
+    }
+
+    public void setHardwareCosts(Map<String, HardwareCost> hardwareCosts) {
+        this.hardwareCosts = hardwareCosts;
+    }
+
+    /** 请求中的硬件成本优先，其次按 hardware 标签查配置，都没有时为 null */
+    public HardwareCost hardwareCost(LoadTestRequest request) {
+        if (request.getHardwareCost() != null) {
+            return request.getHardwareCost();
+        }
+        String hardware = request.getLabels().get("hardware");
+        return hardware == null ? null : hardwareCosts.get(hardware);
+    }
+
+    public static class Executor {
+
+        /** 同时执行的压测数量上限，0 表示取 CPU 核数 */
+        private int poolSize;
+
+        /** 排队等待执行的压测数量上限，超出后拒绝提交 */
+        private int queueCapacity = 32;
+
+        /** 内存中保留的已结束压测记录数 */
+        private int retainedRuns = 200;
+
+        /** 同一目标（host:port）同时执行的压测数量上限 */
+        private int maxRunsPerTarget = 1;
+
+        /** 没有同一配置的历史记录时，闭环压测的预计耗时（秒），用于估算排队时间 */
+        private long defaultRunEstimateSeconds = 60;
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public void setPoolSize(int poolSize) {
+            this.poolSize = poolSize;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getRetainedRuns() {
+            return retainedRuns;
+        }
+
+        public void setRetainedRuns(int retainedRuns) {
+            this.retainedRuns = retainedRuns;
+        }
+
+        public int getMaxRunsPerTarget() {
+            return maxRunsPerTarget;
+        }
+
+        public void setMaxRunsPerTarget(int maxRunsPerTarget) {
+            this.maxRunsPerTarget = maxRunsPerTarget;
+        }
+
+        public long getDefaultRunEstimateSeconds() {
+            return defaultRunEstimateSeconds;
+        }
+
+        public void setDefaultRunEstimateSeconds(long defaultRunEstimateSeconds) {
+            this.defaultRunEstimateSeconds = defaultRunEstimateSeconds;
+        }
+    }
+
+    public static class LiveMetrics {
+
+        /** 实时指标的聚合窗口 */
+        private long intervalMillis = 1000;
+
+        /** 每个压测保留的快照数，迟到的订阅者可回放这段历史（默认 1 小时） */
+        private int historySize = 3600;
+
+        /** 单个订阅者允许积压的未发送快照数，超出说明客户端读得太慢，直接断开 */
+        private int subscriberBacklog = 60;
+
+        public long getIntervalMillis() {
+            return intervalMillis;
+        }
+
+        public void setIntervalMillis(long intervalMillis) {
+            this.intervalMillis = intervalMillis;
+        }
+
+        public int getHistorySize() {
+            return historySize;
+        }
+
+        public void setHistorySize(int historySize) {
+            this.historySize = historySize;
+        }
+
+        public int getSubscriberBacklog() {
+            return subscriberBacklog;
+        }
+
+        public void setSubscriberBacklog(int subscriberBacklog) {
+            this.subscriberBacklog = subscriberBacklog;
+        }
+    }
+
+    public static class Datasets {
+
+        /** 语料文件根目录，请求中的语料路径相对于此目录解析 */
+        private String baseDir = "datasets";
+
+        public String getBaseDir() {
+            return baseDir;
+        }
+
+        public void setBaseDir(String baseDir) {
+            this.baseDir = baseDir;
+        }
+    }
+
+    public static class Distributed {
+
+        /** 协调者：静态配置的工作节点地址，如 http://10.0.0.2:8080 */
+        private List<String> workers = new ArrayList<>();
+
+        /** 协调者：动态注册的工作节点超过该时间未心跳即视为下线 */
+        private long workerTtlSeconds = 30;
+
+        /** 协调者：轮询工作节点分片状态的间隔 */
+        private long pollIntervalMillis = 1000;
+
+        /** 调用对端接口的超时 */
+        private long requestTimeoutMillis = 10000;
+
+        /** 工作节点：协调者地址，配置后定期向其注册 */
+        private String coordinatorUrl;
+
+        /** 工作节点：对外地址，为空时使用 http://本机主机名:server.port */
+        private String advertisedUrl;
+
+        /** 工作节点：心跳间隔 */
+        private long heartbeatIntervalSeconds = 10;
+
+        public List<String> getWorkers() {
+            return workers;
+        }
+
+        public void setWorkers(List<String> workers) {
+            this.workers = workers;
+        }
+
+        public long getWorkerTtlSeconds() {
+            return workerTtlSeconds;
+        }
+
+        public void setWorkerTtlSeconds(long workerTtlSeconds) {
+            this.workerTtlSeconds = workerTtlSeconds;
+        }
+
+        public long getPollIntervalMillis() {
+            return pollIntervalMillis;
+        }
+
+        public void setPollIntervalMillis(long pollIntervalMillis) {
+            this.pollIntervalMillis = pollIntervalMillis;
+        }
+
+        public long getRequestTimeoutMillis() {
+            return requestTimeoutMillis;
+        }
+
+        public void setRequestTimeoutMillis(long requestTimeoutMillis) {
+            this.requestTimeoutMillis = requestTimeoutMillis;
+        }
+
+        public String getCoordinatorUrl() {
+            return coordinatorUrl;
+        }
+
+        public void setCoordinatorUrl(String coordinatorUrl) {
+            this.coordinatorUrl = coordinatorUrl;
+        }
+
+        public String getAdvertisedUrl() {
+            return advertisedUrl;
+        }
+
+        public void setAdvertisedUrl(String advertisedUrl) {
+            this.advertisedUrl = advertisedUrl;
+        }
+
+        public long getHeartbeatIntervalSeconds() {
+            return heartbeatIntervalSeconds;
+        }
+
+        public void setHeartbeatIntervalSeconds(long heartbeatIntervalSeconds) {
+            this.heartbeatIntervalSeconds = heartbeatIntervalSeconds;
+        }
+    }
+
+    public static class SampleLog {
+
+        /** 二进制采样日志目录，文件名为 runId.bsl；压测记录被淘汰时一并删除 */
+        private String dir = "sample-logs";
+
+        /** 超过该时长的 .bsl 文件在下次开始记录时删除（含进程重启前留下的），0 表示不按时间清理 */
+        private long retentionHours = 168;
+
+        /** 未写满的块最长在内存中停留的时间 */
+        private long flushIntervalMillis = 1000;
+
+        public String getDir() {
+            return dir;
+        }
+
+        public void setDir(String dir) {
+            this.dir = dir;
+        }
+
+        public long getFlushIntervalMillis() {
+            return flushIntervalMillis;
+        }
+
+        public void setFlushIntervalMillis(long flushIntervalMillis) {
+            this.flushIntervalMillis = flushIntervalMillis;
+        }
+
+        public long getRetentionHours() {
+            return retentionHours;
+        }
+
+        public void setRetentionHours(long retentionHours) {
+            this.retentionHours = retentionHours;
+        }
+    }
+
+    public static class Engine {
+
+        /** 启动后空跑一次计划，提前完成 JMeter 的类加载与初始化 */
+        private boolean warmUp = true;
+
+        /** 按配置指纹缓存的已编译测试计划数量上限，0 表示不缓存 */
+        private int planCacheSize = 64;
+
+        public boolean isWarmUp() {
+            return warmUp;
+        }
+
+        public void setWarmUp(boolean warmUp) {
+            this.warmUp = warmUp;
+        }
+
+        public int getPlanCacheSize() {
+            return planCacheSize;
+        }
+
+        public void setPlanCacheSize(int planCacheSize) {
+            this.planCacheSize = planCacheSize;
+        }
+    }
+
+    public static class Stub {
+
+        /** 启用内置 OpenAI 兼容桩服务，挂载在 /stub/v1 下 */
+        private boolean enabled = false;
+
+        /** 首 token 时延分布 */
+        private final Delay ttft = new Delay(50);
+
+        /** 相邻 token 间隔分布 */
+        private final Delay interTokenDelay = new Delay(10);
+
+        /** 每次响应输出 token 数在 [min, max] 内均匀抽取，同时不超过请求的 max_tokens */
+        private int minOutputTokens = 16;
+        private int maxOutputTokens = 16;
+
+        /** 直接返回错误的请求比例，0 ~ 1 */
+        private double errorRate = 0;
+
+        /** 注入错误时的状态码，如 429 / 500 / 503 */
+        private int errorStatus = 500;
+
+        /** 随机数种子，同样的种子与请求顺序得到同样的时延与长度 */
+        private long seed = 42;
+
+        /** 调度 token 发送的线程数，0 表示按 CPU 核数 */
+        private int schedulerThreads = 0;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Delay getTtft() {
+            return ttft;
+        }
+
+        public Delay getInterTokenDelay() {
+            return interTokenDelay;
+        }
+
+        public int getMinOutputTokens() {
+            return minOutputTokens;
+        }
+
+        public void setMinOutputTokens(int minOutputTokens) {
+            this.minOutputTokens = minOutputTokens;
+        }
+
+        public int getMaxOutputTokens() {
+            return maxOutputTokens;
+        }
+
+        public void setMaxOutputTokens(int maxOutputTokens) {
+            this.maxOutputTokens = maxOutputTokens;
+        }
+
+        public double getErrorRate() {
+            return errorRate;
+        }
+
+        public void setErrorRate(double errorRate) {
+            this.errorRate = errorRate;
+        }
+
+        public int getErrorStatus() {
+            return errorStatus;
+        }
+
+        public void setErrorStatus(int errorStatus) {
+            this.errorStatus = errorStatus;
+        }
+
+        public long getSeed() {
+            return seed;
+        }
+
+        public void setSeed(long seed) {
+            this.seed = seed;
+        }
+
+        public int getSchedulerThreads() {
+            return schedulerThreads;
+        }
+
+        public void setSchedulerThreads(int schedulerThreads) {
+            this.schedulerThreads = schedulerThreads;
+        }
+    }
+
+    public static class Delay {
+
+        private DelayDistribution distribution = DelayDistribution.FIXED;
+
+        /** 均值，毫秒 */
+        private double meanMillis;
+
+        /** UNIFORM 为半宽、NORMAL 为标准差，毫秒 */
+        private double spreadMillis;
+
+        public Delay() {
+        }
+
+        Delay(double meanMillis) {
+            this.meanMillis = meanMillis;
+        }
+
+        public DelayDistribution getDistribution() {
+            return distribution;
+        }
+
+        public void setDistribution(DelayDistribution distribution) {
+            this.distribution = distribution;
+        }
+
+        public double getMeanMillis() {
+            return meanMillis;
+        }
+
+        public void setMeanMillis(double meanMillis) {
+            this.meanMillis = meanMillis;
+        }
+
+        public double getSpreadMillis() {
+            return spreadMillis;
+        }
+
+        public void setSpreadMillis(double spreadMillis) {
+            this.spreadMillis = spreadMillis;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.jmeterdsl.controller;
+
+import com.example.jmeterdsl.dto.DistributedRunRequest;
+import com.example.jmeterdsl.dto.DistributedRunResponse;
+import com.example.jmeterdsl.dto.WorkerInfo;
+import com.example.jmeterdsl.dto.WorkerRegistration;
+import com.example.jmeterdsl.service.DistributedRunCoordinator;
+import com.example.jmeterdsl.service.WorkerRegistry;
+import jakarta.validation.Valid;
+import java.util.List;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/load-test/distributed")
+public class DistributedLoadTestController {
+
+    private final DistributedRunCoordinator coordinator;
+    private final WorkerRegistry workerRegistry;
+
+    public DistributedLoadTestController(DistributedRunCoordinator coordinator, WorkerRegistry workerRegistry) {
+        this.coordinator = coordinator;
+        this.workerRegistry = workerRegistry;
+    }
+
+    @PostMapping("/workers")
+    public ResponseEntity<WorkerInfo> register(@Valid @RequestBody WorkerRegistration registration) {
+        return ResponseEntity.ok(workerRegistry.register(registration));
+    }
+
+    @GetMapping("/workers")
+    public ResponseEntity<List<WorkerInfo>> workers() {
+        return ResponseEntity.ok(workerRegistry.list());
+    }
+
+    @DeleteMapping("/workers")
+    public ResponseEntity<Void> unregister(@RequestParam String url) {
+        if (!workerRegistry.unregister(url)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "工作节点未注册: " + url);
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/runs")
+    public ResponseEntity<DistributedRunResponse> submit(@Valid @RequestBody DistributedRunRequest request)
+            throws InterruptedException {
+        try {
+            return ResponseEntity.accepted().body(coordinator.submit(request));
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+
+    @GetMapping("/runs")
+    public ResponseEntity<List<DistributedRunResponse>> list() {
+        return ResponseEntity.ok(coordinator.list());
+    }
+
+    @GetMapping("/runs/{runId}")
+    public ResponseEntity<DistributedRunResponse> status(@PathVariable String runId) {
+        return ResponseEntity.ok(coordinator.status(runId).orElseThrow(() -> runNotFound(runId)));
+    }
+
+    @DeleteMapping("/runs/{runId}")
+    public ResponseEntity<DistributedRunResponse> cancel(@PathVariable String runId) {
+        return ResponseEntity.ok(coordinator.cancel(runId).orElseThrow(() -> runNotFound(runId)));
+    }
+
+    private static ResponseStatusException runNotFound(String runId) {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "分布式压测记录不存在: " + runId);
+    }
+}
@@ -2,26 +2,176 @@ package com.example.jmeterdsl.controller;
 
 import com.example.jmeterdsl.dto.LoadTestRequest;
 import com.example.jmeterdsl.dto.LoadTestResponse;
-import com.example.jmeterdsl.service.LoadTestService;
+import com.example.jmeterdsl.dto.LoadTestRunResponse;
+import com.example.jmeterdsl.dto.MetricsSnapshot;
+import com.example.jmeterdsl.dto.RunStatus;
+import com.example.jmeterdsl.dto.SweepRequest;
+import com.example.jmeterdsl.dto.SweepResponse;
+import com.example.jmeterdsl.samplelog.BinarySampleLogReader;
+import com.example.jmeterdsl.service.LiveMetricsService;
+import com.example.jmeterdsl.service.LoadTestRunManager;
+import com.example.jmeterdsl.service.LoadTestSweepService;
+import com.example.jmeterdsl.service.SampleLogService;
 import jakarta.validation.Valid;
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/load-test")
 public class LoadTestController {
 
-    private final LoadTestService loadTestService;
+    private final LoadTestRunManager runManager;
+    private final LiveMetricsService liveMetricsService;
+    private final LoadTestSweepService sweepService;
+    private final SampleLogService sampleLogService;
 
-    public LoadTestController(LoadTestService loadTestService) {
-        this.loadTestService = loadTestService;
+    public LoadTestController(LoadTestRunManager runManager, LiveMetricsService liveMetricsService,
+                              LoadTestSweepService sweepService, SampleLogService sampleLogService) {
+        this.runManager = runManager;
+        this.liveMetricsService = liveMetricsService;
+        this.sweepService = sweepService;
+        this.sampleLogService = sampleLogService;
     }
 
     @PostMapping("/run")
-    public ResponseEntity<LoadTestResponse> run(@Valid @RequestBody LoadTestRequest request) {
-        return ResponseEntity.ok(loadTestService.runTest(request));
+    public ResponseEntity<LoadTestResponse> run(@Valid @RequestBody LoadTestRequest request) throws InterruptedException {
+        try {
+            return ResponseEntity.ok(runManager.runAndWait(request));
+        } catch (RejectedExecutionException e) {
+            throw queueFull();
+        }
+    }
+
+    @PostMapping("/runs")
+    public ResponseEntity<LoadTestRunResponse> submit(@Valid @RequestBody LoadTestRequest request) {
+        try {
+            return ResponseEntity.accepted().body(runManager.submit(request));
+        } catch (RejectedExecutionException e) {
+            throw queueFull();
+        }
+    }
+
+    @GetMapping("/runs")
+    public ResponseEntity<List<LoadTestRunResponse>> list() {
+        return ResponseEntity.ok(runManager.list());
+    }
+
+    @GetMapping("/runs/{runId}")
+    public ResponseEntity<LoadTestRunResponse> status(@PathVariable String runId) {
+        return ResponseEntity.ok(runManager.status(runId).orElseThrow(() -> runNotFound(runId)));
+    }
+
+    @GetMapping("/runs/{runId}/result")
+    public ResponseEntity<LoadTestResponse> result(@PathVariable String runId) {
+        LoadTestRunResponse status = runManager.status(runId).orElseThrow(() -> runNotFound(runId));
+        if (status.getStatus() != RunStatus.COMPLETED && status.getStatus() != RunStatus.CANCELLED) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "压测尚未产生结果，当前状态: " + status.getStatus());
+        }
+        return runManager.result(runId)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.CONFLICT, "压测未产生结果: " + runId));
+    }
+
+    @GetMapping("/runs/{runId}/metrics")
+    public ResponseEntity<List<MetricsSnapshot>> metrics(@PathVariable String runId) {
+        return ResponseEntity.ok(liveMetricsService.history(runId).orElseThrow(() -> runNotFound(runId)));
+    }
+
+    @GetMapping(value = "/runs/{runId}/metrics/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter metricsStream(@PathVariable String runId) {
+        return liveMetricsService.subscribe(runId).orElseThrow(() -> runNotFound(runId));
+    }
+
+    /** format=jtl 时边解压边转换为 CSV JTL，format=binary 时下载原始 .bsl 文件 */
+    @GetMapping("/runs/{runId}/samples")
+    public ResponseEntity<StreamingResponseBody> samples(@PathVariable String runId,
+                                                         @RequestParam(defaultValue = "jtl") String format) {
+        LoadTestRunResponse status = runManager.status(runId).orElseThrow(() -> runNotFound(runId));
+        if (!status.getStatus().isFinished()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "压测尚未结束，当前状态: " + status.getStatus());
+        }
+        Path file = sampleLogService.find(runId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "压测未记录采样日志: " + runId));
+        return switch (format) {
+            case "binary" -> ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + runId + ".bsl\"")
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .body(output -> Files.copy(file, output));
+            case "jtl" -> ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + runId + ".jtl\"")
+                    .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                    .body(output -> {
+                        try (BinarySampleLogReader reader = BinarySampleLogReader.open(file)) {
+                            Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 1 << 16);
+                            reader.writeJtl(writer);
+                            writer.flush();
+                        }
+                    });
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "不支持的格式: " + format + "，可选 jtl / binary");
+        };
+    }
+
+    @DeleteMapping("/runs/{runId}")
+    public ResponseEntity<LoadTestRunResponse> cancel(@PathVariable String runId) {
+        return ResponseEntity.ok(runManager.cancel(runId).orElseThrow(() -> runNotFound(runId)));
+    }
+
+    @PostMapping("/sweeps")
+    public ResponseEntity<SweepResponse> submitSweep(@Valid @RequestBody SweepRequest request) {
+        try {
+            return ResponseEntity.accepted().body(sweepService.submit(request));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (RejectedExecutionException e) {
+            throw queueFull();
+        }
+    }
+
+    @GetMapping("/sweeps")
+    public ResponseEntity<List<SweepResponse>> listSweeps() {
+        return ResponseEntity.ok(sweepService.list());
+    }
+
+    @GetMapping("/sweeps/{sweepId}")
+    public ResponseEntity<SweepResponse> sweepStatus(@PathVariable String sweepId) {
+        return ResponseEntity.ok(sweepService.status(sweepId).orElseThrow(() -> sweepNotFound(sweepId)));
+    }
+
+    @DeleteMapping("/sweeps/{sweepId}")
+    public ResponseEntity<SweepResponse> cancelSweep(@PathVariable String sweepId) {
+        return ResponseEntity.ok(sweepService.cancel(sweepId).orElseThrow(() -> sweepNotFound(sweepId)));
+    }
+
+    private static ResponseStatusException sweepNotFound(String sweepId) {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "扫描记录不存在: " + sweepId);
+    }
+
+    private static ResponseStatusException runNotFound(String runId) {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "压测记录不存在: " + runId);
+    }
+
+    private static ResponseStatusException queueFull() {
+        return new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "压测队列已满，请稍后重试");
     }
 }
@@ -0,0 +1,66 @@
+package com.example.jmeterdsl.controller;
+
+import com.example.jmeterdsl.dto.RegressionQuery;
+import com.example.jmeterdsl.dto.RegressionReport;
+import com.example.jmeterdsl.dto.RunQuery;
+import com.example.jmeterdsl.dto.RunRecord;
+import com.example.jmeterdsl.dto.TrendMetric;
+import com.example.jmeterdsl.dto.TrendPoint;
+import com.example.jmeterdsl.service.RegressionService;
+import com.example.jmeterdsl.store.RunResultStore;
+import jakarta.validation.Valid;
+import java.util.List;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/load-test/history")
+public class RunHistoryController {
+
+    private final RunResultStore resultStore;
+    private final RegressionService regressionService;
+
+    public RunHistoryController(RunResultStore resultStore, RegressionService regressionService) {
+        this.resultStore = resultStore;
+        this.regressionService = regressionService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<RunRecord>> list(@Valid RunQuery query) {
+        return ResponseEntity.ok(resultStore.list(query));
+    }
+
+    @GetMapping("/trend")
+    public ResponseEntity<List<TrendPoint>> trend(@RequestParam TrendMetric metric, @Valid RunQuery query) {
+        return ResponseEntity.ok(resultStore.trend(metric, query));
+    }
+
+    @GetMapping("/{runId}")
+    public ResponseEntity<RunRecord> get(@PathVariable String runId) {
+        return ResponseEntity.ok(find(runId));
+    }
+
+    /** 与指定基线或同一配置最近几次压测比较，判断是否出现统计显著的性能回归 */
+    @GetMapping("/{runId}/regression")
+    public ResponseEntity<RegressionReport> regression(@PathVariable String runId, @Valid RegressionQuery query) {
+        RunRecord candidate = find(runId);
+        List<RunRecord> baselines = query.getBaselineRunId() != null && !query.getBaselineRunId().isBlank()
+                ? List.of(find(query.getBaselineRunId()))
+                : resultStore.baselines(candidate.getConfigFingerprint(), candidate.getFinishedAt(), query.getBaselineRuns());
+        if (baselines.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "没有同一配置更早的压测可作为基线: " + runId);
+        }
+        return ResponseEntity.ok(regressionService.compare(candidate, baselines, query.getMinChangePercentage()));
+    }
+
+    private RunRecord find(String runId) {
+        return resultStore.find(runId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "历史记录不存在: " + runId));
+    }
+}
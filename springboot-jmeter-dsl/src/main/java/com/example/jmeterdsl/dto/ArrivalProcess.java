@@ -0,0 +1,8 @@
+package com.example.jmeterdsl.dto;
+
+public enum ArrivalProcess {
+    /** 指数分布到达间隔 */
+    POISSON,
+    /** 固定到达间隔 1 / targetRps */
+    CONSTANT
+}
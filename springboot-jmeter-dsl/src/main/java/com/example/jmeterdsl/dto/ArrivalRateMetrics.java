@@ -0,0 +1,46 @@
+package com.example.jmeterdsl.dto;
+
+public class ArrivalRateMetrics {
+
+    private final ArrivalProcess arrivalProcess;
+    private final double targetRps;
+    private final int maxInFlight;
+    private final long scheduledRequests;
+    private final long lateSends;
+    private final double maxScheduleLagMs;
+
+    public ArrivalRateMetrics(ArrivalProcess arrivalProcess, double targetRps, int maxInFlight,
+                              long scheduledRequests, long lateSends, double maxScheduleLagMs) {
+        this.arrivalProcess = arrivalProcess;
+        this.targetRps = targetRps;
+        this.maxInFlight = maxInFlight;
+        this.scheduledRequests = scheduledRequests;
+        this.lateSends = lateSends;
+        this.maxScheduleLagMs = maxScheduleLagMs;
+    }
+
+    public ArrivalProcess getArrivalProcess() {
+        return arrivalProcess;
+    }
+
+    public double getTargetRps() {
+        return targetRps;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public long getScheduledRequests() {
+        return scheduledRequests;
+    }
+
+    /** 因在途请求达到上限而晚于计划时间发出的请求数 */
+    public long getLateSends() {
+        return lateSends;
+    }
+
+    public double getMaxScheduleLagMs() {
+        return maxScheduleLagMs;
+    }
+}
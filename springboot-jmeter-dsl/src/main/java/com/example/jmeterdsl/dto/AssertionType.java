@@ -0,0 +1,12 @@
+package com.example.jmeterdsl.dto;
+
+public enum AssertionType {
+    /** 响应码等于 value */
+    STATUS_CODE,
+    /** 响应体包含 value */
+    BODY_CONTAINS,
+    /** 响应体包含匹配正则 value 的片段 */
+    BODY_MATCHES,
+    /** JSONPath 表达式 expression 存在；指定 value 时要求值相等 */
+    JSON_PATH
+}
@@ -0,0 +1,73 @@
+package com.example.jmeterdsl.dto;
+
+import java.util.Map;
+
+public class ConnectionMetrics {
+
+    private final DistributionStats latencyMs;
+    private final long connectionSamples;
+    private final long newConnections;
+    private final DistributionStats connectTimeMs;
+    private Map<String, Long> protocolVersions;
+    private String latencyHistogram;
+    private String connectTimeHistogram;
+
+    public ConnectionMetrics(DistributionStats latencyMs, long connectionSamples, long newConnections,
+                             DistributionStats connectTimeMs) {
+        this.latencyMs = latencyMs;
+        this.connectionSamples = connectionSamples;
+        this.newConnections = newConnections;
+        this.connectTimeMs = connectTimeMs;
+    }
+
+    /** 首字节时延：发出请求到收到响应头（流式为首 token），含建连耗时 */
+    public DistributionStats getLatencyMs() {
+        return latencyMs;
+    }
+
+    /** 能报告建连时间的采样数（JMeter HTTP 采样器），基于 JDK HttpClient 的采样不计入 */
+    public long getConnectionSamples() {
+        return connectionSamples;
+    }
+
+    /** 新建连接的采样数：建连耗时大于 0 毫秒，本机等亚毫秒建连无法与复用区分 */
+    public long getNewConnections() {
+        return newConnections;
+    }
+
+    /** 新建连接的建连耗时分布 */
+    public DistributionStats getConnectTimeMs() {
+        return connectTimeMs;
+    }
+
+    /** 复用已有连接的采样占比，没有可统计的采样时为 null */
+    public Double getConnectionReusePercentage() {
+        return connectionSamples == 0 ? null : (connectionSamples - newConnections) * 100.0 / connectionSamples;
+    }
+
+    /** 实际协商的 HTTP 版本及响应数，仅 ASYNC_HTTP 引擎统计 */
+    public Map<String, Long> getProtocolVersions() {
+        return protocolVersions;
+    }
+
+    public void setProtocolVersions(Map<String, Long> protocolVersions) {
+        this.protocolVersions = protocolVersions;
+    }
+
+    /** 以下直方图为 LogHistogram.encode() 格式，单位微秒 */
+    public String getLatencyHistogram() {
+        return latencyHistogram;
+    }
+
+    public void setLatencyHistogram(String latencyHistogram) {
+        this.latencyHistogram = latencyHistogram;
+    }
+
+    public String getConnectTimeHistogram() {
+        return connectTimeHistogram;
+    }
+
+    public void setConnectTimeHistogram(String connectTimeHistogram) {
+        this.connectTimeHistogram = connectTimeHistogram;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.jmeterdsl.dto;
+
+public enum DatasetFormat {
+    /** 每行一个 JSON 对象 */
+    JSONL,
+    /** 逗号分隔，支持双引号包裹字段，不支持字段内换行 */
+    CSV
+}
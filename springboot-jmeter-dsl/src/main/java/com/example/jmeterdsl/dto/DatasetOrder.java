@@ -0,0 +1,8 @@
+package com.example.jmeterdsl.dto;
+
+public enum DatasetOrder {
+    /** 所有线程共享一个游标依次取用，到末尾后从头开始 */
+    SEQUENTIAL,
+    /** 每次随机取一行 */
+    RANDOM
+}
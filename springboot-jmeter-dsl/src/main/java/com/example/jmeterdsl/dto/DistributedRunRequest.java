@@ -0,0 +1,46 @@
+package com.example.jmeterdsl.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.util.Collections;
+import java.util.List;
+
+public class DistributedRunRequest {
+
+    /** 整体压测配置，线程数或到达率按工作节点数拆分 */
+    @Valid
+    @NotNull(message = "压测配置不能为空")
+    private LoadTestRequest request;
+
+    /** 指定参与的工作节点地址，为空时使用全部在线节点 */
+    private List<String> workers;
+
+    /** 最多使用的工作节点数，0 表示不限制 */
+    @Min(value = 0, message = "工作节点数不能为负数")
+    private int maxWorkers;
+
+    public LoadTestRequest getRequest() {
+        return request;
+    }
+
+    public void setRequest(LoadTestRequest request) {
+        this.request = request;
+    }
+
+    public List<String> getWorkers() {
+        return workers == null ? Collections.emptyList() : workers;
+    }
+
+    public void setWorkers(List<String> workers) {
+        this.workers = workers;
+    }
+
+    public int getMaxWorkers() {
+        return maxWorkers;
+    }
+
+    public void setMaxWorkers(int maxWorkers) {
+        this.maxWorkers = maxWorkers;
+    }
+}
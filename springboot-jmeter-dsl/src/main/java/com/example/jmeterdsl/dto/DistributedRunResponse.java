@@ -0,0 +1,55 @@
+package com.example.jmeterdsl.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public class DistributedRunResponse {
+
+    private final String runId;
+    private final RunStatus status;
+    private final Instant submittedAt;
+    private final Instant finishedAt;
+    private final String errorMessage;
+    private final List<ShardStatus> shards;
+    private final LoadTestResponse result;
+
+    public DistributedRunResponse(String runId, RunStatus status, Instant submittedAt, Instant finishedAt,
+                                  String errorMessage, List<ShardStatus> shards, LoadTestResponse result) {
+        this.runId = runId;
+        this.status = status;
+        this.submittedAt = submittedAt;
+        this.finishedAt = finishedAt;
+        this.errorMessage = errorMessage;
+        this.shards = shards;
+        this.result = result;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public RunStatus getStatus() {
+        return status;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public List<ShardStatus> getShards() {
+        return shards;
+    }
+
+    /** 各分片结果合并后的汇总，全部分片结束后才有值 */
+    public LoadTestResponse getResult() {
+        return result;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.jmeterdsl.dto;
+
+public class DistributionStats {
+
+    private final long count;
+    private final double mean;
+    private final double min;
+    private final double p50;
+    private final double p90;
+    private final double p95;
+    private final double p99;
+    private final double p999;
+    private final double max;
+
+    public DistributionStats(long count, double mean, double min, double p50,
+                             double p90, double p95, double p99, double p999, double max) {
+        this.count = count;
+        this.mean = mean;
+        this.min = min;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p95 = p95;
+        this.p99 = p99;
+        this.p999 = p999;
+        this.max = max;
+    }
+
+    public static DistributionStats empty() {
+        return new DistributionStats(0, 0, 0, 0, 0, 0, 0, 0, 0);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getP50() {
+        return p50;
+    }
+
+    public double getP90() {
+        return p90;
+    }
+
+    public double getP95() {
+        return p95;
+    }
+
+    public double getP99() {
+        return p99;
+    }
+
+    public double getP999() {
+        return p999;
+    }
+
+    public double getMax() {
+        return max;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.jmeterdsl.dto;
+
+public enum ExtractorType {
+    /** JSONPath 表达式，如 $.choices[0].message.content */
+    JSON_PATH,
+    /** 正则表达式，取第一个分组 */
+    REGEX
+}
@@ -0,0 +1,30 @@
+package com.example.jmeterdsl.dto;
+
+import java.util.List;
+
+public class GateResult {
+
+    private final boolean passed;
+    private final boolean aborted;
+    private final List<GateRuleResult> rules;
+
+    public GateResult(boolean passed, boolean aborted, List<GateRuleResult> rules) {
+        this.passed = passed;
+        this.aborted = aborted;
+        this.rules = rules;
+    }
+
+    /** 所有规则都通过 */
+    public boolean isPassed() {
+        return passed;
+    }
+
+    /** 压测因门禁被提前结束 */
+    public boolean isAborted() {
+        return aborted;
+    }
+
+    public List<GateRuleResult> getRules() {
+        return rules;
+    }
+}
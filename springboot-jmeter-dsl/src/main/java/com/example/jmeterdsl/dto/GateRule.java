@@ -0,0 +1,33 @@
+package com.example.jmeterdsl.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * 门禁规则：吞吐类指标（THROUGHPUT、OUTPUT_TOKEN_THROUGHPUT）的阈值为下限，其余指标为上限。
+ * 时延单位为毫秒，错误率为百分比，吞吐为每秒请求数 / token 数。
+ */
+public class GateRule {
+
+    @NotNull(message = "门禁指标不能为空")
+    private TrendMetric metric;
+
+    @DecimalMin(value = "0", message = "门禁阈值不能为负数")
+    private double threshold;
+
+    public TrendMetric getMetric() {
+        return metric;
+    }
+
+    public void setMetric(TrendMetric metric) {
+        this.metric = metric;
+    }
+
+    public double getThreshold() {
+        return threshold;
+    }
+
+    public void setThreshold(double threshold) {
+        this.threshold = threshold;
+    }
+}
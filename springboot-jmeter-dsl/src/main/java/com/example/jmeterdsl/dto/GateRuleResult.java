@@ -0,0 +1,53 @@
+package com.example.jmeterdsl.dto;
+
+public class GateRuleResult {
+
+    private final TrendMetric metric;
+    private final double threshold;
+    private final Double actual;
+    private final boolean passed;
+    private Double breachedValue;
+    private Double breachedAtSeconds;
+
+    public GateRuleResult(TrendMetric metric, double threshold, Double actual, boolean passed) {
+        this.metric = metric;
+        this.threshold = threshold;
+        this.actual = actual;
+        this.passed = passed;
+    }
+
+    public TrendMetric getMetric() {
+        return metric;
+    }
+
+    public double getThreshold() {
+        return threshold;
+    }
+
+    /** 压测结果中的实际值（提前结束时为结束时的值），结果中没有该指标时为空 */
+    public Double getActual() {
+        return actual;
+    }
+
+    public boolean isPassed() {
+        return passed;
+    }
+
+    /** 压测过程中触发提前结束时的指标值 */
+    public Double getBreachedValue() {
+        return breachedValue;
+    }
+
+    public void setBreachedValue(Double breachedValue) {
+        this.breachedValue = breachedValue;
+    }
+
+    /** 触发提前结束的时刻，从压测开始起算 */
+    public Double getBreachedAtSeconds() {
+        return breachedAtSeconds;
+    }
+
+    public void setBreachedAtSeconds(Double breachedAtSeconds) {
+        this.breachedAtSeconds = breachedAtSeconds;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.jmeterdsl.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+
+/**
+ * 被测服务的硬件成本，用于按 token 吞吐折算每千 token 的成本与能耗，比较不同 GPU 型号的效率。
+ */
+public class HardwareCost {
+
+    /** 每小时价格（货币单位自定） */
+    @DecimalMin(value = "0", inclusive = false, message = "每小时价格必须大于0")
+    private Double pricePerHour;
+
+    /** 平均功耗（瓦） */
+    @DecimalMin(value = "0", inclusive = false, message = "功耗必须大于0")
+    private Double powerWatts;
+
+    public Double getPricePerHour() {
+        return pricePerHour;
+    }
+
+    public void setPricePerHour(Double pricePerHour) {
+        this.pricePerHour = pricePerHour;
+    }
+
+    public Double getPowerWatts() {
+        return powerWatts;
+    }
+
+    public void setPowerWatts(Double powerWatts) {
+        this.powerWatts = powerWatts;
+    }
+}
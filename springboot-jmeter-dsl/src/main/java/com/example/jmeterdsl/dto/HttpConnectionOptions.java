@@ -0,0 +1,75 @@
+package com.example.jmeterdsl.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Min;
+
+/**
+ * 连接行为：长连接、HTTP/2、连接数上限与超时。未配置时与原有行为一致（长连接、HTTP/1.1、不限连接数、不设超时）。
+ */
+public class HttpConnectionOptions {
+
+    /** 关闭后每个请求新建连接（请求头 Connection: close），可对比握手开销 */
+    private boolean keepAlive = true;
+
+    /** HTTP/2 多路复用，仅 ASYNC_HTTP 引擎支持；http 协议下通过 h2c 升级协商，服务端不支持时回退 HTTP/1.1 */
+    private boolean http2;
+
+    /** 目标主机的连接数上限，0 表示不限制，仅 ASYNC_HTTP 引擎支持（JMeter 引擎每个线程独占连接，连接数即线程数） */
+    @Min(value = 0, message = "连接数上限不能为负数")
+    private int maxConnectionsPerHost;
+
+    /** 建连超时（毫秒），0 表示不设置 */
+    @Min(value = 0, message = "建连超时不能为负数")
+    private long connectTimeoutMillis;
+
+    /** 响应超时（毫秒），0 表示不设置；JMeter HTTP 采样器为读超时，基于 JDK HttpClient 的采样为等待响应头的超时 */
+    @Min(value = 0, message = "响应超时不能为负数")
+    private long responseTimeoutMillis;
+
+    public boolean isKeepAlive() {
+        return keepAlive;
+    }
+
+    public void setKeepAlive(boolean keepAlive) {
+        this.keepAlive = keepAlive;
+    }
+
+    public boolean isHttp2() {
+        return http2;
+    }
+
+    public void setHttp2(boolean http2) {
+        this.http2 = http2;
+    }
+
+    public int getMaxConnectionsPerHost() {
+        return maxConnectionsPerHost;
+    }
+
+    public void setMaxConnectionsPerHost(int maxConnectionsPerHost) {
+        this.maxConnectionsPerHost = maxConnectionsPerHost;
+    }
+
+    public long getConnectTimeoutMillis() {
+        return connectTimeoutMillis;
+    }
+
+    public void setConnectTimeoutMillis(long connectTimeoutMillis) {
+        this.connectTimeoutMillis = connectTimeoutMillis;
+    }
+
+    public long getResponseTimeoutMillis() {
+        return responseTimeoutMillis;
+    }
+
+    public void setResponseTimeoutMillis(long responseTimeoutMillis) {
+        this.responseTimeoutMillis = responseTimeoutMillis;
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "HTTP/2 多路复用依赖长连接，不能同时关闭 keepAlive")
+    public boolean isHttp2ConfigValid() {
+        return !http2 || keepAlive;
+    }
+}
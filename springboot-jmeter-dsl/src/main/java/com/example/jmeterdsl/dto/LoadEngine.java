@@ -0,0 +1,8 @@
+package com.example.jmeterdsl.dto;
+
+public enum LoadEngine {
+    /** JMeter 线程组：每个虚拟用户占用一个平台线程，支持全部 JMeter 函数与组件 */
+    JMETER,
+    /** 非阻塞 HTTP 客户端：虚拟用户等待响应时不占线程，适合大量长时间流式会话 */
+    ASYNC_HTTP
+}
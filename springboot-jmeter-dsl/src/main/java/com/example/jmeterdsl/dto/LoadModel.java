@@ -0,0 +1,8 @@
+package com.example.jmeterdsl.dto;
+
+public enum LoadModel {
+    /** 闭环：固定线程数 × 循环次数，服务端变慢时发压速率随之下降 */
+    CLOSED_LOOP,
+    /** 开环：按目标到达率发压，与服务端响应快慢无关 */
+    ARRIVAL_RATE
+}
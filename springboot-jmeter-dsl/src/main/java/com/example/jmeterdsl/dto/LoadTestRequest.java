@@ -1,8 +1,13 @@
 package com.example.jmeterdsl.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 public class LoadTestRequest {
@@ -21,10 +26,9 @@ public class LoadTestRequest {
 
     private String protocol = "http";
 
-    @NotBlank(message = "HTTP 方法不能为空")
+    /** 单接口压测的方法与路径；配置了 steps 时忽略 */
     private String method;
 
-    @NotBlank(message = "接口路径不能为空")
     private String path;
 
     private String contentType = "application/json";
@@ -33,6 +37,72 @@ public class LoadTestRequest {
 
     private String body;
 
+    /** 多步骤场景：每次迭代按顺序执行，为空时按 method / path / body 压测单个接口 */
+    @Valid
+    private List<ScenarioStep> steps;
+
+    /** 提示词语料：每次迭代取一行写入变量，供请求体模板引用 */
+    @Valid
+    private PromptDataset dataset;
+
+    /** 是否按 SSE 流式接口压测（stream=true），开启后统计 TTFT / token 间隔 / 输出速率 */
+    private boolean streaming;
+
+    /** 非流式步骤也从响应中的 usage 统计输入 / 输出 token（流式步骤总是统计） */
+    private boolean tokenUsage;
+
+    /** 被测服务硬件成本，用于计算每千 token 成本与能耗；为空时按 labels.hardware 取配置，不参与配置指纹 */
+    @Valid
+    private HardwareCost hardwareCost;
+
+    /** 发压引擎，默认 JMeter 线程组 */
+    private LoadEngine engine = LoadEngine.JMETER;
+
+    /** 连接行为：长连接、HTTP/2、连接数上限与超时，为空时使用默认值 */
+    @Valid
+    private HttpConnectionOptions connection;
+
+    /** 预热阶段与稳态检测，为空时全部采样计入汇总 */
+    @Valid
+    private WarmUpOptions warmUp;
+
+    /** 性能门禁：结束后逐条判断，可在过程中突破上限时提前结束 */
+    @Valid
+    private PerformanceGate gate;
+
+    /** 调度优先级，数值越大越先执行 */
+    @Min(value = 0, message = "优先级不能为负数")
+    @Max(value = 9, message = "优先级不能超过9")
+    private int priority;
+
+    /** 提交方团队，排队时各团队轮流获得执行名额，为空时归入同一默认团队 */
+    private String team;
+
+    /** 负载模型，默认闭环（threads × loopCount） */
+    private LoadModel loadModel = LoadModel.CLOSED_LOOP;
+
+    /** 开环模式：目标到达率（请求/秒） */
+    private double targetRps;
+
+    /** 开环模式：到达过程 */
+    private ArrivalProcess arrivalProcess = ArrivalProcess.POISSON;
+
+    /** 开环模式：最大在途请求数（即发压线程数上限） */
+    @Min(value = 1, message = "最大在途请求数必须大于等于1")
+    private int maxInFlight = 100;
+
+    /** 开环模式：发压时长（秒） */
+    private int durationSeconds;
+
+    /** 结果标签，model / backend / version / hardware 用于历史结果检索与跨版本趋势，不参与配置指纹 */
+    private Map<String, String> labels;
+
+    /** 记录每个采样到二进制采样日志，结束后可通过 /load-test/runs/{runId}/samples 下载，不参与配置指纹 */
+    private boolean recordSamples;
+
+    /** 分布式压测的分片由协调节点设置为所属的分布式 runId，分片结果不单独写入历史记录，不参与配置指纹 */
+    private String distributedRunId;
+
     public int getThreads() {
         return threads;
     }
@@ -116,4 +186,194 @@ public class LoadTestRequest {
     public void setBody(String body) {
         this.body = body;
     }
+
+    public List<ScenarioStep> getSteps() {
+        return steps == null ? Collections.emptyList() : steps;
+    }
+
+    public void setSteps(List<ScenarioStep> steps) {
+        this.steps = steps;
+    }
+
+    public PromptDataset getDataset() {
+        return dataset;
+    }
+
+    public void setDataset(PromptDataset dataset) {
+        this.dataset = dataset;
+    }
+
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    public LoadEngine getEngine() {
+        return engine;
+    }
+
+    public void setEngine(LoadEngine engine) {
+        if (engine != null) {
+            this.engine = engine;
+        }
+    }
+
+    public HttpConnectionOptions getConnection() {
+        return connection;
+    }
+
+    public void setConnection(HttpConnectionOptions connection) {
+        this.connection = connection;
+    }
+
+    public WarmUpOptions getWarmUp() {
+        return warmUp;
+    }
+
+    public void setWarmUp(WarmUpOptions warmUp) {
+        this.warmUp = warmUp;
+    }
+
+    public PerformanceGate getGate() {
+        return gate;
+    }
+
+    public void setGate(PerformanceGate gate) {
+        this.gate = gate;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public void setPriority(int priority) {
+        this.priority = priority;
+    }
+
+    public String getTeam() {
+        return team;
+    }
+
+    public void setTeam(String team) {
+        this.team = team;
+    }
+
+    public LoadModel getLoadModel() {
+        return loadModel;
+    }
+
+    public void setLoadModel(LoadModel loadModel) {
+        if (loadModel != null) {
+            this.loadModel = loadModel;
+        }
+    }
+
+    public double getTargetRps() {
+        return targetRps;
+    }
+
+    public void setTargetRps(double targetRps) {
+        this.targetRps = targetRps;
+    }
+
+    public ArrivalProcess getArrivalProcess() {
+        return arrivalProcess;
+    }
+
+    public void setArrivalProcess(ArrivalProcess arrivalProcess) {
+        if (arrivalProcess != null) {
+            this.arrivalProcess = arrivalProcess;
+        }
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public void setDurationSeconds(int durationSeconds) {
+        this.durationSeconds = durationSeconds;
+    }
+
+    public Map<String, String> getLabels() {
+        return labels == null ? Collections.emptyMap() : labels;
+    }
+
+    public void setLabels(Map<String, String> labels) {
+        this.labels = labels;
+    }
+
+    public boolean isTokenUsage() {
+        return tokenUsage;
+    }
+
+    public void setTokenUsage(boolean tokenUsage) {
+        this.tokenUsage = tokenUsage;
+    }
+
+    public HardwareCost getHardwareCost() {
+        return hardwareCost;
+    }
+
+    public void setHardwareCost(HardwareCost hardwareCost) {
+        this.hardwareCost = hardwareCost;
+    }
+
+    public boolean isRecordSamples() {
+        return recordSamples;
+    }
+
+    public void setRecordSamples(boolean recordSamples) {
+        this.recordSamples = recordSamples;
+    }
+
+    public String getDistributedRunId() {
+        return distributedRunId;
+    }
+
+    public void setDistributedRunId(String distributedRunId) {
+        this.distributedRunId = distributedRunId;
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "到达率模式需要 targetRps 与 durationSeconds 均大于0")
+    public boolean isArrivalRateConfigValid() {
+        return loadModel != LoadModel.ARRIVAL_RATE || (targetRps > 0 && durationSeconds > 0);
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "HTTP/2 与连接数上限仅 ASYNC_HTTP 引擎支持")
+    public boolean isConnectionConfigValid() {
+        return connection == null || engine == LoadEngine.ASYNC_HTTP
+                || (!connection.isHttp2() && connection.getMaxConnectionsPerHost() == 0);
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "未配置 steps 时 HTTP 方法与接口路径不能为空")
+    public boolean isTargetConfigValid() {
+        return !getSteps().isEmpty()
+                || (method != null && !method.isBlank() && path != null && !path.isBlank());
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "TTFT、token 间隔与 token 吞吐门禁需要流式接口")
+    public boolean isGateConfigValid() {
+        boolean hasStreamingStep = getSteps().isEmpty()
+                ? streaming
+                : getSteps().stream().anyMatch(ScenarioStep::isStreaming);
+        if (gate == null || gate.getRules() == null || hasStreamingStep) {
+            return true;
+        }
+        return gate.getRules().stream().noneMatch(rule -> rule.getMetric() != null && rule.getMetric().isStreaming());
+    }
 }
@@ -1,5 +1,7 @@
 package com.example.jmeterdsl.dto;
 
+import java.util.Map;
+
 public class LoadTestResponse {
 
     private final long totalSamples;
@@ -8,6 +10,16 @@ public class LoadTestResponse {
     private final double throughputPerSecond;
     private final double averageResponseTimeMs;
     private final double percentile95ResponseTimeMs;
+    private DistributionStats responseTimeMs;
+    private String responseTimeHistogram;
+    private StreamingMetrics streaming;
+    private TokenMetrics tokens;
+    private ArrivalRateMetrics arrival;
+    private ConnectionMetrics connection;
+    private PhaseMetrics warmUp;
+    private SteadyStateMetrics steadyState;
+    private GateResult gate;
+    private Map<String, StepMetrics> steps;
 
     public LoadTestResponse(long totalSamples, long errorSamples, double errorPercentage,
                             double throughputPerSecond, double averageResponseTimeMs,
@@ -43,4 +55,92 @@ public class LoadTestResponse {
     public double getPercentile95ResponseTimeMs() {
         return percentile95ResponseTimeMs;
     }
+
+    /** 全量响应时间分布（含 p99.9），开环模式下从计划发送时间起算；配置预热时不含预热阶段 */
+    public DistributionStats getResponseTimeMs() {
+        return responseTimeMs;
+    }
+
+    public void setResponseTimeMs(DistributionStats responseTimeMs) {
+        this.responseTimeMs = responseTimeMs;
+    }
+
+    /** 响应时间直方图（微秒），LogHistogram.encode() 格式，可解码后合并 */
+    public String getResponseTimeHistogram() {
+        return responseTimeHistogram;
+    }
+
+    public void setResponseTimeHistogram(String responseTimeHistogram) {
+        this.responseTimeHistogram = responseTimeHistogram;
+    }
+
+    public StreamingMetrics getStreaming() {
+        return streaming;
+    }
+
+    public void setStreaming(StreamingMetrics streaming) {
+        this.streaming = streaming;
+    }
+
+    /** 输入 / 输出 token 数、token 吞吐与每千 token 成本，流式压测或开启 tokenUsage 时返回 */
+    public TokenMetrics getTokens() {
+        return tokens;
+    }
+
+    public void setTokens(TokenMetrics tokens) {
+        this.tokens = tokens;
+    }
+
+    public ArrivalRateMetrics getArrival() {
+        return arrival;
+    }
+
+    public void setArrival(ArrivalRateMetrics arrival) {
+        this.arrival = arrival;
+    }
+
+    /** 首字节时延、建连耗时与连接复用 */
+    public ConnectionMetrics getConnection() {
+        return connection;
+    }
+
+    public void setConnection(ConnectionMetrics connection) {
+        this.connection = connection;
+    }
+
+    /** 预热阶段的指标，这部分采样不计入汇总与分步统计 */
+    public PhaseMetrics getWarmUp() {
+        return warmUp;
+    }
+
+    public void setWarmUp(PhaseMetrics warmUp) {
+        this.warmUp = warmUp;
+    }
+
+    /** 稳态检测结果与进入稳态之后的指标 */
+    public SteadyStateMetrics getSteadyState() {
+        return steadyState;
+    }
+
+    public void setSteadyState(SteadyStateMetrics steadyState) {
+        this.steadyState = steadyState;
+    }
+
+    /** 性能门禁的逐条判断结果 */
+    public GateResult getGate() {
+        return gate;
+    }
+
+    public void setGate(GateResult gate) {
+        this.gate = gate;
+    }
+
+    /** 多步骤场景按步骤名的分步统计 */
+    public Map<String, StepMetrics> getSteps() {
+        return steps;
+    }
+
+    public void setSteps(Map<String, StepMetrics> steps) {
+        this.steps = steps;
+    }
 }
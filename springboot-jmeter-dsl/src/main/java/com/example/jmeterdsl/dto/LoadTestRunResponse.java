@@ -0,0 +1,77 @@
+package com.example.jmeterdsl.dto;
+
+import java.time.Instant;
+
+public class LoadTestRunResponse {
+
+    private final String runId;
+    private final RunStatus status;
+    private final Instant submittedAt;
+    private final Instant startedAt;
+    private final Instant finishedAt;
+    private final String errorMessage;
+    private Integer queuePosition;
+    private Instant estimatedStartAt;
+    private Instant estimatedFinishAt;
+
+    public LoadTestRunResponse(String runId, RunStatus status, Instant submittedAt,
+                               Instant startedAt, Instant finishedAt, String errorMessage) {
+        this.runId = runId;
+        this.status = status;
+        this.submittedAt = submittedAt;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.errorMessage = errorMessage;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public RunStatus getStatus() {
+        return status;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    /** 排队中的压测在调度顺序中的位置，从 1 开始 */
+    public Integer getQueuePosition() {
+        return queuePosition;
+    }
+
+    public void setQueuePosition(Integer queuePosition) {
+        this.queuePosition = queuePosition;
+    }
+
+    /** 预计开始时间，按同一配置的历史耗时估算，排队中的压测才有 */
+    public Instant getEstimatedStartAt() {
+        return estimatedStartAt;
+    }
+
+    public void setEstimatedStartAt(Instant estimatedStartAt) {
+        this.estimatedStartAt = estimatedStartAt;
+    }
+
+    /** 预计结束时间，排队中与执行中的压测才有 */
+    public Instant getEstimatedFinishAt() {
+        return estimatedFinishAt;
+    }
+
+    public void setEstimatedFinishAt(Instant estimatedFinishAt) {
+        this.estimatedFinishAt = estimatedFinishAt;
+    }
+}
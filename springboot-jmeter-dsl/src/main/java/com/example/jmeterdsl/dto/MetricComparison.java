@@ -0,0 +1,89 @@
+package com.example.jmeterdsl.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class MetricComparison {
+
+    private final TrendMetric metric;
+    private final String method;
+    private final Double baseline;
+    private final Double candidate;
+    private final Double changePercentage;
+    private final RegressionVerdict verdict;
+    private Double pValue;
+    private Double changeLowerPercentage;
+    private Double changeUpperPercentage;
+    private Double probabilityOfSuperiority;
+
+    public MetricComparison(TrendMetric metric, String method, Double baseline, Double candidate,
+                            Double changePercentage, RegressionVerdict verdict) {
+        this.metric = metric;
+        this.method = method;
+        this.baseline = baseline;
+        this.candidate = candidate;
+        this.changePercentage = changePercentage;
+        this.verdict = verdict;
+    }
+
+    public TrendMetric getMetric() {
+        return metric;
+    }
+
+    /** MANN_WHITNEY_U / BOOTSTRAP / TWO_PROPORTION / PREDICTION_INTERVAL / THRESHOLD */
+    public String getMethod() {
+        return method;
+    }
+
+    /** 基线值，滚动基线为合并直方图的分位数或各次压测的平均值 */
+    public Double getBaseline() {
+        return baseline;
+    }
+
+    public Double getCandidate() {
+        return candidate;
+    }
+
+    /** 候选相对基线的变化，基线为 0 时为空 */
+    public Double getChangePercentage() {
+        return changePercentage;
+    }
+
+    public RegressionVerdict getVerdict() {
+        return verdict;
+    }
+
+    @JsonProperty("pValue")
+    public Double getPValue() {
+        return pValue;
+    }
+
+    public void setPValue(Double pValue) {
+        this.pValue = pValue;
+    }
+
+    /** 变化百分比置信区间下限（自助法），滚动基线为各次压测的预测区间换算的变化百分比 */
+    public Double getChangeLowerPercentage() {
+        return changeLowerPercentage;
+    }
+
+    public void setChangeLowerPercentage(Double changeLowerPercentage) {
+        this.changeLowerPercentage = changeLowerPercentage;
+    }
+
+    public Double getChangeUpperPercentage() {
+        return changeUpperPercentage;
+    }
+
+    public void setChangeUpperPercentage(Double changeUpperPercentage) {
+        this.changeUpperPercentage = changeUpperPercentage;
+    }
+
+    /** Mann-Whitney U 的效应量：随机取一个候选样本比基线样本慢的概率，0.5 表示没有差异 */
+    public Double getProbabilityOfSuperiority() {
+        return probabilityOfSuperiority;
+    }
+
+    public void setProbabilityOfSuperiority(Double probabilityOfSuperiority) {
+        this.probabilityOfSuperiority = probabilityOfSuperiority;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.jmeterdsl.dto;
+
+import java.time.Instant;
+
+/**
+ * 实时指标的一个时间窗口（默认 1 秒），分位数只统计本窗口内完成的采样。
+ */
+public class MetricsSnapshot {
+
+    private final Instant timestamp;
+    private final double windowSeconds;
+    private final long samples;
+    private final long errors;
+    private final double throughputPerSecond;
+    private final double errorPercentage;
+    private final double p50Ms;
+    private final double p95Ms;
+    private final double p99Ms;
+    private final int inFlight;
+    private final Double ttftP50Ms;
+    private final Double ttftP95Ms;
+
+    public MetricsSnapshot(Instant timestamp, double windowSeconds, long samples, long errors,
+                           double throughputPerSecond, double errorPercentage,
+                           double p50Ms, double p95Ms, double p99Ms, int inFlight,
+                           Double ttftP50Ms, Double ttftP95Ms) {
+        this.timestamp = timestamp;
+        this.windowSeconds = windowSeconds;
+        this.samples = samples;
+        this.errors = errors;
+        this.throughputPerSecond = throughputPerSecond;
+        this.errorPercentage = errorPercentage;
+        this.p50Ms = p50Ms;
+        this.p95Ms = p95Ms;
+        this.p99Ms = p99Ms;
+        this.inFlight = inFlight;
+        this.ttftP50Ms = ttftP50Ms;
+        this.ttftP95Ms = ttftP95Ms;
+    }
+
+    /** 窗口结束时间 */
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    public double getWindowSeconds() {
+        return windowSeconds;
+    }
+
+    public long getSamples() {
+        return samples;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public double getThroughputPerSecond() {
+        return throughputPerSecond;
+    }
+
+    public double getErrorPercentage() {
+        return errorPercentage;
+    }
+
+    public double getP50Ms() {
+        return p50Ms;
+    }
+
+    public double getP95Ms() {
+        return p95Ms;
+    }
+
+    public double getP99Ms() {
+        return p99Ms;
+    }
+
+    /** 窗口结束时已发出、尚未返回的请求数 */
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    /** 仅流式请求有值 */
+    public Double getTtftP50Ms() {
+        return ttftP50Ms;
+    }
+
+    public Double getTtftP95Ms() {
+        return ttftP95Ms;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.jmeterdsl.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+/**
+ * 性能门禁：压测结束后逐条判断规则；开启 abortOnBreach 时压测过程中每秒检查一次上限规则，
+ * 已超出即提前结束压测，节省 GPU 时间。下限规则（吞吐）在爬坡期必然偏低，只在结束后判断。
+ */
+public class PerformanceGate {
+
+    @NotEmpty(message = "门禁规则不能为空")
+    @Valid
+    private List<GateRule> rules;
+
+    /** 压测过程中上限规则被突破时提前结束压测 */
+    private boolean abortOnBreach = true;
+
+    /** 累计采样数达到该值后才开始过程中检查，避免少量慢请求误判 */
+    @Min(value = 1, message = "门禁最少采样数必须大于等于1")
+    private long minSamples = 100;
+
+    public List<GateRule> getRules() {
+        return rules;
+    }
+
+    public void setRules(List<GateRule> rules) {
+        this.rules = rules;
+    }
+
+    public boolean isAbortOnBreach() {
+        return abortOnBreach;
+    }
+
+    public void setAbortOnBreach(boolean abortOnBreach) {
+        this.abortOnBreach = abortOnBreach;
+    }
+
+    public long getMinSamples() {
+        return minSamples;
+    }
+
+    public void setMinSamples(long minSamples) {
+        this.minSamples = minSamples;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.jmeterdsl.dto;
+
+/**
+ * 压测中一个阶段（预热、稳态）的汇总指标。
+ */
+public class PhaseMetrics {
+
+    private final long samples;
+    private final long errors;
+    private final double errorPercentage;
+    private final double durationSeconds;
+    private final double throughputPerSecond;
+    private final DistributionStats responseTimeMs;
+    private String responseTimeHistogram;
+
+    public PhaseMetrics(long samples, long errors, double durationSeconds, DistributionStats responseTimeMs) {
+        this(samples, errors, durationSeconds, durationSeconds > 0 ? samples / durationSeconds : 0.0,
+                responseTimeMs);
+    }
+
+    public PhaseMetrics(long samples, long errors, double durationSeconds, double throughputPerSecond,
+                        DistributionStats responseTimeMs) {
+        this.samples = samples;
+        this.errors = errors;
+        this.errorPercentage = samples == 0 ? 0.0 : errors * 100.0 / samples;
+        this.durationSeconds = durationSeconds;
+        this.throughputPerSecond = throughputPerSecond;
+        this.responseTimeMs = responseTimeMs;
+    }
+
+    public long getSamples() {
+        return samples;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public double getErrorPercentage() {
+        return errorPercentage;
+    }
+
+    public double getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public double getThroughputPerSecond() {
+        return throughputPerSecond;
+    }
+
+    public DistributionStats getResponseTimeMs() {
+        return responseTimeMs;
+    }
+
+    /** 本阶段响应时间直方图（微秒），LogHistogram.encode() 格式 */
+    public String getResponseTimeHistogram() {
+        return responseTimeHistogram;
+    }
+
+    public void setResponseTimeHistogram(String responseTimeHistogram) {
+        this.responseTimeHistogram = responseTimeHistogram;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.jmeterdsl.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * 提示词语料：每次迭代从文件中取一行写入 JMeter 变量，请求体、路径或请求头通过 ${变量} 引用。
+ */
+public class PromptDataset {
+
+    /** 语料文件路径，相对于 load-test.datasets.base-dir，不允许越出该目录 */
+    @NotBlank(message = "语料文件路径不能为空")
+    private String file;
+
+    /** 为空时按扩展名推断，.csv 为 CSV，其余按 JSONL */
+    private DatasetFormat format;
+
+    /** JSONL：字段名，或以 / 开头的 JSON Pointer（如 /conversations/0/value） */
+    private String field = "prompt";
+
+    /** CSV：列序号，从 0 开始 */
+    @Min(value = 0, message = "列序号不能为负数")
+    private int column;
+
+    /** CSV：是否跳过首行表头 */
+    private boolean skipHeader;
+
+    private DatasetOrder order = DatasetOrder.SEQUENTIAL;
+
+    /** 写入的 JMeter 变量名 */
+    private String variable = "prompt";
+
+    /** 是否按 JSON 字符串转义，模板形如 {"prompt":"${prompt}"} 时需要开启 */
+    private boolean jsonEscape = true;
+
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public DatasetFormat getFormat() {
+        return format;
+    }
+
+    public void setFormat(DatasetFormat format) {
+        this.format = format;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public void setField(String field) {
+        if (field != null && !field.isBlank()) {
+            this.field = field;
+        }
+    }
+
+    public int getColumn() {
+        return column;
+    }
+
+    public void setColumn(int column) {
+        this.column = column;
+    }
+
+    public boolean isSkipHeader() {
+        return skipHeader;
+    }
+
+    public void setSkipHeader(boolean skipHeader) {
+        this.skipHeader = skipHeader;
+    }
+
+    public DatasetOrder getOrder() {
+        return order;
+    }
+
+    public void setOrder(DatasetOrder order) {
+        if (order != null) {
+            this.order = order;
+        }
+    }
+
+    public String getVariable() {
+        return variable;
+    }
+
+    public void setVariable(String variable) {
+        if (variable != null && !variable.isBlank()) {
+            this.variable = variable;
+        }
+    }
+
+    public boolean isJsonEscape() {
+        return jsonEscape;
+    }
+
+    public void setJsonEscape(boolean jsonEscape) {
+        this.jsonEscape = jsonEscape;
+    }
+}
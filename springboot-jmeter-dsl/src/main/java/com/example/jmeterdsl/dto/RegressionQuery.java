@@ -0,0 +1,46 @@
+package com.example.jmeterdsl.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+/**
+ * 回归检测的基线选择：指定 baselineRunId 时与该次压测比较，
+ * 否则以同一配置指纹、在被检测压测之前完成的最近 baselineRuns 次压测作为滚动基线。
+ */
+public class RegressionQuery {
+
+    private String baselineRunId;
+
+    @Min(value = 1, message = "基线压测次数必须大于等于1")
+    @Max(value = 50, message = "基线压测次数不能超过50")
+    private int baselineRuns = 5;
+
+    /** 统计显著之外还要求的最小变化幅度，过滤大样本下统计显著但没有实际意义的差异 */
+    @DecimalMin(value = "0", message = "最小变化百分比不能为负数")
+    private double minChangePercentage = 5;
+
+    public String getBaselineRunId() {
+        return baselineRunId;
+    }
+
+    public void setBaselineRunId(String baselineRunId) {
+        this.baselineRunId = baselineRunId;
+    }
+
+    public int getBaselineRuns() {
+        return baselineRuns;
+    }
+
+    public void setBaselineRuns(int baselineRuns) {
+        this.baselineRuns = baselineRuns;
+    }
+
+    public double getMinChangePercentage() {
+        return minChangePercentage;
+    }
+
+    public void setMinChangePercentage(double minChangePercentage) {
+        this.minChangePercentage = minChangePercentage;
+    }
+}
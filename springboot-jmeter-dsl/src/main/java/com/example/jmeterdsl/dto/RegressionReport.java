@@ -0,0 +1,49 @@
+package com.example.jmeterdsl.dto;
+
+import java.util.List;
+
+public class RegressionReport {
+
+    private final String runId;
+    private final List<String> baselineRunIds;
+    private final boolean sameConfig;
+    private final double confidenceLevel;
+    private final boolean regressed;
+    private final List<MetricComparison> metrics;
+
+    public RegressionReport(String runId, List<String> baselineRunIds, boolean sameConfig, double confidenceLevel,
+                            List<MetricComparison> metrics) {
+        this.runId = runId;
+        this.baselineRunIds = baselineRunIds;
+        this.sameConfig = sameConfig;
+        this.confidenceLevel = confidenceLevel;
+        this.regressed = metrics.stream().anyMatch(m -> m.getVerdict() == RegressionVerdict.REGRESSED);
+        this.metrics = metrics;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public List<String> getBaselineRunIds() {
+        return baselineRunIds;
+    }
+
+    /** 基线与被检测压测的配置指纹是否相同，不同时结论可能受配置差异影响 */
+    public boolean isSameConfig() {
+        return sameConfig;
+    }
+
+    public double getConfidenceLevel() {
+        return confidenceLevel;
+    }
+
+    /** 任一指标判定为回归 */
+    public boolean isRegressed() {
+        return regressed;
+    }
+
+    public List<MetricComparison> getMetrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.jmeterdsl.dto;
+
+public enum RegressionVerdict {
+    /** 统计显著且变化幅度达到阈值，方向变差 */
+    REGRESSED,
+    /** 统计显著且变化幅度达到阈值，方向变好 */
+    IMPROVED,
+    UNCHANGED,
+    /** 任一方没有该指标或样本，无法比较 */
+    INSUFFICIENT_DATA
+}
@@ -0,0 +1,73 @@
+package com.example.jmeterdsl.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+/**
+ * 历史结果检索条件，各条件为空表示不过滤。
+ */
+public class RunQuery {
+
+    private String model;
+
+    private String backend;
+
+    private String version;
+
+    private String hardware;
+
+    /** 只看同一压测配置的记录 */
+    private String fingerprint;
+
+    @Min(value = 1, message = "返回条数必须大于等于1")
+    @Max(value = 1000, message = "返回条数不能超过1000")
+    private int limit = 20;
+
+    public String getModel() {
+        return model;
+    }
+
+    public void setModel(String model) {
+        this.model = model;
+    }
+
+    public String getBackend() {
+        return backend;
+    }
+
+    public void setBackend(String backend) {
+        this.backend = backend;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public void setVersion(String version) {
+        this.version = version;
+    }
+
+    public String getHardware() {
+        return hardware;
+    }
+
+    public void setHardware(String hardware) {
+        this.hardware = hardware;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public void setFingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.jmeterdsl.dto;
+
+import java.time.Instant;
+import java.util.Map;
+
+public class RunRecord {
+
+    private final String runId;
+    private final String runType;
+    private final Map<String, String> labels;
+    private final String configFingerprint;
+    private final LoadModel loadModel;
+    private final int threads;
+    private final double targetRps;
+    private final boolean streaming;
+    private final Instant startedAt;
+    private final Instant finishedAt;
+    private final long totalSamples;
+    private final long errorSamples;
+    private final double errorPercentage;
+    private final double throughputPerSecond;
+    private final DistributionStats responseTimeMs;
+    private Double ttftP50Ms;
+    private Double ttftP95Ms;
+    private Double ttftP99Ms;
+    private Double interTokenLatencyP95Ms;
+    private Double outputTokenThroughput;
+    private String responseTimeHistogram;
+    private String timeToFirstTokenHistogram;
+    private LoadTestRequest request;
+
+    public RunRecord(String runId, String runType, Map<String, String> labels, String configFingerprint,
+                     LoadModel loadModel, int threads, double targetRps, boolean streaming,
+                     Instant startedAt, Instant finishedAt, long totalSamples, long errorSamples,
+                     double errorPercentage, double throughputPerSecond, DistributionStats responseTimeMs) {
+        this.runId = runId;
+        this.runType = runType;
+        this.labels = labels;
+        this.configFingerprint = configFingerprint;
+        this.loadModel = loadModel;
+        this.threads = threads;
+        this.targetRps = targetRps;
+        this.streaming = streaming;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.totalSamples = totalSamples;
+        this.errorSamples = errorSamples;
+        this.errorPercentage = errorPercentage;
+        this.throughputPerSecond = throughputPerSecond;
+        this.responseTimeMs = responseTimeMs;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    /** LOCAL：单机压测；DISTRIBUTED：分布式合并结果 */
+    public String getRunType() {
+        return runType;
+    }
+
+    public Map<String, String> getLabels() {
+        return labels;
+    }
+
+    /** 压测配置（不含标签）的 SHA-256，相同指纹的记录可直接横向比较 */
+    public String getConfigFingerprint() {
+        return configFingerprint;
+    }
+
+    public LoadModel getLoadModel() {
+        return loadModel;
+    }
+
+    /** 闭环模式为线程数，开环模式为最大在途请求数 */
+    public int getThreads() {
+        return threads;
+    }
+
+    public double getTargetRps() {
+        return targetRps;
+    }
+
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public long getTotalSamples() {
+        return totalSamples;
+    }
+
+    public long getErrorSamples() {
+        return errorSamples;
+    }
+
+    public double getErrorPercentage() {
+        return errorPercentage;
+    }
+
+    public double getThroughputPerSecond() {
+        return throughputPerSecond;
+    }
+
+    public DistributionStats getResponseTimeMs() {
+        return responseTimeMs;
+    }
+
+    public Double getTtftP50Ms() {
+        return ttftP50Ms;
+    }
+
+    public void setTtftP50Ms(Double ttftP50Ms) {
+        this.ttftP50Ms = ttftP50Ms;
+    }
+
+    public Double getTtftP95Ms() {
+        return ttftP95Ms;
+    }
+
+    public void setTtftP95Ms(Double ttftP95Ms) {
+        this.ttftP95Ms = ttftP95Ms;
+    }
+
+    public Double getTtftP99Ms() {
+        return ttftP99Ms;
+    }
+
+    public void setTtftP99Ms(Double ttftP99Ms) {
+        this.ttftP99Ms = ttftP99Ms;
+    }
+
+    public Double getInterTokenLatencyP95Ms() {
+        return interTokenLatencyP95Ms;
+    }
+
+    public void setInterTokenLatencyP95Ms(Double interTokenLatencyP95Ms) {
+        this.interTokenLatencyP95Ms = interTokenLatencyP95Ms;
+    }
+
+    public Double getOutputTokenThroughput() {
+        return outputTokenThroughput;
+    }
+
+    public void setOutputTokenThroughput(Double outputTokenThroughput) {
+        this.outputTokenThroughput = outputTokenThroughput;
+    }
+
+    /** 以下字段只在查询单条记录时返回 */
+    public String getResponseTimeHistogram() {
+        return responseTimeHistogram;
+    }
+
+    public void setResponseTimeHistogram(String responseTimeHistogram) {
+        this.responseTimeHistogram = responseTimeHistogram;
+    }
+
+    public String getTimeToFirstTokenHistogram() {
+        return timeToFirstTokenHistogram;
+    }
+
+    public void setTimeToFirstTokenHistogram(String timeToFirstTokenHistogram) {
+        this.timeToFirstTokenHistogram = timeToFirstTokenHistogram;
+    }
+
+    public LoadTestRequest getRequest() {
+        return request;
+    }
+
+    public void setRequest(LoadTestRequest request) {
+        this.request = request;
+    }
+}
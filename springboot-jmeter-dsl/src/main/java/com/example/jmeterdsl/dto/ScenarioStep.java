@@ -0,0 +1,138 @@
+package com.example.jmeterdsl.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 场景中的一个请求步骤，目标地址（ip / port / protocol）沿用 LoadTestRequest。
+ * path、headers、body 中可用 ${变量} 引用前序步骤提取的值。
+ */
+public class ScenarioStep {
+
+    /** 步骤名称，即采样标签，结果按此分组统计；默认 step-序号 */
+    private String name;
+
+    @NotBlank(message = "步骤 HTTP 方法不能为空")
+    private String method;
+
+    @NotBlank(message = "步骤接口路径不能为空")
+    private String path;
+
+    /** 为空时沿用 LoadTestRequest.contentType */
+    private String contentType;
+
+    private Map<String, String> headers;
+
+    private String body;
+
+    private boolean streaming;
+
+    /** 本步骤结束后的思考时间（毫秒），不计入响应时间 */
+    @Min(value = 0, message = "思考时间不能为负数")
+    private long thinkTimeMillis;
+
+    /**
+     * 权重：相邻的带权重步骤组成一组，每次迭代按权重从组内选一个执行；
+     * 未设置权重的步骤每次迭代都按顺序执行。
+     */
+    @Min(value = 1, message = "步骤权重必须大于等于1")
+    private Integer weight;
+
+    @Valid
+    private List<StepExtractor> extractors;
+
+    @Valid
+    private List<StepAssertion> assertions;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public Map<String, String> getHeaders() {
+        return headers == null ? Collections.emptyMap() : headers;
+    }
+
+    public void setHeaders(Map<String, String> headers) {
+        this.headers = headers;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public void setBody(String body) {
+        this.body = body;
+    }
+
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    public long getThinkTimeMillis() {
+        return thinkTimeMillis;
+    }
+
+    public void setThinkTimeMillis(long thinkTimeMillis) {
+        this.thinkTimeMillis = thinkTimeMillis;
+    }
+
+    public Integer getWeight() {
+        return weight;
+    }
+
+    public void setWeight(Integer weight) {
+        this.weight = weight;
+    }
+
+    public List<StepExtractor> getExtractors() {
+        return extractors == null ? Collections.emptyList() : extractors;
+    }
+
+    public void setExtractors(List<StepExtractor> extractors) {
+        this.extractors = extractors;
+    }
+
+    public List<StepAssertion> getAssertions() {
+        return assertions == null ? Collections.emptyList() : assertions;
+    }
+
+    public void setAssertions(List<StepAssertion> assertions) {
+        this.assertions = assertions;
+    }
+}
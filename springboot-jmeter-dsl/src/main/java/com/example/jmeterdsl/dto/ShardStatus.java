@@ -0,0 +1,47 @@
+package com.example.jmeterdsl.dto;
+
+public class ShardStatus {
+
+    private final String worker;
+    private final String remoteRunId;
+    private final RunStatus status;
+    private final int threads;
+    private final double targetRps;
+    private final String errorMessage;
+
+    public ShardStatus(String worker, String remoteRunId, RunStatus status, int threads, double targetRps,
+                       String errorMessage) {
+        this.worker = worker;
+        this.remoteRunId = remoteRunId;
+        this.status = status;
+        this.threads = threads;
+        this.targetRps = targetRps;
+        this.errorMessage = errorMessage;
+    }
+
+    public String getWorker() {
+        return worker;
+    }
+
+    /** 工作节点上的 runId，可直接查询该节点的 /load-test/runs/{runId}/metrics */
+    public String getRemoteRunId() {
+        return remoteRunId;
+    }
+
+    public RunStatus getStatus() {
+        return status;
+    }
+
+    /** 闭环模式下分到的线程数，开环模式下为在途上限 */
+    public int getThreads() {
+        return threads;
+    }
+
+    public double getTargetRps() {
+        return targetRps;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+}
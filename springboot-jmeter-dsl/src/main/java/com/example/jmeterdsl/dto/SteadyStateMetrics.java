@@ -0,0 +1,28 @@
+package com.example.jmeterdsl.dto;
+
+public class SteadyStateMetrics {
+
+    private final boolean reached;
+    private final Double startOffsetSeconds;
+    private final PhaseMetrics metrics;
+
+    public SteadyStateMetrics(boolean reached, Double startOffsetSeconds, PhaseMetrics metrics) {
+        this.reached = reached;
+        this.startOffsetSeconds = startOffsetSeconds;
+        this.metrics = metrics;
+    }
+
+    public boolean isReached() {
+        return reached;
+    }
+
+    /** 进入稳态的时刻，从压测开始起算；未进入稳态时为空 */
+    public Double getStartOffsetSeconds() {
+        return startOffsetSeconds;
+    }
+
+    /** 进入稳态之后的指标；未进入稳态时为空 */
+    public PhaseMetrics getMetrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.jmeterdsl.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+
+/**
+ * 稳态检测：预热结束后的滚动窗口等分为 5 个时间片，各片的平均响应时间与吞吐的变异系数（标准差 / 均值）
+ * 都不超过阈值时判定进入稳态，稳态从该窗口起点开始。吞吐较低时时间片内样本少、波动大，应加大窗口。
+ */
+public class SteadyStateOptions {
+
+    /** 滚动窗口长度（秒） */
+    @Min(value = 5, message = "稳态窗口不能小于5秒")
+    private int windowSeconds = 10;
+
+    /** 变异系数阈值（百分比） */
+    @DecimalMin(value = "0", inclusive = false, message = "稳态波动阈值必须大于0")
+    private double maxVariationPercentage = 20;
+
+    public int getWindowSeconds() {
+        return windowSeconds;
+    }
+
+    public void setWindowSeconds(int windowSeconds) {
+        this.windowSeconds = windowSeconds;
+    }
+
+    public double getMaxVariationPercentage() {
+        return maxVariationPercentage;
+    }
+
+    public void setMaxVariationPercentage(double maxVariationPercentage) {
+        this.maxVariationPercentage = maxVariationPercentage;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.jmeterdsl.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * 步骤断言，失败的采样计为错误。
+ */
+public class StepAssertion {
+
+    @NotNull(message = "断言类型不能为空")
+    private AssertionType type;
+
+    /** JSON_PATH 断言的路径 */
+    private String expression;
+
+    /** 期望值：状态码、子串或正则 */
+    private String value;
+
+    public AssertionType getType() {
+        return type;
+    }
+
+    public void setType(AssertionType type) {
+        this.type = type;
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    public void setExpression(String expression) {
+        this.expression = expression;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "JSON_PATH 断言需要 expression，其他断言需要 value")
+    public boolean isConfigValid() {
+        if (type == null) {
+            return true;
+        }
+        return type == AssertionType.JSON_PATH
+                ? expression != null && !expression.isBlank()
+                : value != null && !value.isEmpty();
+    }
+}
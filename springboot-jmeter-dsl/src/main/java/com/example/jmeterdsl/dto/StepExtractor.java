@@ -0,0 +1,54 @@
+package com.example.jmeterdsl.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * 从步骤响应中提取变量，后续步骤通过 ${variable} 引用。
+ */
+public class StepExtractor {
+
+    @NotBlank(message = "提取变量名不能为空")
+    private String variable;
+
+    @NotNull(message = "提取方式不能为空")
+    private ExtractorType type = ExtractorType.JSON_PATH;
+
+    @NotBlank(message = "提取表达式不能为空")
+    private String expression;
+
+    /** 未匹配时的取值 */
+    private String defaultValue = "";
+
+    public String getVariable() {
+        return variable;
+    }
+
+    public void setVariable(String variable) {
+        this.variable = variable;
+    }
+
+    public ExtractorType getType() {
+        return type;
+    }
+
+    public void setType(ExtractorType type) {
+        this.type = type;
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    public void setExpression(String expression) {
+        this.expression = expression;
+    }
+
+    public String getDefaultValue() {
+        return defaultValue;
+    }
+
+    public void setDefaultValue(String defaultValue) {
+        this.defaultValue = defaultValue;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.jmeterdsl.dto;
+
+public class StepMetrics {
+
+    private final long samples;
+    private final long errors;
+    private final double errorPercentage;
+    private final DistributionStats responseTimeMs;
+    private String responseTimeHistogram;
+
+    public StepMetrics(long samples, long errors, DistributionStats responseTimeMs) {
+        this.samples = samples;
+        this.errors = errors;
+        this.errorPercentage = samples == 0 ? 0.0 : errors * 100.0 / samples;
+        this.responseTimeMs = responseTimeMs;
+    }
+
+    public long getSamples() {
+        return samples;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public double getErrorPercentage() {
+        return errorPercentage;
+    }
+
+    public DistributionStats getResponseTimeMs() {
+        return responseTimeMs;
+    }
+
+    /** 本步骤响应时间直方图（微秒），LogHistogram.encode() 格式 */
+    public String getResponseTimeHistogram() {
+        return responseTimeHistogram;
+    }
+
+    public void setResponseTimeHistogram(String responseTimeHistogram) {
+        this.responseTimeHistogram = responseTimeHistogram;
+    }
+}
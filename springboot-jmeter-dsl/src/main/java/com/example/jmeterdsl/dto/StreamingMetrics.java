@@ -0,0 +1,72 @@
+package com.example.jmeterdsl.dto;
+
+public class StreamingMetrics {
+
+    private final DistributionStats timeToFirstTokenMs;
+    private final DistributionStats interTokenLatencyMs;
+    private final DistributionStats outputTokensPerSecond;
+    private final long totalOutputTokens;
+    private final double outputTokenThroughput;
+    private String timeToFirstTokenHistogram;
+    private String interTokenLatencyHistogram;
+    private String outputTokensPerSecondHistogram;
+
+    public StreamingMetrics(DistributionStats timeToFirstTokenMs, DistributionStats interTokenLatencyMs,
+                            DistributionStats outputTokensPerSecond, long totalOutputTokens,
+                            double outputTokenThroughput) {
+        this.timeToFirstTokenMs = timeToFirstTokenMs;
+        this.interTokenLatencyMs = interTokenLatencyMs;
+        this.outputTokensPerSecond = outputTokensPerSecond;
+        this.totalOutputTokens = totalOutputTokens;
+        this.outputTokenThroughput = outputTokenThroughput;
+    }
+
+    /** 首 token 时延（TTFT） */
+    public DistributionStats getTimeToFirstTokenMs() {
+        return timeToFirstTokenMs;
+    }
+
+    /** 相邻 token 到达间隔（TBT） */
+    public DistributionStats getInterTokenLatencyMs() {
+        return interTokenLatencyMs;
+    }
+
+    /** 单请求输出速率：输出 token 数 / 请求总耗时 */
+    public DistributionStats getOutputTokensPerSecond() {
+        return outputTokensPerSecond;
+    }
+
+    public long getTotalOutputTokens() {
+        return totalOutputTokens;
+    }
+
+    /** 整体输出吞吐：全部输出 token / 压测墙钟时间 */
+    public double getOutputTokenThroughput() {
+        return outputTokenThroughput;
+    }
+
+    /** 以下直方图均为 LogHistogram.encode() 格式：时延单位微秒，输出速率单位 0.001 token/s */
+    public String getTimeToFirstTokenHistogram() {
+        return timeToFirstTokenHistogram;
+    }
+
+    public void setTimeToFirstTokenHistogram(String timeToFirstTokenHistogram) {
+        this.timeToFirstTokenHistogram = timeToFirstTokenHistogram;
+    }
+
+    public String getInterTokenLatencyHistogram() {
+        return interTokenLatencyHistogram;
+    }
+
+    public void setInterTokenLatencyHistogram(String interTokenLatencyHistogram) {
+        this.interTokenLatencyHistogram = interTokenLatencyHistogram;
+    }
+
+    public String getOutputTokensPerSecondHistogram() {
+        return outputTokensPerSecondHistogram;
+    }
+
+    public void setOutputTokensPerSecondHistogram(String outputTokensPerSecondHistogram) {
+        this.outputTokensPerSecondHistogram = outputTokensPerSecondHistogram;
+    }
+}
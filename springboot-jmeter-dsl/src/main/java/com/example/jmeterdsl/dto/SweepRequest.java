@@ -0,0 +1,84 @@
+package com.example.jmeterdsl.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+
+public class SweepRequest {
+
+    /** 单个扫描阶段允许的最大数量 */
+    public static final int MAX_STAGES = 100;
+
+    /**
+     * 每个阶段的压测配置，闭环模式逐级替换 threads，开环模式逐级替换 targetRps。
+     * 不在此处级联校验（开环模式可以不填 targetRps），提交时按第一个阶段的配置校验。
+     */
+    @NotNull(message = "压测配置不能为空")
+    private LoadTestRequest request;
+
+    /** 起始并发（线程数或目标到达率） */
+    private double start;
+
+    /** 每阶段递增量 */
+    private double step;
+
+    /** 最大并发，包含该值 */
+    private double max;
+
+    @Valid
+    private SweepSlo slo;
+
+    public LoadTestRequest getRequest() {
+        return request;
+    }
+
+    public void setRequest(LoadTestRequest request) {
+        this.request = request;
+    }
+
+    public double getStart() {
+        return start;
+    }
+
+    public void setStart(double start) {
+        this.start = start;
+    }
+
+    public double getStep() {
+        return step;
+    }
+
+    public void setStep(double step) {
+        this.step = step;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public void setMax(double max) {
+        this.max = max;
+    }
+
+    public SweepSlo getSlo() {
+        return slo == null ? new SweepSlo() : slo;
+    }
+
+    public void setSlo(SweepSlo slo) {
+        this.slo = slo;
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "需要 start > 0、step > 0 且 max >= start，阶段数不超过 100")
+    public boolean isLadderValid() {
+        return start > 0 && step > 0 && max >= start && (max - start) / step < MAX_STAGES;
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "闭环模式按线程数扫描，start 与 step 必须为整数")
+    public boolean isThreadLadderValid() {
+        return request == null || request.getLoadModel() == LoadModel.ARRIVAL_RATE
+                || (start == Math.rint(start) && step == Math.rint(step));
+    }
+}
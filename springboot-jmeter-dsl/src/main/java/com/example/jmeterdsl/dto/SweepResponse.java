@@ -0,0 +1,86 @@
+package com.example.jmeterdsl.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public class SweepResponse {
+
+    private final String sweepId;
+    private final RunStatus status;
+    private final Instant submittedAt;
+    private final Instant finishedAt;
+    private final String errorMessage;
+    private final List<SweepStage> stages;
+    private Double maxSustainableLevel;
+    private Double maxSustainableThroughput;
+    private Double saturationLevel;
+    private List<String> saturationReasons;
+
+    public SweepResponse(String sweepId, RunStatus status, Instant submittedAt, Instant finishedAt,
+                         String errorMessage, List<SweepStage> stages) {
+        this.sweepId = sweepId;
+        this.status = status;
+        this.submittedAt = submittedAt;
+        this.finishedAt = finishedAt;
+        this.errorMessage = errorMessage;
+        this.stages = stages;
+    }
+
+    public String getSweepId() {
+        return sweepId;
+    }
+
+    public RunStatus getStatus() {
+        return status;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public List<SweepStage> getStages() {
+        return stages;
+    }
+
+    /** 最后一个满足 SLO 的阶段的并发，首个阶段即不满足时为 null */
+    public Double getMaxSustainableLevel() {
+        return maxSustainableLevel;
+    }
+
+    public void setMaxSustainableLevel(Double maxSustainableLevel) {
+        this.maxSustainableLevel = maxSustainableLevel;
+    }
+
+    public Double getMaxSustainableThroughput() {
+        return maxSustainableThroughput;
+    }
+
+    public void setMaxSustainableThroughput(Double maxSustainableThroughput) {
+        this.maxSustainableThroughput = maxSustainableThroughput;
+    }
+
+    /** 首个违反 SLO 的阶段的并发，整个阶梯都满足时为 null */
+    public Double getSaturationLevel() {
+        return saturationLevel;
+    }
+
+    public void setSaturationLevel(Double saturationLevel) {
+        this.saturationLevel = saturationLevel;
+    }
+
+    public List<String> getSaturationReasons() {
+        return saturationReasons;
+    }
+
+    public void setSaturationReasons(List<String> saturationReasons) {
+        this.saturationReasons = saturationReasons;
+    }
+}
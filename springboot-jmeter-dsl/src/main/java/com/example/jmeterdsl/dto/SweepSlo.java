@@ -0,0 +1,84 @@
+package com.example.jmeterdsl.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+
+/**
+ * 扫描阶段的 SLO：错误率上限默认 1%，其余各项为 0 表示不检查。
+ */
+public class SweepSlo {
+
+    /** 错误率上限（百分比） */
+    @DecimalMin(value = "0", message = "错误率上限不能为负数")
+    @DecimalMax(value = "100", message = "错误率上限不能超过100")
+    private double maxErrorPercentage = 1;
+
+    /** p95 响应时间上限（毫秒） */
+    @DecimalMin(value = "0", message = "p95 上限不能为负数")
+    private double maxP95Millis;
+
+    /** p99 响应时间上限（毫秒） */
+    @DecimalMin(value = "0", message = "p99 上限不能为负数")
+    private double maxP99Millis;
+
+    /** 流式接口 p95 TTFT 上限（毫秒） */
+    @DecimalMin(value = "0", message = "TTFT 上限不能为负数")
+    private double maxTtftP95Millis;
+
+    /** 开环模式：实际吞吐至少达到目标到达率的百分比，低于该值说明服务已跟不上 */
+    @DecimalMin(value = "0", message = "到达率达成比例不能为负数")
+    @DecimalMax(value = "100", message = "到达率达成比例不能超过100")
+    private double minAchievedRatePercentage = 90;
+
+    /** 相对上一通过阶段，吞吐增幅低于该百分比时视为已到拐点（吞吐不再随并发增长） */
+    @DecimalMin(value = "0", message = "吞吐增幅下限不能为负数")
+    private double minThroughputGainPercentage;
+
+    public double getMaxErrorPercentage() {
+        return maxErrorPercentage;
+    }
+
+    public void setMaxErrorPercentage(double maxErrorPercentage) {
+        this.maxErrorPercentage = maxErrorPercentage;
+    }
+
+    public double getMaxP95Millis() {
+        return maxP95Millis;
+    }
+
+    public void setMaxP95Millis(double maxP95Millis) {
+        this.maxP95Millis = maxP95Millis;
+    }
+
+    public double getMaxP99Millis() {
+        return maxP99Millis;
+    }
+
+    public void setMaxP99Millis(double maxP99Millis) {
+        this.maxP99Millis = maxP99Millis;
+    }
+
+    public double getMaxTtftP95Millis() {
+        return maxTtftP95Millis;
+    }
+
+    public void setMaxTtftP95Millis(double maxTtftP95Millis) {
+        this.maxTtftP95Millis = maxTtftP95Millis;
+    }
+
+    public double getMinAchievedRatePercentage() {
+        return minAchievedRatePercentage;
+    }
+
+    public void setMinAchievedRatePercentage(double minAchievedRatePercentage) {
+        this.minAchievedRatePercentage = minAchievedRatePercentage;
+    }
+
+    public double getMinThroughputGainPercentage() {
+        return minThroughputGainPercentage;
+    }
+
+    public void setMinThroughputGainPercentage(double minThroughputGainPercentage) {
+        this.minThroughputGainPercentage = minThroughputGainPercentage;
+    }
+}
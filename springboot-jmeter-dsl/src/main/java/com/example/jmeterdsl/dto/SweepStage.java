@@ -0,0 +1,93 @@
+package com.example.jmeterdsl.dto;
+
+import java.util.List;
+
+public class SweepStage {
+
+    private final int index;
+    private final double level;
+    private final String runId;
+    private final RunStatus status;
+    private final long totalSamples;
+    private final double throughputPerSecond;
+    private final double errorPercentage;
+    private final double p50Ms;
+    private final double p95Ms;
+    private final double p99Ms;
+    private final Double ttftP95Ms;
+    private final Boolean passed;
+    private final List<String> violations;
+
+    public SweepStage(int index, double level, String runId, RunStatus status, long totalSamples,
+                      double throughputPerSecond, double errorPercentage, double p50Ms, double p95Ms,
+                      double p99Ms, Double ttftP95Ms, Boolean passed, List<String> violations) {
+        this.index = index;
+        this.level = level;
+        this.runId = runId;
+        this.status = status;
+        this.totalSamples = totalSamples;
+        this.throughputPerSecond = throughputPerSecond;
+        this.errorPercentage = errorPercentage;
+        this.p50Ms = p50Ms;
+        this.p95Ms = p95Ms;
+        this.p99Ms = p99Ms;
+        this.ttftP95Ms = ttftP95Ms;
+        this.passed = passed;
+        this.violations = violations;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    /** 本阶段的线程数（闭环）或目标到达率（开环） */
+    public double getLevel() {
+        return level;
+    }
+
+    /** 本阶段对应的压测 runId，可查询其实时指标与完整结果 */
+    public String getRunId() {
+        return runId;
+    }
+
+    public RunStatus getStatus() {
+        return status;
+    }
+
+    public long getTotalSamples() {
+        return totalSamples;
+    }
+
+    public double getThroughputPerSecond() {
+        return throughputPerSecond;
+    }
+
+    public double getErrorPercentage() {
+        return errorPercentage;
+    }
+
+    public double getP50Ms() {
+        return p50Ms;
+    }
+
+    public double getP95Ms() {
+        return p95Ms;
+    }
+
+    public double getP99Ms() {
+        return p99Ms;
+    }
+
+    public Double getTtftP95Ms() {
+        return ttftP95Ms;
+    }
+
+    /** 是否满足 SLO，阶段未结束时为 null */
+    public Boolean getPassed() {
+        return passed;
+    }
+
+    public List<String> getViolations() {
+        return violations;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.jmeterdsl.dto;
+
+public class TokenMetrics {
+
+    private final long responses;
+    private final long usageReportedResponses;
+    private final long promptTokens;
+    private final long completionTokens;
+    private final long totalTokens;
+    private final double inputTokenThroughput;
+    private final double outputTokenThroughput;
+    private final double totalTokenThroughput;
+    private Double pricePerHour;
+    private Double costPer1kTokens;
+    private Double costPer1kOutputTokens;
+    private Double powerWatts;
+    private Double energyPer1kTokensWh;
+
+    public TokenMetrics(long responses, long usageReportedResponses, long promptTokens, long completionTokens,
+                        double inputTokenThroughput, double outputTokenThroughput) {
+        this.responses = responses;
+        this.usageReportedResponses = usageReportedResponses;
+        this.promptTokens = promptTokens;
+        this.completionTokens = completionTokens;
+        this.totalTokens = promptTokens + completionTokens;
+        this.inputTokenThroughput = inputTokenThroughput;
+        this.outputTokenThroughput = outputTokenThroughput;
+        this.totalTokenThroughput = inputTokenThroughput + outputTokenThroughput;
+    }
+
+    /** 参与统计的成功响应数 */
+    public long getResponses() {
+        return responses;
+    }
+
+    /** 其中带 usage 的响应数；流式响应没有 usage 时输出 token 按内容 chunk 数计，输入 token 不计 */
+    public long getUsageReportedResponses() {
+        return usageReportedResponses;
+    }
+
+    public long getPromptTokens() {
+        return promptTokens;
+    }
+
+    public long getCompletionTokens() {
+        return completionTokens;
+    }
+
+    public long getTotalTokens() {
+        return totalTokens;
+    }
+
+    /** 以下吞吐均为 token 数 / 压测墙钟时间 */
+    public double getInputTokenThroughput() {
+        return inputTokenThroughput;
+    }
+
+    public double getOutputTokenThroughput() {
+        return outputTokenThroughput;
+    }
+
+    public double getTotalTokenThroughput() {
+        return totalTokenThroughput;
+    }
+
+    /** 以下成本与能耗仅在配置了硬件成本时返回 */
+    public Double getPricePerHour() {
+        return pricePerHour;
+    }
+
+    public void setPricePerHour(Double pricePerHour) {
+        this.pricePerHour = pricePerHour;
+    }
+
+    /** 每千 token（输入 + 输出）的成本 */
+    public Double getCostPer1kTokens() {
+        return costPer1kTokens;
+    }
+
+    public void setCostPer1kTokens(Double costPer1kTokens) {
+        this.costPer1kTokens = costPer1kTokens;
+    }
+
+    public Double getCostPer1kOutputTokens() {
+        return costPer1kOutputTokens;
+    }
+
+    public void setCostPer1kOutputTokens(Double costPer1kOutputTokens) {
+        this.costPer1kOutputTokens = costPer1kOutputTokens;
+    }
+
+    public Double getPowerWatts() {
+        return powerWatts;
+    }
+
+    public void setPowerWatts(Double powerWatts) {
+        this.powerWatts = powerWatts;
+    }
+
+    /** 每千 token（输入 + 输出）的能耗，瓦时 */
+    public Double getEnergyPer1kTokensWh() {
+        return energyPer1kTokensWh;
+    }
+
+    public void setEnergyPer1kTokensWh(Double energyPer1kTokensWh) {
+        this.energyPer1kTokensWh = energyPer1kTokensWh;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.jmeterdsl.dto;
+
+/**
+ * 可做跨版本趋势与门禁判断的汇总指标。
+ */
+public enum TrendMetric {
+    THROUGHPUT,
+    ERROR_PERCENTAGE,
+    MEAN,
+    P50,
+    P90,
+    P95,
+    P99,
+    P999,
+    TTFT_P50,
+    TTFT_P95,
+    TTFT_P99,
+    ITL_P95,
+    OUTPUT_TOKEN_THROUGHPUT;
+
+    /** 越大越好的吞吐类指标，门禁规则中作为下限，其余作为上限 */
+    public boolean isHigherBetter() {
+        return this == THROUGHPUT || this == OUTPUT_TOKEN_THROUGHPUT;
+    }
+
+    /** 只有流式接口才有的指标 */
+    public boolean isStreaming() {
+        return this == TTFT_P50 || this == TTFT_P95 || this == TTFT_P99 || this == ITL_P95
+                || this == OUTPUT_TOKEN_THROUGHPUT;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.jmeterdsl.dto;
+
+import java.time.Instant;
+
+public class TrendPoint {
+
+    private final String runId;
+    private final Instant finishedAt;
+    private final String model;
+    private final String backend;
+    private final String version;
+    private final String hardware;
+    private final String configFingerprint;
+    private final Double value;
+
+    public TrendPoint(String runId, Instant finishedAt, String model, String backend, String version,
+                      String hardware, String configFingerprint, Double value) {
+        this.runId = runId;
+        this.finishedAt = finishedAt;
+        this.model = model;
+        this.backend = backend;
+        this.version = version;
+        this.hardware = hardware;
+        this.configFingerprint = configFingerprint;
+        this.value = value;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    public String getBackend() {
+        return backend;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public String getHardware() {
+        return hardware;
+    }
+
+    public String getConfigFingerprint() {
+        return configFingerprint;
+    }
+
+    /** 指标值，非流式压测的 TTFT 等指标为 null */
+    public Double getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.jmeterdsl.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+
+/**
+ * 预热阶段：压测开始后的一段时间或前若干个采样不计入汇总指标（同时配置时两者都满足才结束预热），
+ * 避免 JIT、服务端模型加载与爬坡期拉偏结果。可选开启稳态检测，单独报告进入稳态后的指标。
+ */
+public class WarmUpOptions {
+
+    /** 预热时长（秒），从压测开始起算 */
+    @Min(value = 0, message = "预热时长不能为负数")
+    private int durationSeconds;
+
+    /** 预热采样数：前 N 个完成的采样不计入汇总 */
+    @Min(value = 0, message = "预热采样数不能为负数")
+    private long samples;
+
+    /** 稳态检测，为空时不检测 */
+    @Valid
+    private SteadyStateOptions steadyState;
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public void setDurationSeconds(int durationSeconds) {
+        this.durationSeconds = durationSeconds;
+    }
+
+    public long getSamples() {
+        return samples;
+    }
+
+    public void setSamples(long samples) {
+        this.samples = samples;
+    }
+
+    public SteadyStateOptions getSteadyState() {
+        return steadyState;
+    }
+
+    public void setSteadyState(SteadyStateOptions steadyState) {
+        this.steadyState = steadyState;
+    }
+}
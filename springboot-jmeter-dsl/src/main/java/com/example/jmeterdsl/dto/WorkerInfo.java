@@ -0,0 +1,35 @@
+package com.example.jmeterdsl.dto;
+
+import java.time.Instant;
+
+public class WorkerInfo {
+
+    private final String url;
+    private final String name;
+    /** 是否来自 load-test.distributed.workers 静态配置 */
+    private final boolean configured;
+    private final Instant lastSeenAt;
+
+    public WorkerInfo(String url, String name, boolean configured, Instant lastSeenAt) {
+        this.url = url;
+        this.name = name;
+        this.configured = configured;
+        this.lastSeenAt = lastSeenAt;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isConfigured() {
+        return configured;
+    }
+
+    public Instant getLastSeenAt() {
+        return lastSeenAt;
+    }
+}
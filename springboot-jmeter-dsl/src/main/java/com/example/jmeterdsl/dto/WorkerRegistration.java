@@ -0,0 +1,28 @@
+package com.example.jmeterdsl.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public class WorkerRegistration {
+
+    /** 工作节点的 HTTP 地址，如 http://10.0.0.2:8080 */
+    @NotBlank(message = "工作节点地址不能为空")
+    private String url;
+
+    private String name;
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,543 @@
+package com.example.jmeterdsl.jtl;
+
+import com.example.jmeterdsl.metrics.LogHistogram;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * JMeter CSV 结果文件（JTL）的流式聚合：
+ * - 文件按记录边界切成若干段（引号内的换行不算边界），各段内存映射后并行扫描，逐字节解析字段，除新出现的 label 外不分配 String
+ * - 每个 label 折叠为计数器 + 对数直方图，内存与行数无关，5000 万行的 JTL 也只占常数内存
+ * - 分位数取直方图所在桶的中值（256ms 以下精确，以上相对误差不超过 1/256），平均值、最小值、最大值精确
+ * 输出与原先的“聚合报告”表格相同：java ... JtlAggregator results.jtl [并行度]
+ */
+public final class JtlAggregator {
+
+    /** 单段最大长度，FileChannel.map 单次不能超过 2GB，预留一行的余量 */
+    private static final long MAX_CHUNK_SIZE = 1L << 30;
+
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+
+    /** 单个 label 的聚合结果，可跨分段合并 */
+    public static final class LabelStats {
+        private final String label;
+        private final byte[] key;
+        private final int hash;
+        private final LogHistogram elapsed = new LogHistogram();
+        private long total;
+        private long ok;
+        private long bytes;
+        private long sentBytes;
+        private long firstStart = Long.MAX_VALUE;
+        private long lastEnd = Long.MIN_VALUE;
+
+        LabelStats(String label, byte[] key, int hash) {
+            this.label = label;
+            this.key = key;
+            this.hash = hash;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public long getOk() {
+            return ok;
+        }
+
+        public LogHistogram getElapsed() {
+            return elapsed;
+        }
+
+        public double getErrorPercentage() {
+            return total == 0 ? 0 : (1.0 - (double) ok / total) * 100.0;
+        }
+
+        /** 首个请求开始到最后一个请求结束的时长，至少 1 秒 */
+        public double getDurationSeconds() {
+            return total == 0 ? 1.0 : Math.max(1.0, (lastEnd - firstStart) / 1000.0);
+        }
+
+        public double getThroughput() {
+            return total / getDurationSeconds();
+        }
+
+        public double getReceivedKbPerSecond() {
+            return bytes / 1024.0 / getDurationSeconds();
+        }
+
+        public double getSentKbPerSecond() {
+            return sentBytes / 1024.0 / getDurationSeconds();
+        }
+
+        void add(long ts, long elapsedMillis, boolean success, long received, long sent) {
+            elapsed.record(elapsedMillis);
+            total++;
+            if (success) {
+                ok++;
+            }
+            bytes += received;
+            sentBytes += sent;
+            firstStart = Math.min(firstStart, ts);
+            lastEnd = Math.max(lastEnd, ts + elapsedMillis);
+        }
+
+        void merge(LabelStats other) {
+            elapsed.add(other.elapsed);
+            total += other.total;
+            ok += other.ok;
+            bytes += other.bytes;
+            sentBytes += other.sentBytes;
+            firstStart = Math.min(firstStart, other.firstStart);
+            lastEnd = Math.max(lastEnd, other.lastEnd);
+        }
+    }
+
+    /** 表头中各列的位置，-1 表示文件中没有该列 */
+    private record Columns(int timeStamp, int elapsed, int label, int success, int bytes, int sentBytes) {
+
+        static Columns parse(String header) {
+            Map<String, Integer> index = new HashMap<>();
+            String[] names = header.split(",");
+            for (int i = 0; i < names.length; i++) {
+                index.put(names[i].trim(), i);
+            }
+            return new Columns(index.getOrDefault("timeStamp", -1), index.getOrDefault("elapsed", -1),
+                    index.getOrDefault("label", -1), index.getOrDefault("success", -1),
+                    index.getOrDefault("bytes", -1), index.getOrDefault("sentBytes", -1));
+        }
+    }
+
+    private JtlAggregator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path jtl = Paths.get(args.length > 0 ? args[0] : "target/jmeter/results.jtl");
+        int parallelism = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        Map<String, LabelStats> stats = aggregate(jtl, parallelism);
+        printAggregateReport(stats, System.out);
+        printHead(jtl, 20, System.out);
+    }
+
+    /** 按 label 聚合，返回结果按 label 在文件中首次出现的顺序排列 */
+    public static Map<String, LabelStats> aggregate(Path jtl, int parallelism) throws IOException, InterruptedException {
+        try (FileChannel channel = FileChannel.open(jtl, StandardOpenOption.READ)) {
+            long size = channel.size();
+            String header = readHeader(channel);
+            if (header == null) {
+                return Map.of();
+            }
+            Columns columns = Columns.parse(header);
+            long dataStart = nextLineStart(channel, 1, size);
+            long dataSize = Math.max(0, size - dataStart);
+            long chunks = Math.max(Math.max(1, parallelism), (dataSize + MAX_CHUNK_SIZE - 1) / MAX_CHUNK_SIZE);
+            ExecutorService executor = Executors.newFixedThreadPool((int) Math.max(1, Math.min(parallelism, chunks)));
+            try {
+                long[] bounds = split(channel, dataStart, size, chunks, executor);
+                List<Future<LinkedHashMap<String, LabelStats>>> parts = new ArrayList<>();
+                for (int i = 0; i + 1 < bounds.length; i++) {
+                    MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, bounds[i], bounds[i + 1] - bounds[i]);
+                    parts.add(executor.submit(() -> scan(chunk, columns)));
+                }
+                Map<String, LabelStats> merged = new LinkedHashMap<>();
+                for (Future<LinkedHashMap<String, LabelStats>> part : parts) {
+                    part.get().forEach((label, stats) -> merged.merge(label, stats, (a, b) -> {
+                        a.merge(b);
+                        return a;
+                    }));
+                }
+                return merged;
+            } catch (ExecutionException e) {
+                throw new IOException("解析 JTL 失败: " + jtl, e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    public static void printAggregateReport(Map<String, LabelStats> stats, PrintStream out) {
+        DecimalFormat df2 = new DecimalFormat("0.00");
+        out.println("\n# Aggregate Report\n");
+        out.println("| Label | Samples | Avg(ms) | Min | P90 | P95 | P99 | Max | Error% | Throughput (req/s) | Recv KB/s | Sent KB/s |");
+        out.println("|---|---:|---:|---:|---:|---:|---:|---:|---:|---:|---:|---:|");
+        for (LabelStats s : stats.values()) {
+            LogHistogram h = s.getElapsed();
+            out.printf("| %s | %d | %s | %d | %d | %d | %d | %d | %s | %s | %s | %s |%n",
+                    s.getLabel(), s.getTotal(), df2.format(h.mean()), h.min(),
+                    h.valueAtPercentile(0.90), h.valueAtPercentile(0.95), h.valueAtPercentile(0.99), h.max(),
+                    df2.format(s.getErrorPercentage()), df2.format(s.getThroughput()),
+                    df2.format(s.getReceivedKbPerSecond()), df2.format(s.getSentKbPerSecond()));
+        }
+    }
+
+    /** 打印前 limit 行明细（等同 GUI 的“用表格查看结果”），只读取文件开头 */
+    public static void printHead(Path jtl, int limit, PrintStream out) throws IOException {
+        out.println("\n# View Results in Table (前" + limit + "条)\n");
+        out.println("| timeStamp | elapsed | label | code | success | bytes | sentBytes | thread |");
+        out.println("|---:|---:|---|---:|:---:|---:|---:|---|");
+        try (BufferedReader reader = Files.newBufferedReader(jtl)) {
+            String header = reader.readLine();
+            if (header == null) {
+                return;
+            }
+            List<String> names = Arrays.asList(header.split(","));
+            String line;
+            for (int n = 0; n < limit && (line = reader.readLine()) != null; n++) {
+                List<String> x = splitCsv(line);
+                out.printf("| %s | %s | %s | %s | %s | %s | %s | %s |%n",
+                        field(x, names, "timeStamp"), field(x, names, "elapsed"), field(x, names, "label"),
+                        field(x, names, "responseCode"), field(x, names, "success"), field(x, names, "bytes"),
+                        field(x, names, "sentBytes"), field(x, names, "threadName"));
+            }
+        }
+    }
+
+    /**
+     * 在 [dataStart, size) 内按记录边界切成约 chunks 段。JMeter 会给含换行的 responseMessage / failureMessage 加引号，
+     * 只找下一个换行可能切在字段中间：先并行统计各名义段内的引号数（"" 转义成对出现，不影响奇偶），
+     * 切分点之前的引号数为奇数说明它落在引号内，再从切分点带着引号状态向后找第一个引号外的换行。
+     */
+    private static long[] split(FileChannel channel, long dataStart, long size, long chunks, ExecutorService executor)
+            throws IOException, InterruptedException, ExecutionException {
+        long nominal = Math.max(1, (size - dataStart + chunks - 1) / chunks);
+        List<Future<Long>> quoteCounts = new ArrayList<>();
+        for (long start = dataStart; start < size; start += nominal) {
+            MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(nominal, size - start));
+            quoteCounts.add(executor.submit(() -> countQuotes(segment)));
+        }
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(Math.min(dataStart, size));
+        boolean inQuotes = false;
+        for (int i = 1; i < quoteCounts.size(); i++) {
+            inQuotes ^= (quoteCounts.get(i - 1).get() & 1) == 1;
+            long from = dataStart + i * nominal;
+            // 上一个切分点因超长的引号字段越过了本段时跳过，引号奇偶仍按名义段累计
+            if (from < bounds.get(bounds.size() - 1)) {
+                continue;
+            }
+            long next = recordStart(channel, from, size, inQuotes);
+            if (next > bounds.get(bounds.size() - 1) && next < size) {
+                bounds.add(next);
+            }
+        }
+        if (bounds.get(bounds.size() - 1) < size) {
+            bounds.add(size);
+        }
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static long countQuotes(MappedByteBuffer segment) {
+        long count = 0;
+        int limit = segment.limit();
+        for (int i = 0; i < limit; i++) {
+            if (segment.get(i) == '"') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /** from 处或其后第一个不在引号内的换行之后的位置，inQuotes 为 from 处的引号状态 */
+    private static long recordStart(FileChannel channel, long from, long size, boolean inQuotes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        boolean quoted = inQuotes;
+        // from 前一个字节是引号外的换行时 from 本身就是记录开头（换行不改变引号状态）
+        long position = from - 1;
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                return size;
+            }
+            for (int i = 0; i < read; i++) {
+                byte b = buffer.get(i);
+                if (b == '\n' && !quoted) {
+                    return position + i + 1;
+                }
+                if (b == '"' && position + i >= from) {
+                    quoted = !quoted;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    /** from 处或其后第一个换行符之后的位置 */
+    private static long nextLineStart(FileChannel channel, long from, long size) throws IOException {
+        if (from >= size) {
+            return size;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long position = from - 1;
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                return size;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static String readHeader(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        int read = channel.read(buffer, 0);
+        if (read <= 0) {
+            return null;
+        }
+        int end = 0;
+        while (end < read && buffer.get(end) != '\n') {
+            end++;
+        }
+        if (end == read && read == buffer.capacity()) {
+            throw new IOException("JTL 表头过长");
+        }
+        int length = end > 0 && buffer.get(end - 1) == '\r' ? end - 1 : end;
+        return new String(buffer.array(), 0, length, StandardCharsets.UTF_8);
+    }
+
+    /** 扫描一段完整的行，按 label 折叠 */
+    private static LinkedHashMap<String, LabelStats> scan(MappedByteBuffer buf, Columns columns) {
+        LabelTable labels = new LabelTable();
+        int limit = buf.limit();
+        int pos = 0;
+        while (pos < limit) {
+            long ts = 0;
+            long elapsed = 0;
+            long received = 0;
+            long sent = 0;
+            boolean success = false;
+            int labelStart = 0;
+            int labelEnd = 0;
+            boolean labelQuoted = false;
+            int field = 0;
+            int fieldStart;
+            int fieldEnd;
+            while (true) {
+                boolean quoted = pos < limit && buf.get(pos) == '"';
+                if (quoted) {
+                    fieldStart = ++pos;
+                    while (pos < limit) {
+                        if (buf.get(pos) == '"') {
+                            if (pos + 1 < limit && buf.get(pos + 1) == '"') {
+                                pos += 2;
+                                continue;
+                            }
+                            break;
+                        }
+                        pos++;
+                    }
+                    fieldEnd = pos;
+                    pos = Math.min(limit, pos + 1);
+                    while (pos < limit && buf.get(pos) != ',' && buf.get(pos) != '\n' && buf.get(pos) != '\r') {
+                        pos++;
+                    }
+                } else {
+                    fieldStart = pos;
+                    while (pos < limit && buf.get(pos) != ',' && buf.get(pos) != '\n' && buf.get(pos) != '\r') {
+                        pos++;
+                    }
+                    fieldEnd = pos;
+                }
+                if (field == columns.timeStamp()) {
+                    ts = parseLong(buf, fieldStart, fieldEnd);
+                } else if (field == columns.elapsed()) {
+                    elapsed = parseLong(buf, fieldStart, fieldEnd);
+                } else if (field == columns.label()) {
+                    labelStart = fieldStart;
+                    labelEnd = fieldEnd;
+                    labelQuoted = quoted;
+                } else if (field == columns.success()) {
+                    success = equalsIgnoreCase(buf, fieldStart, fieldEnd, TRUE);
+                } else if (field == columns.bytes()) {
+                    received = parseLong(buf, fieldStart, fieldEnd);
+                } else if (field == columns.sentBytes()) {
+                    sent = parseLong(buf, fieldStart, fieldEnd);
+                }
+                field++;
+                if (pos < limit && buf.get(pos) == ',') {
+                    pos++;
+                    continue;
+                }
+                if (pos < limit && buf.get(pos) == '\r') {
+                    pos++;
+                }
+                if (pos < limit && buf.get(pos) == '\n') {
+                    pos++;
+                }
+                break;
+            }
+            if (field == 1 && fieldEnd == fieldStart) {
+                // 空行
+                continue;
+            }
+            labels.get(buf, labelStart, labelEnd, labelQuoted).add(ts, elapsed, success, received, sent);
+        }
+        return labels.toMap();
+    }
+
+    /** 只接受十进制整数，其他内容（含空字段）按 0 处理，与原实现解析失败时的行为一致 */
+    private static long parseLong(MappedByteBuffer buf, int start, int end) {
+        if (start >= end) {
+            return 0;
+        }
+        boolean negative = buf.get(start) == '-';
+        long value = 0;
+        for (int i = negative ? start + 1 : start; i < end; i++) {
+            int digit = buf.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return 0;
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    private static boolean equalsIgnoreCase(MappedByteBuffer buf, int start, int end, byte[] expected) {
+        if (end - start != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if ((buf.get(start + i) | 0x20) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String field(List<String> values, List<String> names, String name) {
+        int i = names.indexOf(name);
+        return i >= 0 && i < values.size() ? values.get(i) : "n/a";
+    }
+
+    /** 明细表用的 CSV 拆分，支持双引号包裹与 "" 转义 */
+    private static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    /** 以 label 原始字节为键的开放寻址表，命中时只比较字节，不创建 String */
+    private static final class LabelTable {
+        private LabelStats[] slots = new LabelStats[64];
+        private final List<LabelStats> ordered = new ArrayList<>();
+
+        LabelStats get(MappedByteBuffer buf, int start, int end, boolean quoted) {
+            int hash = 1;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + buf.get(i);
+            }
+            int mask = slots.length - 1;
+            for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+                LabelStats stats = slots[slot];
+                if (stats == null) {
+                    return insert(buf, start, end, quoted, hash, slot);
+                }
+                if (stats.hash == hash && sameBytes(buf, start, end, stats.key)) {
+                    return stats;
+                }
+            }
+        }
+
+        LinkedHashMap<String, LabelStats> toMap() {
+            LinkedHashMap<String, LabelStats> map = new LinkedHashMap<>();
+            for (LabelStats stats : ordered) {
+                map.merge(stats.getLabel(), stats, (a, b) -> {
+                    a.merge(b);
+                    return a;
+                });
+            }
+            return map;
+        }
+
+        private LabelStats insert(MappedByteBuffer buf, int start, int end, boolean quoted, int hash, int slot) {
+            byte[] key = new byte[end - start];
+            buf.get(start, key);
+            String label = new String(key, StandardCharsets.UTF_8);
+            LabelStats stats = new LabelStats(quoted ? label.replace("\"\"", "\"") : label, key, hash);
+            slots[slot] = stats;
+            ordered.add(stats);
+            if (ordered.size() * 2 > slots.length) {
+                rehash();
+            }
+            return stats;
+        }
+
+        private void rehash() {
+            slots = new LabelStats[slots.length * 2];
+            int mask = slots.length - 1;
+            for (LabelStats stats : ordered) {
+                int slot = stats.hash & mask;
+                while (slots[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = stats;
+            }
+        }
+
+        private static boolean sameBytes(MappedByteBuffer buf, int start, int end, byte[] key) {
+            if (end - start != key.length) {
+                return false;
+            }
+            for (int i = 0; i < key.length; i++) {
+                if (buf.get(start + i) != key[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.jmeterdsl.metrics;
+
+import com.example.jmeterdsl.dto.DistributionStats;
+import com.example.jmeterdsl.dto.GateResult;
+import com.example.jmeterdsl.dto.GateRule;
+import com.example.jmeterdsl.dto.GateRuleResult;
+import com.example.jmeterdsl.dto.LoadTestResponse;
+import com.example.jmeterdsl.dto.PerformanceGate;
+import com.example.jmeterdsl.dto.StreamingMetrics;
+import com.example.jmeterdsl.dto.TrendMetric;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import org.apache.jmeter.samplers.SampleResult;
+
+/**
+ * 性能门禁：压测过程中每秒用已收集的直方图检查一次上限规则，累计采样数达到下限后首次突破即回调 onBreach
+ * （由调用方提前结束压测）；压测结束后用最终结果逐条判断所有规则。
+ * 过程中的检查由恰好跨过检查时刻的采样线程执行，同一时刻只有一个线程在检查。
+ */
+public class GateMonitor implements SampleListener {
+
+    private static final long CHECK_INTERVAL_NANOS = 1_000_000_000L;
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    private static final double MICROS_PER_MILLI = 1_000.0;
+
+    private final PerformanceGate gate;
+    private final LogHistogram responseTime;
+    private final StreamingMetricsCollector streaming;
+    private final Consumer<String> onBreach;
+    private final long startNanos = System.nanoTime();
+    private final AtomicLong nextCheckNanos = new AtomicLong(startNanos + CHECK_INTERVAL_NANOS);
+    private final LongAdder samples = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private volatile Breach breach;
+
+    /**
+     * @param responseTime 计入汇总的响应时间直方图（微秒）
+     * @param streaming    流式指标，非流式压测为 null
+     * @param onBreach     上限规则被突破时回调，参数为说明文字
+     */
+    public GateMonitor(PerformanceGate gate, LogHistogram responseTime, StreamingMetricsCollector streaming,
+                       Consumer<String> onBreach) {
+        this.gate = gate;
+        this.responseTime = responseTime;
+        this.streaming = streaming;
+        this.onBreach = onBreach;
+    }
+
+    @Override
+    public void sampleOccurred(SampleResult result, long elapsedMillis) {
+        samples.increment();
+        if (!result.isSuccessful()) {
+            errors.increment();
+        }
+        if (!gate.isAbortOnBreach() || breach != null) {
+            return;
+        }
+        long now = System.nanoTime();
+        long next = nextCheckNanos.get();
+        if (now >= next && nextCheckNanos.compareAndSet(next, now + CHECK_INTERVAL_NANOS)) {
+            check(now);
+        }
+    }
+
+    private void check(long now) {
+        long count = samples.sum();
+        if (count < gate.getMinSamples()) {
+            return;
+        }
+        for (GateRule rule : gate.getRules()) {
+            if (rule.getMetric().isHigherBetter()) {
+                continue;
+            }
+            Double value = currentValue(rule.getMetric(), count);
+            if (value != null && value > rule.getThreshold()) {
+                breach = new Breach(rule, value, (now - startNanos) / NANOS_PER_SECOND);
+                onBreach.accept(String.format("%s = %.2f 超过 %.2f", rule.getMetric(), value, rule.getThreshold()));
+                return;
+            }
+        }
+    }
+
+    private Double currentValue(TrendMetric metric, long count) {
+        return switch (metric) {
+            case ERROR_PERCENTAGE -> errors.sum() * 100.0 / count;
+            case MEAN -> responseTime.mean() / MICROS_PER_MILLI;
+            case P50 -> percentile(responseTime, 0.50);
+            case P90 -> percentile(responseTime, 0.90);
+            case P95 -> percentile(responseTime, 0.95);
+            case P99 -> percentile(responseTime, 0.99);
+            case P999 -> percentile(responseTime, 0.999);
+            case TTFT_P50 -> streaming == null ? null : percentile(streaming.timeToFirstToken(), 0.50);
+            case TTFT_P95 -> streaming == null ? null : percentile(streaming.timeToFirstToken(), 0.95);
+            case TTFT_P99 -> streaming == null ? null : percentile(streaming.timeToFirstToken(), 0.99);
+            case ITL_P95 -> streaming == null ? null : percentile(streaming.interTokenLatency(), 0.95);
+            case THROUGHPUT, OUTPUT_TOKEN_THROUGHPUT -> null;
+        };
+    }
+
+    private static Double percentile(LogHistogram histogram, double p) {
+        return histogram.count() == 0 ? null : histogram.valueAtPercentile(p) / MICROS_PER_MILLI;
+    }
+
+    /** 用最终结果判断所有规则，过程中被突破的规则一律不通过 */
+    public GateResult result(LoadTestResponse response) {
+        Breach current = breach;
+        List<GateRuleResult> rules = new ArrayList<>();
+        for (GateRule rule : gate.getRules()) {
+            GateRuleResult ruleResult = evaluate(rule, response, current != null && current.rule() == rule);
+            if (current != null && current.rule() == rule) {
+                ruleResult.setBreachedValue(current.value());
+                ruleResult.setBreachedAtSeconds(current.atSeconds());
+            }
+            rules.add(ruleResult);
+        }
+        return new GateResult(rules.stream().allMatch(GateRuleResult::isPassed), current != null, rules);
+    }
+
+    /** 只按最终结果判断，用于合并后的分布式结果 */
+    public static GateResult evaluate(PerformanceGate gate, LoadTestResponse response, boolean aborted) {
+        List<GateRuleResult> rules = new ArrayList<>();
+        for (GateRule rule : gate.getRules()) {
+            rules.add(evaluate(rule, response, false));
+        }
+        return new GateResult(!aborted && rules.stream().allMatch(GateRuleResult::isPassed), aborted, rules);
+    }
+
+    private static GateRuleResult evaluate(GateRule rule, LoadTestResponse response, boolean breached) {
+        Double actual = response.getTotalSamples() == 0 ? null : valueOf(rule.getMetric(), response);
+        boolean passed = !breached && actual != null && (rule.getMetric().isHigherBetter()
+                ? actual >= rule.getThreshold()
+                : actual <= rule.getThreshold());
+        return new GateRuleResult(rule.getMetric(), rule.getThreshold(), actual, passed);
+    }
+
+    /** 压测结果中的指标值，结果中没有该指标（如非流式压测的 TTFT）时为 null */
+    public static Double valueOf(TrendMetric metric, LoadTestResponse response) {
+        DistributionStats rt = response.getResponseTimeMs();
+        StreamingMetrics streaming = response.getStreaming();
+        return switch (metric) {
+            case THROUGHPUT -> response.getThroughputPerSecond();
+            case ERROR_PERCENTAGE -> response.getErrorPercentage();
+            case MEAN -> rt == null ? null : rt.getMean();
+            case P50 -> rt == null ? null : rt.getP50();
+            case P90 -> rt == null ? null : rt.getP90();
+            case P95 -> rt == null ? null : rt.getP95();
+            case P99 -> rt == null ? null : rt.getP99();
+            case P999 -> rt == null ? null : rt.getP999();
+            case TTFT_P50 -> streaming == null ? null : streaming.getTimeToFirstTokenMs().getP50();
+            case TTFT_P95 -> streaming == null ? null : streaming.getTimeToFirstTokenMs().getP95();
+            case TTFT_P99 -> streaming == null ? null : streaming.getTimeToFirstTokenMs().getP99();
+            case ITL_P95 -> streaming == null ? null : streaming.getInterTokenLatencyMs().getP95();
+            case OUTPUT_TOKEN_THROUGHPUT -> streaming == null ? null : streaming.getOutputTokenThroughput();
+        };
+    }
+
+    private record Breach(GateRule rule, double value, double atSeconds) {
+    }
+}
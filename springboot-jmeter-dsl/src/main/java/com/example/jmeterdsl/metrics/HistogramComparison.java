@@ -0,0 +1,179 @@
+package com.example.jmeterdsl.metrics;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * 基于直方图的两组样本比较，直接在桶计数上计算，不需要原始采样：
+ * - Mann-Whitney U 检验：逐桶累计"基线中比候选小的样本数"，同桶视为并列（并列校正后用正态近似求 p 值），
+ *   检验候选整体是否比基线偏大 / 偏小，对长尾与非正态分布稳健
+ * - 泊松自助法：每轮把各桶计数替换为以原计数为均值的泊松随机数，重新计算分位数，
+ *   得到两组分位数相对变化的置信区间，适合 P95 / P99 这类没有封闭公式的尾部指标
+ * 随机数种子固定，同样的两组直方图每次给出相同的区间。
+ */
+public final class HistogramComparison {
+
+    private static final long SEED = 0x5EEDL;
+    /** 泊松均值超过该值时用正态近似抽样 */
+    private static final double POISSON_NORMAL_THRESHOLD = 30;
+
+    private HistogramComparison() {
+    }
+
+    /**
+     * @param probabilityOfSuperiority 随机取一个候选样本大于基线样本的概率（并列算一半），0.5 表示没有差异
+     * @param pValue                    双侧 p 值
+     */
+    public record MannWhitney(double probabilityOfSuperiority, double z, double pValue) {
+    }
+
+    /** 候选相对基线的分位数变化（比例，0.1 即大 10%）及其置信区间 */
+    public record PercentileChange(double change, double lower, double upper) {
+    }
+
+    public static MannWhitney mannWhitney(LogHistogram baseline, LogHistogram candidate) {
+        double n1 = baseline.count();
+        double n2 = candidate.count();
+        double n = n1 + n2;
+        double u = 0;
+        double baselineBelow = 0;
+        double tieTerm = 0;
+        for (int i = 0; i < LogHistogram.BUCKET_COUNT; i++) {
+            long a = baseline.countAt(i);
+            long b = candidate.countAt(i);
+            if (a == 0 && b == 0) {
+                continue;
+            }
+            u += b * (baselineBelow + a / 2.0);
+            baselineBelow += a;
+            double t = a + b;
+            tieTerm += t * t * t - t;
+        }
+        double mean = n1 * n2 / 2;
+        double variance = n1 * n2 / 12 * ((n + 1) - tieTerm / (n * (n - 1)));
+        double z = variance > 0 ? (u - mean) / Math.sqrt(variance) : 0;
+        double pValue = 2 * (1 - normalCdf(Math.abs(z)));
+        return new MannWhitney(u / (n1 * n2), z, Math.max(0, pValue));
+    }
+
+    /**
+     * @param p          分位数（0.95 即 P95）
+     * @param confidence 置信水平（0.95 即 95% 置信区间）
+     */
+    public static PercentileChange percentileChange(LogHistogram baseline, LogHistogram candidate, double p,
+                                                    double confidence, int iterations) {
+        Buckets base = Buckets.of(baseline);
+        Buckets cand = Buckets.of(candidate);
+        double baseValue = base.percentile(base.counts, p);
+        double change = baseValue > 0 ? cand.percentile(cand.counts, p) / baseValue - 1 : 0;
+        SplittableRandom random = new SplittableRandom(SEED);
+        long[] baseSample = new long[base.counts.length];
+        long[] candSample = new long[cand.counts.length];
+        double[] changes = new double[iterations];
+        int valid = 0;
+        for (int i = 0; i < iterations; i++) {
+            base.resample(random, baseSample);
+            cand.resample(random, candSample);
+            double resampledBase = base.percentile(baseSample, p);
+            if (resampledBase > 0 && !Double.isNaN(resampledBase)) {
+                double resampledCand = cand.percentile(candSample, p);
+                if (!Double.isNaN(resampledCand)) {
+                    changes[valid++] = resampledCand / resampledBase - 1;
+                }
+            }
+        }
+        if (valid == 0) {
+            return new PercentileChange(change, change, change);
+        }
+        Arrays.sort(changes, 0, valid);
+        double tail = (1 - confidence) / 2;
+        int lower = (int) Math.floor(tail * (valid - 1));
+        int upper = (int) Math.ceil((1 - tail) * (valid - 1));
+        return new PercentileChange(change, changes[lower], changes[upper]);
+    }
+
+    /** 两组错误率是否不同的双侧 p 值（两比例 z 检验），两组都没有错误时为 1 */
+    public static double proportionPValue(long errors1, long total1, long errors2, long total2) {
+        double pooled = (double) (errors1 + errors2) / (total1 + total2);
+        double se = Math.sqrt(pooled * (1 - pooled) * (1.0 / total1 + 1.0 / total2));
+        if (se == 0) {
+            return 1;
+        }
+        double z = ((double) errors2 / total2 - (double) errors1 / total1) / se;
+        return Math.max(0, 2 * (1 - normalCdf(Math.abs(z))));
+    }
+
+    /** 标准正态分布函数（Abramowitz-Stegun 7.1.26 近似，误差小于 1.5e-7） */
+    static double normalCdf(double x) {
+        double t = 1 / (1 + 0.3275911 * Math.abs(x) / Math.sqrt(2));
+        double erf = 1 - t * (0.254829592 + t * (-0.284496736 + t * (1.421413741
+                + t * (-1.453152027 + t * 1.061405429)))) * Math.exp(-x * x / 2);
+        return x >= 0 ? (1 + erf) / 2 : (1 - erf) / 2;
+    }
+
+    private static long poisson(SplittableRandom random, double mean) {
+        if (mean > POISSON_NORMAL_THRESHOLD) {
+            double u1 = 1 - random.nextDouble();
+            double gaussian = Math.sqrt(-2 * Math.log(u1)) * Math.cos(2 * Math.PI * random.nextDouble());
+            return Math.max(0, Math.round(mean + Math.sqrt(mean) * gaussian));
+        }
+        double limit = Math.exp(-mean);
+        double product = random.nextDouble();
+        long k = 0;
+        while (product > limit) {
+            product *= random.nextDouble();
+            k++;
+        }
+        return k;
+    }
+
+    /** 非空桶的代表值与计数，自助法只在这些桶上重抽样 */
+    private record Buckets(long[] values, long[] counts) {
+
+        static Buckets of(LogHistogram histogram) {
+            int nonEmpty = 0;
+            for (int i = 0; i < LogHistogram.BUCKET_COUNT; i++) {
+                if (histogram.countAt(i) > 0) {
+                    nonEmpty++;
+                }
+            }
+            long[] values = new long[nonEmpty];
+            long[] counts = new long[nonEmpty];
+            int j = 0;
+            for (int i = 0; i < LogHistogram.BUCKET_COUNT && j < nonEmpty; i++) {
+                long count = histogram.countAt(i);
+                if (count > 0) {
+                    values[j] = LogHistogram.midpoint(i);
+                    counts[j++] = count;
+                }
+            }
+            return new Buckets(values, counts);
+        }
+
+        void resample(SplittableRandom random, long[] target) {
+            for (int i = 0; i < counts.length; i++) {
+                target[i] = poisson(random, counts[i]);
+            }
+        }
+
+        /** 按给定计数求分位数，计数全为 0 时为 NaN */
+        double percentile(long[] sample, double p) {
+            long total = 0;
+            for (long count : sample) {
+                total += count;
+            }
+            if (total == 0) {
+                return Double.NaN;
+            }
+            long rank = Math.max(1, (long) Math.ceil(p * total));
+            long seen = 0;
+            for (int i = 0; i < sample.length; i++) {
+                seen += sample[i];
+                if (seen >= rank) {
+                    return values[i];
+                }
+            }
+            return values[values.length - 1];
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.jmeterdsl.metrics;
+
+import com.example.jmeterdsl.dto.MetricsSnapshot;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+import org.apache.jmeter.samplers.SampleResult;
+
+/**
+ * 滚动时间窗口：JMeter 线程写入当前窗口，定时任务调用 {@link #roll} 换出旧窗口并生成快照。
+ * 两个窗口交替使用，换入前清空，每秒不再分配新的直方图。
+ * 换出后仍在写旧窗口的少量采样会计入旧窗口的直方图但可能错过本次快照，对秒级趋势无影响。
+ */
+public class LiveMetricsWindow implements SampleListener {
+
+    private static final double MICROS_PER_MILLI = 1_000.0;
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final boolean streaming;
+    private final IntSupplier inFlight;
+    private final Window first = new Window();
+    private final Window second = new Window();
+    private final AtomicReference<Window> current = new AtomicReference<>(first);
+    private long windowStartNanos = System.nanoTime();
+
+    public LiveMetricsWindow(boolean streaming, IntSupplier inFlight) {
+        this.streaming = streaming;
+        this.inFlight = inFlight;
+    }
+
+    @Override
+    public void sampleOccurred(SampleResult result, long elapsedMillis) {
+        Window window = current.get();
+        window.latency.record(elapsedMillis * 1_000);
+        window.samples.increment();
+        if (!result.isSuccessful()) {
+            window.errors.increment();
+        } else if (streaming && result.getLatency() > 0) {
+            window.timeToFirstToken.record(result.getLatency() * 1_000);
+        }
+    }
+
+    /** 只允许单个线程调用 */
+    public MetricsSnapshot roll() {
+        Window spare = current.get() == first ? second : first;
+        spare.reset();
+        Window window = current.getAndSet(spare);
+        long now = System.nanoTime();
+        double seconds = Math.max(1e-3, (now - windowStartNanos) / NANOS_PER_SECOND);
+        windowStartNanos = now;
+
+        long samples = window.samples.sum();
+        long errors = window.errors.sum();
+        boolean hasTtft = window.timeToFirstToken.count() > 0;
+        return new MetricsSnapshot(Instant.now(), seconds, samples, errors,
+                samples / seconds,
+                samples == 0 ? 0.0 : errors * 100.0 / samples,
+                window.latency.valueAtPercentile(0.50) / MICROS_PER_MILLI,
+                window.latency.valueAtPercentile(0.95) / MICROS_PER_MILLI,
+                window.latency.valueAtPercentile(0.99) / MICROS_PER_MILLI,
+                inFlight.getAsInt(),
+                hasTtft ? window.timeToFirstToken.valueAtPercentile(0.50) / MICROS_PER_MILLI : null,
+                hasTtft ? window.timeToFirstToken.valueAtPercentile(0.95) / MICROS_PER_MILLI : null);
+    }
+
+    private static final class Window {
+        private final LogHistogram latency = new LogHistogram();
+        private final LogHistogram timeToFirstToken = new LogHistogram();
+        private final LongAdder samples = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+
+        private void reset() {
+            latency.reset();
+            timeToFirstToken.reset();
+            samples.reset();
+            errors.reset();
+        }
+    }
+}
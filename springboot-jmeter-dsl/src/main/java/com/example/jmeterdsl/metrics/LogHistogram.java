@@ -0,0 +1,242 @@
+package com.example.jmeterdsl.metrics;
+
+import com.example.jmeterdsl.dto.DistributionStats;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 对数分桶直方图（HdrHistogram 思路）：
+ * - 小于 256 的值逐一计数；更大的值按 2 的幂分段，每段 128 个等宽子桶，相对误差不超过 1/256
+ * - 桶数固定（5376 个 long，约 42KB），与样本数无关，可并发写入、可合并
+ * - 数值单位由调用方约定（响应时间统一使用微秒），summary 时按 scale 换算
+ */
+public class LogHistogram {
+
+    private static final int SUB_BUCKET_BITS = 8;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT >> 1;
+    private static final int MAX_SHIFT = 40;
+    static final int BUCKET_COUNT = SUB_BUCKET_COUNT + MAX_SHIFT * SUB_BUCKET_HALF_COUNT;
+    private static final int ENCODING_VERSION = 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long value) {
+        long v = Math.max(0, value);
+        counts.incrementAndGet(indexOf(v));
+        totalCount.increment();
+        sum.add(v);
+        min.accumulateAndGet(v, Math::min);
+        max.accumulateAndGet(v, Math::max);
+    }
+
+    public void add(LogHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long c = other.counts.get(i);
+            if (c != 0) {
+                counts.addAndGet(i, c);
+            }
+        }
+        totalCount.add(other.totalCount.sum());
+        sum.add(other.sum.sum());
+        min.accumulateAndGet(other.min.get(), Math::min);
+        max.accumulateAndGet(other.max.get(), Math::max);
+    }
+
+    /** 清空以便复用；调用方需保证此时没有并发写入，空直方图不扫描桶数组 */
+    public void reset() {
+        if (totalCount.sum() == 0) {
+            return;
+        }
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (counts.get(i) != 0) {
+                counts.set(i, 0);
+            }
+        }
+        totalCount.reset();
+        sum.reset();
+        min.set(Long.MAX_VALUE);
+        max.set(0);
+    }
+
+    public long count() {
+        return totalCount.sum();
+    }
+
+    public double mean() {
+        long n = totalCount.sum();
+        return n == 0 ? 0.0 : (double) sum.sum() / n;
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    public long min() {
+        return totalCount.sum() == 0 ? 0 : min.get();
+    }
+
+    /** p 取值 (0, 1]，返回所在桶的中值，并限制在 [min, max] 内 */
+    public long valueAtPercentile(double p) {
+        long n = totalCount.sum();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(p * n));
+        if (rank >= n) {
+            return max();
+        }
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.max(min(), Math.min(max(), midpoint(i)));
+            }
+        }
+        return max();
+    }
+
+    /** scale 为每个输出单位对应的记录值，例如微秒记录、毫秒输出时传 1000 */
+    public DistributionStats summary(double scale) {
+        if (count() == 0) {
+            return DistributionStats.empty();
+        }
+        return new DistributionStats(count(), mean() / scale, min() / scale,
+                valueAtPercentile(0.50) / scale, valueAtPercentile(0.90) / scale,
+                valueAtPercentile(0.95) / scale, valueAtPercentile(0.99) / scale,
+                valueAtPercentile(0.999) / scale, max() / scale);
+    }
+
+    /** 稀疏编码（非零桶的下标差值 + 计数，varint）后 deflate，再 Base64 */
+    public String encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new DeflaterOutputStream(bytes)) {
+            out.write(ENCODING_VERSION);
+            out.write(SUB_BUCKET_BITS);
+            writeVarLong(out, min());
+            writeVarLong(out, max());
+            writeVarLong(out, sum.sum());
+            int previous = -1;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                long c = counts.get(i);
+                if (c != 0) {
+                    writeVarLong(out, i - previous);
+                    writeVarLong(out, c);
+                    previous = i;
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("histogram encode error", e);
+        }
+        return Base64.getEncoder().encodeToString(bytes.toByteArray());
+    }
+
+    public static LogHistogram decode(String encoded) {
+        LogHistogram histogram = new LogHistogram();
+        try (DataInputStream in = new DataInputStream(
+                new InflaterInputStream(new ByteArrayInputStream(Base64.getDecoder().decode(encoded))))) {
+            int version = in.read();
+            int subBits = in.read();
+            if (version != ENCODING_VERSION || subBits != SUB_BUCKET_BITS) {
+                throw new IllegalArgumentException("unsupported histogram encoding: v" + version + "/" + subBits);
+            }
+            long minValue = readVarLong(in);
+            long maxValue = readVarLong(in);
+            long total = 0;
+            histogram.sum.add(readVarLong(in));
+            int index = -1;
+            long delta;
+            while ((delta = readVarLong(in)) >= 0) {
+                index += (int) delta;
+                long c = readVarLong(in);
+                histogram.counts.set(index, c);
+                total += c;
+            }
+            histogram.totalCount.add(total);
+            if (total > 0) {
+                histogram.min.set(minValue);
+                histogram.max.set(maxValue);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("histogram decode error", e);
+        }
+        return histogram;
+    }
+
+    long countAt(int index) {
+        return counts.get(index);
+    }
+
+    /** 桶的代表值（中值） */
+    static long midpoint(int index) {
+        return lowerBound(index) + (bucketWidth(index) - 1) / 2;
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        if (shift > MAX_SHIFT) {
+            return BUCKET_COUNT - 1;
+        }
+        int subBucket = (int) (value >>> shift);
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF_COUNT + (subBucket - SUB_BUCKET_HALF_COUNT);
+    }
+
+    static long lowerBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int offset = index - SUB_BUCKET_COUNT;
+        int shift = offset / SUB_BUCKET_HALF_COUNT + 1;
+        long subBucket = offset % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+        return subBucket << shift;
+    }
+
+    static long bucketWidth(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return 1;
+        }
+        return 1L << ((index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF_COUNT + 1);
+    }
+
+    private static void writeVarLong(OutputStream out, long value) throws IOException {
+        long v = value;
+        while ((v & ~0x7FL) != 0) {
+            out.write((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.write((int) v);
+    }
+
+    /** 流结束时返回 -1 */
+    private static long readVarLong(InputStream in) throws IOException {
+        long result = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.read();
+            if (b < 0) {
+                return -1;
+            }
+            result |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return result;
+    }
+}
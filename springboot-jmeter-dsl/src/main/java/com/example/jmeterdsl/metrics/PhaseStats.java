@@ -0,0 +1,47 @@
+package com.example.jmeterdsl.metrics;
+
+import com.example.jmeterdsl.dto.PhaseMetrics;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 一个阶段的采样计数与响应时间分布（微秒），线程安全。
+ */
+final class PhaseStats {
+
+    private static final double MICROS_PER_MILLI = 1_000.0;
+
+    private final LogHistogram responseTime = new LogHistogram();
+    private final LongAdder errors = new LongAdder();
+
+    void record(long micros, boolean successful) {
+        responseTime.record(micros);
+        if (!successful) {
+            errors.increment();
+        }
+    }
+
+    void add(PhaseStats other) {
+        responseTime.add(other.responseTime);
+        errors.add(other.errors.sum());
+    }
+
+    long samples() {
+        return responseTime.count();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    /** 响应时间均值（微秒） */
+    double mean() {
+        return responseTime.mean();
+    }
+
+    PhaseMetrics summary(double durationSeconds) {
+        PhaseMetrics metrics = new PhaseMetrics(responseTime.count(), errors.sum(), durationSeconds,
+                responseTime.summary(MICROS_PER_MILLI));
+        metrics.setResponseTimeHistogram(responseTime.encode());
+        return metrics;
+    }
+}
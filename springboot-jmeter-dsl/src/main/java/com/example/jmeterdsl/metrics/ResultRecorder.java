@@ -0,0 +1,99 @@
+package com.example.jmeterdsl.metrics;
+
+import com.example.jmeterdsl.dto.ConnectionMetrics;
+import com.example.jmeterdsl.dto.DistributionStats;
+import com.example.jmeterdsl.dto.StepMetrics;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.jmeter.samplers.SampleResult;
+
+/**
+ * 单次压测的结果收集器：每个采样的响应时间以微秒记入固定内存的 {@link LogHistogram}，
+ * 同时按采样标签（场景步骤名）分别统计。首字节时延与建连耗时单独统计，
+ * 连接复用只对能报告建连时间的采样标签统计：JMeter HTTP 采样器仅在新建连接时记录建连耗时，复用时为 0。
+ */
+public class ResultRecorder implements SampleListener {
+
+    private static final double MICROS_PER_MILLI = 1_000.0;
+
+    private final LogHistogram responseTime = new LogHistogram();
+    private final Map<String, LabelStats> byLabel = new ConcurrentHashMap<>();
+    private final LogHistogram latency = new LogHistogram();
+    private final LogHistogram connectTime = new LogHistogram();
+    private final LongAdder connectionSamples = new LongAdder();
+    private final LongAdder newConnections = new LongAdder();
+    private final Set<String> connectionLabels;
+
+    public ResultRecorder() {
+        this(Set.of());
+    }
+
+    /**
+     * @param connectionLabels 能报告建连时间的采样标签
+     */
+    public ResultRecorder(Set<String> connectionLabels) {
+        this.connectionLabels = connectionLabels;
+    }
+
+    @Override
+    public void sampleOccurred(SampleResult result, long elapsedMillis) {
+        long micros = elapsedMillis * 1_000;
+        responseTime.record(micros);
+        // 连接失败等没有收到响应的采样 latency 为 0，不计入首字节时延
+        if (result.getLatency() > 0 || result.isSuccessful()) {
+            latency.record(result.getLatency() * 1_000);
+        }
+        if (connectionLabels.contains(result.getSampleLabel())) {
+            connectionSamples.increment();
+            if (result.getConnectTime() > 0) {
+                newConnections.increment();
+                connectTime.record(result.getConnectTime() * 1_000);
+            }
+        }
+        LabelStats label = byLabel.computeIfAbsent(result.getSampleLabel(), key -> new LabelStats());
+        label.responseTime.record(micros);
+        if (!result.isSuccessful()) {
+            label.errors.increment();
+        }
+    }
+
+    public LogHistogram responseTime() {
+        return responseTime;
+    }
+
+    public DistributionStats responseTimeSummary() {
+        return responseTime.summary(MICROS_PER_MILLI);
+    }
+
+    public ConnectionMetrics connectionSummary() {
+        ConnectionMetrics metrics = new ConnectionMetrics(latency.summary(MICROS_PER_MILLI), connectionSamples.sum(),
+                newConnections.sum(), connectTime.summary(MICROS_PER_MILLI));
+        metrics.setLatencyHistogram(latency.encode());
+        metrics.setConnectTimeHistogram(connectTime.encode());
+        return metrics;
+    }
+
+    /** 按步骤名排序的分步统计 */
+    public Map<String, StepMetrics> stepSummary() {
+        Map<String, StepMetrics> steps = new LinkedHashMap<>();
+        byLabel.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> steps.put(entry.getKey(), entry.getValue().summary()));
+        return steps;
+    }
+
+    private static final class LabelStats {
+        private final LogHistogram responseTime = new LogHistogram();
+        private final LongAdder errors = new LongAdder();
+
+        private StepMetrics summary() {
+            StepMetrics metrics = new StepMetrics(responseTime.count(), errors.sum(),
+                    responseTime.summary(MICROS_PER_MILLI));
+            metrics.setResponseTimeHistogram(responseTime.encode());
+            return metrics;
+        }
+    }
+}
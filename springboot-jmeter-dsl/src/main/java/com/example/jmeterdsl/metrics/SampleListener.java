@@ -0,0 +1,14 @@
+package com.example.jmeterdsl.metrics;
+
+import org.apache.jmeter.samplers.SampleResult;
+
+/**
+ * 采样结果回调，由线程组级后置处理器在 JMeter 线程中调用，实现需线程安全。
+ */
+public interface SampleListener {
+
+    /**
+     * @param elapsedMillis 用于统计的响应时间，开环模式下从计划发送时间起算
+     */
+    void sampleOccurred(SampleResult result, long elapsedMillis);
+}
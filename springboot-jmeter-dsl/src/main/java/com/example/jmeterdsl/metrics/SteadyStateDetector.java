@@ -0,0 +1,131 @@
+package com.example.jmeterdsl.metrics;
+
+import com.example.jmeterdsl.dto.SteadyStateMetrics;
+import com.example.jmeterdsl.dto.SteadyStateOptions;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * 滚动窗口稳态检测：窗口等分为若干时间片，最近一个完整窗口内各片的平均响应时间与吞吐的变异系数
+ * 都不超过阈值时判定进入稳态，并把该窗口内的采样计入稳态指标。
+ * 进入稳态之前按时间片归档需要加锁，之后直接写入线程安全的稳态统计。
+ */
+final class SteadyStateDetector {
+
+    static final int WINDOW_SLICES = 5;
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final long startNanos;
+    private final long sliceNanos;
+    private final double maxVariation;
+    private final Deque<Slice> window = new ArrayDeque<>();
+    private final PhaseStats steady = new PhaseStats();
+    private Slice current;
+    private volatile long steadyStartNanos;
+    private volatile boolean reached;
+
+    /**
+     * @param startNanos 压测开始时刻，时间片从此对齐
+     */
+    SteadyStateDetector(SteadyStateOptions options, long startNanos) {
+        this.startNanos = startNanos;
+        this.sliceNanos = options.getWindowSeconds() * 1_000_000_000L / WINDOW_SLICES;
+        this.maxVariation = options.getMaxVariationPercentage() / 100.0;
+    }
+
+    void record(long micros, boolean successful, long nowNanos) {
+        if (reached) {
+            steady.record(micros, successful);
+            return;
+        }
+        synchronized (this) {
+            if (reached) {
+                steady.record(micros, successful);
+                return;
+            }
+            long index = (nowNanos - startNanos) / sliceNanos;
+            if (current == null) {
+                current = new Slice(index);
+            } else if (index > current.index) {
+                // 没有采样完成的时间片按空片计入，窗口内出现空片即不稳定
+                for (long i = current.index; i < index; i++) {
+                    window.addLast(i == current.index ? current : new Slice(i));
+                    if (window.size() > WINDOW_SLICES) {
+                        window.removeFirst();
+                    }
+                }
+                current = new Slice(index);
+                if (window.size() == WINDOW_SLICES && isStable()) {
+                    enterSteadyState();
+                    steady.record(micros, successful);
+                    return;
+                }
+            }
+            current.stats.record(micros, successful);
+        }
+    }
+
+    private boolean isStable() {
+        double[] meanResponseTime = new double[WINDOW_SLICES];
+        double[] samples = new double[WINDOW_SLICES];
+        int i = 0;
+        for (Slice slice : window) {
+            if (slice.stats.samples() == 0) {
+                return false;
+            }
+            meanResponseTime[i] = slice.stats.mean();
+            samples[i] = slice.stats.samples();
+            i++;
+        }
+        return coefficientOfVariation(meanResponseTime) <= maxVariation
+                && coefficientOfVariation(samples) <= maxVariation;
+    }
+
+    private static double coefficientOfVariation(double[] values) {
+        double mean = 0;
+        for (double value : values) {
+            mean += value;
+        }
+        mean /= values.length;
+        if (mean == 0) {
+            return 0;
+        }
+        double variance = 0;
+        for (double value : values) {
+            variance += (value - mean) * (value - mean);
+        }
+        return Math.sqrt(variance / values.length) / mean;
+    }
+
+    private void enterSteadyState() {
+        steadyStartNanos = startNanos + window.peekFirst().index * sliceNanos;
+        for (Slice slice : window) {
+            steady.add(slice.stats);
+        }
+        window.clear();
+        current = null;
+        reached = true;
+    }
+
+    /**
+     * @param lastSampleNanos 最后一个采样完成的时刻，用于计算稳态阶段的时长与吞吐
+     */
+    SteadyStateMetrics summary(long lastSampleNanos) {
+        if (!reached) {
+            return new SteadyStateMetrics(false, null, null);
+        }
+        double offsetSeconds = (steadyStartNanos - startNanos) / NANOS_PER_SECOND;
+        double durationSeconds = Math.max(0, lastSampleNanos - steadyStartNanos) / NANOS_PER_SECOND;
+        return new SteadyStateMetrics(true, offsetSeconds, steady.summary(durationSeconds));
+    }
+
+    private static final class Slice {
+        private final long index;
+        private final PhaseStats stats = new PhaseStats();
+
+        private Slice(long index) {
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.jmeterdsl.metrics;
+
+import com.example.jmeterdsl.dto.StreamingMetrics;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 汇总单次压测中所有流式请求的 TTFT、token 间隔与输出速率，时间入参均为纳秒。
+ * 时延以微秒记入直方图，输出速率以 0.001 token/s 为单位记录。
+ */
+public class StreamingMetricsCollector {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    private static final double MICROS_PER_MILLI = 1_000.0;
+    private static final double RATE_SCALE = 1_000.0;
+
+    private final LogHistogram timeToFirstToken = new LogHistogram();
+    private final LogHistogram interTokenLatency = new LogHistogram();
+    private final LogHistogram outputTokensPerSecond = new LogHistogram();
+    private final AtomicLong totalOutputTokens = new AtomicLong();
+
+    public void recordTimeToFirstToken(long nanos) {
+        timeToFirstToken.record(nanos / 1_000);
+    }
+
+    public void recordInterTokenGap(long nanos) {
+        interTokenLatency.record(nanos / 1_000);
+    }
+
+    public void recordRequest(int outputTokens, long elapsedNanos) {
+        totalOutputTokens.addAndGet(outputTokens);
+        if (outputTokens > 0 && elapsedNanos > 0) {
+            outputTokensPerSecond.record(Math.round(outputTokens / (elapsedNanos / NANOS_PER_SECOND) * RATE_SCALE));
+        }
+    }
+
+    public LogHistogram timeToFirstToken() {
+        return timeToFirstToken;
+    }
+
+    public LogHistogram interTokenLatency() {
+        return interTokenLatency;
+    }
+
+    public StreamingMetrics summary(double wallClockSeconds) {
+        long tokens = totalOutputTokens.get();
+        double throughput = wallClockSeconds > 0 ? tokens / wallClockSeconds : 0.0;
+        return summaryWithThroughput(throughput);
+    }
+
+    /** 合并其他节点的流式统计（编码后的直方图与 token 数），用于分布式压测汇总 */
+    public void add(String timeToFirstTokenHistogram, String interTokenLatencyHistogram,
+                    String outputTokensPerSecondHistogram, long outputTokens) {
+        timeToFirstToken.add(LogHistogram.decode(timeToFirstTokenHistogram));
+        interTokenLatency.add(LogHistogram.decode(interTokenLatencyHistogram));
+        outputTokensPerSecond.add(LogHistogram.decode(outputTokensPerSecondHistogram));
+        totalOutputTokens.addAndGet(outputTokens);
+    }
+
+    /** 各节点并行发压时整体吞吐为各节点吞吐之和，由调用方给出 */
+    public StreamingMetrics summaryWithThroughput(double outputTokenThroughput) {
+        StreamingMetrics metrics = new StreamingMetrics(timeToFirstToken.summary(MICROS_PER_MILLI),
+                interTokenLatency.summary(MICROS_PER_MILLI),
+                outputTokensPerSecond.summary(RATE_SCALE), totalOutputTokens.get(), outputTokenThroughput);
+        metrics.setTimeToFirstTokenHistogram(timeToFirstToken.encode());
+        metrics.setInterTokenLatencyHistogram(interTokenLatency.encode());
+        metrics.setOutputTokensPerSecondHistogram(outputTokensPerSecond.encode());
+        return metrics;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.jmeterdsl.metrics;
+
+import com.example.jmeterdsl.dto.HardwareCost;
+import com.example.jmeterdsl.dto.TokenMetrics;
+import com.example.jmeterdsl.sampler.TokenUsage;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 汇总单次压测的输入 / 输出 token 数：优先使用响应中的 usage，流式响应没有 usage 时输出 token 按内容 chunk 数计。
+ * 与流式指标一样按全部成功响应统计（包括预热阶段），吞吐按压测墙钟时间计算。
+ */
+public class TokenUsageCollector {
+
+    private static final double SECONDS_PER_HOUR = 3_600.0;
+    private static final double TOKENS_PER_UNIT = 1_000.0;
+
+    private final LongAdder responses = new LongAdder();
+    private final LongAdder usageReported = new LongAdder();
+    private final LongAdder promptTokens = new LongAdder();
+    private final LongAdder completionTokens = new LongAdder();
+
+    /** 流式响应读完后调用 */
+    public void recordStreamed(TokenUsage usage, int contentChunks) {
+        responses.increment();
+        if (usage == null) {
+            completionTokens.add(contentChunks);
+            return;
+        }
+        record(usage);
+    }
+
+    /** 非流式响应，响应体中没有 usage 时只计响应数 */
+    public void recordResponse(byte[] body) {
+        responses.increment();
+        TokenUsage usage = TokenUsage.find(body);
+        if (usage != null) {
+            record(usage);
+        }
+    }
+
+    private void record(TokenUsage usage) {
+        usageReported.increment();
+        promptTokens.add(usage.promptTokens());
+        completionTokens.add(usage.completionTokens());
+    }
+
+    /** 合并其他节点的 token 统计，用于分布式压测汇总 */
+    public void add(long responses, long usageReported, long promptTokens, long completionTokens) {
+        this.responses.add(responses);
+        this.usageReported.add(usageReported);
+        this.promptTokens.add(promptTokens);
+        this.completionTokens.add(completionTokens);
+    }
+
+    public TokenMetrics summary(double wallClockSeconds) {
+        return wallClockSeconds > 0
+                ? summaryWithThroughput(promptTokens.sum() / wallClockSeconds, completionTokens.sum() / wallClockSeconds)
+                : summaryWithThroughput(0.0, 0.0);
+    }
+
+    /** 各节点并行发压时整体吞吐为各节点吞吐之和，由调用方给出 */
+    public TokenMetrics summaryWithThroughput(double inputTokenThroughput, double outputTokenThroughput) {
+        return new TokenMetrics(responses.sum(), usageReported.sum(), promptTokens.sum(), completionTokens.sum(),
+                inputTokenThroughput, outputTokenThroughput);
+    }
+
+    /**
+     * 按 token 吞吐折算成本与能耗：每千 token 成本 = 每小时价格 / (每秒 token 数 × 3600) × 1000，能耗同理。
+     * 假设被测硬件在压测期间只服务本次压测。
+     */
+    public static void applyCost(TokenMetrics metrics, HardwareCost cost) {
+        if (cost == null) {
+            return;
+        }
+        if (cost.getPricePerHour() != null) {
+            metrics.setPricePerHour(cost.getPricePerHour());
+            metrics.setCostPer1kTokens(perThousand(cost.getPricePerHour(), metrics.getTotalTokenThroughput()));
+            metrics.setCostPer1kOutputTokens(perThousand(cost.getPricePerHour(), metrics.getOutputTokenThroughput()));
+        }
+        if (cost.getPowerWatts() != null) {
+            metrics.setPowerWatts(cost.getPowerWatts());
+            metrics.setEnergyPer1kTokensWh(perThousand(cost.getPowerWatts(), metrics.getTotalTokenThroughput()));
+        }
+    }
+
+    /** perHour 为每小时的量（价格或瓦时），吞吐为 0 时没有意义 */
+    private static Double perThousand(double perHour, double tokensPerSecond) {
+        return tokensPerSecond > 0 ? perHour / (tokensPerSecond * SECONDS_PER_HOUR) * TOKENS_PER_UNIT : null;
+    }
+}
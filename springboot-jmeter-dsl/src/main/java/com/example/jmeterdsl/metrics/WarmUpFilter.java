@@ -0,0 +1,96 @@
+package com.example.jmeterdsl.metrics;
+
+import com.example.jmeterdsl.dto.PhaseMetrics;
+import com.example.jmeterdsl.dto.SteadyStateMetrics;
+import com.example.jmeterdsl.dto.WarmUpOptions;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.jmeter.samplers.SampleResult;
+
+/**
+ * 预热过滤：预热阶段的采样单独统计，之后的采样转发给下游收集器（汇总与分步统计）并参与稳态检测。
+ * 预热在配置的时长与采样数都满足后结束，结束后不再回到预热。
+ */
+public class WarmUpFilter implements SampleListener {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final SampleListener measured;
+    private final long warmUpSamples;
+    private final long warmUpNanos;
+    private final long startNanos = System.nanoTime();
+    private final PhaseStats warmUp = new PhaseStats();
+    private final SteadyStateDetector steadyState;
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong samplesReachedNanos = new AtomicLong();
+    private final AtomicLong warmUpEndNanos = new AtomicLong();
+    private final AtomicLong lastSampleNanos = new AtomicLong();
+    private final LongAdder measuredSamples = new LongAdder();
+    private final LongAdder measuredErrors = new LongAdder();
+
+    public WarmUpFilter(WarmUpOptions options, SampleListener measured) {
+        this.measured = measured;
+        this.warmUpSamples = options.getSamples();
+        this.warmUpNanos = options.getDurationSeconds() * 1_000_000_000L;
+        this.steadyState = options.getSteadyState() != null
+                ? new SteadyStateDetector(options.getSteadyState(), startNanos)
+                : null;
+    }
+
+    @Override
+    public void sampleOccurred(SampleResult result, long elapsedMillis) {
+        long now = System.nanoTime();
+        lastSampleNanos.accumulateAndGet(now, Math::max);
+        if (warmUpEndNanos.get() == 0) {
+            long count = completed.incrementAndGet();
+            if (count == warmUpSamples) {
+                samplesReachedNanos.set(now);
+            }
+            if (count <= warmUpSamples || now - startNanos < warmUpNanos) {
+                warmUp.record(elapsedMillis * 1_000, result.isSuccessful());
+                return;
+            }
+            // 预热结束时刻取预热时长到期与第 N 个采样完成中较晚的一个
+            long samplesReached = warmUpSamples == 0 ? startNanos : samplesReachedNanos.get();
+            long end = Math.max(startNanos + warmUpNanos, samplesReached != 0 ? samplesReached : now);
+            warmUpEndNanos.compareAndSet(0, end);
+        }
+        measuredSamples.increment();
+        if (!result.isSuccessful()) {
+            measuredErrors.increment();
+        }
+        measured.sampleOccurred(result, elapsedMillis);
+        if (steadyState != null) {
+            steadyState.record(elapsedMillis * 1_000, result.isSuccessful(), now);
+        }
+    }
+
+    public long measuredSamples() {
+        return measuredSamples.sum();
+    }
+
+    public long measuredErrors() {
+        return measuredErrors.sum();
+    }
+
+    /** 预热结束到最后一个采样完成之间的吞吐 */
+    public double measuredThroughput() {
+        long end = warmUpEndNanos.get();
+        if (end == 0) {
+            return 0.0;
+        }
+        double seconds = (lastSampleNanos.get() - end) / NANOS_PER_SECOND;
+        return seconds > 0 ? measuredSamples.sum() / seconds : 0.0;
+    }
+
+    public PhaseMetrics warmUpSummary() {
+        long end = warmUpEndNanos.get();
+        long last = end != 0 ? end : lastSampleNanos.get();
+        return warmUp.summary(Math.max(0, last - startNanos) / NANOS_PER_SECOND);
+    }
+
+    /** 未开启稳态检测时返回 null */
+    public SteadyStateMetrics steadyStateSummary() {
+        return steadyState != null ? steadyState.summary(lastSampleNanos.get()) : null;
+    }
+}
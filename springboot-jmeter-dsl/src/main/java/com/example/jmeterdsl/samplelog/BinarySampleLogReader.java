@@ -0,0 +1,253 @@
+package com.example.jmeterdsl.samplelog;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static com.example.jmeterdsl.samplelog.SampleLogFormat.DICT_BLOCK_LOCAL;
+import static com.example.jmeterdsl.samplelog.SampleLogFormat.DICT_KINDS;
+import static com.example.jmeterdsl.samplelog.SampleLogFormat.FLAG_SUCCESS;
+import static com.example.jmeterdsl.samplelog.SampleLogFormat.RECORD_SIZE;
+
+/**
+ * 顺序读取 {@link BinarySampleLogWriter} 写出的 .bsl 文件，或转换为 JMeter CSV JTL。
+ * 压测进程异常退出时最后一个块可能不完整，读取到该处即结束。
+ *
+ * <pre>
+ * java -cp springboot-jmeter-dsl.jar -Dloader.main=com.example.jmeterdsl.samplelog.BinarySampleLogReader \
+ *   org.springframework.boot.loader.launch.PropertiesLauncher run.bsl results.jtl
+ * </pre>
+ */
+public final class BinarySampleLogReader implements Closeable {
+
+    /** 与 JMeter CSV 默认列顺序一致 */
+    public static final String JTL_HEADER =
+            "timeStamp,elapsed,label,responseCode,responseMessage,threadName,success,bytes,sentBytes,Latency,Connect";
+
+    public record Sample(long timeStamp, int elapsed, String label, String responseCode, String responseMessage,
+                         String threadName, boolean success, long bytes, long sentBytes, int latency, int connect) {
+    }
+
+    private final DataInputStream in;
+    private final Inflater inflater = new Inflater();
+    private final List<List<String>> dictionaries = new ArrayList<>(DICT_KINDS);
+    /** 当前块的块内字典项，编号 -1 对应下标 0 */
+    private final List<String> blockLocal = new ArrayList<>();
+    private byte[] buffer = new byte[0];
+    private byte[] compressed = new byte[0];
+
+    public BinarySampleLogReader(InputStream stream) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(stream, 1 << 16));
+        for (int i = 0; i < DICT_KINDS; i++) {
+            dictionaries.add(new ArrayList<>());
+        }
+        byte[] magic = new byte[SampleLogFormat.MAGIC.length];
+        in.readFully(magic);
+        if (!Arrays.equals(magic, SampleLogFormat.MAGIC)) {
+            throw new IOException("不是二进制采样日志文件");
+        }
+        short version = in.readShort();
+        if (version < SampleLogFormat.MIN_VERSION || version > SampleLogFormat.VERSION) {
+            throw new IOException("不支持的采样日志版本: " + version);
+        }
+    }
+
+    public static BinarySampleLogReader open(Path file) throws IOException {
+        return new BinarySampleLogReader(Files.newInputStream(file));
+    }
+
+    /**
+     * 按写入顺序回调每条采样，返回读取的条数
+     */
+    public long forEach(Consumer<Sample> consumer) throws IOException {
+        long total = 0;
+        ByteBuffer block;
+        while ((block = nextBlock()) != null) {
+            int records = block.getInt();
+            long baseTimestamp = block.getLong();
+            int dictionaryCount = block.getInt();
+            blockLocal.clear();
+            for (int i = 0; i < dictionaryCount; i++) {
+                byte kind = block.get();
+                int id = block.getInt();
+                byte[] bytes = new byte[block.getInt()];
+                block.get(bytes);
+                define(kind, id, new String(bytes, StandardCharsets.UTF_8));
+            }
+            if (block.remaining() != records * RECORD_SIZE) {
+                throw new IOException("采样日志块长度不匹配");
+            }
+            for (int i = 0; i < records; i++) {
+                long timeStamp = baseTimestamp + block.getInt();
+                int elapsed = block.getInt();
+                int latency = block.getInt();
+                int connect = block.getInt();
+                long bytes = block.getInt();
+                long sentBytes = block.getInt();
+                String label = lookup(SampleLogFormat.DICT_LABEL, block.getInt());
+                String code = lookup(SampleLogFormat.DICT_CODE, block.getInt());
+                String message = lookup(SampleLogFormat.DICT_MESSAGE, block.getInt());
+                String thread = lookup(SampleLogFormat.DICT_THREAD, block.getInt());
+                boolean success = (block.get() & FLAG_SUCCESS) != 0;
+                consumer.accept(new Sample(timeStamp, elapsed, label, code, message, thread, success,
+                        bytes, sentBytes, latency, connect));
+            }
+            total += records;
+        }
+        return total;
+    }
+
+    /**
+     * 转换为带表头的 CSV JTL，可直接交给 JMeter 报表或 JtlAggregator，返回写出的行数
+     */
+    public long writeJtl(Writer out) throws IOException {
+        out.write(JTL_HEADER);
+        out.write('\n');
+        StringBuilder line = new StringBuilder(160);
+        try {
+            return forEach(sample -> {
+                line.setLength(0);
+                line.append(sample.timeStamp()).append(',')
+                        .append(sample.elapsed()).append(',');
+                appendCsv(line, sample.label()).append(',');
+                appendCsv(line, sample.responseCode()).append(',');
+                appendCsv(line, sample.responseMessage()).append(',');
+                appendCsv(line, sample.threadName()).append(',');
+                line.append(sample.success()).append(',')
+                        .append(sample.bytes()).append(',')
+                        .append(sample.sentBytes()).append(',')
+                        .append(sample.latency()).append(',')
+                        .append(sample.connect()).append('\n');
+                try {
+                    out.append(line);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        inflater.end();
+        in.close();
+    }
+
+    /** 返回解压后的块（首 4 字节为记录数），文件结束或最后一个块不完整时返回 null */
+    private ByteBuffer nextBlock() throws IOException {
+        int compressedLength;
+        int rawLength;
+        int records;
+        try {
+            compressedLength = in.readInt();
+            rawLength = in.readInt();
+            records = in.readInt();
+            if (compressed.length < compressedLength) {
+                compressed = new byte[compressedLength];
+            }
+            in.readFully(compressed, 0, compressedLength);
+        } catch (EOFException e) {
+            return null;
+        }
+        int size = Integer.BYTES + rawLength;
+        if (buffer.length < size) {
+            buffer = new byte[size];
+        }
+        ByteBuffer.wrap(buffer).putInt(records);
+        inflater.reset();
+        inflater.setInput(compressed, 0, compressedLength);
+        try {
+            int offset = Integer.BYTES;
+            while (offset < size && !inflater.finished()) {
+                int n = inflater.inflate(buffer, offset, size - offset);
+                if (n == 0 && inflater.needsInput()) {
+                    throw new IOException("采样日志块数据不完整");
+                }
+                offset += n;
+            }
+            if (offset != size) {
+                throw new IOException("采样日志块长度不匹配");
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("采样日志块解压失败", e);
+        }
+        return ByteBuffer.wrap(buffer, 0, size);
+    }
+
+    private void define(byte kind, int id, String value) throws IOException {
+        if ((kind & DICT_BLOCK_LOCAL) != 0) {
+            if (id != -(blockLocal.size() + 1)) {
+                throw new IOException("采样日志块内字典项无效: id=" + id);
+            }
+            blockLocal.add(value);
+            return;
+        }
+        if (kind < 0 || kind >= DICT_KINDS || id != dictionaries.get(kind).size()) {
+            throw new IOException("采样日志字典项无效: kind=" + kind + ", id=" + id);
+        }
+        dictionaries.get(kind).add(value);
+    }
+
+    private String lookup(byte kind, int id) {
+        if (id < 0) {
+            return -id - 1 < blockLocal.size() ? blockLocal.get(-id - 1) : "";
+        }
+        List<String> dictionary = dictionaries.get(kind);
+        return id < dictionary.size() ? dictionary.get(id) : "";
+    }
+
+    private static StringBuilder appendCsv(StringBuilder line, String value) {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            return line.append(value);
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        return line.append('"');
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("用法: BinarySampleLogReader <run.bsl> [results.jtl]");
+            System.exit(1);
+        }
+        try (BinarySampleLogReader reader = open(Path.of(args[0]));
+             Writer out = args.length > 1
+                     ? Files.newBufferedWriter(Path.of(args[1]), StandardCharsets.UTF_8)
+                     : new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))) {
+            long rows = reader.writeJtl(out);
+            if (args.length > 1) {
+                System.err.println("写出 " + rows + " 行到 " + args[1]);
+            }
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.example.jmeterdsl.samplelog;
+
+import com.example.jmeterdsl.metrics.SampleListener;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import org.apache.jmeter.samplers.SampleResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.example.jmeterdsl.samplelog.SampleLogFormat.BLOCK_RECORDS;
+import static com.example.jmeterdsl.samplelog.SampleLogFormat.DICT_BLOCK_LOCAL;
+import static com.example.jmeterdsl.samplelog.SampleLogFormat.DICT_CODE;
+import static com.example.jmeterdsl.samplelog.SampleLogFormat.DICT_KINDS;
+import static com.example.jmeterdsl.samplelog.SampleLogFormat.DICT_LABEL;
+import static com.example.jmeterdsl.samplelog.SampleLogFormat.DICT_MESSAGE;
+import static com.example.jmeterdsl.samplelog.SampleLogFormat.DICT_THREAD;
+import static com.example.jmeterdsl.samplelog.SampleLogFormat.FLAG_SUCCESS;
+import static com.example.jmeterdsl.samplelog.SampleLogFormat.MAX_DICTIONARY_SIZE;
+import static com.example.jmeterdsl.samplelog.SampleLogFormat.RECORD_SIZE;
+
+/**
+ * 二进制采样日志写入：JMeter 线程只在锁内把定长记录追加到当前块（字典查找 + 41 字节拷贝），
+ * 块写满或每隔 flushIntervalMillis 由后台线程压缩并顺序写盘，压缩与 IO 不占用发压线程。
+ * 后台线程积压超过 MAX_PENDING_BLOCKS 时发压线程等待，内存占用有上限。
+ * 字典达到上限后新值只写入所在块，写入端内存有上限；写盘失败后丢弃后续采样并记录日志，不影响压测本身。
+ */
+public class BinarySampleLogWriter implements SampleListener, Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(BinarySampleLogWriter.class);
+
+    private static final int MAX_PENDING_BLOCKS = 32;
+
+    private static final class Block {
+        private final ByteBuffer records = ByteBuffer.allocate(BLOCK_RECORDS * RECORD_SIZE);
+        private final ByteArrayOutputStream dictionaryBytes = new ByteArrayOutputStream();
+        private final DataOutputStream dictionary = new DataOutputStream(dictionaryBytes);
+        private long baseTimestamp;
+        private int count;
+        private int dictionaryCount;
+        private int localCount;
+    }
+
+    private final Path file;
+    private final long flushIntervalMillis;
+    private final DataOutputStream out;
+    private final Thread writerThread;
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+
+    private final List<Map<String, Integer>> dictionaries = new ArrayList<>(DICT_KINDS);
+    private final ArrayDeque<Block> pending = new ArrayDeque<>();
+    private Block current = new Block();
+    private boolean closed;
+    private volatile IOException failure;
+
+    public BinarySampleLogWriter(Path file, long flushIntervalMillis) throws IOException {
+        this.file = file;
+        this.flushIntervalMillis = Math.max(10, flushIntervalMillis);
+        for (int i = 0; i < DICT_KINDS; i++) {
+            dictionaries.add(new HashMap<>());
+        }
+        OutputStream stream = Files.newOutputStream(file);
+        this.out = new DataOutputStream(new BufferedOutputStream(stream, 1 << 16));
+        out.write(SampleLogFormat.MAGIC);
+        out.writeShort(SampleLogFormat.VERSION);
+        this.writerThread = new Thread(this::writeLoop, "sample-log-writer-" + file.getFileName());
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public void sampleOccurred(SampleResult result, long elapsedMillis) {
+        if (failure != null) {
+            return;
+        }
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            Block block = current;
+            if (block.count == 0) {
+                block.baseTimestamp = result.getStartTime();
+            }
+            int label = id(block, DICT_LABEL, result.getSampleLabel());
+            int code = id(block, DICT_CODE, result.getResponseCode());
+            int message = id(block, DICT_MESSAGE, result.getResponseMessage());
+            int thread = id(block, DICT_THREAD, result.getThreadName());
+            ByteBuffer records = block.records;
+            records.putInt((int) (result.getStartTime() - block.baseTimestamp));
+            records.putInt(clamp(result.getTime()));
+            records.putInt(clamp(result.getLatency()));
+            records.putInt(clamp(result.getConnectTime()));
+            records.putInt(clamp(result.getBytesAsLong()));
+            records.putInt(clamp(result.getSentBytes()));
+            records.putInt(label);
+            records.putInt(code);
+            records.putInt(message);
+            records.putInt(thread);
+            records.put(result.isSuccessful() ? FLAG_SUCCESS : 0);
+            if (++block.count == BLOCK_RECORDS) {
+                seal();
+                while (pending.size() >= MAX_PENDING_BLOCKS && failure == null) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /** 写出剩余记录并关闭文件，等待后台线程结束 */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            notifyAll();
+        }
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            out.close();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /** 写盘失败的原因，失败后的采样已丢弃；为 null 表示日志完整 */
+    public IOException getFailure() {
+        return failure;
+    }
+
+    private int id(Block block, byte kind, String value) {
+        String key = value == null ? "" : value;
+        Map<String, Integer> dictionary = dictionaries.get(kind);
+        Integer id = dictionary.get(key);
+        if (id != null) {
+            return id;
+        }
+        if (dictionary.size() >= MAX_DICTIONARY_SIZE) {
+            // 字典已满：写成块内项，块内相同的值也不去重，内存随块释放
+            int local = -(++block.localCount);
+            define(block, (byte) (kind | DICT_BLOCK_LOCAL), local, key);
+            return local;
+        }
+        int next = dictionary.size();
+        dictionary.put(key, next);
+        define(block, kind, next, key);
+        return next;
+    }
+
+    private static void define(Block block, byte kind, int id, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        try {
+            block.dictionary.writeByte(kind);
+            block.dictionary.writeInt(id);
+            block.dictionary.writeInt(bytes.length);
+            block.dictionary.write(bytes);
+        } catch (IOException e) {
+            // ByteArrayOutputStream 不会抛出 IOException
+            throw new IllegalStateException(e);
+        }
+        block.dictionaryCount++;
+    }
+
+    /** 在锁内调用：把当前块移入待写队列 */
+    private void seal() {
+        pending.addLast(current);
+        current = new Block();
+        notifyAll();
+    }
+
+    private void writeLoop() {
+        while (true) {
+            Block[] blocks;
+            boolean finished;
+            synchronized (this) {
+                if (pending.isEmpty() && !closed) {
+                    try {
+                        wait(flushIntervalMillis);
+                    } catch (InterruptedException e) {
+                        closed = true;
+                    }
+                }
+                // 定时刷新或关闭时，当前未写满的块也写出
+                if (current.count > 0 && (pending.isEmpty() || closed)) {
+                    seal();
+                }
+                blocks = pending.toArray(new Block[0]);
+                pending.clear();
+                finished = closed;
+                notifyAll();
+            }
+            if (failure == null) {
+                try {
+                    for (Block block : blocks) {
+                        writeBlock(block);
+                    }
+                    out.flush();
+                } catch (IOException e) {
+                    failure = e;
+                    log.warn("write sample log {} failed, further samples are dropped", file, e);
+                }
+            }
+            if (finished) {
+                return;
+            }
+        }
+    }
+
+    private void writeBlock(Block block) throws IOException {
+        byte[] dictionary = block.dictionaryBytes.toByteArray();
+        int recordBytes = block.count * RECORD_SIZE;
+        ByteBuffer raw = ByteBuffer.allocate(Long.BYTES + Integer.BYTES + dictionary.length + recordBytes);
+        raw.putLong(block.baseTimestamp);
+        raw.putInt(block.dictionaryCount);
+        raw.put(dictionary);
+        raw.put(block.records.array(), 0, recordBytes);
+
+        deflater.reset();
+        deflater.setInput(raw.array());
+        deflater.finish();
+        byte[] compressed = new byte[raw.capacity() / 2 + 64];
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == compressed.length) {
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+            }
+            length += deflater.deflate(compressed, length, compressed.length - length);
+        }
+        out.writeInt(length);
+        out.writeInt(raw.capacity());
+        out.writeInt(block.count);
+        out.write(compressed, 0, length);
+    }
+
+    private static int clamp(long value) {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, value));
+    }
+}
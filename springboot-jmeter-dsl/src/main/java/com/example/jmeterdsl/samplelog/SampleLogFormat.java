@@ -0,0 +1,43 @@
+package com.example.jmeterdsl.samplelog;
+
+/**
+ * 二进制采样日志（.bsl）格式：
+ * <pre>
+ * 文件头   : "JBSL" + u16 版本
+ * 块       : i32 压缩后长度 + i32 原始长度 + i32 记录数 + deflate(块内容)
+ * 块内容   : i64 基准时间戳 + i32 新增字典项数 + 字典项* + 定长记录*
+ * 字典项   : u8 类型 + i32 编号 + i32 字节数 + UTF-8 字节
+ *           类型带 DICT_BLOCK_LOCAL 标志时为块内项，编号为 -1、-2…，只在本块有效
+ * 定长记录 : i32 开始时间相对基准时间戳的差值(ms) + i32 elapsed + i32 latency + i32 connect
+ *           + i32 bytes + i32 sentBytes + i32 label + i32 responseCode + i32 responseMessage
+ *           + i32 threadName + u8 标志(bit0 = success)
+ * </pre>
+ * 字典在整个文件内累积，每个编号在第一次被引用的块里定义，读取时必须按顺序处理各块。
+ * 每类字典最多 MAX_DICTIONARY_SIZE 项，之后新出现的值（多为每次不同的错误信息）写成块内项，
+ * 写入端内存不随压测时长增长。版本 1 的文件没有块内项，可以按同样的方式读取。
+ */
+final class SampleLogFormat {
+
+    static final byte[] MAGIC = {'J', 'B', 'S', 'L'};
+    static final short VERSION = 2;
+    static final short MIN_VERSION = 1;
+
+    static final int RECORD_SIZE = 41;
+
+    /** 每块最多的记录数，约 330KB 原始数据 */
+    static final int BLOCK_RECORDS = 8192;
+
+    static final byte DICT_LABEL = 0;
+    static final byte DICT_CODE = 1;
+    static final byte DICT_MESSAGE = 2;
+    static final byte DICT_THREAD = 3;
+    static final int DICT_KINDS = 4;
+    static final byte DICT_BLOCK_LOCAL = (byte) 0x80;
+
+    static final int MAX_DICTIONARY_SIZE = 16384;
+
+    static final byte FLAG_SUCCESS = 1;
+
+    private SampleLogFormat() {
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.jmeterdsl.sampler;
+
+import com.example.jmeterdsl.metrics.StreamingMetricsCollector;
+import com.example.jmeterdsl.metrics.TokenUsageCollector;
+import java.util.concurrent.Flow;
+
+/**
+ * 非阻塞版的 SSE 读取：由 HttpClient 在数据到达时逐行回调，token 判定、生成文本拼接与 usage 读取
+ * 与 {@link SseStreamingSampler} 一致。
+ * 同一响应的回调按顺序串行执行，读取结果在响应完成（body future 完成）后再访问。
+ */
+public class SseLineSubscriber implements Flow.Subscriber<String> {
+
+    private static final String DATA_PREFIX = "data:";
+    private static final String DONE = "[DONE]";
+
+    private final long startNanos;
+    private final StreamingMetricsCollector collector;
+    private final TokenUsageCollector tokenUsage;
+
+    private long firstTokenNanos = -1;
+    private long lastTokenNanos = -1;
+    private int tokens;
+    private long bytes;
+    private boolean done;
+    private TokenUsage usage;
+    private final StringBuilder text = new StringBuilder();
+
+    public SseLineSubscriber(long startNanos, StreamingMetricsCollector collector, TokenUsageCollector tokenUsage) {
+        this.startNanos = startNanos;
+        this.collector = collector;
+        this.tokenUsage = tokenUsage;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(String line) {
+        bytes += line.length() + 1;
+        if (done || !line.startsWith(DATA_PREFIX)) {
+            return;
+        }
+        String payload = line.substring(DATA_PREFIX.length()).trim();
+        if (DONE.equals(payload)) {
+            // 与同步采样器一致，[DONE] 之后的内容不再计入
+            done = true;
+            return;
+        }
+        TokenUsage chunkUsage = TokenUsage.find(payload);
+        if (chunkUsage != null) {
+            usage = chunkUsage;
+        }
+        if (!SseStreamingSampler.appendToken(payload, text)) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (firstTokenNanos < 0) {
+            firstTokenNanos = now;
+            collector.recordTimeToFirstToken(now - startNanos);
+        } else {
+            collector.recordInterTokenGap(now - lastTokenNanos);
+        }
+        lastTokenNanos = now;
+        tokens++;
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+    }
+
+    @Override
+    public void onComplete() {
+    }
+
+    /** 响应读完后调用，记录本次请求的输出速率与 token 数 */
+    public void finish(long endNanos) {
+        collector.recordRequest(tokens, endNanos - startNanos);
+        tokenUsage.recordStreamed(usage, tokens);
+    }
+
+    /** 首 token 到达时刻，没有 token 时为 -1 */
+    public long getFirstTokenNanos() {
+        return firstTokenNanos;
+    }
+
+    public int getTokens() {
+        return tokens;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    /** 各 chunk 内容拼接成的生成文本 */
+    public String getText() {
+        return text.toString();
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.jmeterdsl.sampler;
+
+import com.example.jmeterdsl.dto.HttpConnectionOptions;
+import com.example.jmeterdsl.metrics.StreamingMetricsCollector;
+import com.example.jmeterdsl.metrics.TokenUsageCollector;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.apache.jmeter.engine.util.CompoundVariable;
+import org.apache.jmeter.samplers.SampleResult;
+
+/**
+ * OpenAI 兼容 SSE 流式接口采样器（如 vLLM /v1/chat/completions, stream=true）。
+ * 逐行读取 "data:" 事件，每个携带非空 content/text 的 chunk 记为一个输出 token，
+ * 各 chunk 的内容拼接后作为采样的响应数据，步骤上的提取器与断言作用于生成的文本；
+ * 携带 usage 的 chunk（stream_options.include_usage）给出准确的输入 / 输出 token 数，用于 token 统计。
+ * 由 jsr223Sampler 调用，JMeter 负责 sampleStart/sampleEnd，本类在首 token 到达时打点 latency。
+ * URL、请求头或请求体中含 ${...} 时每次采样按当前线程的 JMeter 变量求值，否则复用同一个请求对象。
+ * JDK HttpClient 不暴露建连时间，connectTime 不记录。
+ */
+public class SseStreamingSampler {
+
+    private static final String DATA_PREFIX = "data:";
+    private static final String DONE = "[DONE]";
+    private static final String[] TOKEN_FIELDS = {"\"content\":\"", "\"text\":\""};
+
+    private static final String VARIABLE_MARKER = "${";
+
+    private final HttpClient client;
+    private final String url;
+    private final String method;
+    private final String body;
+    private final Map<String, String> headers;
+    private final HttpConnectionOptions connection;
+    private final HttpRequest httpRequest;
+
+    public SseStreamingSampler(String url, String method, String body, Map<String, String> headers,
+                               HttpConnectionOptions connection) {
+        HttpClient.Builder clientBuilder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1);
+        if (connection.getConnectTimeoutMillis() > 0) {
+            clientBuilder.connectTimeout(Duration.ofMillis(connection.getConnectTimeoutMillis()));
+        }
+        this.client = clientBuilder.build();
+        this.url = url;
+        this.method = method;
+        this.body = body;
+        this.headers = Map.copyOf(headers);
+        this.connection = connection;
+        this.httpRequest = isTemplate() ? null : buildRequest(url, body, this.headers);
+    }
+
+    public void sample(SampleResult result, StreamingMetricsCollector collector, TokenUsageCollector tokenUsage) {
+        long start = System.nanoTime();
+        try {
+            HttpRequest request = httpRequest != null ? httpRequest : resolveRequest();
+            result.setSamplerData(method + " " + request.uri());
+            HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            result.setResponseCode(String.valueOf(response.statusCode()));
+            if (response.statusCode() >= 400) {
+                try (InputStream in = response.body()) {
+                    result.setResponseData(in.readAllBytes());
+                }
+                result.setResponseMessage("HTTP " + response.statusCode());
+                result.setSuccessful(false);
+                return;
+            }
+            readEvents(response.body(), result, start, collector, tokenUsage);
+        } catch (IOException e) {
+            fail(result, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(result, e);
+        }
+    }
+
+    private void readEvents(InputStream body, SampleResult result, long start, StreamingMetricsCollector collector,
+                            TokenUsageCollector tokenUsage) throws IOException {
+        long firstToken = -1;
+        long lastToken = -1;
+        int tokens = 0;
+        long bytes = 0;
+        TokenUsage usage = null;
+        StringBuilder text = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                bytes += line.length() + 1;
+                if (!line.startsWith(DATA_PREFIX)) {
+                    continue;
+                }
+                String payload = line.substring(DATA_PREFIX.length()).trim();
+                if (DONE.equals(payload)) {
+                    break;
+                }
+                // 开启 continuous_usage_stats 时每个 chunk 都带累计 usage，取最后一次
+                TokenUsage chunkUsage = TokenUsage.find(payload);
+                if (chunkUsage != null) {
+                    usage = chunkUsage;
+                }
+                if (!appendToken(payload, text)) {
+                    continue;
+                }
+                long now = System.nanoTime();
+                if (firstToken < 0) {
+                    firstToken = now;
+                    result.latencyEnd();
+                    collector.recordTimeToFirstToken(now - start);
+                } else {
+                    collector.recordInterTokenGap(now - lastToken);
+                }
+                lastToken = now;
+                tokens++;
+            }
+        }
+        collector.recordRequest(tokens, System.nanoTime() - start);
+        tokenUsage.recordStreamed(usage, tokens);
+        result.setBodySize(bytes);
+        result.setResponseData(text.toString(), StandardCharsets.UTF_8.name());
+        result.setResponseMessage("OK");
+        result.setSuccessful(true);
+    }
+
+    private HttpRequest resolveRequest() {
+        Map<String, String> resolvedHeaders = new LinkedHashMap<>();
+        headers.forEach((name, value) -> resolvedHeaders.put(name, evaluate(value)));
+        return buildRequest(evaluate(url), body == null ? null : evaluate(body), resolvedHeaders);
+    }
+
+    private HttpRequest buildRequest(String targetUrl, String requestBody, Map<String, String> requestHeaders) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(targetUrl))
+                .header("Accept", "text/event-stream")
+                .method(method, requestBody == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(requestBody, StandardCharsets.UTF_8));
+        if (!connection.isKeepAlive()) {
+            builder.header("Connection", "close");
+        }
+        if (connection.getResponseTimeoutMillis() > 0) {
+            builder.timeout(Duration.ofMillis(connection.getResponseTimeoutMillis()));
+        }
+        requestHeaders.forEach(builder::header);
+        return builder.build();
+    }
+
+    private boolean isTemplate() {
+        return url.contains(VARIABLE_MARKER)
+                || (body != null && body.contains(VARIABLE_MARKER))
+                || headers.values().stream().anyMatch(value -> value.contains(VARIABLE_MARKER));
+    }
+
+    /** 与 HTTP 采样器一致，支持 ${变量} 与 ${__函数()} */
+    private static String evaluate(String template) {
+        return template.contains(VARIABLE_MARKER) ? new CompoundVariable(template).execute() : template;
+    }
+
+    /** 把 chunk 中 content/text 字段的 JSON 字符串解码后追加到 out，字段不存在或为空串时返回 false */
+    static boolean appendToken(String payload, StringBuilder out) {
+        for (String field : TOKEN_FIELDS) {
+            int idx = payload.indexOf(field);
+            if (idx >= 0) {
+                int valueStart = idx + field.length();
+                if (valueStart < payload.length() && payload.charAt(valueStart) != '"') {
+                    appendJsonString(payload, valueStart, out);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /** 从 from 开始解码 JSON 字符串内容直到未转义的引号 */
+    private static void appendJsonString(String payload, int from, StringBuilder out) {
+        int i = from;
+        while (i < payload.length()) {
+            char c = payload.charAt(i++);
+            if (c == '"') {
+                return;
+            }
+            if (c != '\\' || i >= payload.length()) {
+                out.append(c);
+                continue;
+            }
+            char escaped = payload.charAt(i++);
+            switch (escaped) {
+                case 'n' -> out.append('\n');
+                case 'r' -> out.append('\r');
+                case 't' -> out.append('\t');
+                case 'b' -> out.append('\b');
+                case 'f' -> out.append('\f');
+                case 'u' -> {
+                    if (i + 4 > payload.length()) {
+                        return;
+                    }
+                    out.append((char) Integer.parseInt(payload, i, i + 4, 16));
+                    i += 4;
+                }
+                default -> out.append(escaped);
+            }
+        }
+    }
+
+    /** 与 JMeter HTTP 采样器一致，传输层错误不伪装成服务端 500 */
+    private static void fail(SampleResult result, Exception e) {
+        result.setSuccessful(false);
+        result.setResponseCode("Non HTTP response code: " + e.getClass().getName());
+        result.setResponseMessage("Non HTTP response message: " + e.getMessage());
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.jmeterdsl.sampler;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * OpenAI 兼容响应中的 usage（prompt_tokens / completion_tokens）。
+ * 不做完整 JSON 解析：从响应末尾向前找 "usage" 对象，再在其后有限范围内按键名读取数字，
+ * 非流式响应的 usage 位于末尾，流式响应只在携带 usage 的 chunk（stream_options.include_usage）上扫描。
+ */
+public record TokenUsage(long promptTokens, long completionTokens) {
+
+    private static final byte[] USAGE = "\"usage\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PROMPT_TOKENS = "\"prompt_tokens\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] COMPLETION_TOKENS = "\"completion_tokens\"".getBytes(StandardCharsets.US_ASCII);
+    private static final String USAGE_KEY = "\"usage\"";
+    /** usage 对象内查找键名的范围，覆盖 prompt_tokens_details 等附加字段 */
+    private static final int USAGE_SCAN_BYTES = 512;
+
+    /** 响应体中没有 usage（或为 null）时返回 null */
+    public static TokenUsage find(byte[] body) {
+        if (body == null) {
+            return null;
+        }
+        int from = body.length;
+        while (true) {
+            int usage = lastIndexOf(body, USAGE, from);
+            if (usage < 0) {
+                return null;
+            }
+            int objectStart = skipToObject(body, usage + USAGE.length);
+            if (objectStart >= 0) {
+                int end = Math.min(body.length, objectStart + USAGE_SCAN_BYTES);
+                long prompt = numberAfter(body, PROMPT_TOKENS, objectStart, end);
+                long completion = numberAfter(body, COMPLETION_TOKENS, objectStart, end);
+                if (prompt >= 0 || completion >= 0) {
+                    return new TokenUsage(Math.max(0, prompt), Math.max(0, completion));
+                }
+            }
+            from = usage;
+        }
+    }
+
+    /** SSE chunk 的 data 内容，先做一次字符串查找，绝大多数不含 usage 的 chunk 不会转换字节 */
+    public static TokenUsage find(String payload) {
+        return payload.contains(USAGE_KEY) ? find(payload.getBytes(StandardCharsets.UTF_8)) : null;
+    }
+
+    /** "usage" 之后跳过空白与冒号，紧接着是对象时返回 '{' 的位置 */
+    private static int skipToObject(byte[] body, int index) {
+        int i = skipWhitespace(body, index);
+        if (i >= body.length || body[i] != ':') {
+            return -1;
+        }
+        i = skipWhitespace(body, i + 1);
+        return i < body.length && body[i] == '{' ? i : -1;
+    }
+
+    private static long numberAfter(byte[] body, byte[] key, int from, int end) {
+        int index = indexOf(body, key, from, end);
+        if (index < 0) {
+            return -1;
+        }
+        int i = skipWhitespace(body, index + key.length);
+        if (i >= body.length || body[i] != ':') {
+            return -1;
+        }
+        i = skipWhitespace(body, i + 1);
+        long value = -1;
+        while (i < body.length && body[i] >= '0' && body[i] <= '9') {
+            value = (value < 0 ? 0 : value * 10) + (body[i] - '0');
+            i++;
+        }
+        return value;
+    }
+
+    private static int skipWhitespace(byte[] body, int index) {
+        int i = index;
+        while (i < body.length && (body[i] == ' ' || body[i] == '\n' || body[i] == '\r' || body[i] == '\t')) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int indexOf(byte[] body, byte[] key, int from, int end) {
+        for (int i = from; i <= end - key.length; i++) {
+            if (matches(body, key, i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** 在 [0, before) 中从后向前查找 */
+    private static int lastIndexOf(byte[] body, byte[] key, int before) {
+        for (int i = before - key.length; i >= 0; i--) {
+            if (matches(body, key, i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean matches(byte[] body, byte[] key, int at) {
+        for (int j = 0; j < key.length; j++) {
+            if (body[at + j] != key[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,650 @@
+package com.example.jmeterdsl.service;
+
+import com.example.jmeterdsl.dto.AssertionType;
+import com.example.jmeterdsl.dto.ExtractorType;
+import com.example.jmeterdsl.dto.HttpConnectionOptions;
+import com.example.jmeterdsl.dto.LoadTestRequest;
+import com.example.jmeterdsl.dto.ScenarioStep;
+import com.example.jmeterdsl.dto.StepAssertion;
+import com.example.jmeterdsl.dto.StepExtractor;
+import com.example.jmeterdsl.metrics.StreamingMetricsCollector;
+import com.example.jmeterdsl.metrics.TokenUsageCollector;
+import com.example.jmeterdsl.sampler.SseLineSubscriber;
+import com.example.jmeterdsl.workload.ArrivalSchedule;
+import com.example.jmeterdsl.workload.PromptFeeder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.jmeter.assertions.AssertionResult;
+import org.apache.jmeter.samplers.SampleResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 非阻塞 HTTP 发压引擎：每个虚拟用户是一条 CompletableFuture 链，等待响应和思考时间都不占线程，
+ * 少量工作线程即可维持数千个长时间的流式会话。
+ * 场景编译规则（步骤、权重组、提取器、断言、语料）与 {@link ScenarioPlanBuilder} 一致，
+ * 每个请求同样产生一个 SampleResult 交给 RunControl，结果统计与 JMeter 引擎共用。
+ * 与 JMeter 引擎的差异：模板只替换 ${变量}，不支持 ${__函数()}；不统计连接建立时间，sentBytes 只计请求体。
+ * 连接行为由 {@link HttpConnectionOptions} 控制，另外按响应统计实际协商的 HTTP 版本。
+ */
+class AsyncLoadEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncLoadEngine.class);
+
+    private static final String THREAD_NAME_PREFIX = "async-load-test 1-";
+    private static final Pattern VARIABLE = Pattern.compile("\\$\\{([^}]+)}");
+    /** HttpClient 不允许设置的请求头，由客户端自行管理 */
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host", "upgrade");
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    record Totals(long samples, long errors, long durationMillis, Map<String, Long> protocolVersions) {
+    }
+
+    private final LoadTestRequest request;
+    private final RunControl control;
+    private final StreamingMetricsCollector streamingMetrics;
+    private final TokenUsageCollector tokenUsage;
+    private final PromptFeeder promptFeeder;
+    private final ArrivalSchedule arrivalSchedule;
+    private final HttpConnectionOptions connection;
+    private final List<List<Step>> plan;
+    private final LongAdder samples = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final Set<CompletableFuture<?>> pending = ConcurrentHashMap.newKeySet();
+    private final Map<HttpClient.Version, LongAdder> protocolVersions = new ConcurrentHashMap<>();
+
+    private ExecutorService executor;
+    private HttpClient client;
+    private ConnectionLimiter connectionLimiter;
+
+    AsyncLoadEngine(LoadTestRequest request, RunControl control, StreamingMetricsCollector streamingMetrics,
+                    TokenUsageCollector tokenUsage, PromptFeeder promptFeeder, ArrivalSchedule arrivalSchedule) {
+        this.request = request;
+        this.control = control;
+        this.streamingMetrics = streamingMetrics;
+        this.tokenUsage = tokenUsage;
+        this.promptFeeder = promptFeeder;
+        this.arrivalSchedule = arrivalSchedule;
+        this.connection = ScenarioPlanBuilder.connectionOptions(request);
+        this.plan = compile(request);
+    }
+
+    Totals run() throws InterruptedException {
+        int workers = Math.max(2, Runtime.getRuntime().availableProcessors());
+        executor = Executors.newFixedThreadPool(workers, namedThreadFactory());
+        HttpClient.Builder clientBuilder = HttpClient.newBuilder()
+                .version(connection.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(executor);
+        if (connection.getConnectTimeoutMillis() > 0) {
+            clientBuilder.connectTimeout(Duration.ofMillis(connection.getConnectTimeoutMillis()));
+        }
+        client = clientBuilder.build();
+        if (connection.getMaxConnectionsPerHost() > 0) {
+            connectionLimiter = new ConnectionLimiter(connection.getMaxConnectionsPerHost());
+        }
+        control.onStop(this::cancelPending);
+        long start = System.currentTimeMillis();
+        try {
+            if (arrivalSchedule == null) {
+                runClosedLoop();
+            } else {
+                runArrivals();
+            }
+        } catch (InterruptedException e) {
+            cancelPending();
+            throw e;
+        } finally {
+            executor.shutdownNow();
+        }
+        Map<String, Long> versions = new TreeMap<>();
+        protocolVersions.forEach((version, count) -> versions.put(version.name(), count.sum()));
+        return new Totals(samples.sum(), errors.sum(), System.currentTimeMillis() - start, versions);
+    }
+
+    /** 闭环：threads 个虚拟用户各执行 loopCount 次迭代 */
+    private void runClosedLoop() throws InterruptedException {
+        List<CompletableFuture<Void>> users = new ArrayList<>();
+        for (int i = 0; i < request.getThreads(); i++) {
+            VirtualUser user = new VirtualUser(THREAD_NAME_PREFIX + (i + 1));
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            users.add(done);
+            executor.execute(() -> loop(user, request.getLoopCount(), done));
+        }
+        try {
+            CompletableFuture.allOf(users.toArray(new CompletableFuture<?>[0])).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("压测执行失败", e.getCause());
+        }
+    }
+
+    /**
+     * 每个虚拟用户只有一个 done，上一次迭代结束时在回调里发起下一次，
+     * 不嵌套 future，长稳压测中内存不随迭代次数增长
+     */
+    private void loop(VirtualUser user, int remaining, CompletableFuture<Void> done) {
+        if (remaining <= 0 || control.isStopRequested()) {
+            done.complete(null);
+            return;
+        }
+        CompletableFuture<Void> iteration;
+        try {
+            iteration = iteration(user);
+        } catch (RuntimeException e) {
+            done.completeExceptionally(e);
+            return;
+        }
+        // 异步衔接下一次迭代，请求同步失败时也不会在同一个栈上递归
+        iteration.whenCompleteAsync((v, error) -> {
+            if (error != null) {
+                done.completeExceptionally(error);
+            } else {
+                loop(user, remaining - 1, done);
+            }
+        }, executor);
+    }
+
+    /**
+     * 开环：调度线程按到达时刻启动迭代，maxInFlight 个虚拟用户轮流承接，
+     * 全部在途时等待空闲用户，晚于计划时刻的发送计入滞后，响应时间从计划时刻起算。
+     */
+    private void runArrivals() throws InterruptedException {
+        int maxInFlight = request.getMaxInFlight();
+        Semaphore slots = new Semaphore(maxInFlight);
+        Queue<VirtualUser> idle = new ConcurrentLinkedQueue<>();
+        for (int i = 0; i < maxInFlight; i++) {
+            idle.add(new VirtualUser(THREAD_NAME_PREFIX + (i + 1)));
+        }
+        while (!control.isStopRequested()) {
+            OptionalLong intendedNanos = arrivalSchedule.next();
+            if (intendedNanos.isEmpty()) {
+                break;
+            }
+            slots.acquire();
+            arrivalSchedule.awaitIntended(intendedNanos.getAsLong());
+            if (control.isStopRequested()) {
+                slots.release();
+                break;
+            }
+            VirtualUser user = idle.poll();
+            user.intendedStartMillis = arrivalSchedule.intendedEpochMillis(intendedNanos.getAsLong());
+            iteration(user).whenComplete((v, error) -> {
+                if (error != null) {
+                    log.warn("async iteration failed", error);
+                }
+                idle.add(user);
+                slots.release();
+            });
+        }
+        slots.acquire(maxInFlight);
+    }
+
+    private CompletableFuture<Void> iteration(VirtualUser user) {
+        if (promptFeeder != null) {
+            try {
+                user.vars.put(promptFeeder.getVariable(), promptFeeder.nextValue());
+            } catch (IOException | RuntimeException e) {
+                log.warn("read prompt failed", e);
+            }
+        }
+        CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+        for (List<Step> group : plan) {
+            chain = chain.thenCompose(v -> execute(pick(group), user));
+        }
+        return chain;
+    }
+
+    private CompletableFuture<Void> execute(Step step, VirtualUser user) {
+        if (control.isStopRequested()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> exchange = connectionLimiter == null ? send(step, user) : sendWithPermit(step, user);
+        return exchange.thenCompose(v -> thinkTime(step));
+    }
+
+    /** 等待连接许可不计入响应时间，开环模式下排队时间仍体现在从计划时刻起算的响应时间里 */
+    private CompletableFuture<Void> sendWithPermit(Step step, VirtualUser user) {
+        CompletableFuture<Void> permit = connectionLimiter.acquire();
+        pending.add(permit);
+        return permit.handleAsync((v, error) -> error, executor).thenCompose(error -> {
+            pending.remove(permit);
+            if (error != null) {
+                // 停止压测时取消了等待
+                return CompletableFuture.completedFuture(null);
+            }
+            return send(step, user).whenComplete((v, sendError) -> connectionLimiter.release());
+        });
+    }
+
+    private CompletableFuture<Void> send(Step step, VirtualUser user) {
+        if (control.isStopRequested()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        control.sampleStarted();
+        Exchange exchange = new Exchange(step, user);
+        CompletableFuture<HttpResponse<Exchange>> response;
+        try {
+            response = client.sendAsync(exchange.buildRequest(), exchange::bodySubscriber);
+        } catch (RuntimeException e) {
+            // URL 或请求头非法时同步抛出，与网络错误一样记为失败采样
+            response = CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<HttpResponse<Exchange>> sent = response;
+        pending.add(sent);
+        return sent.handle((r, error) -> {
+            pending.remove(sent);
+            complete(exchange, r, error);
+            return null;
+        });
+    }
+
+    private void complete(Exchange exchange, HttpResponse<Exchange> response, Throwable error) {
+        long endNanos = System.nanoTime();
+        Step step = exchange.step;
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(endNanos - exchange.startNanos);
+        // setStampAndTime 的时间戳含义取决于 sampleresult.timestamp.start，这里直接给出开始与结束时间
+        SampleResult result = SampleResult.createTestSample(exchange.startMillis, exchange.startMillis + elapsedMillis);
+        result.setSampleLabel(step.label);
+        result.setThreadName(exchange.user.threadName);
+        result.setSentBytes(exchange.sentBytes);
+        String responseText = "";
+        if (error != null) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            // 与 JMeter HTTP 采样器一致，连接拒绝、超时等客户端错误不记为服务端 500
+            result.setResponseCode("Non HTTP response code: " + cause.getClass().getName());
+            result.setResponseMessage("Non HTTP response message: " + cause.getMessage());
+            result.setSuccessful(false);
+        } else {
+            protocolVersions.computeIfAbsent(response.version(), version -> new LongAdder()).increment();
+            int status = response.statusCode();
+            boolean ok = status < 400;
+            result.setResponseCode(String.valueOf(status));
+            result.setResponseMessage(ok ? "OK" : "HTTP " + status);
+            result.setSuccessful(ok);
+            long firstByteNanos = exchange.headersNanos;
+            if (exchange.sse != null) {
+                exchange.sse.finish(endNanos);
+                if (exchange.sse.getFirstTokenNanos() >= 0) {
+                    firstByteNanos = exchange.sse.getFirstTokenNanos();
+                }
+                result.setBytes(exchange.sse.getBytes());
+                responseText = exchange.sse.getText();
+            } else {
+                result.setBytes((long) exchange.body.length);
+                responseText = new String(exchange.body, StandardCharsets.UTF_8);
+                if (ok && request.isTokenUsage()) {
+                    tokenUsage.recordResponse(exchange.body);
+                }
+            }
+            result.setLatency(TimeUnit.NANOSECONDS.toMillis(firstByteNanos - exchange.startNanos));
+        }
+        for (Extractor extractor : step.extractors) {
+            exchange.user.vars.put(extractor.variable(), extractor.extract(responseText));
+        }
+        for (Assertion assertion : step.assertions) {
+            String failure = assertion.check(result.getResponseCode(), responseText);
+            if (failure != null) {
+                AssertionResult assertionResult = new AssertionResult(assertion.type().name());
+                assertionResult.setFailure(true);
+                assertionResult.setFailureMessage(failure);
+                result.addAssertionResult(assertionResult);
+                result.setSuccessful(false);
+            }
+        }
+        samples.increment();
+        if (!result.isSuccessful()) {
+            errors.increment();
+        }
+        control.sampleCompleted(result, elapsedFromIntendedStart(exchange.user, result));
+    }
+
+    /** 开环模式下迭代的第一个采样从计划时刻起算，与 JMeter 引擎的 ArrivalSchedule 规则一致 */
+    private static long elapsedFromIntendedStart(VirtualUser user, SampleResult result) {
+        Long intended = user.intendedStartMillis;
+        if (intended == null) {
+            return result.getTime();
+        }
+        user.intendedStartMillis = null;
+        return result.getEndTime() - Math.min(intended, result.getStartTime());
+    }
+
+    private CompletableFuture<Void> thinkTime(Step step) {
+        if (step.thinkTimeMillis <= 0 || control.isStopRequested()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(() -> {
+        }, CompletableFuture.delayedExecutor(step.thinkTimeMillis, TimeUnit.MILLISECONDS, executor));
+    }
+
+    private void cancelPending() {
+        pending.forEach(future -> future.cancel(true));
+    }
+
+    private static Step pick(List<Step> group) {
+        if (group.size() == 1) {
+            return group.get(0);
+        }
+        int total = group.stream().mapToInt(step -> step.weight).sum();
+        int target = ThreadLocalRandom.current().nextInt(total);
+        for (Step step : group) {
+            target -= step.weight;
+            if (target < 0) {
+                return step;
+            }
+        }
+        return group.get(group.size() - 1);
+    }
+
+    /** 与 ScenarioPlanBuilder 相同的分组：相邻的带权重步骤合为一组，每次迭代按权重选一个 */
+    private List<List<Step>> compile(LoadTestRequest request) {
+        List<ScenarioStep> steps = ScenarioPlanBuilder.resolveSteps(request);
+        List<List<Step>> groups = new ArrayList<>();
+        List<Step> weightedGroup = null;
+        for (int i = 0; i < steps.size(); i++) {
+            ScenarioStep step = steps.get(i);
+            Step compiled = new Step(request, step, i);
+            if (step.getWeight() == null) {
+                weightedGroup = null;
+                groups.add(List.of(compiled));
+                continue;
+            }
+            if (weightedGroup == null) {
+                weightedGroup = new ArrayList<>();
+                groups.add(weightedGroup);
+            }
+            weightedGroup.add(compiled);
+        }
+        return groups;
+    }
+
+    private static ThreadFactory namedThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "async-load-engine-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * 目标主机的连接数上限：HTTP/1.1 下每个在途请求独占一个连接，限制在途请求数即限制连接数，
+     * HTTP/2 下所有请求复用同一连接，限制的是并发流数。等待许可不占线程。
+     */
+    private static final class ConnectionLimiter {
+        private final ArrayDeque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+        private int available;
+
+        private ConnectionLimiter(int permits) {
+            this.available = permits;
+        }
+
+        private synchronized CompletableFuture<Void> acquire() {
+            if (available > 0) {
+                available--;
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Void> waiter = new CompletableFuture<>();
+            waiters.addLast(waiter);
+            return waiter;
+        }
+
+        private void release() {
+            while (true) {
+                CompletableFuture<Void> next;
+                synchronized (this) {
+                    next = waiters.pollFirst();
+                    if (next == null) {
+                        available++;
+                        return;
+                    }
+                }
+                // 停止压测时等待中的许可会被取消，跳过后交给下一个
+                if (next.complete(null)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static final class VirtualUser {
+        private final String threadName;
+        /** 提取器写入、模板读取的变量；同一用户的步骤串行执行，不会并发访问 */
+        private final Map<String, String> vars = new HashMap<>();
+        private Long intendedStartMillis;
+
+        private VirtualUser(String threadName) {
+            this.threadName = threadName;
+        }
+    }
+
+    /** 编译后的步骤：模板、提取器与断言只解析一次 */
+    private static final class Step {
+        private final String label;
+        private final String method;
+        private final Template url;
+        private final Map<String, Template> headers = new LinkedHashMap<>();
+        private final Template body;
+        private final boolean streaming;
+        private final long thinkTimeMillis;
+        private final int weight;
+        private final List<Extractor> extractors = new ArrayList<>();
+        private final List<Assertion> assertions = new ArrayList<>();
+
+        private Step(LoadTestRequest request, ScenarioStep step, int index) {
+            this.label = ScenarioPlanBuilder.label(step, index);
+            this.method = step.getMethod().toUpperCase();
+            this.url = new Template(ScenarioPlanBuilder.buildUrl(request, step));
+            ScenarioPlanBuilder.headers(request, step).forEach((name, value) -> {
+                if (!RESTRICTED_HEADERS.contains(name.toLowerCase())) {
+                    headers.put(name, new Template(value));
+                }
+            });
+            String requestBody = ScenarioPlanBuilder.requestBody(step);
+            this.body = requestBody == null ? null : new Template(requestBody);
+            this.streaming = step.isStreaming();
+            this.thinkTimeMillis = step.getThinkTimeMillis();
+            this.weight = step.getWeight() == null ? 1 : step.getWeight();
+            for (StepExtractor extractor : step.getExtractors()) {
+                extractors.add(Extractor.of(extractor));
+            }
+            for (StepAssertion assertion : step.getAssertions()) {
+                assertions.add(Assertion.of(assertion));
+            }
+        }
+    }
+
+    /** 单次请求的上下文，由 HttpClient 回调填充，响应 future 完成后读取 */
+    private final class Exchange {
+        private final Step step;
+        private final VirtualUser user;
+        private final long startMillis = System.currentTimeMillis();
+        private final long startNanos = System.nanoTime();
+        private long sentBytes;
+        private long headersNanos;
+        private byte[] body;
+        private SseLineSubscriber sse;
+
+        private Exchange(Step step, VirtualUser user) {
+            this.step = step;
+            this.user = user;
+        }
+
+        private HttpRequest buildRequest() {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(step.url.resolve(user.vars)));
+            if (step.body == null) {
+                builder.method(step.method, HttpRequest.BodyPublishers.noBody());
+            } else {
+                byte[] bytes = step.body.resolve(user.vars).getBytes(StandardCharsets.UTF_8);
+                sentBytes = bytes.length;
+                builder.method(step.method, HttpRequest.BodyPublishers.ofByteArray(bytes));
+            }
+            if (step.streaming) {
+                builder.header("Accept", "text/event-stream");
+            }
+            if (!connection.isKeepAlive()) {
+                builder.header("Connection", "close");
+            }
+            if (connection.getResponseTimeoutMillis() > 0) {
+                builder.timeout(Duration.ofMillis(connection.getResponseTimeoutMillis()));
+            }
+            step.headers.forEach((name, value) -> builder.header(name, value.resolve(user.vars)));
+            return builder.build();
+        }
+
+        private HttpResponse.BodySubscriber<Exchange> bodySubscriber(HttpResponse.ResponseInfo info) {
+            headersNanos = System.nanoTime();
+            if (step.streaming && info.statusCode() < 400) {
+                sse = new SseLineSubscriber(startNanos, streamingMetrics, tokenUsage);
+                return HttpResponse.BodySubscribers.fromLineSubscriber(sse, subscriber -> this, StandardCharsets.UTF_8, null);
+            }
+            return HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofByteArray(), bytes -> {
+                body = bytes;
+                return this;
+            });
+        }
+    }
+
+    /** ${变量} 模板，没有变量引用时直接返回原文；未定义的变量与 JMeter 一样保留原样 */
+    static final class Template {
+        private final String text;
+        private final boolean dynamic;
+
+        Template(String text) {
+            this.text = text;
+            this.dynamic = VARIABLE.matcher(text).find();
+        }
+
+        String resolve(Map<String, String> vars) {
+            if (!dynamic) {
+                return text;
+            }
+            Matcher matcher = VARIABLE.matcher(text);
+            StringBuilder out = new StringBuilder(text.length() + 64);
+            while (matcher.find()) {
+                String value = vars.get(matcher.group(1));
+                matcher.appendReplacement(out, Matcher.quoteReplacement(value != null ? value : matcher.group()));
+            }
+            matcher.appendTail(out);
+            return out.toString();
+        }
+    }
+
+    private record Extractor(String variable, String defaultValue, Pattern regex, JsonPath jsonPath) {
+
+        static Extractor of(StepExtractor extractor) {
+            return extractor.getType() == ExtractorType.REGEX
+                    ? new Extractor(extractor.getVariable(), extractor.getDefaultValue(),
+                            Pattern.compile(extractor.getExpression()), null)
+                    : new Extractor(extractor.getVariable(), extractor.getDefaultValue(),
+                            null, JsonPath.compile(extractor.getExpression()));
+        }
+
+        /** 取第一个匹配：正则取第 1 个分组（没有分组时取整个匹配），JSON Path 多值时取第一个 */
+        String extract(String text) {
+            if (regex != null) {
+                Matcher matcher = regex.matcher(text);
+                if (!matcher.find()) {
+                    return defaultValue;
+                }
+                return matcher.groupCount() > 0 ? matcher.group(1) : matcher.group();
+            }
+            Object value = readJson(jsonPath, text);
+            if (value instanceof List<?> list) {
+                value = list.isEmpty() ? null : list.get(0);
+            }
+            return value == null ? defaultValue : stringify(value);
+        }
+    }
+
+    private record Assertion(AssertionType type, String value, Pattern regex, JsonPath jsonPath) {
+
+        static Assertion of(StepAssertion assertion) {
+            return new Assertion(assertion.getType(), assertion.getValue(),
+                    assertion.getType() == AssertionType.BODY_MATCHES ? Pattern.compile(assertion.getValue()) : null,
+                    assertion.getType() == AssertionType.JSON_PATH ? JsonPath.compile(assertion.getExpression()) : null);
+        }
+
+        /** 通过时返回 null，否则返回失败原因 */
+        String check(String responseCode, String text) {
+            return switch (type) {
+                case STATUS_CODE -> value.equals(responseCode) ? null : "响应码 " + responseCode + " 不等于 " + value;
+                case BODY_CONTAINS -> text.contains(value) ? null : "响应体不包含: " + value;
+                case BODY_MATCHES -> regex.matcher(text).find() ? null : "响应体不匹配: " + value;
+                case JSON_PATH -> checkJson(text);
+            };
+        }
+
+        private String checkJson(String text) {
+            Object actual = readJson(jsonPath, text);
+            if (actual == null || (actual instanceof List<?> list && list.isEmpty())) {
+                return "JSON 路径不存在: " + jsonPath.getPath();
+            }
+            if (value == null) {
+                return null;
+            }
+            if (actual instanceof List<?> list) {
+                return list.stream().anyMatch(item -> value.equals(stringify(item)))
+                        ? null
+                        : "JSON 路径 " + jsonPath.getPath() + " 不包含: " + value;
+            }
+            String actualText = stringify(actual);
+            return value.equals(actualText) ? null : "JSON 路径 " + jsonPath.getPath() + " 的值 " + actualText + " 不等于 " + value;
+        }
+    }
+
+    private static Object readJson(JsonPath path, String text) {
+        if (text.isEmpty()) {
+            return null;
+        }
+        try {
+            return path.read(text);
+        } catch (RuntimeException e) {
+            // 路径不存在或响应不是 JSON
+            return null;
+        }
+    }
+
+    private static String stringify(Object value) {
+        if (value instanceof Map<?, ?> || value instanceof List<?>) {
+            try {
+                return MAPPER.writeValueAsString(value);
+            } catch (JsonProcessingException e) {
+                return String.valueOf(value);
+            }
+        }
+        return String.valueOf(value);
+    }
+}
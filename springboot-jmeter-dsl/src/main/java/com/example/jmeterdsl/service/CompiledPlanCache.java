@@ -0,0 +1,40 @@
+package com.example.jmeterdsl.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import us.abstracta.jmeter.javadsl.core.DslTestPlan;
+
+/**
+ * 按配置指纹（{@link com.example.jmeterdsl.store.RequestFingerprint}）缓存编译好的 JMeter 测试计划，LRU 淘汰。
+ * 计划通过 {@link PlanBinding} 引用单次压测的状态，不能被两个压测同时使用：
+ * 执行前 borrow 取出（此时缓存中不再有该项），结束后 release 放回；同一配置并发执行时各自编译。
+ */
+final class CompiledPlanCache {
+
+    record CompiledPlan(DslTestPlan testPlan, PlanBinding binding) {
+    }
+
+    private final int maxEntries;
+    private final Map<String, CompiledPlan> plans;
+
+    CompiledPlanCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.plans = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompiledPlan> eldest) {
+                return size() > CompiledPlanCache.this.maxEntries;
+            }
+        };
+    }
+
+    /** 取出并占用缓存的计划，没有时返回 null */
+    synchronized CompiledPlan borrow(String fingerprint) {
+        return plans.remove(fingerprint);
+    }
+
+    synchronized void release(String fingerprint, CompiledPlan plan) {
+        if (maxEntries > 0) {
+            plans.putIfAbsent(fingerprint, plan);
+        }
+    }
+}
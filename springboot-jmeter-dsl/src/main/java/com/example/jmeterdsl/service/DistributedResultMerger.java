@@ -0,0 +1,271 @@
+package com.example.jmeterdsl.service;
+
+import com.example.jmeterdsl.dto.ArrivalProcess;
+import com.example.jmeterdsl.dto.ArrivalRateMetrics;
+import com.example.jmeterdsl.dto.ConnectionMetrics;
+import com.example.jmeterdsl.dto.DistributionStats;
+import com.example.jmeterdsl.dto.LoadTestResponse;
+import com.example.jmeterdsl.dto.PhaseMetrics;
+import com.example.jmeterdsl.dto.SteadyStateMetrics;
+import com.example.jmeterdsl.dto.StepMetrics;
+import com.example.jmeterdsl.metrics.LogHistogram;
+import com.example.jmeterdsl.metrics.StreamingMetricsCollector;
+import com.example.jmeterdsl.metrics.TokenUsageCollector;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 合并各工作节点的 LoadTestResponse（JSON）：计数与吞吐求和，分布通过解码直方图合并后重新计算分位数，
+ * 因此汇总的 p95 / p99 是全体样本的精确分位（受直方图精度限制），而不是各节点分位数的平均。
+ */
+final class DistributedResultMerger {
+
+    private static final double MICROS_PER_MILLI = 1_000.0;
+
+    private DistributedResultMerger() {
+    }
+
+    static LoadTestResponse merge(List<JsonNode> results) {
+        long totalSamples = 0;
+        long errorSamples = 0;
+        double throughput = 0;
+        LogHistogram responseTime = new LogHistogram();
+        StreamingMetricsCollector streaming = null;
+        double tokenThroughput = 0;
+        TokenUsageCollector tokens = null;
+        double inputTokenThroughput = 0;
+        double outputTokenThroughput = 0;
+        ArrivalAccumulator arrival = null;
+        ConnectionAccumulator connection = null;
+        PhaseAccumulator warmUp = null;
+        SteadyStateAccumulator steadyState = null;
+        Map<String, StepAccumulator> steps = new TreeMap<>();
+
+        for (JsonNode result : results) {
+            totalSamples += result.path("totalSamples").asLong();
+            errorSamples += result.path("errorSamples").asLong();
+            throughput += result.path("throughputPerSecond").asDouble();
+            if (result.hasNonNull("responseTimeHistogram")) {
+                responseTime.add(LogHistogram.decode(result.get("responseTimeHistogram").asText()));
+            }
+            JsonNode streamingNode = result.path("streaming");
+            if (streamingNode.hasNonNull("timeToFirstTokenHistogram")) {
+                if (streaming == null) {
+                    streaming = new StreamingMetricsCollector();
+                }
+                streaming.add(streamingNode.get("timeToFirstTokenHistogram").asText(),
+                        streamingNode.get("interTokenLatencyHistogram").asText(),
+                        streamingNode.get("outputTokensPerSecondHistogram").asText(),
+                        streamingNode.path("totalOutputTokens").asLong());
+                tokenThroughput += streamingNode.path("outputTokenThroughput").asDouble();
+            }
+            JsonNode tokensNode = result.path("tokens");
+            if (tokensNode.isObject()) {
+                if (tokens == null) {
+                    tokens = new TokenUsageCollector();
+                }
+                tokens.add(tokensNode.path("responses").asLong(), tokensNode.path("usageReportedResponses").asLong(),
+                        tokensNode.path("promptTokens").asLong(), tokensNode.path("completionTokens").asLong());
+                inputTokenThroughput += tokensNode.path("inputTokenThroughput").asDouble();
+                outputTokenThroughput += tokensNode.path("outputTokenThroughput").asDouble();
+            }
+            JsonNode arrivalNode = result.path("arrival");
+            if (arrivalNode.isObject()) {
+                if (arrival == null) {
+                    arrival = new ArrivalAccumulator(ArrivalProcess.valueOf(arrivalNode.path("arrivalProcess").asText()));
+                }
+                arrival.add(arrivalNode);
+            }
+            JsonNode connectionNode = result.path("connection");
+            if (connectionNode.isObject()) {
+                if (connection == null) {
+                    connection = new ConnectionAccumulator();
+                }
+                connection.add(connectionNode);
+            }
+            JsonNode warmUpNode = result.path("warmUp");
+            if (warmUpNode.isObject()) {
+                if (warmUp == null) {
+                    warmUp = new PhaseAccumulator();
+                }
+                warmUp.add(warmUpNode);
+            }
+            JsonNode steadyStateNode = result.path("steadyState");
+            if (steadyStateNode.isObject()) {
+                if (steadyState == null) {
+                    steadyState = new SteadyStateAccumulator();
+                }
+                steadyState.add(steadyStateNode);
+            }
+            Iterator<Map.Entry<String, JsonNode>> stepNodes = result.path("steps").fields();
+            while (stepNodes.hasNext()) {
+                Map.Entry<String, JsonNode> step = stepNodes.next();
+                steps.computeIfAbsent(step.getKey(), key -> new StepAccumulator()).add(step.getValue());
+            }
+        }
+
+        double errorPercentage = totalSamples == 0 ? 0.0 : (errorSamples * 100.0) / totalSamples;
+        DistributionStats responseTimeSummary = responseTime.summary(MICROS_PER_MILLI);
+        LoadTestResponse response = new LoadTestResponse(totalSamples, errorSamples, errorPercentage,
+                throughput, responseTimeSummary.getMean(), responseTimeSummary.getP95());
+        response.setResponseTimeMs(responseTimeSummary);
+        response.setResponseTimeHistogram(responseTime.encode());
+        if (streaming != null) {
+            response.setStreaming(streaming.summaryWithThroughput(tokenThroughput));
+        }
+        if (tokens != null) {
+            // 成本由协调者按合并后的吞吐重新计算
+            response.setTokens(tokens.summaryWithThroughput(inputTokenThroughput, outputTokenThroughput));
+        }
+        if (arrival != null) {
+            response.setArrival(arrival.summary());
+        }
+        if (connection != null) {
+            response.setConnection(connection.summary());
+        }
+        if (warmUp != null) {
+            response.setWarmUp(warmUp.summary());
+        }
+        if (steadyState != null) {
+            response.setSteadyState(steadyState.summary());
+        }
+        if (!steps.isEmpty()) {
+            Map<String, StepMetrics> merged = new LinkedHashMap<>();
+            steps.forEach((name, step) -> merged.put(name, step.summary()));
+            response.setSteps(merged);
+        }
+        return response;
+    }
+
+    private static final class StepAccumulator {
+        private final LogHistogram responseTime = new LogHistogram();
+        private long errors;
+
+        private void add(JsonNode step) {
+            errors += step.path("errors").asLong();
+            if (step.hasNonNull("responseTimeHistogram")) {
+                responseTime.add(LogHistogram.decode(step.get("responseTimeHistogram").asText()));
+            }
+        }
+
+        private StepMetrics summary() {
+            StepMetrics metrics = new StepMetrics(responseTime.count(), errors, responseTime.summary(MICROS_PER_MILLI));
+            metrics.setResponseTimeHistogram(responseTime.encode());
+            return metrics;
+        }
+    }
+
+    /** 各节点的阶段计数与吞吐求和，时长取最长的节点 */
+    private static final class PhaseAccumulator {
+        private final LogHistogram responseTime = new LogHistogram();
+        private long errors;
+        private double durationSeconds;
+        private double throughput;
+
+        private void add(JsonNode phase) {
+            errors += phase.path("errors").asLong();
+            durationSeconds = Math.max(durationSeconds, phase.path("durationSeconds").asDouble());
+            throughput += phase.path("throughputPerSecond").asDouble();
+            if (phase.hasNonNull("responseTimeHistogram")) {
+                responseTime.add(LogHistogram.decode(phase.get("responseTimeHistogram").asText()));
+            }
+        }
+
+        private PhaseMetrics summary() {
+            PhaseMetrics metrics = new PhaseMetrics(responseTime.count(), errors, durationSeconds, throughput,
+                    responseTime.summary(MICROS_PER_MILLI));
+            metrics.setResponseTimeHistogram(responseTime.encode());
+            return metrics;
+        }
+    }
+
+    /** 所有节点都进入稳态才算进入稳态，起点取最晚的节点 */
+    private static final class SteadyStateAccumulator {
+        private boolean reached = true;
+        private double startOffsetSeconds;
+        private PhaseAccumulator metrics;
+
+        private void add(JsonNode steadyState) {
+            reached &= steadyState.path("reached").asBoolean();
+            startOffsetSeconds = Math.max(startOffsetSeconds, steadyState.path("startOffsetSeconds").asDouble());
+            if (steadyState.path("metrics").isObject()) {
+                if (metrics == null) {
+                    metrics = new PhaseAccumulator();
+                }
+                metrics.add(steadyState.get("metrics"));
+            }
+        }
+
+        private SteadyStateMetrics summary() {
+            // 旧版本节点可能只报告 reached 而不带稳态指标，此时无法合并，按未进入稳态处理
+            return reached && metrics != null
+                    ? new SteadyStateMetrics(true, startOffsetSeconds, metrics.summary())
+                    : new SteadyStateMetrics(false, null, null);
+        }
+    }
+
+    private static final class ArrivalAccumulator {
+        private final ArrivalProcess process;
+        private double targetRps;
+        private int maxInFlight;
+        private long scheduled;
+        private long lateSends;
+        private double maxLagMs;
+
+        private ArrivalAccumulator(ArrivalProcess process) {
+            this.process = process;
+        }
+
+        private void add(JsonNode arrival) {
+            targetRps += arrival.path("targetRps").asDouble();
+            maxInFlight += arrival.path("maxInFlight").asInt();
+            scheduled += arrival.path("scheduledRequests").asLong();
+            lateSends += arrival.path("lateSends").asLong();
+            maxLagMs = Math.max(maxLagMs, arrival.path("maxScheduleLagMs").asDouble());
+        }
+
+        private ArrivalRateMetrics summary() {
+            return new ArrivalRateMetrics(process, targetRps, maxInFlight, scheduled, lateSends, maxLagMs);
+        }
+    }
+
+    private static final class ConnectionAccumulator {
+        private final LogHistogram latency = new LogHistogram();
+        private final LogHistogram connectTime = new LogHistogram();
+        private long connectionSamples;
+        private long newConnections;
+        private Map<String, Long> protocolVersions;
+
+        private void add(JsonNode connection) {
+            connectionSamples += connection.path("connectionSamples").asLong();
+            newConnections += connection.path("newConnections").asLong();
+            if (connection.hasNonNull("latencyHistogram")) {
+                latency.add(LogHistogram.decode(connection.get("latencyHistogram").asText()));
+            }
+            if (connection.hasNonNull("connectTimeHistogram")) {
+                connectTime.add(LogHistogram.decode(connection.get("connectTimeHistogram").asText()));
+            }
+            Iterator<Map.Entry<String, JsonNode>> versions = connection.path("protocolVersions").fields();
+            while (versions.hasNext()) {
+                Map.Entry<String, JsonNode> version = versions.next();
+                if (protocolVersions == null) {
+                    protocolVersions = new TreeMap<>();
+                }
+                protocolVersions.merge(version.getKey(), version.getValue().asLong(), Long::sum);
+            }
+        }
+
+        private ConnectionMetrics summary() {
+            ConnectionMetrics metrics = new ConnectionMetrics(latency.summary(MICROS_PER_MILLI), connectionSamples,
+                    newConnections, connectTime.summary(MICROS_PER_MILLI));
+            metrics.setProtocolVersions(protocolVersions);
+            metrics.setLatencyHistogram(latency.encode());
+            metrics.setConnectTimeHistogram(connectTime.encode());
+            return metrics;
+        }
+    }
+}
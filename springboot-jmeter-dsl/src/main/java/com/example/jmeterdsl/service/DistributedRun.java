@@ -0,0 +1,141 @@
+package com.example.jmeterdsl.service;
+
+import com.example.jmeterdsl.dto.DistributedRunResponse;
+import com.example.jmeterdsl.dto.LoadTestRequest;
+import com.example.jmeterdsl.dto.LoadTestResponse;
+import com.example.jmeterdsl.dto.RunStatus;
+import com.example.jmeterdsl.dto.ShardStatus;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+final class DistributedRun {
+
+    /** 连续多少次查询不到分片状态后视为工作节点失联 */
+    private static final int MAX_POLL_FAILURES = 10;
+
+    static final class Shard {
+        private final String worker;
+        private final String remoteRunId;
+        private final int threads;
+        private final double targetRps;
+        private volatile RunStatus status = RunStatus.QUEUED;
+        private volatile String errorMessage;
+        private int pollFailures;
+
+        Shard(String worker, String remoteRunId, int threads, double targetRps) {
+            this.worker = worker;
+            this.remoteRunId = remoteRunId;
+            this.threads = threads;
+            this.targetRps = targetRps;
+        }
+
+        String getWorker() {
+            return worker;
+        }
+
+        String getRemoteRunId() {
+            return remoteRunId;
+        }
+
+        RunStatus getStatus() {
+            return status;
+        }
+
+        void update(RunStatus status, String errorMessage) {
+            this.status = status;
+            this.errorMessage = errorMessage;
+            this.pollFailures = 0;
+        }
+
+        void pollFailed(Exception e) {
+            if (++pollFailures >= MAX_POLL_FAILURES) {
+                update(RunStatus.FAILED, "工作节点失联: " + e.getMessage());
+            }
+        }
+
+        ShardStatus toStatus() {
+            return new ShardStatus(worker, remoteRunId, status, threads, targetRps, errorMessage);
+        }
+    }
+
+    private final String runId;
+    private final LoadTestRequest request;
+    private final Instant submittedAt = Instant.now();
+    private final List<Shard> shards = new CopyOnWriteArrayList<>();
+
+    private volatile RunStatus status = RunStatus.RUNNING;
+    private volatile Instant finishedAt;
+    private volatile String errorMessage;
+    private volatile LoadTestResponse result;
+    private volatile boolean cancelRequested;
+
+    DistributedRun(String runId, LoadTestRequest request) {
+        this.runId = runId;
+        this.request = request;
+    }
+
+    String getRunId() {
+        return runId;
+    }
+
+    LoadTestRequest getRequest() {
+        return request;
+    }
+
+    List<Shard> getShards() {
+        return shards;
+    }
+
+    void addShard(Shard shard) {
+        shards.add(shard);
+    }
+
+    RunStatus getStatus() {
+        return status;
+    }
+
+    Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    LoadTestResponse getResult() {
+        return result;
+    }
+
+    Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    synchronized boolean requestCancel() {
+        if (status.isFinished()) {
+            return false;
+        }
+        cancelRequested = true;
+        return true;
+    }
+
+    boolean allShardsFinished() {
+        return shards.stream().allMatch(shard -> shard.getStatus().isFinished());
+    }
+
+    synchronized void finish(LoadTestResponse result, String errorMessage) {
+        this.result = result;
+        this.errorMessage = errorMessage;
+        if (cancelRequested) {
+            status = RunStatus.CANCELLED;
+        } else {
+            status = errorMessage == null ? RunStatus.COMPLETED : RunStatus.FAILED;
+        }
+        finishedAt = Instant.now();
+    }
+
+    DistributedRunResponse toResponse() {
+        return new DistributedRunResponse(runId, status, submittedAt, finishedAt, errorMessage,
+                shards.stream().map(Shard::toStatus).toList(), result);
+    }
+}
@@ -0,0 +1,250 @@
+package com.example.jmeterdsl.service;
+
+import com.example.jmeterdsl.config.LoadTestProperties;
+import com.example.jmeterdsl.dto.DistributedRunRequest;
+import com.example.jmeterdsl.dto.DistributedRunResponse;
+import com.example.jmeterdsl.dto.LoadModel;
+import com.example.jmeterdsl.dto.LoadTestRequest;
+import com.example.jmeterdsl.dto.LoadTestResponse;
+import com.example.jmeterdsl.dto.RunStatus;
+import com.example.jmeterdsl.dto.WorkerInfo;
+import com.example.jmeterdsl.metrics.GateMonitor;
+import com.example.jmeterdsl.metrics.TokenUsageCollector;
+import com.example.jmeterdsl.store.RunResultStore;
+import com.example.jmeterdsl.util.Ids;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * 分布式压测协调者：把一次压测按工作节点拆成分片，通过各节点的 /load-test/runs 接口提交，
+ * 定时轮询分片状态，全部结束后拉取结果并按直方图合并为一个 LoadTestResponse。
+ * 闭环模式拆分线程数（循环次数不变），开环模式拆分到达率与在途上限；独立泊松过程叠加后仍是泊松过程。
+ */
+@Service
+public class DistributedRunCoordinator {
+
+    private static final Logger log = LoggerFactory.getLogger(DistributedRunCoordinator.class);
+
+    private final WorkerRegistry workerRegistry;
+    private final WorkerClient workerClient;
+    private final ObjectMapper objectMapper;
+    private final RunResultStore resultStore;
+    private final LoadTestProperties properties;
+    private final int retainedRuns;
+    private final Map<String, DistributedRun> runs = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService poller;
+
+    public DistributedRunCoordinator(WorkerRegistry workerRegistry, WorkerClient workerClient,
+                                     ObjectMapper objectMapper, RunResultStore resultStore,
+                                     LoadTestProperties properties) {
+        this.workerRegistry = workerRegistry;
+        this.workerClient = workerClient;
+        this.objectMapper = objectMapper;
+        this.resultStore = resultStore;
+        this.properties = properties;
+        this.retainedRuns = Math.max(1, properties.getExecutor().getRetainedRuns());
+        long interval = Math.max(100, properties.getDistributed().getPollIntervalMillis());
+        this.poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "distributed-run-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(this::pollRuns, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public DistributedRunResponse submit(DistributedRunRequest request) throws InterruptedException {
+        List<String> workers = selectWorkers(request);
+        if (workers.isEmpty()) {
+            throw new IllegalStateException("没有可用的工作节点");
+        }
+        DistributedRun run = new DistributedRun(Ids.monotonicUlid(), request.getRequest());
+        List<LoadTestRequest> shards = split(run.getRunId(), request.getRequest(), workers.size());
+        for (int i = 0; i < shards.size(); i++) {
+            String worker = workers.get(i);
+            LoadTestRequest shard = shards.get(i);
+            try {
+                String remoteRunId = workerClient.submit(worker, shard);
+                run.addShard(new DistributedRun.Shard(worker, remoteRunId,
+                        shard.getLoadModel() == LoadModel.ARRIVAL_RATE ? shard.getMaxInFlight() : shard.getThreads(),
+                        shard.getTargetRps()));
+            } catch (InterruptedException e) {
+                cancelShards(run);
+                throw e;
+            } catch (Exception e) {
+                cancelShards(run);
+                throw new IllegalStateException("向工作节点提交分片失败: " + worker + ", " + e.getMessage(), e);
+            }
+        }
+        evictFinishedRuns();
+        runs.put(run.getRunId(), run);
+        log.info("distributed load test {} submitted to {} workers", run.getRunId(), shards.size());
+        return run.toResponse();
+    }
+
+    public Optional<DistributedRunResponse> status(String runId) {
+        return Optional.ofNullable(runs.get(runId)).map(DistributedRun::toResponse);
+    }
+
+    public List<DistributedRunResponse> list() {
+        return runs.values().stream()
+                .map(DistributedRun::toResponse)
+                .sorted(Comparator.comparing(DistributedRunResponse::getSubmittedAt).reversed())
+                .toList();
+    }
+
+    public Optional<DistributedRunResponse> cancel(String runId) {
+        DistributedRun run = runs.get(runId);
+        if (run == null) {
+            return Optional.empty();
+        }
+        if (run.requestCancel()) {
+            cancelShards(run);
+        }
+        return Optional.of(run.toResponse());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        poller.shutdownNow();
+    }
+
+    /**
+     * 按工作节点数拆分请求，闭环模式下节点数多于线程数时只使用前 threads 个节点。
+     * 分片带上所属的分布式 runId 且去掉标签，工作节点不把分片当作独立压测写入历史，按标签的趋势查询只看到合并后的结果。
+     */
+    List<LoadTestRequest> split(String distributedRunId, LoadTestRequest request, int workers) {
+        boolean arrival = request.getLoadModel() == LoadModel.ARRIVAL_RATE;
+        int parts = arrival ? workers : Math.min(workers, request.getThreads());
+        List<LoadTestRequest> shards = new ArrayList<>(parts);
+        for (int i = 0; i < parts; i++) {
+            LoadTestRequest shard = objectMapper.convertValue(request, LoadTestRequest.class);
+            shard.setDistributedRunId(distributedRunId);
+            shard.setLabels(null);
+            if (arrival) {
+                shard.setTargetRps(request.getTargetRps() / parts);
+                shard.setMaxInFlight((request.getMaxInFlight() + parts - 1) / parts);
+            } else {
+                shard.setThreads(request.getThreads() / parts + (i < request.getThreads() % parts ? 1 : 0));
+            }
+            shards.add(shard);
+        }
+        return shards;
+    }
+
+    private List<String> selectWorkers(DistributedRunRequest request) {
+        List<String> workers = request.getWorkers().isEmpty()
+                ? workerRegistry.list().stream().map(WorkerInfo::getUrl).toList()
+                : request.getWorkers().stream().map(WorkerRegistry::normalize).distinct().toList();
+        if (request.getMaxWorkers() > 0 && workers.size() > request.getMaxWorkers()) {
+            return workers.subList(0, request.getMaxWorkers());
+        }
+        return workers;
+    }
+
+    private void pollRuns() {
+        for (DistributedRun run : runs.values()) {
+            if (run.getStatus().isFinished()) {
+                continue;
+            }
+            try {
+                poll(run);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("distributed load test {} poll failed", run.getRunId(), e);
+            }
+        }
+    }
+
+    private void poll(DistributedRun run) throws InterruptedException {
+        for (DistributedRun.Shard shard : run.getShards()) {
+            if (shard.getStatus().isFinished()) {
+                continue;
+            }
+            try {
+                WorkerClient.RemoteRun remote = workerClient.status(shard.getWorker(), shard.getRemoteRunId());
+                shard.update(remote.status(), remote.errorMessage());
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                shard.pollFailed(e);
+            }
+        }
+        if (run.allShardsFinished()) {
+            collect(run);
+        }
+    }
+
+    private void collect(DistributedRun run) throws InterruptedException {
+        List<JsonNode> results = new ArrayList<>();
+        List<String> failures = new ArrayList<>();
+        for (DistributedRun.Shard shard : run.getShards()) {
+            if (shard.getStatus() == RunStatus.FAILED) {
+                failures.add(shard.getWorker() + ": " + shard.toStatus().getErrorMessage());
+                continue;
+            }
+            try {
+                results.add(workerClient.result(shard.getWorker(), shard.getRemoteRunId()));
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                failures.add(shard.getWorker() + ": 拉取结果失败, " + e.getMessage());
+            }
+        }
+        LoadTestResponse merged = results.isEmpty() ? null : DistributedResultMerger.merge(results);
+        if (merged != null && merged.getTokens() != null) {
+            TokenUsageCollector.applyCost(merged.getTokens(), properties.hardwareCost(run.getRequest()));
+        }
+        if (merged != null && run.getRequest().getGate() != null) {
+            // 各节点分别检查门禁，任一节点提前结束即视为不通过；规则按合并后的结果重新判断
+            boolean aborted = results.stream().anyMatch(result -> result.path("gate").path("aborted").asBoolean());
+            merged.setGate(GateMonitor.evaluate(run.getRequest().getGate(), merged, aborted));
+        }
+        run.finish(merged, failures.isEmpty() ? null : "部分分片失败: " + String.join("; ", failures));
+        if (run.getStatus() == RunStatus.COMPLETED && run.getResult() != null) {
+            resultStore.record(run.getRunId(), RunResultStore.RUN_TYPE_DISTRIBUTED, run.getRequest(), run.getResult(),
+                    run.getSubmittedAt(), run.getFinishedAt());
+        }
+        log.info("distributed load test {} finished: {}", run.getRunId(), run.getStatus());
+    }
+
+    private void cancelShards(DistributedRun run) {
+        for (DistributedRun.Shard shard : run.getShards()) {
+            try {
+                workerClient.cancel(shard.getWorker(), shard.getRemoteRunId());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.warn("cancel shard {} on {} failed", shard.getRemoteRunId(), shard.getWorker(), e);
+            }
+        }
+    }
+
+    private void evictFinishedRuns() {
+        int overflow = runs.size() - retainedRuns + 1;
+        if (overflow <= 0) {
+            return;
+        }
+        runs.values().stream()
+                .filter(run -> run.getStatus().isFinished())
+                .sorted(Comparator.comparing(DistributedRun::getFinishedAt, Comparator.nullsFirst(Comparator.<Instant>naturalOrder())))
+                .limit(overflow)
+                .forEach(run -> runs.remove(run.getRunId()));
+    }
+}
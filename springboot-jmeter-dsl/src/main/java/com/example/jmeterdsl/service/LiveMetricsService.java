@@ -0,0 +1,270 @@
+package com.example.jmeterdsl.service;
+
+import com.example.jmeterdsl.config.LoadTestProperties;
+import com.example.jmeterdsl.dto.MetricsSnapshot;
+import com.example.jmeterdsl.metrics.LiveMetricsWindow;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 压测过程中的实时指标：每个 runId 一个通道，定时把滚动窗口生成快照，
+ * 写入有界环形缓冲并通过 SSE 推送给订阅者；新订阅者先回放缓冲中的历史。
+ * 定时线程只把快照放入每个订阅者的有界队列，网络写出在发送线程池中按订阅者串行执行，
+ * 慢客户端不会阻塞其他压测与订阅者，积压超限时被断开。
+ */
+@Service
+public class LiveMetricsService {
+
+    private static final Logger log = LoggerFactory.getLogger(LiveMetricsService.class);
+    private static final String SNAPSHOT_EVENT = "metrics";
+    private static final String END_EVENT = "end";
+
+    private final int historySize;
+    private final int subscriberBacklog;
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService ticker;
+    /** 每个订阅者同一时刻最多占用一个线程（卡住的连接被断开时再占一个），线程数随订阅者数伸缩 */
+    private final ExecutorService sender;
+
+    public LiveMetricsService(LoadTestProperties properties) {
+        LoadTestProperties.LiveMetrics config = properties.getLiveMetrics();
+        this.historySize = Math.max(1, config.getHistorySize());
+        this.subscriberBacklog = Math.max(1, config.getSubscriberBacklog());
+        long interval = Math.max(100, config.getIntervalMillis());
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "live-metrics-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger counter = new AtomicInteger();
+        this.sender = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "live-metrics-sender-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /** 压测提交时调用，把窗口注册到运行控制上 */
+    public void open(String runId, RunControl control, boolean streaming) {
+        LiveMetricsWindow window = new LiveMetricsWindow(streaming, control::inFlight);
+        control.addListener(window);
+        channels.put(runId, new Channel(window));
+    }
+
+    /** 压测结束时调用：输出最后一个不完整窗口并结束所有订阅 */
+    public void close(String runId) {
+        Channel channel = channels.get(runId);
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    public void remove(String runId) {
+        Channel channel = channels.remove(runId);
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    public Optional<List<MetricsSnapshot>> history(String runId) {
+        return Optional.ofNullable(channels.get(runId)).map(Channel::history);
+    }
+
+    public Optional<SseEmitter> subscribe(String runId) {
+        return Optional.ofNullable(channels.get(runId)).map(Channel::subscribe);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+        channels.values().forEach(Channel::close);
+        sender.shutdown();
+    }
+
+    private void tick() {
+        for (Channel channel : channels.values()) {
+            try {
+                channel.publish();
+            } catch (RuntimeException e) {
+                log.warn("live metrics publish failed", e);
+            }
+        }
+    }
+
+    private final class Channel {
+
+        private final LiveMetricsWindow window;
+        private final ArrayDeque<MetricsSnapshot> buffer = new ArrayDeque<>();
+        private final List<Subscriber> subscribers = new ArrayList<>();
+        private boolean closed;
+
+        private Channel(LiveMetricsWindow window) {
+            this.window = window;
+        }
+
+        synchronized void publish() {
+            if (closed) {
+                return;
+            }
+            append(window.roll());
+        }
+
+        synchronized void close() {
+            if (closed) {
+                return;
+            }
+            append(window.roll());
+            closed = true;
+            subscribers.forEach(Subscriber::end);
+            subscribers.clear();
+        }
+
+        synchronized List<MetricsSnapshot> history() {
+            return List.copyOf(buffer);
+        }
+
+        /** 历史回放同样经由订阅者队列发送，队列上限为历史长度加允许的积压 */
+        synchronized SseEmitter subscribe() {
+            Subscriber subscriber = new Subscriber(this, historySize + subscriberBacklog);
+            for (MetricsSnapshot snapshot : buffer) {
+                subscriber.offer(snapshot);
+            }
+            if (closed) {
+                subscriber.end();
+                return subscriber.emitter;
+            }
+            subscribers.add(subscriber);
+            subscriber.emitter.onCompletion(subscriber::cancel);
+            subscriber.emitter.onTimeout(subscriber::cancel);
+            subscriber.emitter.onError(e -> subscriber.cancel());
+            return subscriber.emitter;
+        }
+
+        private synchronized void unsubscribe(Subscriber subscriber) {
+            subscribers.remove(subscriber);
+        }
+
+        private void append(MetricsSnapshot snapshot) {
+            if (buffer.size() == historySize) {
+                buffer.removeFirst();
+            }
+            buffer.addLast(snapshot);
+            subscribers.removeIf(subscriber -> !subscriber.offer(snapshot));
+        }
+    }
+
+    /** 单个 SSE 订阅者：待发送快照的有界队列，由发送线程池逐个写出 */
+    private final class Subscriber implements Runnable {
+
+        private final Channel channel;
+        private final int capacity;
+        private final SseEmitter emitter = new SseEmitter(0L);
+        private final ArrayDeque<MetricsSnapshot> pending = new ArrayDeque<>();
+        private boolean ending;
+        private boolean running;
+        private boolean dead;
+
+        private Subscriber(Channel channel, int capacity) {
+            this.channel = channel;
+            this.capacity = capacity;
+        }
+
+        /** 返回 false 表示订阅已失效或积压超限，调用方应移除该订阅者 */
+        synchronized boolean offer(MetricsSnapshot snapshot) {
+            if (dead) {
+                return false;
+            }
+            if (pending.size() >= capacity) {
+                dead = true;
+                pending.clear();
+                log.warn("live metrics subscriber too slow, {} snapshots pending, disconnecting", capacity);
+                // 写锁可能被卡住的发送占用，断开动作也放到发送线程池，避免阻塞定时线程
+                sender.execute(() -> emitter.completeWithError(new IOException("subscriber too slow")));
+                return false;
+            }
+            pending.addLast(snapshot);
+            schedule();
+            return true;
+        }
+
+        /** 发完积压的快照后发送 end 事件并结束 */
+        synchronized void end() {
+            if (!dead) {
+                ending = true;
+                schedule();
+            }
+        }
+
+        /** 通道锁在外、订阅者锁在内，这里先释放订阅者锁再从通道移除 */
+        void cancel() {
+            synchronized (this) {
+                dead = true;
+                pending.clear();
+            }
+            channel.unsubscribe(this);
+        }
+
+        private void schedule() {
+            if (!running) {
+                running = true;
+                sender.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                MetricsSnapshot next;
+                boolean finish;
+                synchronized (this) {
+                    next = dead ? null : pending.pollFirst();
+                    finish = next == null && ending && !dead;
+                    if (next == null) {
+                        running = false;
+                        if (finish) {
+                            dead = true;
+                        } else {
+                            return;
+                        }
+                    }
+                }
+                if (finish) {
+                    if (send(SseEmitter.event().name(END_EVENT).data("completed"))) {
+                        emitter.complete();
+                    }
+                    return;
+                }
+                if (!send(SseEmitter.event().name(SNAPSHOT_EVENT).data(next))) {
+                    cancel();
+                    return;
+                }
+            }
+        }
+
+        private boolean send(SseEmitter.SseEventBuilder event) {
+            try {
+                emitter.send(event);
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.jmeterdsl.service;
+
+import com.example.jmeterdsl.dto.LoadTestRequest;
+import com.example.jmeterdsl.dto.LoadTestResponse;
+import com.example.jmeterdsl.dto.LoadTestRunResponse;
+import com.example.jmeterdsl.dto.RunStatus;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+final class LoadTestRun {
+
+    private final String runId;
+    private final LoadTestRequest request;
+    private final long sequence;
+    private final Duration estimatedDuration;
+    private final RunControl control = new RunControl();
+    private final Instant submittedAt = Instant.now();
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+    private volatile RunStatus status = RunStatus.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String errorMessage;
+    private volatile LoadTestResponse result;
+
+    /**
+     * @param sequence          提交顺序，同优先级同团队时先提交先执行
+     * @param estimatedDuration 预计执行耗时，用于估算排队压测的开始时间
+     */
+    LoadTestRun(String runId, LoadTestRequest request, long sequence, Duration estimatedDuration) {
+        this.runId = runId;
+        this.request = request;
+        this.sequence = sequence;
+        this.estimatedDuration = estimatedDuration;
+    }
+
+    String getRunId() {
+        return runId;
+    }
+
+    LoadTestRequest getRequest() {
+        return request;
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+
+    Duration getEstimatedDuration() {
+        return estimatedDuration;
+    }
+
+    /** 压测目标 host:port，同一目标同时执行的压测数受限 */
+    String getTarget() {
+        return request.getIp().toLowerCase() + ":" + request.getPort();
+    }
+
+    String getTeam() {
+        return request.getTeam() == null ? "" : request.getTeam();
+    }
+
+    int getPriority() {
+        return request.getPriority();
+    }
+
+    RunControl getControl() {
+        return control;
+    }
+
+    RunStatus getStatus() {
+        return status;
+    }
+
+    Instant getStartedAt() {
+        return startedAt;
+    }
+
+    Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    LoadTestResponse getResult() {
+        return result;
+    }
+
+    Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    /** 等待压测结束（包括排队时被取消） */
+    void awaitDone() throws InterruptedException, ExecutionException {
+        done.get();
+    }
+
+    synchronized boolean markRunning() {
+        if (status != RunStatus.QUEUED) {
+            return false;
+        }
+        status = RunStatus.RUNNING;
+        startedAt = Instant.now();
+        return true;
+    }
+
+    synchronized void complete(LoadTestResponse result) {
+        if (status.isFinished()) {
+            return;
+        }
+        this.result = result;
+        finish(control.isCancelled() ? RunStatus.CANCELLED : RunStatus.COMPLETED, null);
+    }
+
+    synchronized void fail(String message) {
+        finish(control.isCancelled() ? RunStatus.CANCELLED : RunStatus.FAILED, message);
+    }
+
+    synchronized boolean cancel() {
+        if (status.isFinished()) {
+            return false;
+        }
+        control.requestStop();
+        if (status == RunStatus.QUEUED) {
+            finish(RunStatus.CANCELLED, null);
+        }
+        return true;
+    }
+
+    LoadTestRunResponse toResponse() {
+        return new LoadTestRunResponse(runId, status, submittedAt, startedAt, finishedAt, errorMessage);
+    }
+
+    /** 只生效一次：已结束的压测不会被后续的 fail / complete 改写状态 */
+    private void finish(RunStatus finalStatus, String message) {
+        if (status.isFinished()) {
+            return;
+        }
+        status = finalStatus;
+        errorMessage = message;
+        finishedAt = Instant.now();
+        done.complete(null);
+    }
+}
@@ -0,0 +1,251 @@
+package com.example.jmeterdsl.service;
+
+import com.example.jmeterdsl.config.LoadTestProperties;
+import com.example.jmeterdsl.dto.LoadModel;
+import com.example.jmeterdsl.dto.LoadTestRequest;
+import com.example.jmeterdsl.dto.LoadTestResponse;
+import com.example.jmeterdsl.dto.LoadTestRunResponse;
+import com.example.jmeterdsl.dto.RunStatus;
+import com.example.jmeterdsl.samplelog.BinarySampleLogWriter;
+import com.example.jmeterdsl.store.RequestFingerprint;
+import com.example.jmeterdsl.store.RunResultStore;
+import com.example.jmeterdsl.util.Ids;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * 异步压测调度：提交后立即返回 runId 与排队位置、预计开始时间，由 {@link RunScheduler} 按优先级、
+ * 团队公平与目标互斥决定执行顺序，同时执行的压测数不超过线程池大小（默认为 CPU 核数）；
+ * 等待队列已满时拒绝提交（RejectedExecutionException）。
+ */
+@Service
+public class LoadTestRunManager {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestRunManager.class);
+
+    /** 估算耗时取同一配置最近几次压测的平均值 */
+    private static final int DURATION_HISTORY = 5;
+
+    private final LoadTestService loadTestService;
+    private final LiveMetricsService liveMetricsService;
+    private final RunResultStore resultStore;
+    private final SampleLogService sampleLogService;
+    private final ThreadPoolExecutor executor;
+    private final RunScheduler scheduler;
+    private final int retainedRuns;
+    private final Duration defaultRunEstimate;
+    private final Map<String, LoadTestRun> runs = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public LoadTestRunManager(LoadTestService loadTestService, LiveMetricsService liveMetricsService,
+                              RunResultStore resultStore, SampleLogService sampleLogService,
+                              LoadTestProperties properties) {
+        this.loadTestService = loadTestService;
+        this.liveMetricsService = liveMetricsService;
+        this.resultStore = resultStore;
+        this.sampleLogService = sampleLogService;
+        LoadTestProperties.Executor config = properties.getExecutor();
+        this.retainedRuns = Math.max(1, config.getRetainedRuns());
+        this.defaultRunEstimate = Duration.ofSeconds(Math.max(1, config.getDefaultRunEstimateSeconds()));
+        int poolSize = config.getPoolSize() > 0 ? config.getPoolSize() : Runtime.getRuntime().availableProcessors();
+        // 只有调度器放行的压测才会提交到线程池，线程池本身不排队
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), namedThreadFactory("load-test-runner-"));
+        this.scheduler = new RunScheduler(poolSize, Math.max(1, config.getMaxRunsPerTarget()),
+                Math.max(1, config.getQueueCapacity()));
+    }
+
+    public LoadTestRunResponse submit(LoadTestRequest request) {
+        evictFinishedRuns();
+        LoadTestRun run = new LoadTestRun(Ids.monotonicUlid(), request, sequence.incrementAndGet(),
+                estimateDuration(request));
+        runs.put(run.getRunId(), run);
+        liveMetricsService.open(run.getRunId(), run.getControl(), ScenarioPlanBuilder.hasStreamingStep(request));
+        try {
+            scheduler.enqueue(run);
+        } catch (RuntimeException e) {
+            runs.remove(run.getRunId());
+            liveMetricsService.remove(run.getRunId());
+            throw e;
+        }
+        dispatch();
+        return describe(run, scheduler.estimate(Instant.now()));
+    }
+
+    /** 同步执行：仍然占用压测线程池的名额，调用线程等待结果 */
+    public LoadTestResponse runAndWait(LoadTestRequest request) throws InterruptedException {
+        return await(submit(request).getRunId());
+    }
+
+    /** 等待已提交的压测结束，返回结果（取消时可能为部分结果或 null）；等待被中断时取消该压测 */
+    public LoadTestResponse await(String runId) throws InterruptedException {
+        LoadTestRun run = runs.get(runId);
+        if (run == null) {
+            throw new IllegalArgumentException("压测记录不存在: " + runId);
+        }
+        try {
+            run.awaitDone();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("压测执行失败", e.getCause());
+        } catch (InterruptedException e) {
+            run.cancel();
+            throw e;
+        }
+        if (run.getStatus() == RunStatus.FAILED) {
+            throw new IllegalStateException("压测执行失败: " + run.toResponse().getErrorMessage());
+        }
+        return run.getResult();
+    }
+
+    public Optional<LoadTestRunResponse> status(String runId) {
+        return Optional.ofNullable(runs.get(runId)).map(run -> describe(run, scheduler.estimate(Instant.now())));
+    }
+
+    public Optional<LoadTestResponse> result(String runId) {
+        return Optional.ofNullable(runs.get(runId)).map(LoadTestRun::getResult);
+    }
+
+    public List<LoadTestRunResponse> list() {
+        Map<LoadTestRun, RunScheduler.Estimate> estimates = scheduler.estimate(Instant.now());
+        return runs.values().stream()
+                .map(run -> describe(run, estimates))
+                .sorted(Comparator.comparing(LoadTestRunResponse::getSubmittedAt).reversed())
+                .toList();
+    }
+
+    public Optional<LoadTestRunResponse> cancel(String runId) {
+        LoadTestRun run = runs.get(runId);
+        if (run == null) {
+            return Optional.empty();
+        }
+        if (run.cancel()) {
+            log.info("load test {} cancel requested", runId);
+        }
+        if (run.getStatus().isFinished()) {
+            scheduler.remove(run);
+            liveMetricsService.close(runId);
+        }
+        return Optional.of(run.toResponse());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runs.values().forEach(LoadTestRun::cancel);
+        executor.shutdownNow();
+    }
+
+    private void dispatch() {
+        for (LoadTestRun run : scheduler.dispatch()) {
+            executor.execute(() -> execute(run));
+        }
+    }
+
+    private void execute(LoadTestRun run) {
+        try {
+            if (run.markRunning()) {
+                runTest(run);
+            }
+        } finally {
+            liveMetricsService.close(run.getRunId());
+            scheduler.finished(run);
+            dispatch();
+        }
+    }
+
+    private void runTest(LoadTestRun run) {
+        try {
+            LoadTestResponse result;
+            // 先关闭采样日志再标记结束，状态可见时文件已完整
+            BinarySampleLogWriter sampleLog = openSampleLog(run);
+            try {
+                result = loadTestService.runTest(run.getRequest(), run.getControl());
+            } finally {
+                if (sampleLog != null) {
+                    sampleLog.close();
+                }
+            }
+            run.complete(result);
+        } catch (Exception e) {
+            log.warn("load test {} failed", run.getRunId(), e);
+            run.fail(e.getMessage());
+            return;
+        }
+        // 分布式压测的分片由协调节点合并后统一记录
+        if (run.getStatus() == RunStatus.COMPLETED && run.getRequest().getDistributedRunId() == null) {
+            resultStore.record(run.getRunId(), RunResultStore.RUN_TYPE_LOCAL, run.getRequest(), run.getResult(),
+                    run.getStartedAt(), run.getFinishedAt());
+        }
+    }
+
+    /** 同一配置有历史记录时取最近几次的平均耗时，否则开环模式取发压时长，闭环模式取配置的默认值 */
+    private Duration estimateDuration(LoadTestRequest request) {
+        return resultStore.averageDuration(RequestFingerprint.of(request), DURATION_HISTORY)
+                .orElseGet(() -> request.getLoadModel() == LoadModel.ARRIVAL_RATE
+                        ? Duration.ofSeconds(request.getDurationSeconds())
+                        : defaultRunEstimate);
+    }
+
+    private static LoadTestRunResponse describe(LoadTestRun run, Map<LoadTestRun, RunScheduler.Estimate> estimates) {
+        LoadTestRunResponse response = run.toResponse();
+        RunScheduler.Estimate estimate = estimates.get(run);
+        if (estimate != null) {
+            response.setQueuePosition(estimate.position());
+            response.setEstimatedStartAt(estimate.startAt());
+            response.setEstimatedFinishAt(estimate.finishAt());
+        } else if (!response.getStatus().isFinished()) {
+            response.setEstimatedFinishAt(RunScheduler.expectedFinish(run, Instant.now()));
+        }
+        return response;
+    }
+
+    private BinarySampleLogWriter openSampleLog(LoadTestRun run) throws IOException {
+        if (!run.getRequest().isRecordSamples()) {
+            return null;
+        }
+        BinarySampleLogWriter writer = sampleLogService.open(run.getRunId());
+        run.getControl().addListener(writer);
+        return writer;
+    }
+
+    private void evictFinishedRuns() {
+        int overflow = runs.size() - retainedRuns + 1;
+        if (overflow <= 0) {
+            return;
+        }
+        runs.values().stream()
+                .filter(run -> run.getStatus().isFinished())
+                .sorted(Comparator.comparing(LoadTestRun::getFinishedAt, Comparator.nullsFirst(Comparator.<Instant>naturalOrder())))
+                .limit(overflow)
+                .forEach(run -> {
+                    runs.remove(run.getRunId());
+                    liveMetricsService.remove(run.getRunId());
+                    sampleLogService.delete(run.getRunId());
+                });
+    }
+
+    private static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -1,57 +1,254 @@
 package com.example.jmeterdsl.service;
 
+import com.example.jmeterdsl.config.LoadTestProperties;
+import com.example.jmeterdsl.dto.ConnectionMetrics;
+import com.example.jmeterdsl.dto.DistributionStats;
+import com.example.jmeterdsl.dto.LoadEngine;
+import com.example.jmeterdsl.dto.LoadModel;
 import com.example.jmeterdsl.dto.LoadTestRequest;
 import com.example.jmeterdsl.dto.LoadTestResponse;
+import com.example.jmeterdsl.dto.TokenMetrics;
+import com.example.jmeterdsl.metrics.GateMonitor;
+import com.example.jmeterdsl.metrics.ResultRecorder;
+import com.example.jmeterdsl.metrics.SampleListener;
+import com.example.jmeterdsl.metrics.StreamingMetricsCollector;
+import com.example.jmeterdsl.metrics.TokenUsageCollector;
+import com.example.jmeterdsl.metrics.WarmUpFilter;
+import com.example.jmeterdsl.store.RequestFingerprint;
+import com.example.jmeterdsl.workload.ArrivalSchedule;
+import com.example.jmeterdsl.workload.PromptFeeder;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
-import org.springframework.util.StringUtils;
+import us.abstracta.jmeter.javadsl.core.DslTestPlan;
 import us.abstracta.jmeter.javadsl.core.TestPlanStats;
-import us.abstracta.jmeter.javadsl.http.DslHttpSampler;
-import us.abstracta.jmeter.javadsl.http.HttpMethod;
+import us.abstracta.jmeter.javadsl.core.threadgroups.BaseThreadGroup;
+import us.abstracta.jmeter.javadsl.core.threadgroups.DslDefaultThreadGroup;
 
-import static us.abstracta.jmeter.javadsl.JmeterDsl.httpSampler;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static us.abstracta.jmeter.javadsl.JmeterDsl.jsr223PreProcessor;
 import static us.abstracta.jmeter.javadsl.JmeterDsl.testPlan;
 import static us.abstracta.jmeter.javadsl.JmeterDsl.threadGroup;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.threadPause;
 
 @Service
 public class LoadTestService {
 
-    public LoadTestResponse runTest(LoadTestRequest request) {
-        DslHttpSampler sampler = buildSampler(request);
-        TestPlanStats stats = testPlan(
-                threadGroup("dynamic-load-test", request.getThreads(), request.getLoopCount(), sampler)
-        ).run();
+    private static final Logger log = LoggerFactory.getLogger(LoadTestService.class);
 
-        long totalSamples = stats.overall().samplesCount();
-        long errorSamples = stats.overall().errorsCount();
-        double errorPercentage = totalSamples == 0 ? 0.0 : (errorSamples * 100.0) / totalSamples;
-        double throughput = stats.overall().throughput();
-        double averageResponseTime = stats.overall().sampleTimeMean();
-        double percentile95 = stats.overall().sampleTimePercentile95();
+    private static final String THREAD_GROUP_NAME = "dynamic-load-test";
+
+    private final PromptCorpusService promptCorpusService;
+    private final SharedJmeterEngine engine;
+    private final CompiledPlanCache planCache;
+    private final boolean warmUp;
+    private final LoadTestProperties properties;
 
-        return new LoadTestResponse(totalSamples, errorSamples, errorPercentage,
-                throughput, averageResponseTime, percentile95);
+    public LoadTestService(PromptCorpusService promptCorpusService, SharedJmeterEngine engine,
+                           LoadTestProperties properties) {
+        this.promptCorpusService = promptCorpusService;
+        this.engine = engine;
+        this.planCache = new CompiledPlanCache(Math.max(0, properties.getEngine().getPlanCacheSize()));
+        this.warmUp = properties.getEngine().isWarmUp();
+        this.properties = properties;
     }
 
-    private DslHttpSampler buildSampler(LoadTestRequest request) {
-        String normalizedPath = request.getPath().startsWith("/") ? request.getPath() : "/" + request.getPath();
-        String url = String.format("%s://%s:%d%s", request.getProtocol(), request.getIp(), request.getPort(), normalizedPath);
-        HttpMethod httpMethod = HttpMethod.valueOf(request.getMethod().toUpperCase());
+    /**
+     * 启动后对本机临时 HTTP 服务完整跑一次压测（编译计划、JMeter 引擎、HTTP 采样器、结果统计），
+     * 类加载与初始化不再计入第一次真实压测的启动时间。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!warmUp) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        HttpServer server = null;
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            server.createContext("/", exchange -> {
+                byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.start();
+            LoadTestRequest request = new LoadTestRequest();
+            request.setIp(server.getAddress().getAddress().getHostAddress());
+            request.setPort(server.getAddress().getPort());
+            request.setMethod("GET");
+            request.setPath("/warm-up");
+            runTest(request);
+            log.info("jmeter engine warmed up in {} ms", System.currentTimeMillis() - start);
+        } catch (IOException | RuntimeException e) {
+            log.warn("jmeter engine warm-up failed, the first run will initialize it", e);
+        } finally {
+            if (server != null) {
+                server.stop(0);
+            }
+        }
+    }
+
+    public LoadTestResponse runTest(LoadTestRequest request) {
+        return runTest(request, new RunControl());
+    }
+
+    public LoadTestResponse runTest(LoadTestRequest request, RunControl control) {
+        StreamingMetricsCollector streamingMetrics = ScenarioPlanBuilder.hasStreamingStep(request)
+                ? new StreamingMetricsCollector()
+                : null;
+        // 流式步骤总是统计 token，非流式步骤需要开启 tokenUsage 才解析响应中的 usage
+        TokenUsageCollector tokenUsage = streamingMetrics != null || request.isTokenUsage()
+                ? new TokenUsageCollector()
+                : null;
+        PromptFeeder promptFeeder = request.getDataset() != null
+                ? new PromptFeeder(promptCorpusService.open(request.getDataset().getFile()), request.getDataset())
+                : null;
+        ArrivalSchedule arrivalSchedule = request.getLoadModel() == LoadModel.ARRIVAL_RATE
+                ? new ArrivalSchedule(request.getArrivalProcess(), request.getTargetRps(),
+                        request.getMaxInFlight(), request.getDurationSeconds())
+                : null;
+        // 异步引擎与流式步骤基于 JDK HttpClient，拿不到建连时间，不参与连接复用统计
+        ResultRecorder recorder = new ResultRecorder(request.getEngine() == LoadEngine.JMETER
+                ? ScenarioPlanBuilder.connectionLabels(request)
+                : Set.of());
+        GateMonitor gateMonitor = request.getGate() != null
+                ? new GateMonitor(request.getGate(), recorder.responseTime(), streamingMetrics, reason -> {
+                    log.info("performance gate breached, stopping load test: {}", reason);
+                    control.abort();
+                })
+                : null;
+        SampleListener measured = gateMonitor == null ? recorder : (result, elapsedMillis) -> {
+            recorder.sampleOccurred(result, elapsedMillis);
+            gateMonitor.sampleOccurred(result, elapsedMillis);
+        };
+        // 配置预热时只有预热之后的采样进入汇总与门禁，计数与吞吐也改由过滤器统计
+        WarmUpFilter warmUpFilter = request.getWarmUp() != null
+                ? new WarmUpFilter(request.getWarmUp(), measured)
+                : null;
+        control.addListener(warmUpFilter != null ? warmUpFilter : measured);
+        RunTotals totals = request.getEngine() == LoadEngine.ASYNC_HTTP
+                ? runAsync(request, control, streamingMetrics, tokenUsage, promptFeeder, arrivalSchedule)
+                : runJmeter(request, control, streamingMetrics, tokenUsage, promptFeeder, arrivalSchedule);
+
+        long totalSamples = warmUpFilter != null ? warmUpFilter.measuredSamples() : totals.samples();
+        long errorSamples = warmUpFilter != null ? warmUpFilter.measuredErrors() : totals.errors();
+        double errorPercentage = totalSamples == 0 ? 0.0 : (errorSamples * 100.0) / totalSamples;
+        double throughput = warmUpFilter != null ? warmUpFilter.measuredThroughput() : totals.throughput();
+        DistributionStats responseTime = recorder.responseTimeSummary();
 
-        DslHttpSampler sampler = httpSampler("http-request", url)
-                .method(httpMethod);
+        LoadTestResponse response = new LoadTestResponse(totalSamples, errorSamples, errorPercentage,
+                throughput, responseTime.getMean(), responseTime.getP95());
+        response.setResponseTimeMs(responseTime);
+        response.setResponseTimeHistogram(recorder.responseTime().encode());
+        if (streamingMetrics != null) {
+            response.setStreaming(streamingMetrics.summary(totals.durationMillis() / 1000.0));
+        }
+        if (tokenUsage != null) {
+            TokenMetrics tokens = tokenUsage.summary(totals.durationMillis() / 1000.0);
+            TokenUsageCollector.applyCost(tokens, properties.hardwareCost(request));
+            response.setTokens(tokens);
+        }
+        if (arrivalSchedule != null) {
+            response.setArrival(arrivalSchedule.summary());
+        }
+        ConnectionMetrics connection = recorder.connectionSummary();
+        connection.setProtocolVersions(totals.protocolVersions());
+        response.setConnection(connection);
+        if (warmUpFilter != null) {
+            response.setWarmUp(warmUpFilter.warmUpSummary());
+            response.setSteadyState(warmUpFilter.steadyStateSummary());
+        }
+        if (!request.getSteps().isEmpty()) {
+            response.setSteps(recorder.stepSummary());
+        }
+        if (gateMonitor != null) {
+            response.setGate(gateMonitor.result(response));
+        }
+        return response;
+    }
 
-        if (!HttpMethod.GET.equals(httpMethod) && StringUtils.hasText(request.getBody())) {
-            sampler = sampler.body(request.getBody());
+    private RunTotals runJmeter(LoadTestRequest request, RunControl control, StreamingMetricsCollector streamingMetrics,
+                                TokenUsageCollector tokenUsage, PromptFeeder promptFeeder,
+                                ArrivalSchedule arrivalSchedule) {
+        // 标签、调度参数与采样日志开关不影响计划结构，配置指纹相同的请求复用同一个编译好的计划
+        String fingerprint = RequestFingerprint.of(request);
+        CompiledPlanCache.CompiledPlan plan = planCache.borrow(fingerprint);
+        if (plan == null) {
+            plan = compile(request);
         }
+        plan.binding().bind(control, streamingMetrics, tokenUsage, promptFeeder, arrivalSchedule);
+        TestPlanStats stats;
+        try {
+            stats = engine.run(plan.testPlan());
+        } catch (IOException e) {
+            throw new IllegalStateException("压测执行失败", e);
+        } finally {
+            plan.binding().unbind();
+            planCache.release(fingerprint, plan);
+        }
+        return new RunTotals(stats.overall().samplesCount(), stats.overall().errorsCount(),
+                stats.overall().samples().perSecond(), stats.duration().toMillis(), null);
+    }
 
-        if (StringUtils.hasText(request.getContentType())) {
-            sampler = sampler.header("Content-Type", request.getContentType());
+    private RunTotals runAsync(LoadTestRequest request, RunControl control, StreamingMetricsCollector streamingMetrics,
+                               TokenUsageCollector tokenUsage, PromptFeeder promptFeeder,
+                               ArrivalSchedule arrivalSchedule) {
+        AsyncLoadEngine.Totals totals;
+        try {
+            totals = new AsyncLoadEngine(request, control, streamingMetrics, tokenUsage, promptFeeder,
+                    arrivalSchedule).run();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("压测被中断", e);
         }
+        double seconds = totals.durationMillis() / 1000.0;
+        return new RunTotals(totals.samples(), totals.errors(), seconds > 0 ? totals.samples() / seconds : 0.0,
+                totals.durationMillis(), totals.protocolVersions());
+    }
 
-        for (var entry : request.getHeaders().entrySet()) {
-            sampler = sampler.header(entry.getKey(), entry.getValue());
+    private CompiledPlanCache.CompiledPlan compile(LoadTestRequest request) {
+        PlanBinding binding = new PlanBinding();
+        List<BaseThreadGroup.ThreadGroupChild> iteration = new ScenarioPlanBuilder(request, binding).build();
+        DslTestPlan testPlan = testPlan(
+                buildThreadGroup(request, iteration, binding),
+                new RunSampleListener(binding)
+        );
+        return new CompiledPlanCache.CompiledPlan(testPlan, binding);
+    }
+
+    private DslDefaultThreadGroup buildThreadGroup(LoadTestRequest request,
+                                                   List<BaseThreadGroup.ThreadGroupChild> iteration,
+                                                   PlanBinding binding) {
+        if (request.getLoadModel() != LoadModel.ARRIVAL_RATE) {
+            return threadGroup(THREAD_GROUP_NAME, request.getThreads(), request.getLoopCount(),
+                    iteration.toArray(new BaseThreadGroup.ThreadGroupChild[0]));
         }
+        // 开环：线程数仅作为在途上限；每次迭代先由不产生采样结果的 Flow Control Action 领取计划到达时刻，
+        // 调度结束后线程在该步骤自行停止。多步骤场景中一次到达对应一次完整迭代
+        List<BaseThreadGroup.ThreadGroupChild> children = new ArrayList<>();
+        children.add(threadPause(Duration.ZERO)
+                .children(jsr223PreProcessor(vars -> binding.arrivalSchedule().acquire(vars.ctx))));
+        children.addAll(iteration);
+        return threadGroup(THREAD_GROUP_NAME, request.getMaxInFlight(), -1,
+                children.toArray(new BaseThreadGroup.ThreadGroupChild[0]));
+    }
 
-        return sampler;
+    private record RunTotals(long samples, long errors, double throughput, long durationMillis,
+                             Map<String, Long> protocolVersions) {
     }
 }
@@ -0,0 +1,186 @@
+package com.example.jmeterdsl.service;
+
+import com.example.jmeterdsl.dto.DistributionStats;
+import com.example.jmeterdsl.dto.LoadTestResponse;
+import com.example.jmeterdsl.dto.RunStatus;
+import com.example.jmeterdsl.dto.SweepRequest;
+import com.example.jmeterdsl.dto.SweepResponse;
+import com.example.jmeterdsl.dto.SweepStage;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+
+final class LoadTestSweep {
+
+    static final class Stage {
+        private final int index;
+        private final double level;
+        private final String runId;
+        private volatile RunStatus status = RunStatus.RUNNING;
+        private volatile LoadTestResponse result;
+        private volatile List<String> violations;
+
+        Stage(int index, double level, String runId) {
+            this.index = index;
+            this.level = level;
+            this.runId = runId;
+        }
+
+        double getLevel() {
+            return level;
+        }
+
+        String getRunId() {
+            return runId;
+        }
+
+        LoadTestResponse getResult() {
+            return result;
+        }
+
+        boolean isPassed() {
+            return violations != null && violations.isEmpty();
+        }
+
+        boolean isViolated() {
+            return violations != null && !violations.isEmpty();
+        }
+
+        List<String> getViolations() {
+            return violations;
+        }
+
+        void finish(RunStatus status, LoadTestResponse result, List<String> violations) {
+            this.result = result;
+            this.violations = violations;
+            this.status = status;
+        }
+
+        SweepStage toStage() {
+            LoadTestResponse r = result;
+            if (r == null) {
+                return new SweepStage(index, level, runId, status, 0, 0, 0, 0, 0, 0, null, null, null);
+            }
+            DistributionStats rt = r.getResponseTimeMs() == null ? DistributionStats.empty() : r.getResponseTimeMs();
+            Double ttftP95 = r.getStreaming() == null || r.getStreaming().getTimeToFirstTokenMs() == null
+                    ? null : r.getStreaming().getTimeToFirstTokenMs().getP95();
+            return new SweepStage(index, level, runId, status, r.getTotalSamples(), r.getThroughputPerSecond(),
+                    r.getErrorPercentage(), rt.getP50(), r.getPercentile95ResponseTimeMs(), rt.getP99(), ttftP95,
+                    violations == null ? null : violations.isEmpty(), violations);
+        }
+    }
+
+    private final String sweepId;
+    private final SweepRequest request;
+    private final Instant submittedAt = Instant.now();
+    private final List<Stage> stages = new CopyOnWriteArrayList<>();
+
+    private volatile RunStatus status = RunStatus.QUEUED;
+    private volatile Instant finishedAt;
+    private volatile String errorMessage;
+    private volatile boolean cancelRequested;
+    private volatile Future<?> future;
+
+    LoadTestSweep(String sweepId, SweepRequest request) {
+        this.sweepId = sweepId;
+        this.request = request;
+    }
+
+    String getSweepId() {
+        return sweepId;
+    }
+
+    SweepRequest getRequest() {
+        return request;
+    }
+
+    RunStatus getStatus() {
+        return status;
+    }
+
+    Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    /** 当前正在执行的阶段，没有时返回 null */
+    Stage currentStage() {
+        return stages.stream().filter(stage -> stage.status == RunStatus.RUNNING).findFirst().orElse(null);
+    }
+
+    Stage startStage(double level, String runId) {
+        Stage stage = new Stage(stages.size() + 1, level, runId);
+        stages.add(stage);
+        return stage;
+    }
+
+    synchronized boolean markRunning() {
+        if (status != RunStatus.QUEUED) {
+            return false;
+        }
+        status = RunStatus.RUNNING;
+        return true;
+    }
+
+    /** 返回 true 表示需要继续取消正在执行的阶段 */
+    synchronized boolean requestCancel() {
+        if (status.isFinished()) {
+            return false;
+        }
+        cancelRequested = true;
+        if (status == RunStatus.QUEUED) {
+            finish(RunStatus.CANCELLED, null);
+            if (future != null) {
+                future.cancel(false);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    synchronized void complete() {
+        finish(cancelRequested ? RunStatus.CANCELLED : RunStatus.COMPLETED, null);
+    }
+
+    synchronized void fail(String message) {
+        Stage current = currentStage();
+        if (current != null) {
+            current.finish(cancelRequested ? RunStatus.CANCELLED : RunStatus.FAILED, current.result, null);
+        }
+        finish(cancelRequested ? RunStatus.CANCELLED : RunStatus.FAILED, message);
+    }
+
+    SweepResponse toResponse() {
+        SweepResponse response = new SweepResponse(sweepId, status, submittedAt, finishedAt, errorMessage,
+                stages.stream().map(Stage::toStage).toList());
+        Stage lastPassed = null;
+        for (Stage stage : stages) {
+            if (stage.isPassed()) {
+                lastPassed = stage;
+            } else if (stage.isViolated()) {
+                response.setSaturationLevel(stage.getLevel());
+                response.setSaturationReasons(stage.getViolations());
+                break;
+            }
+        }
+        if (lastPassed != null) {
+            response.setMaxSustainableLevel(lastPassed.getLevel());
+            response.setMaxSustainableThroughput(lastPassed.getResult().getThroughputPerSecond());
+        }
+        return response;
+    }
+
+    private void finish(RunStatus finalStatus, String message) {
+        status = finalStatus;
+        errorMessage = message;
+        finishedAt = Instant.now();
+    }
+}
@@ -0,0 +1,242 @@
+package com.example.jmeterdsl.service;
+
+import com.example.jmeterdsl.config.LoadTestProperties;
+import com.example.jmeterdsl.dto.LoadModel;
+import com.example.jmeterdsl.dto.LoadTestRequest;
+import com.example.jmeterdsl.dto.LoadTestResponse;
+import com.example.jmeterdsl.dto.LoadTestRunResponse;
+import com.example.jmeterdsl.dto.RunStatus;
+import com.example.jmeterdsl.dto.SweepRequest;
+import com.example.jmeterdsl.dto.SweepResponse;
+import com.example.jmeterdsl.dto.SweepSlo;
+import com.example.jmeterdsl.util.Ids;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * 并发扫描：按 start / step / max 阶梯逐级压测，闭环模式替换线程数，开环模式替换目标到达率。
+ * 各阶段依次提交给 LoadTestRunManager 在同一个 JVM 中执行，遇到第一个违反 SLO 的阶段即停止，
+ * 最后一个满足 SLO 的阶段即为最大可持续并发。
+ */
+@Service
+public class LoadTestSweepService {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestSweepService.class);
+
+    private final LoadTestRunManager runManager;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ThreadPoolExecutor executor;
+    private final int retainedRuns;
+    private final Map<String, LoadTestSweep> sweeps = new ConcurrentHashMap<>();
+
+    public LoadTestSweepService(LoadTestRunManager runManager, ObjectMapper objectMapper, Validator validator,
+                                LoadTestProperties properties) {
+        this.runManager = runManager;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        LoadTestProperties.Executor config = properties.getExecutor();
+        this.retainedRuns = Math.max(1, config.getRetainedRuns());
+        int poolSize = Math.max(1, config.getPoolSize());
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, config.getQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "load-test-sweep-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public SweepResponse submit(SweepRequest request) {
+        Set<ConstraintViolation<LoadTestRequest>> violations =
+                validator.validate(stageRequest(request.getRequest(), request.getStart()));
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        evictFinishedSweeps();
+        LoadTestSweep sweep = new LoadTestSweep(Ids.monotonicUlid(), request);
+        sweeps.put(sweep.getSweepId(), sweep);
+        try {
+            sweep.setFuture(executor.submit(() -> execute(sweep)));
+        } catch (RuntimeException e) {
+            sweeps.remove(sweep.getSweepId());
+            throw e;
+        }
+        return sweep.toResponse();
+    }
+
+    public Optional<SweepResponse> status(String sweepId) {
+        return Optional.ofNullable(sweeps.get(sweepId)).map(LoadTestSweep::toResponse);
+    }
+
+    public List<SweepResponse> list() {
+        return sweeps.values().stream()
+                .map(LoadTestSweep::toResponse)
+                .sorted(Comparator.comparing(SweepResponse::getSubmittedAt).reversed())
+                .toList();
+    }
+
+    public Optional<SweepResponse> cancel(String sweepId) {
+        LoadTestSweep sweep = sweeps.get(sweepId);
+        if (sweep == null) {
+            return Optional.empty();
+        }
+        if (sweep.requestCancel()) {
+            LoadTestSweep.Stage current = sweep.currentStage();
+            if (current != null) {
+                runManager.cancel(current.getRunId());
+            }
+            log.info("load test sweep {} cancel requested", sweepId);
+        }
+        return Optional.of(sweep.toResponse());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeps.values().forEach(LoadTestSweep::requestCancel);
+        executor.shutdownNow();
+    }
+
+    /** 阶梯上的各级并发，包含 max */
+    static List<Double> ladder(SweepRequest request) {
+        List<Double> levels = new ArrayList<>();
+        for (int i = 0; ; i++) {
+            double level = request.getStart() + i * request.getStep();
+            // 容忍小数步长累积的浮点误差
+            if (level > request.getMax() + request.getStep() * 1e-9) {
+                break;
+            }
+            levels.add(Math.min(level, request.getMax()));
+        }
+        return levels;
+    }
+
+    /** 检查阶段结果是否满足 SLO，返回违反项说明，空列表表示通过 */
+    static List<String> evaluate(SweepSlo slo, LoadTestRequest stageRequest, LoadTestResponse result,
+                                 LoadTestResponse previousPassed) {
+        List<String> violations = new ArrayList<>();
+        if (result.getErrorPercentage() > slo.getMaxErrorPercentage()) {
+            violations.add(String.format("错误率 %.2f%% 超过 %.2f%%",
+                    result.getErrorPercentage(), slo.getMaxErrorPercentage()));
+        }
+        if (slo.getMaxP95Millis() > 0 && result.getPercentile95ResponseTimeMs() > slo.getMaxP95Millis()) {
+            violations.add(String.format("p95 响应时间 %.1fms 超过 %.1fms",
+                    result.getPercentile95ResponseTimeMs(), slo.getMaxP95Millis()));
+        }
+        if (slo.getMaxP99Millis() > 0 && result.getResponseTimeMs() != null
+                && result.getResponseTimeMs().getP99() > slo.getMaxP99Millis()) {
+            violations.add(String.format("p99 响应时间 %.1fms 超过 %.1fms",
+                    result.getResponseTimeMs().getP99(), slo.getMaxP99Millis()));
+        }
+        if (slo.getMaxTtftP95Millis() > 0 && result.getStreaming() != null
+                && result.getStreaming().getTimeToFirstTokenMs() != null
+                && result.getStreaming().getTimeToFirstTokenMs().getP95() > slo.getMaxTtftP95Millis()) {
+            violations.add(String.format("p95 TTFT %.1fms 超过 %.1fms",
+                    result.getStreaming().getTimeToFirstTokenMs().getP95(), slo.getMaxTtftP95Millis()));
+        }
+        if (stageRequest.getLoadModel() == LoadModel.ARRIVAL_RATE && slo.getMinAchievedRatePercentage() > 0) {
+            double floor = stageRequest.getTargetRps() * slo.getMinAchievedRatePercentage() / 100;
+            if (result.getThroughputPerSecond() < floor) {
+                violations.add(String.format("实际吞吐 %.1f/s 低于目标到达率 %.1f/s 的 %.0f%%",
+                        result.getThroughputPerSecond(), stageRequest.getTargetRps(),
+                        slo.getMinAchievedRatePercentage()));
+            }
+        }
+        if (slo.getMinThroughputGainPercentage() > 0 && previousPassed != null
+                && previousPassed.getThroughputPerSecond() > 0) {
+            double gain = (result.getThroughputPerSecond() / previousPassed.getThroughputPerSecond() - 1) * 100;
+            if (gain < slo.getMinThroughputGainPercentage()) {
+                violations.add(String.format("吞吐较上一阶段仅增长 %.1f%%，低于 %.1f%%",
+                        gain, slo.getMinThroughputGainPercentage()));
+            }
+        }
+        return violations;
+    }
+
+    private void execute(LoadTestSweep sweep) {
+        if (!sweep.markRunning()) {
+            return;
+        }
+        SweepRequest request = sweep.getRequest();
+        try {
+            LoadTestResponse previousPassed = null;
+            for (double level : ladder(request)) {
+                if (sweep.isCancelRequested()) {
+                    break;
+                }
+                LoadTestRequest stageRequest = stageRequest(request.getRequest(), level);
+                String runId = runManager.submit(stageRequest).getRunId();
+                LoadTestSweep.Stage stage = sweep.startStage(level, runId);
+                if (sweep.isCancelRequested()) {
+                    runManager.cancel(runId);
+                }
+                LoadTestResponse result = runManager.await(runId);
+                RunStatus status = runManager.status(runId).map(LoadTestRunResponse::getStatus).orElse(RunStatus.COMPLETED);
+                if (status != RunStatus.COMPLETED || result == null) {
+                    // 阶段被取消（整个扫描或单独取消该阶段）时结果不完整，不参与 SLO 判定
+                    stage.finish(status, result, null);
+                    break;
+                }
+                List<String> violations = evaluate(request.getSlo(), stageRequest, result, previousPassed);
+                stage.finish(status, result, violations);
+                log.info("load test sweep {} stage {} finished, violations: {}", sweep.getSweepId(), level, violations);
+                if (!violations.isEmpty()) {
+                    break;
+                }
+                previousPassed = result;
+            }
+            sweep.complete();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            sweep.fail("扫描被中断");
+        } catch (Exception e) {
+            log.warn("load test sweep {} failed", sweep.getSweepId(), e);
+            sweep.fail(e.getMessage());
+        }
+    }
+
+    private LoadTestRequest stageRequest(LoadTestRequest base, double level) {
+        LoadTestRequest stage = objectMapper.convertValue(base, LoadTestRequest.class);
+        if (base.getLoadModel() == LoadModel.ARRIVAL_RATE) {
+            stage.setTargetRps(level);
+        } else {
+            stage.setThreads((int) Math.round(level));
+        }
+        return stage;
+    }
+
+    private void evictFinishedSweeps() {
+        int overflow = sweeps.size() - retainedRuns + 1;
+        if (overflow <= 0) {
+            return;
+        }
+        sweeps.values().stream()
+                .filter(sweep -> sweep.getStatus().isFinished())
+                .sorted(Comparator.comparing(LoadTestSweep::getFinishedAt, Comparator.nullsFirst(Comparator.<Instant>naturalOrder())))
+                .limit(overflow)
+                .forEach(sweep -> sweeps.remove(sweep.getSweepId()));
+    }
+}
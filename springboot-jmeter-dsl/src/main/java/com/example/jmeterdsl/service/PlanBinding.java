@@ -0,0 +1,54 @@
+package com.example.jmeterdsl.service;
+
+import com.example.jmeterdsl.metrics.StreamingMetricsCollector;
+import com.example.jmeterdsl.metrics.TokenUsageCollector;
+import com.example.jmeterdsl.workload.ArrivalSchedule;
+import com.example.jmeterdsl.workload.PromptFeeder;
+
+/**
+ * 测试计划引用的单次压测状态。计划编译后可被缓存复用，计划中的前置处理器、采样器与监听器只持有本对象，
+ * 每次执行前绑定当次的 RunControl、流式指标、token 统计、语料与到达调度；JMeter 线程在绑定之后才启动，无需额外同步。
+ * 同一计划同一时间只被一个压测使用（见 {@link CompiledPlanCache}）。
+ */
+final class PlanBinding {
+
+    private RunControl control;
+    private StreamingMetricsCollector streamingMetrics;
+    private TokenUsageCollector tokenUsage;
+    private PromptFeeder promptFeeder;
+    private ArrivalSchedule arrivalSchedule;
+
+    void bind(RunControl control, StreamingMetricsCollector streamingMetrics, TokenUsageCollector tokenUsage,
+              PromptFeeder promptFeeder, ArrivalSchedule arrivalSchedule) {
+        this.control = control;
+        this.streamingMetrics = streamingMetrics;
+        this.tokenUsage = tokenUsage;
+        this.promptFeeder = promptFeeder;
+        this.arrivalSchedule = arrivalSchedule;
+    }
+
+    /** 压测结束后释放引用，缓存中的计划不持有上一次的结果与语料 */
+    void unbind() {
+        bind(null, null, null, null, null);
+    }
+
+    RunControl control() {
+        return control;
+    }
+
+    StreamingMetricsCollector streamingMetrics() {
+        return streamingMetrics;
+    }
+
+    TokenUsageCollector tokenUsage() {
+        return tokenUsage;
+    }
+
+    PromptFeeder promptFeeder() {
+        return promptFeeder;
+    }
+
+    ArrivalSchedule arrivalSchedule() {
+        return arrivalSchedule;
+    }
+}
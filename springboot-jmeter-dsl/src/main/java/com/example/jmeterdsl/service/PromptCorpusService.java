@@ -0,0 +1,59 @@
+package com.example.jmeterdsl.service;
+
+import com.example.jmeterdsl.config.LoadTestProperties;
+import com.example.jmeterdsl.workload.PromptCorpus;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * 语料文件的映射与索引缓存：同一文件只建一次索引，文件大小或修改时间变化后重建。
+ */
+@Service
+public class PromptCorpusService {
+
+    private static final Logger log = LoggerFactory.getLogger(PromptCorpusService.class);
+
+    private final Path baseDir;
+    private final Map<Path, PromptCorpus> corpora = new ConcurrentHashMap<>();
+
+    public PromptCorpusService(LoadTestProperties properties) {
+        this.baseDir = Path.of(properties.getDatasets().getBaseDir()).toAbsolutePath().normalize();
+    }
+
+    public PromptCorpus open(String file) {
+        Path path = resolve(file);
+        return corpora.compute(path, (key, cached) -> {
+            try {
+                if (cached != null && cached.getSize() == Files.size(key)
+                        && cached.getLastModified() == Files.getLastModifiedTime(key).toMillis()) {
+                    return cached;
+                }
+                long start = System.nanoTime();
+                PromptCorpus corpus = PromptCorpus.open(key);
+                log.info("indexed prompt corpus {}: {} lines, {} bytes in {} ms", key, corpus.lineCount(),
+                        corpus.getSize(), (System.nanoTime() - start) / 1_000_000);
+                return corpus;
+            } catch (IOException e) {
+                throw new UncheckedIOException("读取语料文件失败: " + file, e);
+            }
+        });
+    }
+
+    private Path resolve(String file) {
+        Path path = baseDir.resolve(file).normalize();
+        if (!path.startsWith(baseDir)) {
+            throw new IllegalArgumentException("语料文件必须位于 " + baseDir + " 目录下: " + file);
+        }
+        if (!Files.isRegularFile(path)) {
+            throw new IllegalArgumentException("语料文件不存在: " + file);
+        }
+        return path;
+    }
+}
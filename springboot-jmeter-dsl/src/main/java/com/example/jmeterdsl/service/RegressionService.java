@@ -0,0 +1,236 @@
+package com.example.jmeterdsl.service;
+
+import com.example.jmeterdsl.dto.MetricComparison;
+import com.example.jmeterdsl.dto.RegressionReport;
+import com.example.jmeterdsl.dto.RegressionVerdict;
+import com.example.jmeterdsl.dto.RunRecord;
+import com.example.jmeterdsl.dto.TrendMetric;
+import com.example.jmeterdsl.metrics.HistogramComparison;
+import com.example.jmeterdsl.metrics.LogHistogram;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import org.springframework.stereotype.Service;
+
+/**
+ * 回归检测：把一次压测与基线（指定的一次压测，或同一配置最近若干次压测）比较。
+ * - 响应时间 / TTFT 中位数：两边直方图做 Mann-Whitney U 检验
+ * - 尾部分位数：泊松自助法求相对变化的置信区间，区间不含 0 才算显著
+ * - 错误率：两比例 z 检验
+ * - 吞吐：每次压测只有一个值，滚动基线不少于 3 次时用各次压测的预测区间判断，否则只按变化幅度
+ * 判定回归还要求变化幅度达到 minChangePercentage。滚动基线的直方图合并后检验只反映采样误差，
+ * 不含压测之间的波动，因此基线不少于 3 次时还要求候选值落在各次压测同一指标的预测区间之外。
+ */
+@Service
+public class RegressionService {
+
+    private static final double CONFIDENCE_LEVEL = 0.95;
+    private static final double ALPHA = 1 - CONFIDENCE_LEVEL;
+    private static final int BOOTSTRAP_ITERATIONS = 1000;
+    private static final int MIN_RUNS_FOR_SPREAD = 3;
+    private static final double MICROS_PER_MILLI = 1_000.0;
+    /** 双侧 95% t 分布临界值，下标为自由度，超出部分取 30 的值 */
+    private static final double[] T_CRITICAL = {Double.NaN, 12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365,
+            2.306, 2.262, 2.228, 2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086, 2.080, 2.074,
+            2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042};
+
+    /**
+     * @param baselines 基线压测，至少一次
+     */
+    public RegressionReport compare(RunRecord candidate, List<RunRecord> baselines, double minChangePercentage) {
+        Comparison comparison = new Comparison(candidate, baselines, minChangePercentage);
+        List<MetricComparison> metrics = new ArrayList<>();
+        metrics.add(comparison.runLevel(TrendMetric.THROUGHPUT, RunRecord::getThroughputPerSecond));
+        metrics.add(comparison.errorRate());
+        LogHistogram candidateRt = decode(candidate.getResponseTimeHistogram());
+        LogHistogram baselineRt = merge(baselines, RunRecord::getResponseTimeHistogram);
+        metrics.add(comparison.median(TrendMetric.P50, candidateRt, baselineRt));
+        metrics.add(comparison.tail(TrendMetric.P95, 0.95, candidateRt, baselineRt));
+        metrics.add(comparison.tail(TrendMetric.P99, 0.99, candidateRt, baselineRt));
+        boolean streaming = candidate.isStreaming() || baselines.stream().anyMatch(RunRecord::isStreaming);
+        if (streaming) {
+            LogHistogram candidateTtft = decode(candidate.getTimeToFirstTokenHistogram());
+            LogHistogram baselineTtft = merge(baselines, RunRecord::getTimeToFirstTokenHistogram);
+            metrics.add(comparison.median(TrendMetric.TTFT_P50, candidateTtft, baselineTtft));
+            metrics.add(comparison.tail(TrendMetric.TTFT_P95, 0.95, candidateTtft, baselineTtft));
+            metrics.add(comparison.tail(TrendMetric.TTFT_P99, 0.99, candidateTtft, baselineTtft));
+            metrics.add(comparison.runLevel(TrendMetric.OUTPUT_TOKEN_THROUGHPUT, RunRecord::getOutputTokenThroughput));
+        }
+        boolean sameConfig = baselines.stream()
+                .allMatch(b -> Objects.equals(b.getConfigFingerprint(), candidate.getConfigFingerprint()));
+        return new RegressionReport(candidate.getRunId(), baselines.stream().map(RunRecord::getRunId).toList(),
+                sameConfig, CONFIDENCE_LEVEL, metrics);
+    }
+
+    private static LogHistogram decode(String encoded) {
+        return encoded == null ? null : LogHistogram.decode(encoded);
+    }
+
+    /** 合并各基线的直方图，任一基线缺少该直方图时为 null */
+    private static LogHistogram merge(List<RunRecord> baselines, Function<RunRecord, String> histogram) {
+        LogHistogram merged = new LogHistogram();
+        for (RunRecord baseline : baselines) {
+            String encoded = histogram.apply(baseline);
+            if (encoded == null) {
+                return null;
+            }
+            merged.add(LogHistogram.decode(encoded));
+        }
+        return merged;
+    }
+
+    private static final class Comparison {
+
+        private final RunRecord candidate;
+        private final List<RunRecord> baselines;
+        private final double minChangePercentage;
+
+        Comparison(RunRecord candidate, List<RunRecord> baselines, double minChangePercentage) {
+            this.candidate = candidate;
+            this.baselines = baselines;
+            this.minChangePercentage = minChangePercentage;
+        }
+
+        MetricComparison median(TrendMetric metric, LogHistogram candidateHistogram, LogHistogram baselineHistogram) {
+            if (isEmpty(candidateHistogram) || isEmpty(baselineHistogram)) {
+                return insufficient(metric, "MANN_WHITNEY_U");
+            }
+            double baseline = baselineHistogram.valueAtPercentile(0.50) / MICROS_PER_MILLI;
+            double value = candidateHistogram.valueAtPercentile(0.50) / MICROS_PER_MILLI;
+            HistogramComparison.MannWhitney test = HistogramComparison.mannWhitney(baselineHistogram, candidateHistogram);
+            boolean significant = test.pValue() < ALPHA;
+            Spread spread = spread(metric);
+            MetricComparison result = new MetricComparison(metric, "MANN_WHITNEY_U", baseline, value,
+                    change(baseline, value), verdict(
+                            significant && test.probabilityOfSuperiority() > 0.5 && spread.isAbove(value),
+                            significant && test.probabilityOfSuperiority() < 0.5 && spread.isBelow(value),
+                            change(baseline, value)));
+            result.setPValue(test.pValue());
+            result.setProbabilityOfSuperiority(test.probabilityOfSuperiority());
+            return result;
+        }
+
+        MetricComparison tail(TrendMetric metric, double p, LogHistogram candidateHistogram,
+                              LogHistogram baselineHistogram) {
+            if (isEmpty(candidateHistogram) || isEmpty(baselineHistogram)) {
+                return insufficient(metric, "BOOTSTRAP");
+            }
+            double baseline = baselineHistogram.valueAtPercentile(p) / MICROS_PER_MILLI;
+            double value = candidateHistogram.valueAtPercentile(p) / MICROS_PER_MILLI;
+            HistogramComparison.PercentileChange interval = HistogramComparison.percentileChange(
+                    baselineHistogram, candidateHistogram, p, CONFIDENCE_LEVEL, BOOTSTRAP_ITERATIONS);
+            Spread spread = spread(metric);
+            MetricComparison result = new MetricComparison(metric, "BOOTSTRAP", baseline, value,
+                    change(baseline, value), verdict(interval.lower() > 0 && spread.isAbove(value),
+                            interval.upper() < 0 && spread.isBelow(value), change(baseline, value)));
+            result.setChangeLowerPercentage(interval.lower() * 100);
+            result.setChangeUpperPercentage(interval.upper() * 100);
+            return result;
+        }
+
+        MetricComparison errorRate() {
+            long baselineTotal = baselines.stream().mapToLong(RunRecord::getTotalSamples).sum();
+            long baselineErrors = baselines.stream().mapToLong(RunRecord::getErrorSamples).sum();
+            if (candidate.getTotalSamples() == 0 || baselineTotal == 0) {
+                return insufficient(TrendMetric.ERROR_PERCENTAGE, "TWO_PROPORTION");
+            }
+            double baseline = baselineErrors * 100.0 / baselineTotal;
+            double value = candidate.getErrorPercentage();
+            double pValue = HistogramComparison.proportionPValue(baselineErrors, baselineTotal,
+                    candidate.getErrorSamples(), candidate.getTotalSamples());
+            MetricComparison result = new MetricComparison(TrendMetric.ERROR_PERCENTAGE, "TWO_PROPORTION", baseline,
+                    value, change(baseline, value), verdict(pValue < ALPHA && value > baseline,
+                            pValue < ALPHA && value < baseline, change(baseline, value)));
+            result.setPValue(pValue);
+            return result;
+        }
+
+        /** 吞吐这类每次压测只有一个值的指标 */
+        MetricComparison runLevel(TrendMetric metric, Function<RunRecord, Double> extractor) {
+            Double value = extractor.apply(candidate);
+            List<Double> values = baselines.stream().map(extractor).filter(Objects::nonNull).toList();
+            if (value == null || values.size() < baselines.size()) {
+                return insufficient(metric, "THRESHOLD");
+            }
+            double baseline = values.stream().mapToDouble(Double::doubleValue).average().orElse(0);
+            Double change = change(baseline, value);
+            if (values.size() < MIN_RUNS_FOR_SPREAD) {
+                return new MetricComparison(metric, "THRESHOLD", baseline, value, change,
+                        verdict(change != null && change < 0, change != null && change > 0, change));
+            }
+            Spread spread = Spread.of(values);
+            MetricComparison result = new MetricComparison(metric, "PREDICTION_INTERVAL", baseline, value, change,
+                    verdict(spread.isBelow(value), spread.isAbove(value), change));
+            result.setChangeLowerPercentage(change(baseline, spread.lower()));
+            result.setChangeUpperPercentage(change(baseline, spread.upper()));
+            return result;
+        }
+
+        /** 基线各次压测同一指标的预测区间，基线少于 3 次时不限制 */
+        private Spread spread(TrendMetric metric) {
+            List<Double> values = baselines.stream().map(b -> summaryValue(metric, b)).filter(Objects::nonNull).toList();
+            return values.size() < MIN_RUNS_FOR_SPREAD ? Spread.UNBOUNDED : Spread.of(values);
+        }
+
+        private RegressionVerdict verdict(boolean worse, boolean better, Double change) {
+            boolean material = change == null || Math.abs(change) >= minChangePercentage;
+            if (worse && material) {
+                return RegressionVerdict.REGRESSED;
+            }
+            if (better && material) {
+                return RegressionVerdict.IMPROVED;
+            }
+            return RegressionVerdict.UNCHANGED;
+        }
+
+        private static Double summaryValue(TrendMetric metric, RunRecord record) {
+            return switch (metric) {
+                case P50 -> record.getResponseTimeMs().getP50();
+                case P95 -> record.getResponseTimeMs().getP95();
+                case P99 -> record.getResponseTimeMs().getP99();
+                case TTFT_P50 -> record.getTtftP50Ms();
+                case TTFT_P95 -> record.getTtftP95Ms();
+                case TTFT_P99 -> record.getTtftP99Ms();
+                default -> null;
+            };
+        }
+
+        private static MetricComparison insufficient(TrendMetric metric, String method) {
+            return new MetricComparison(metric, method, null, null, null, RegressionVerdict.INSUFFICIENT_DATA);
+        }
+
+        private static boolean isEmpty(LogHistogram histogram) {
+            return histogram == null || histogram.count() == 0;
+        }
+
+        private static Double change(double baseline, double value) {
+            return baseline == 0 ? null : (value / baseline - 1) * 100;
+        }
+    }
+
+    /** 基线各次压测取值的 95% 预测区间：均值 ± t·s·√(1 + 1/n) */
+    private record Spread(double lower, double upper, boolean bounded) {
+
+        static final Spread UNBOUNDED = new Spread(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, false);
+
+        static Spread of(List<Double> values) {
+            int n = values.size();
+            double mean = values.stream().mapToDouble(Double::doubleValue).average().orElse(0);
+            double sumSquares = values.stream().mapToDouble(v -> (v - mean) * (v - mean)).sum();
+            double sd = Math.sqrt(sumSquares / (n - 1));
+            double t = T_CRITICAL[Math.min(n - 1, T_CRITICAL.length - 1)];
+            double half = t * sd * Math.sqrt(1 + 1.0 / n);
+            return new Spread(mean - half, mean + half, true);
+        }
+
+        /** 不限制时对任何值都成立 */
+        boolean isAbove(double value) {
+            return !bounded || value > upper;
+        }
+
+        boolean isBelow(double value) {
+            return !bounded || value < lower;
+        }
+    }
+}
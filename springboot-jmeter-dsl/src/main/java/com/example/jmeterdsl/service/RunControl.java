@@ -0,0 +1,86 @@
+package com.example.jmeterdsl.service;
+
+import com.example.jmeterdsl.metrics.SampleListener;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.jmeter.engine.StandardJMeterEngine;
+import org.apache.jmeter.samplers.SampleResult;
+
+/**
+ * 单次压测的运行控制：JMeter 线程启动时由测试计划中的监听器回填引擎，
+ * 取消时直接停止引擎，正在等待响应的线程也会被中断；非 JMeter 引擎通过 {@link #onStop} 注册停止动作。
+ * 同时维护在途请求数，并把每个采样分发给注册的 {@link SampleListener}。
+ */
+public class RunControl {
+
+    private volatile boolean stopRequested;
+    private volatile boolean aborted;
+    private volatile StandardJMeterEngine engine;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final List<SampleListener> listeners = new CopyOnWriteArrayList<>();
+    private final List<Runnable> stopHooks = new CopyOnWriteArrayList<>();
+
+    public void attach(StandardJMeterEngine engine) {
+        if (engine == null) {
+            return;
+        }
+        if (this.engine == null) {
+            this.engine = engine;
+        }
+        if (stopRequested) {
+            engine.stopTest(true);
+        }
+    }
+
+    public void requestStop() {
+        stopRequested = true;
+        StandardJMeterEngine current = engine;
+        if (current != null) {
+            current.stopTest(true);
+        }
+        stopHooks.forEach(Runnable::run);
+    }
+
+    /** 性能门禁不通过时提前结束：与取消一样停止发压，但压测按正常完成处理 */
+    public void abort() {
+        aborted = true;
+        requestStop();
+    }
+
+    /** 注册停止动作；已经请求停止时立即执行 */
+    public void onStop(Runnable hook) {
+        stopHooks.add(hook);
+        if (stopRequested) {
+            hook.run();
+        }
+    }
+
+    public boolean isStopRequested() {
+        return stopRequested;
+    }
+
+    /** 由用户取消，而不是门禁提前结束 */
+    public boolean isCancelled() {
+        return stopRequested && !aborted;
+    }
+
+    public void addListener(SampleListener listener) {
+        listeners.add(listener);
+    }
+
+    public void sampleStarted() {
+        inFlight.incrementAndGet();
+    }
+
+    public void sampleCompleted(SampleResult result, long elapsedMillis) {
+        inFlight.decrementAndGet();
+        for (SampleListener listener : listeners) {
+            listener.sampleOccurred(result, elapsedMillis);
+        }
+    }
+
+    public int inFlight() {
+        return Math.max(0, inFlight.get());
+    }
+}
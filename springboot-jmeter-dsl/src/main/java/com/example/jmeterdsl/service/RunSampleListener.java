@@ -0,0 +1,72 @@
+package com.example.jmeterdsl.service;
+
+import org.apache.jmeter.engine.util.NoThreadClone;
+import org.apache.jmeter.samplers.SampleEvent;
+import org.apache.jmeter.samplers.SampleListener;
+import org.apache.jmeter.samplers.SampleResult;
+import org.apache.jmeter.testelement.AbstractTestElement;
+import org.apache.jmeter.testelement.TestElement;
+import org.apache.jmeter.testelement.ThreadListener;
+import org.apache.jmeter.threads.JMeterContext;
+import org.apache.jmeter.threads.JMeterContextService;
+import org.apache.jmeter.visualizers.SimpleDataWriter;
+import us.abstracta.jmeter.javadsl.core.listeners.BaseListener;
+
+/**
+ * 线程组级监听器：每个 JMeter 线程启动时回填引擎供取消使用，这样首个请求耗时很长（流式调用、慢连接）时
+ * 取消也能立即停止引擎；每个采样完成后把结果分发给 RunControl 上的监听器（开环模式下响应时间从计划发送时间起算）。
+ * 监听器在断言之后收到结果，断言失败的采样按错误统计；后置处理器则早于断言执行，无法看到断言结果。
+ */
+class RunSampleListener extends BaseListener {
+
+    private final PlanBinding binding;
+
+    RunSampleListener(PlanBinding binding) {
+        super("run-sample-listener", SimpleDataWriter.class);
+        this.binding = binding;
+    }
+
+    @Override
+    protected TestElement buildTestElement() {
+        return new Element(binding);
+    }
+
+    /** NoThreadClone：所有 JMeter 线程共享同一实例，保留对 PlanBinding 的引用 */
+    private static final class Element extends AbstractTestElement
+            implements SampleListener, ThreadListener, NoThreadClone {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient PlanBinding binding;
+
+        private Element(PlanBinding binding) {
+            this.binding = binding;
+        }
+
+        @Override
+        public void sampleOccurred(SampleEvent event) {
+            SampleResult result = event.getResult();
+            JMeterContext ctx = JMeterContextService.getContext();
+            binding.control().sampleCompleted(result, binding.arrivalSchedule() != null
+                    ? binding.arrivalSchedule().elapsedFromIntendedStart(result, ctx.getVariables())
+                    : result.getTime());
+        }
+
+        @Override
+        public void threadStarted() {
+            binding.control().attach(JMeterContextService.getContext().getEngine());
+        }
+
+        @Override
+        public void threadFinished() {
+        }
+
+        @Override
+        public void sampleStarted(SampleEvent event) {
+        }
+
+        @Override
+        public void sampleStopped(SampleEvent event) {
+        }
+    }
+}
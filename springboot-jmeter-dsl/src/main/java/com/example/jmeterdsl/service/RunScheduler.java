@@ -0,0 +1,139 @@
+package com.example.jmeterdsl.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 压测调度队列。出队顺序：优先级高者先；同一优先级内正在执行压测最少的团队先，再是最久没有轮到的团队，
+ * 各团队轮流获得执行名额；最后按提交顺序。同一目标（host:port）同时执行的压测数有上限，
+ * 避免两个压测打同一服务互相干扰结果，目标被占用的压测留在队列中，不阻塞后面其他目标的压测。
+ * 高优先级压测持续提交时低优先级压测会一直等待。
+ */
+final class RunScheduler {
+
+    record Estimate(int position, Instant startAt, Instant finishAt) {
+    }
+
+    private final int maxConcurrentRuns;
+    private final int maxRunsPerTarget;
+    private final int queueCapacity;
+    private final List<LoadTestRun> queued = new ArrayList<>();
+    private final List<LoadTestRun> running = new ArrayList<>();
+    /** 各团队最近一次出队的序号 */
+    private final Map<String, Long> teamLastDispatched = new HashMap<>();
+    private long dispatched;
+
+    RunScheduler(int maxConcurrentRuns, int maxRunsPerTarget, int queueCapacity) {
+        this.maxConcurrentRuns = maxConcurrentRuns;
+        this.maxRunsPerTarget = maxRunsPerTarget;
+        this.queueCapacity = queueCapacity;
+    }
+
+    synchronized void enqueue(LoadTestRun run) {
+        queued.removeIf(queuedRun -> queuedRun.getStatus().isFinished());
+        if (queued.size() >= queueCapacity) {
+            throw new RejectedExecutionException("压测队列已满");
+        }
+        queued.add(run);
+    }
+
+    /** 排队时取消的压测移出队列 */
+    synchronized void remove(LoadTestRun run) {
+        queued.remove(run);
+    }
+
+    synchronized void finished(LoadTestRun run) {
+        running.remove(run);
+    }
+
+    /** 取出现在可以开始的压测，调用方负责执行，结束后调用 {@link #finished} */
+    synchronized List<LoadTestRun> dispatch() {
+        queued.removeIf(run -> run.getStatus().isFinished());
+        Map<String, Integer> targetRuns = new HashMap<>();
+        Map<String, Integer> teamRuns = new HashMap<>();
+        for (LoadTestRun run : running) {
+            targetRuns.merge(run.getTarget(), 1, Integer::sum);
+            teamRuns.merge(run.getTeam(), 1, Integer::sum);
+        }
+        List<LoadTestRun> started = new ArrayList<>();
+        while (running.size() < maxConcurrentRuns) {
+            LoadTestRun next = queued.stream()
+                    .filter(run -> targetRuns.getOrDefault(run.getTarget(), 0) < maxRunsPerTarget)
+                    .min(order(teamRuns, teamLastDispatched))
+                    .orElse(null);
+            if (next == null) {
+                break;
+            }
+            queued.remove(next);
+            running.add(next);
+            started.add(next);
+            targetRuns.merge(next.getTarget(), 1, Integer::sum);
+            teamRuns.merge(next.getTeam(), 1, Integer::sum);
+            teamLastDispatched.put(next.getTeam(), ++dispatched);
+        }
+        return started;
+    }
+
+    /**
+     * 模拟调度估算排队位置与开始时间：执行中的压测在开始时间加预计耗时后结束（已超出的视为马上结束），
+     * 排队的压测按出队顺序依次占用最早空出的全局名额与目标名额。
+     */
+    synchronized Map<LoadTestRun, Estimate> estimate(Instant now) {
+        PriorityQueue<Instant> slots = new PriorityQueue<>();
+        Map<String, PriorityQueue<Instant>> targetSlots = new HashMap<>();
+        Map<String, Integer> teamRuns = new HashMap<>();
+        for (LoadTestRun run : running) {
+            Instant finish = expectedFinish(run, now);
+            slots.add(finish);
+            targetSlots.computeIfAbsent(run.getTarget(), key -> new PriorityQueue<>()).add(finish);
+            teamRuns.merge(run.getTeam(), 1, Integer::sum);
+        }
+        while (slots.size() < maxConcurrentRuns) {
+            slots.add(now);
+        }
+        List<LoadTestRun> remaining = new ArrayList<>(queued);
+        remaining.removeIf(run -> run.getStatus().isFinished());
+        Map<String, Long> lastDispatched = new HashMap<>(teamLastDispatched);
+        long simulated = dispatched;
+        Map<LoadTestRun, Estimate> estimates = new HashMap<>();
+        while (!remaining.isEmpty()) {
+            LoadTestRun next = remaining.stream().min(order(teamRuns, lastDispatched)).orElseThrow();
+            remaining.remove(next);
+            PriorityQueue<Instant> target = targetSlots.computeIfAbsent(next.getTarget(), key -> new PriorityQueue<>());
+            Instant start = slots.poll();
+            if (target.size() >= maxRunsPerTarget) {
+                Instant targetFree = target.poll();
+                if (targetFree.isAfter(start)) {
+                    start = targetFree;
+                }
+            }
+            Instant finish = start.plus(next.getEstimatedDuration());
+            slots.add(finish);
+            target.add(finish);
+            teamRuns.merge(next.getTeam(), 1, Integer::sum);
+            lastDispatched.put(next.getTeam(), ++simulated);
+            estimates.put(next, new Estimate(estimates.size() + 1, start, finish));
+        }
+        return estimates;
+    }
+
+    /** 执行中压测的预计结束时间 */
+    static Instant expectedFinish(LoadTestRun run, Instant now) {
+        Instant started = run.getStartedAt() == null ? now : run.getStartedAt();
+        Instant finish = started.plus(run.getEstimatedDuration());
+        return finish.isBefore(now) ? now : finish;
+    }
+
+    private static Comparator<LoadTestRun> order(Map<String, Integer> teamRuns, Map<String, Long> lastDispatched) {
+        return Comparator.comparingInt(LoadTestRun::getPriority).reversed()
+                .thenComparingInt(run -> teamRuns.getOrDefault(run.getTeam(), 0))
+                .thenComparingLong(run -> lastDispatched.getOrDefault(run.getTeam(), 0L))
+                .thenComparingLong(LoadTestRun::getSequence);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.jmeterdsl.service;
+
+import com.example.jmeterdsl.config.LoadTestProperties;
+import com.example.jmeterdsl.samplelog.BinarySampleLogWriter;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * 按 runId 管理二进制采样日志文件：压测开始时创建写入器，结束后供下载。
+ * 压测记录被淘汰时删除对应文件，每次开始记录时再清理超过保留时长的文件。
+ */
+@Service
+public class SampleLogService {
+
+    private static final Logger log = LoggerFactory.getLogger(SampleLogService.class);
+    private static final String EXTENSION = ".bsl";
+
+    private final Path dir;
+    private final long flushIntervalMillis;
+    private final Duration retention;
+
+    public SampleLogService(LoadTestProperties properties) {
+        LoadTestProperties.SampleLog config = properties.getSampleLog();
+        this.dir = Path.of(config.getDir()).toAbsolutePath().normalize();
+        this.flushIntervalMillis = config.getFlushIntervalMillis();
+        this.retention = config.getRetentionHours() > 0 ? Duration.ofHours(config.getRetentionHours()) : null;
+    }
+
+    public BinarySampleLogWriter open(String runId) throws IOException {
+        Files.createDirectories(dir);
+        pruneExpired();
+        return new BinarySampleLogWriter(dir.resolve(runId + EXTENSION), flushIntervalMillis);
+    }
+
+    public Optional<Path> find(String runId) {
+        Path file = dir.resolve(runId + EXTENSION).normalize();
+        if (!file.startsWith(dir) || !Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        return Optional.of(file);
+    }
+
+    /** 删除失败只记录日志 */
+    public void delete(String runId) {
+        find(runId).ifPresent(this::deleteQuietly);
+    }
+
+    private void pruneExpired() {
+        if (retention == null) {
+            return;
+        }
+        Instant cutoff = Instant.now().minus(retention);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + EXTENSION)) {
+            for (Path file : files) {
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+                    deleteQuietly(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("prune sample logs in {} failed", dir, e);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("delete sample log {} failed", file, e);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.example.jmeterdsl.service;
+
+import com.example.jmeterdsl.dto.HttpConnectionOptions;
+import com.example.jmeterdsl.dto.LoadTestRequest;
+import com.example.jmeterdsl.dto.ScenarioStep;
+import com.example.jmeterdsl.dto.StepAssertion;
+import com.example.jmeterdsl.dto.StepExtractor;
+import com.example.jmeterdsl.sampler.SseStreamingSampler;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.jmeter.protocol.http.sampler.HTTPSamplerProxy;
+import org.springframework.util.StringUtils;
+import us.abstracta.jmeter.javadsl.core.assertions.DslAssertion;
+import us.abstracta.jmeter.javadsl.core.assertions.DslJsonAssertion;
+import us.abstracta.jmeter.javadsl.core.assertions.DslResponseAssertion;
+import us.abstracta.jmeter.javadsl.core.controllers.DslController;
+import us.abstracta.jmeter.javadsl.core.controllers.DslWeightedSwitchController;
+import us.abstracta.jmeter.javadsl.core.postprocessors.DslJsonExtractor.JsonQueryLanguage;
+import us.abstracta.jmeter.javadsl.core.postprocessors.DslVariableExtractor;
+import us.abstracta.jmeter.javadsl.core.threadgroups.BaseThreadGroup;
+import us.abstracta.jmeter.javadsl.http.DslHttpDefaults;
+import us.abstracta.jmeter.javadsl.http.DslHttpSampler;
+import us.abstracta.jmeter.javadsl.java.DslJsr223Sampler;
+
+import static us.abstracta.jmeter.javadsl.JmeterDsl.httpDefaults;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.httpSampler;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.jsonAssertion;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.jsonExtractor;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.jsr223PostProcessor;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.jsr223PreProcessor;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.jsr223Sampler;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.regexExtractor;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.responseAssertion;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.simpleController;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.threadPause;
+import static us.abstracta.jmeter.javadsl.JmeterDsl.weightedSwitchController;
+
+/**
+ * 把请求中的步骤列表编译为线程组内的一次迭代：
+ * 每个步骤是一个 simpleController（在途计数、提取器、断言只作用于本步骤的采样器），
+ * 相邻的带权重步骤合并为 weightedSwitchController，每次迭代只执行其中一个。
+ * 未配置 steps 时按单接口字段生成一个名为 http-request 的步骤，与原有行为一致。
+ * 配置了语料时，每次迭代开头先取一条提示词写入变量。
+ * 建连与响应超时通过 httpDefaults() 作用于全部 HTTP 采样器，关闭长连接时逐个采样器设置。
+ */
+class ScenarioPlanBuilder {
+
+    static final String SINGLE_REQUEST_LABEL = "http-request";
+
+    private final LoadTestRequest request;
+    private final PlanBinding binding;
+    private final HttpConnectionOptions connection;
+
+    ScenarioPlanBuilder(LoadTestRequest request, PlanBinding binding) {
+        this.request = request;
+        this.binding = binding;
+        this.connection = connectionOptions(request);
+    }
+
+    static List<ScenarioStep> resolveSteps(LoadTestRequest request) {
+        if (!request.getSteps().isEmpty()) {
+            return request.getSteps();
+        }
+        ScenarioStep step = new ScenarioStep();
+        step.setName(SINGLE_REQUEST_LABEL);
+        step.setMethod(request.getMethod());
+        step.setPath(request.getPath());
+        step.setBody(request.getBody());
+        step.setStreaming(request.isStreaming());
+        return List.of(step);
+    }
+
+    static boolean hasStreamingStep(LoadTestRequest request) {
+        return resolveSteps(request).stream().anyMatch(ScenarioStep::isStreaming);
+    }
+
+    static HttpConnectionOptions connectionOptions(LoadTestRequest request) {
+        return request.getConnection() != null ? request.getConnection() : new HttpConnectionOptions();
+    }
+
+    /** JMeter 引擎中由 HTTP 采样器执行的步骤标签，只有它们能报告建连时间 */
+    static Set<String> connectionLabels(LoadTestRequest request) {
+        List<ScenarioStep> steps = resolveSteps(request);
+        Set<String> labels = new HashSet<>();
+        for (int i = 0; i < steps.size(); i++) {
+            if (!steps.get(i).isStreaming()) {
+                labels.add(label(steps.get(i), i));
+            }
+        }
+        return labels;
+    }
+
+    List<BaseThreadGroup.ThreadGroupChild> build() {
+        List<ScenarioStep> steps = resolveSteps(request);
+        List<BaseThreadGroup.ThreadGroupChild> children = new ArrayList<>();
+        if (connection.getConnectTimeoutMillis() > 0 || connection.getResponseTimeoutMillis() > 0) {
+            children.add(buildHttpDefaults());
+        }
+        if (request.getDataset() != null) {
+            // 每次迭代取一条提示词，挂在不产生采样结果的 Flow Control Action 上，同一迭代的各步骤共用
+            children.add(threadPause(Duration.ZERO)
+                    .children(jsr223PreProcessor(vars -> binding.promptFeeder().next(vars.vars))));
+        }
+        DslWeightedSwitchController weightedGroup = null;
+        for (int i = 0; i < steps.size(); i++) {
+            ScenarioStep step = steps.get(i);
+            DslController stepController = buildStep(step, i);
+            if (step.getWeight() == null) {
+                weightedGroup = null;
+                children.add(stepController);
+                continue;
+            }
+            if (weightedGroup == null) {
+                weightedGroup = weightedSwitchController();
+                children.add(weightedGroup);
+            }
+            weightedGroup.child(step.getWeight(), stepController);
+        }
+        return children;
+    }
+
+    static String label(ScenarioStep step, int index) {
+        return StringUtils.hasText(step.getName()) ? step.getName() : "step-" + (index + 1);
+    }
+
+    static Map<String, String> headers(LoadTestRequest request, ScenarioStep step) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        String contentType = StringUtils.hasText(step.getContentType()) ? step.getContentType() : request.getContentType();
+        if (StringUtils.hasText(contentType)) {
+            headers.put("Content-Type", contentType);
+        }
+        headers.putAll(request.getHeaders());
+        headers.putAll(step.getHeaders());
+        return headers;
+    }
+
+    static String buildUrl(LoadTestRequest request, ScenarioStep step) {
+        String normalizedPath = step.getPath().startsWith("/") ? step.getPath() : "/" + step.getPath();
+        return String.format("%s://%s:%d%s", request.getProtocol(), request.getIp(), request.getPort(), normalizedPath);
+    }
+
+    /** GET 请求与空请求体都不发送请求体 */
+    static String requestBody(ScenarioStep step) {
+        return "GET".equalsIgnoreCase(step.getMethod()) || !StringUtils.hasText(step.getBody()) ? null : step.getBody();
+    }
+
+    private DslController buildStep(ScenarioStep step, int index) {
+        String label = label(step, index);
+        List<BaseThreadGroup.ThreadGroupChild> elements = new ArrayList<>();
+        elements.add(jsr223PreProcessor(vars -> binding.control().sampleStarted()));
+        for (StepExtractor extractor : step.getExtractors()) {
+            elements.add(buildExtractor(extractor));
+        }
+        for (StepAssertion assertion : step.getAssertions()) {
+            elements.add(buildAssertion(assertion));
+        }
+        elements.add(step.isStreaming() ? buildStreamingSampler(label, step) : buildSampler(label, step));
+        if (!step.isStreaming() && request.isTokenUsage()) {
+            // 直接在响应字节上查找 usage，不解析整个 JSON
+            elements.add(jsr223PostProcessor(vars -> {
+                if (vars.prev.isSuccessful()) {
+                    binding.tokenUsage().recordResponse(vars.prev.getResponseData());
+                }
+            }));
+        }
+        DslController sampling = simpleController(elements.toArray(new BaseThreadGroup.ThreadGroupChild[0]));
+        if (step.getThinkTimeMillis() <= 0) {
+            return sampling;
+        }
+        // 思考时间放在采样控制器之外，避免被本步骤的前置处理器计为在途请求
+        return simpleController(sampling, threadPause(Duration.ofMillis(step.getThinkTimeMillis())));
+    }
+
+    private DslVariableExtractor<?> buildExtractor(StepExtractor extractor) {
+        return switch (extractor.getType()) {
+            case JSON_PATH -> jsonExtractor(extractor.getVariable(), extractor.getExpression())
+                    .queryLanguage(JsonQueryLanguage.JSON_PATH)
+                    .defaultValue(extractor.getDefaultValue());
+            case REGEX -> regexExtractor(extractor.getVariable(), extractor.getExpression())
+                    .defaultValue(extractor.getDefaultValue());
+        };
+    }
+
+    private DslAssertion buildAssertion(StepAssertion assertion) {
+        return switch (assertion.getType()) {
+            case STATUS_CODE -> responseAssertion()
+                    .fieldToTest(DslResponseAssertion.TargetField.RESPONSE_CODE)
+                    .equalsToStrings(assertion.getValue());
+            case BODY_CONTAINS -> responseAssertion().containsSubstrings(assertion.getValue());
+            case BODY_MATCHES -> responseAssertion().containsRegexes(assertion.getValue());
+            case JSON_PATH -> {
+                DslJsonAssertion json = jsonAssertion(assertion.getExpression())
+                        .queryLanguage(JsonQueryLanguage.JSON_PATH);
+                yield assertion.getValue() == null ? json : json.equalsTo(assertion.getValue());
+            }
+        };
+    }
+
+    private DslJsr223Sampler buildStreamingSampler(String label, ScenarioStep step) {
+        SseStreamingSampler sampler = new SseStreamingSampler(buildUrl(request, step), step.getMethod().toUpperCase(),
+                requestBody(step), headers(request, step), connection);
+        return jsr223Sampler(label, vars -> sampler.sample(vars.sampleResult, binding.streamingMetrics(),
+                binding.tokenUsage()));
+    }
+
+    private DslHttpSampler buildSampler(String label, ScenarioStep step) {
+        DslHttpSampler sampler = (connection.isKeepAlive()
+                ? httpSampler(label, buildUrl(request, step))
+                : new NonPersistentHttpSampler(label, buildUrl(request, step)))
+                .method(step.getMethod().toUpperCase());
+
+        String body = requestBody(step);
+        if (body != null) {
+            sampler = sampler.body(body);
+        }
+
+        for (var entry : headers(request, step).entrySet()) {
+            sampler = sampler.header(entry.getKey(), entry.getValue());
+        }
+
+        return sampler;
+    }
+
+    private DslHttpDefaults buildHttpDefaults() {
+        DslHttpDefaults defaults = httpDefaults();
+        if (connection.getConnectTimeoutMillis() > 0) {
+            defaults.connectionTimeout(Duration.ofMillis(connection.getConnectTimeoutMillis()));
+        }
+        if (connection.getResponseTimeoutMillis() > 0) {
+            defaults.responseTimeout(Duration.ofMillis(connection.getResponseTimeoutMillis()));
+        }
+        return defaults;
+    }
+
+    /** DSL 没有暴露 Use KeepAlive 开关，关闭长连接时直接在生成的 HTTPSamplerProxy 上设置 */
+    private static final class NonPersistentHttpSampler extends DslHttpSampler {
+
+        private NonPersistentHttpSampler(String name, String url) {
+            super(name, url);
+        }
+
+        @Override
+        public HTTPSamplerProxy configureHttpTestElement(HTTPSamplerProxy elem) {
+            HTTPSamplerProxy configured = super.configureHttpTestElement(elem);
+            configured.setUseKeepAlive(false);
+            return configured;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.jmeterdsl.service;
+
+import java.io.IOException;
+import org.springframework.stereotype.Component;
+import us.abstracta.jmeter.javadsl.core.DslTestPlan;
+import us.abstracta.jmeter.javadsl.core.TestPlanStats;
+import us.abstracta.jmeter.javadsl.core.engines.EmbeddedJmeterEngine;
+import us.abstracta.jmeter.javadsl.core.engines.JmeterEnvironment;
+
+/**
+ * 所有压测共用一个 JmeterEnvironment 的嵌入式引擎。
+ * DSL 默认每次 run() 都新建临时 JMeter home、写入配置并重新加载全局属性（约 100ms，临时目录到进程退出才删除），
+ * 这里只在首次使用时创建一次。
+ */
+@Component
+public class SharedJmeterEngine extends EmbeddedJmeterEngine {
+
+    private JmeterEnvironment environment;
+
+    @Override
+    public TestPlanStats run(DslTestPlan testPlan) throws IOException {
+        return runInEnv(testPlan, environment());
+    }
+
+    private synchronized JmeterEnvironment environment() throws IOException {
+        if (environment == null) {
+            environment = new JmeterEnvironment();
+        }
+        return environment;
+    }
+}
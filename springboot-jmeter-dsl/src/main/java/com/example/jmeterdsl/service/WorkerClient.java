@@ -0,0 +1,81 @@
+package com.example.jmeterdsl.service;
+
+import com.example.jmeterdsl.config.LoadTestProperties;
+import com.example.jmeterdsl.dto.LoadTestRequest;
+import com.example.jmeterdsl.dto.RunStatus;
+import com.example.jmeterdsl.dto.WorkerRegistration;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import org.springframework.stereotype.Component;
+
+/**
+ * 调用对端（工作节点或协调者）的 /load-test 接口，响应按 JSON 树读取，只取汇总所需字段。
+ */
+@Component
+public class WorkerClient {
+
+    record RemoteRun(RunStatus status, String errorMessage) {
+    }
+
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+
+    public WorkerClient(ObjectMapper objectMapper, LoadTestProperties properties) {
+        this.objectMapper = objectMapper;
+        this.timeout = Duration.ofMillis(Math.max(100, properties.getDistributed().getRequestTimeoutMillis()));
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    /** 提交分片，返回工作节点上的 runId */
+    String submit(String worker, LoadTestRequest shard) throws IOException, InterruptedException {
+        JsonNode body = send(worker, "POST", "/load-test/runs", objectMapper.writeValueAsString(shard), 202);
+        return body.path("runId").asText();
+    }
+
+    RemoteRun status(String worker, String runId) throws IOException, InterruptedException {
+        JsonNode body = send(worker, "GET", "/load-test/runs/" + runId, null, 200);
+        String error = body.hasNonNull("errorMessage") ? body.get("errorMessage").asText() : null;
+        return new RemoteRun(RunStatus.valueOf(body.path("status").asText()), error);
+    }
+
+    JsonNode result(String worker, String runId) throws IOException, InterruptedException {
+        return send(worker, "GET", "/load-test/runs/" + runId + "/result", null, 200);
+    }
+
+    void cancel(String worker, String runId) throws IOException, InterruptedException {
+        send(worker, "DELETE", "/load-test/runs/" + runId, null, 200);
+    }
+
+    void register(String coordinator, WorkerRegistration registration) throws IOException, InterruptedException {
+        send(coordinator, "POST", "/load-test/distributed/workers", objectMapper.writeValueAsString(registration), 200);
+    }
+
+    private JsonNode send(String baseUrl, String method, String path, String json, int expectedStatus)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Accept", "application/json");
+        if (json != null) {
+            builder.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(json));
+        } else {
+            builder.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        HttpResponse<String> response = client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != expectedStatus) {
+            throw new IOException(method + " " + baseUrl + path + " 返回 HTTP " + response.statusCode()
+                    + ": " + response.body());
+        }
+        return response.body().isEmpty() ? objectMapper.createObjectNode() : objectMapper.readTree(response.body());
+    }
+}
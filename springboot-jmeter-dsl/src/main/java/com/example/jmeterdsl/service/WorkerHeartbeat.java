@@ -0,0 +1,83 @@
+package com.example.jmeterdsl.service;
+
+import com.example.jmeterdsl.config.LoadTestProperties;
+import com.example.jmeterdsl.dto.WorkerRegistration;
+import jakarta.annotation.PreDestroy;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * 工作节点侧：配置了 load-test.distributed.coordinator-url 时，启动后定期向协调者注册自身地址。
+ */
+@Component
+public class WorkerHeartbeat {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkerHeartbeat.class);
+
+    private final WorkerClient workerClient;
+    private final LoadTestProperties.Distributed config;
+    private final int serverPort;
+    private ScheduledExecutorService scheduler;
+
+    public WorkerHeartbeat(WorkerClient workerClient, LoadTestProperties properties,
+                           @Value("${server.port:8080}") int serverPort) {
+        this.workerClient = workerClient;
+        this.config = properties.getDistributed();
+        this.serverPort = serverPort;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!StringUtils.hasText(config.getCoordinatorUrl())) {
+            return;
+        }
+        WorkerRegistration registration = new WorkerRegistration();
+        registration.setUrl(StringUtils.hasText(config.getAdvertisedUrl()) ? config.getAdvertisedUrl() : defaultUrl());
+        registration.setName(hostName());
+        String coordinator = WorkerRegistry.normalize(config.getCoordinatorUrl());
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "worker-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                workerClient.register(coordinator, registration);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.warn("heartbeat to coordinator {} failed: {}", coordinator, e.getMessage());
+            }
+        }, 0, Math.max(1, config.getHeartbeatIntervalSeconds()), TimeUnit.SECONDS);
+        log.info("registering as worker {} with coordinator {}", registration.getUrl(), coordinator);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private String defaultUrl() {
+        return "http://" + hostName() + ":" + serverPort;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "localhost";
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.jmeterdsl.service;
+
+import com.example.jmeterdsl.config.LoadTestProperties;
+import com.example.jmeterdsl.dto.WorkerInfo;
+import com.example.jmeterdsl.dto.WorkerRegistration;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Service;
+
+/**
+ * 分布式压测的工作节点清单：静态配置的节点始终在线，动态注册的节点需定期心跳，超过 TTL 视为下线。
+ */
+@Service
+public class WorkerRegistry {
+
+    private final Set<String> configured = new LinkedHashSet<>();
+    private final Map<String, WorkerInfo> registered = new ConcurrentHashMap<>();
+    private final Duration ttl;
+
+    public WorkerRegistry(LoadTestProperties properties) {
+        LoadTestProperties.Distributed config = properties.getDistributed();
+        config.getWorkers().forEach(url -> configured.add(normalize(url)));
+        this.ttl = Duration.ofSeconds(Math.max(1, config.getWorkerTtlSeconds()));
+    }
+
+    public WorkerInfo register(WorkerRegistration registration) {
+        String url = normalize(registration.getUrl());
+        WorkerInfo info = new WorkerInfo(url, registration.getName(), configured.contains(url), Instant.now());
+        registered.put(url, info);
+        return info;
+    }
+
+    public boolean unregister(String url) {
+        return registered.remove(normalize(url)) != null;
+    }
+
+    /** 当前在线节点，静态配置在前 */
+    public List<WorkerInfo> list() {
+        Instant deadline = Instant.now().minus(ttl);
+        registered.values().removeIf(info -> !info.isConfigured() && info.getLastSeenAt().isBefore(deadline));
+        List<WorkerInfo> workers = new ArrayList<>();
+        for (String url : configured) {
+            WorkerInfo info = registered.get(url);
+            workers.add(new WorkerInfo(url, info != null ? info.getName() : null, true,
+                    info != null ? info.getLastSeenAt() : null));
+        }
+        registered.values().stream()
+                .filter(info -> !configured.contains(info.getUrl()))
+                .sorted(Comparator.comparing(WorkerInfo::getUrl))
+                .forEach(workers::add);
+        return workers;
+    }
+
+    static String normalize(String url) {
+        String trimmed = url.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+}
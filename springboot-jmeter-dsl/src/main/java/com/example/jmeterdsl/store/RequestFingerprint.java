@@ -0,0 +1,42 @@
+package com.example.jmeterdsl.store;
+
+import com.example.jmeterdsl.dto.LoadTestRequest;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 压测配置指纹：忽略标签、调度参数（优先级、团队）、硬件成本、采样日志开关与所属分布式 runId 后按规范化 JSON（Map 按键排序、省略 null）计算 SHA-256，
+ * 与应用的 ObjectMapper 配置无关，保证同一配置在不同实例上得到相同指纹。
+ */
+public final class RequestFingerprint {
+
+    private static final ObjectMapper CANONICAL = JsonMapper.builder()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true)
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .build();
+
+    private RequestFingerprint() {
+    }
+
+    public static String of(LoadTestRequest request) {
+        ObjectNode tree = CANONICAL.valueToTree(request);
+        tree.remove("labels");
+        tree.remove("recordSamples");
+        tree.remove("priority");
+        tree.remove("team");
+        tree.remove("hardwareCost");
+        tree.remove("distributedRunId");
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(CANONICAL.writeValueAsBytes(tree)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("计算配置指纹失败", e);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.example.jmeterdsl.store;
+
+import com.example.jmeterdsl.dto.DistributionStats;
+import com.example.jmeterdsl.dto.LoadModel;
+import com.example.jmeterdsl.dto.LoadTestRequest;
+import com.example.jmeterdsl.dto.LoadTestResponse;
+import com.example.jmeterdsl.dto.RunQuery;
+import com.example.jmeterdsl.dto.RunRecord;
+import com.example.jmeterdsl.dto.StreamingMetrics;
+import com.example.jmeterdsl.dto.TrendMetric;
+import com.example.jmeterdsl.dto.TrendPoint;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 压测结果历史库：每次完成的压测保存配置指纹、标签、汇总指标与压缩直方图，
+ * 趋势查询只读汇总列，不需要回放原始 JTL。表结构见 schema-h2.sql / schema-mysql.sql。
+ */
+@Repository
+public class RunResultStore {
+
+    private static final Logger log = LoggerFactory.getLogger(RunResultStore.class);
+
+    public static final String RUN_TYPE_LOCAL = "LOCAL";
+    public static final String RUN_TYPE_DISTRIBUTED = "DISTRIBUTED";
+
+    private static final String SUMMARY_COLUMNS = "run_id, run_type, labels, config_fingerprint, load_model, threads, "
+            + "target_rps, streaming, started_at, finished_at, total_samples, error_samples, error_percentage, "
+            + "throughput, mean_ms, min_ms, p50_ms, p90_ms, p95_ms, p99_ms, p999_ms, max_ms, "
+            + "ttft_p50_ms, ttft_p95_ms, ttft_p99_ms, itl_p95_ms, output_token_throughput";
+
+    private static final JavaType LABELS_TYPE = TypeFactory.defaultInstance()
+            .constructMapType(Map.class, String.class, String.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public RunResultStore(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 保存一次完成的压测，失败只记录日志，不影响压测本身的结果。
+     * 门禁提前结束的压测只跑了一部分，不保存，避免混入回归基线与耗时估算。
+     */
+    public void record(String runId, String runType, LoadTestRequest request, LoadTestResponse result,
+                       Instant startedAt, Instant finishedAt) {
+        if (result.getGate() != null && result.getGate().isAborted()) {
+            log.info("load test {} aborted by gate, result not saved", runId);
+            return;
+        }
+        try {
+            insert(runId, runType, request, result, startedAt, finishedAt);
+        } catch (RuntimeException | JsonProcessingException e) {
+            log.warn("save load test result {} failed", runId, e);
+        }
+    }
+
+    public Optional<RunRecord> find(String runId) {
+        List<RunRecord> records = jdbcTemplate.query(
+                "SELECT " + SUMMARY_COLUMNS + ", response_time_histogram, ttft_histogram, request_json "
+                        + "FROM load_test_result WHERE run_id = ?",
+                (rs, rowNum) -> {
+                    RunRecord record = mapWithHistograms(rs);
+                    record.setRequest(readJson(rs.getString("request_json"), objectMapper.constructType(LoadTestRequest.class)));
+                    return record;
+                },
+                runId);
+        return records.stream().findFirst();
+    }
+
+    /** 同一配置在 before 之前完成的最近 limit 次压测（含直方图），作为回归检测的滚动基线，按完成时间倒序 */
+    public List<RunRecord> baselines(String fingerprint, Instant before, int limit) {
+        return jdbcTemplate.query("SELECT " + SUMMARY_COLUMNS + ", response_time_histogram, ttft_histogram "
+                        + "FROM load_test_result WHERE config_fingerprint = ? AND finished_at < ? "
+                        + "ORDER BY finished_at DESC LIMIT ?",
+                (rs, rowNum) -> mapWithHistograms(rs), fingerprint, Timestamp.from(before), limit);
+    }
+
+    /** 按标签 / 配置指纹检索，按完成时间倒序 */
+    public List<RunRecord> list(RunQuery query) {
+        List<Object> args = new ArrayList<>();
+        String where = where(query, args);
+        args.add(query.getLimit());
+        return jdbcTemplate.query("SELECT " + SUMMARY_COLUMNS + " FROM load_test_result" + where
+                + " ORDER BY finished_at DESC LIMIT ?", (rs, rowNum) -> mapSummary(rs), args.toArray());
+    }
+
+    /** 最近 limit 次压测某项指标的变化，按完成时间正序 */
+    public List<TrendPoint> trend(TrendMetric metric, RunQuery query) {
+        String column = column(metric);
+        List<Object> args = new ArrayList<>();
+        String where = where(query, args);
+        args.add(query.getLimit());
+        List<TrendPoint> points = jdbcTemplate.query(
+                "SELECT run_id, finished_at, model, backend, version, hardware, config_fingerprint, " + column
+                        + " FROM load_test_result" + where + " ORDER BY finished_at DESC LIMIT ?",
+                (rs, rowNum) -> new TrendPoint(rs.getString("run_id"), rs.getTimestamp("finished_at").toInstant(),
+                        rs.getString("model"), rs.getString("backend"), rs.getString("version"),
+                        rs.getString("hardware"), rs.getString("config_fingerprint"), nullableDouble(rs, column)),
+                args.toArray());
+        Collections.reverse(points);
+        return points;
+    }
+
+    /** 同一配置最近 limit 次压测的平均耗时，用于估算排队压测的开始时间；没有记录或查询失败时为空 */
+    public Optional<Duration> averageDuration(String fingerprint, int limit) {
+        try {
+            List<Duration> durations = jdbcTemplate.query(
+                    "SELECT started_at, finished_at FROM load_test_result WHERE config_fingerprint = ? "
+                            + "AND started_at IS NOT NULL ORDER BY finished_at DESC LIMIT ?",
+                    (rs, rowNum) -> Duration.between(rs.getTimestamp("started_at").toInstant(),
+                            rs.getTimestamp("finished_at").toInstant()),
+                    fingerprint, limit);
+            return durations.isEmpty()
+                    ? Optional.empty()
+                    : Optional.of(durations.stream().reduce(Duration.ZERO, Duration::plus).dividedBy(durations.size()));
+        } catch (DataAccessException e) {
+            log.warn("query run duration for {} failed", fingerprint, e);
+            return Optional.empty();
+        }
+    }
+
+    private void insert(String runId, String runType, LoadTestRequest request, LoadTestResponse result,
+                        Instant startedAt, Instant finishedAt) throws JsonProcessingException {
+        Map<String, String> labels = request.getLabels();
+        DistributionStats rt = result.getResponseTimeMs() == null ? DistributionStats.empty() : result.getResponseTimeMs();
+        StreamingMetrics streaming = result.getStreaming();
+        DistributionStats ttft = streaming == null ? null : streaming.getTimeToFirstTokenMs();
+        DistributionStats itl = streaming == null ? null : streaming.getInterTokenLatencyMs();
+        jdbcTemplate.update("INSERT INTO load_test_result (run_id, run_type, model, backend, version, hardware, labels, "
+                        + "config_fingerprint, load_model, threads, target_rps, streaming, started_at, finished_at, "
+                        + "total_samples, error_samples, error_percentage, throughput, mean_ms, min_ms, p50_ms, p90_ms, p95_ms, "
+                        + "p99_ms, p999_ms, max_ms, ttft_p50_ms, ttft_p95_ms, ttft_p99_ms, itl_p95_ms, "
+                        + "output_token_throughput, response_time_histogram, ttft_histogram, request_json) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                runId, runType, labels.get("model"), labels.get("backend"), labels.get("version"), labels.get("hardware"),
+                labels.isEmpty() ? null : objectMapper.writeValueAsString(labels),
+                RequestFingerprint.of(request), request.getLoadModel().name(),
+                request.getLoadModel() == LoadModel.ARRIVAL_RATE ? request.getMaxInFlight() : request.getThreads(),
+                request.getTargetRps(), streaming != null,
+                startedAt == null ? null : Timestamp.from(startedAt), Timestamp.from(finishedAt),
+                result.getTotalSamples(), result.getErrorSamples(), result.getErrorPercentage(),
+                result.getThroughputPerSecond(), rt.getMean(), rt.getMin(), rt.getP50(), rt.getP90(), rt.getP95(), rt.getP99(),
+                rt.getP999(), rt.getMax(),
+                ttft == null ? null : ttft.getP50(), ttft == null ? null : ttft.getP95(),
+                ttft == null ? null : ttft.getP99(), itl == null ? null : itl.getP95(),
+                streaming == null ? null : streaming.getOutputTokenThroughput(),
+                result.getResponseTimeHistogram(), streaming == null ? null : streaming.getTimeToFirstTokenHistogram(),
+                objectMapper.writeValueAsString(request));
+    }
+
+    private RunRecord mapSummary(ResultSet rs) throws SQLException {
+        Timestamp startedAt = rs.getTimestamp("started_at");
+        String labels = rs.getString("labels");
+        RunRecord record = new RunRecord(rs.getString("run_id"), rs.getString("run_type"),
+                labels == null ? Collections.emptyMap() : readJson(labels, LABELS_TYPE),
+                rs.getString("config_fingerprint"), LoadModel.valueOf(rs.getString("load_model")),
+                rs.getInt("threads"), rs.getDouble("target_rps"), rs.getBoolean("streaming"),
+                startedAt == null ? null : startedAt.toInstant(), rs.getTimestamp("finished_at").toInstant(),
+                rs.getLong("total_samples"), rs.getLong("error_samples"), rs.getDouble("error_percentage"),
+                rs.getDouble("throughput"),
+                new DistributionStats(rs.getLong("total_samples"), rs.getDouble("mean_ms"), rs.getDouble("min_ms"),
+                        rs.getDouble("p50_ms"), rs.getDouble("p90_ms"), rs.getDouble("p95_ms"),
+                        rs.getDouble("p99_ms"), rs.getDouble("p999_ms"), rs.getDouble("max_ms")));
+        record.setTtftP50Ms(nullableDouble(rs, "ttft_p50_ms"));
+        record.setTtftP95Ms(nullableDouble(rs, "ttft_p95_ms"));
+        record.setTtftP99Ms(nullableDouble(rs, "ttft_p99_ms"));
+        record.setInterTokenLatencyP95Ms(nullableDouble(rs, "itl_p95_ms"));
+        record.setOutputTokenThroughput(nullableDouble(rs, "output_token_throughput"));
+        return record;
+    }
+
+    private RunRecord mapWithHistograms(ResultSet rs) throws SQLException {
+        RunRecord record = mapSummary(rs);
+        record.setResponseTimeHistogram(rs.getString("response_time_histogram"));
+        record.setTimeToFirstTokenHistogram(rs.getString("ttft_histogram"));
+        return record;
+    }
+
+    private static String where(RunQuery query, List<Object> args) {
+        StringBuilder where = new StringBuilder();
+        appendFilter(where, args, "model", query.getModel());
+        appendFilter(where, args, "backend", query.getBackend());
+        appendFilter(where, args, "version", query.getVersion());
+        appendFilter(where, args, "hardware", query.getHardware());
+        appendFilter(where, args, "config_fingerprint", query.getFingerprint());
+        return where.toString();
+    }
+
+    private static void appendFilter(StringBuilder where, List<Object> args, String column, String value) {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        where.append(where.length() == 0 ? " WHERE " : " AND ").append(column).append(" = ?");
+        args.add(value);
+    }
+
+    private static String column(TrendMetric metric) {
+        return switch (metric) {
+            case THROUGHPUT -> "throughput";
+            case ERROR_PERCENTAGE -> "error_percentage";
+            case MEAN -> "mean_ms";
+            case P50 -> "p50_ms";
+            case P90 -> "p90_ms";
+            case P95 -> "p95_ms";
+            case P99 -> "p99_ms";
+            case P999 -> "p999_ms";
+            case TTFT_P50 -> "ttft_p50_ms";
+            case TTFT_P95 -> "ttft_p95_ms";
+            case TTFT_P99 -> "ttft_p99_ms";
+            case ITL_P95 -> "itl_p95_ms";
+            case OUTPUT_TOKEN_THROUGHPUT -> "output_token_throughput";
+        };
+    }
+
+    private static Double nullableDouble(ResultSet rs, String column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private <T> T readJson(String json, JavaType type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("历史记录 JSON 解析失败", e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.jmeterdsl.stub;
+
+import java.util.SplittableRandom;
+
+/**
+ * 桩服务的时延分布，mean 与 spread 单位毫秒，抽样结果不小于 0。
+ */
+public enum DelayDistribution {
+    /** 固定为 mean */
+    FIXED,
+    /** [mean - spread, mean + spread] 均匀分布 */
+    UNIFORM,
+    /** 均值 mean、标准差 spread 的正态分布 */
+    NORMAL,
+    /** 均值 mean 的指数分布（忽略 spread），模拟长尾 */
+    EXPONENTIAL;
+
+    public double sampleMillis(double mean, double spread, SplittableRandom random) {
+        double value = switch (this) {
+            case FIXED -> mean;
+            case UNIFORM -> mean - spread + 2 * spread * random.nextDouble();
+            case NORMAL -> mean + spread * gaussian(random);
+            case EXPONENTIAL -> -mean * Math.log(1 - random.nextDouble());
+        };
+        return Math.max(0, value);
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        double u1 = 1 - random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u1)) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+}
@@ -0,0 +1,330 @@
+package com.example.jmeterdsl.stub;
+
+import com.example.jmeterdsl.config.LoadTestProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * OpenAI 兼容的桩模型服务，支持 /chat/completions 与 /completions，stream=true 时按 SSE 逐 token 输出。
+ * 请求进入后立即转为 Servlet 异步模式，首 token 与每个后续 token 都作为定时任务投递到调度线程池，
+ * 等待期间不占用容器线程，少量调度线程即可支撑大量并发流。
+ * 写出走 Servlet 非阻塞 IO：调度线程只把数据交给 {@link Output}，客户端读得慢时由容器回调继续写，不会占住调度线程。
+ * 响应内容是固定的占位 token，prompt_tokens 按请求体字节数 / 4 估算。
+ */
+public class StubLlmServlet extends HttpServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String CHAT_PATH = "/chat/completions";
+    private static final String COMPLETIONS_PATH = "/completions";
+    private static final String TOKEN = " stub";
+    private static final byte[] DONE = "data: [DONE]\n\n".getBytes(StandardCharsets.US_ASCII);
+    /** SplittableRandom 的黄金分割增量，把请求序号打散成互不相关的种子 */
+    private static final long SEED_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final transient LoadTestProperties.Stub config;
+    private final transient ObjectMapper objectMapper;
+    private final transient ScheduledExecutorService scheduler;
+    private final AtomicLong requests = new AtomicLong();
+
+    public StubLlmServlet(LoadTestProperties.Stub config, ObjectMapper objectMapper) {
+        if (config.getErrorRate() < 0 || config.getErrorRate() > 1) {
+            throw new IllegalArgumentException("load-test.stub.error-rate 必须在 0 ~ 1 之间");
+        }
+        if (config.getMinOutputTokens() < 1 || config.getMaxOutputTokens() < config.getMinOutputTokens()) {
+            throw new IllegalArgumentException("load-test.stub 输出 token 数需满足 1 <= min-output-tokens <= max-output-tokens");
+        }
+        this.config = config;
+        this.objectMapper = objectMapper;
+        int threads = config.getSchedulerThreads() > 0
+                ? config.getSchedulerThreads() : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.scheduler = Executors.newScheduledThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "stub-llm-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String path = request.getPathInfo();
+        boolean chat = CHAT_PATH.equals(path);
+        if (!chat && !COMPLETIONS_PATH.equals(path)) {
+            writeError(response, HttpServletResponse.SC_NOT_FOUND, "invalid_request_error", "未知接口: " + path);
+            return;
+        }
+        byte[] bytes = request.getInputStream().readAllBytes();
+        JsonNode body;
+        try {
+            body = objectMapper.readTree(bytes);
+        } catch (JsonProcessingException e) {
+            writeError(response, HttpServletResponse.SC_BAD_REQUEST, "invalid_request_error", "请求体不是合法的 JSON");
+            return;
+        }
+        if (body == null || !body.isObject()) {
+            writeError(response, HttpServletResponse.SC_BAD_REQUEST, "invalid_request_error", "请求体必须是 JSON 对象");
+            return;
+        }
+        long index = requests.incrementAndGet();
+        SplittableRandom random = new SplittableRandom(config.getSeed() + index * SEED_GAMMA);
+        if (config.getErrorRate() > 0 && random.nextDouble() < config.getErrorRate()) {
+            writeError(response, config.getErrorStatus(), "stub_injected_error", "桩服务注入的错误");
+            return;
+        }
+        Completion completion = plan(chat, body, bytes.length, index, random);
+        AsyncContext async = request.startAsync();
+        async.setTimeout(0);
+        AtomicBoolean closed = new AtomicBoolean();
+        async.addListener(new ClosedListener(closed));
+        if (body.path("stream").asBoolean(false)) {
+            response.setContentType("text/event-stream");
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.setHeader("Cache-Control", "no-cache");
+            response.flushBuffer();
+            Stream stream = new Stream(new Output(async, closed), completion, random,
+                    body.path("stream_options").path("include_usage").asBoolean(false));
+            scheduler.schedule(stream::next, delayNanos(config.getTtft(), random), TimeUnit.NANOSECONDS);
+        } else {
+            response.setContentType("application/json");
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            Output output = new Output(async, closed);
+            long total = delayNanos(config.getTtft(), random);
+            for (int i = 1; i < completion.outputTokens(); i++) {
+                total += delayNanos(config.getInterTokenDelay(), random);
+            }
+            scheduler.schedule(() -> respond(output, completion), total, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    private Completion plan(boolean chat, JsonNode body, int bodyBytes, long index, SplittableRandom random)
+            throws JsonProcessingException {
+        int outputTokens = config.getMinOutputTokens()
+                + random.nextInt(config.getMaxOutputTokens() - config.getMinOutputTokens() + 1);
+        int maxTokens = body.path("max_tokens").asInt(body.path("max_completion_tokens").asInt(0));
+        boolean truncated = maxTokens > 0 && maxTokens < outputTokens;
+        String model = objectMapper.writeValueAsString(body.path("model").asText("stub"));
+        return new Completion(chat, "stub-" + index, System.currentTimeMillis() / 1000, model,
+                Math.max(1, (bodyBytes + 3) / 4), truncated ? maxTokens : outputTokens, truncated ? "length" : "stop");
+    }
+
+    private long delayNanos(LoadTestProperties.Delay delay, SplittableRandom random) {
+        double millis = delay.getDistribution().sampleMillis(delay.getMeanMillis(), delay.getSpreadMillis(), random);
+        return (long) (millis * 1_000_000);
+    }
+
+    private void respond(Output output, Completion completion) {
+        String text = TOKEN.repeat(completion.outputTokens());
+        String choice = completion.chat()
+                ? "{\"index\":0,\"message\":{\"role\":\"assistant\",\"content\":\"" + text + "\"}"
+                : "{\"index\":0,\"text\":\"" + text + "\"";
+        String json = completion.header(completion.chat() ? "chat.completion" : "text_completion")
+                + choice + ",\"finish_reason\":\"" + completion.finishReason() + "\"}],"
+                + completion.usage() + "}";
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        output.async.getResponse().setContentLength(bytes.length);
+        output.send(bytes, true);
+    }
+
+    private static void complete(AsyncContext async, AtomicBoolean closed) {
+        if (closed.compareAndSet(false, true)) {
+            try {
+                async.complete();
+            } catch (IllegalStateException e) {
+                // 容器已因超时或出错结束了异步请求
+            }
+        }
+    }
+
+    private void writeError(HttpServletResponse response, int status, String type, String message)
+            throws IOException {
+        String json = "{\"error\":{\"message\":" + objectMapper.writeValueAsString(message)
+                + ",\"type\":\"" + type + "\",\"code\":" + status + "}}";
+        response.setStatus(status);
+        response.setContentType("application/json");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getOutputStream().write(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** 一次响应的规划结果，model 已经是带引号的 JSON 字符串 */
+    private record Completion(boolean chat, String id, long created, String model, int promptTokens,
+                              int outputTokens, String finishReason) {
+
+        String header(String object) {
+            return "{\"id\":\"" + id + "\",\"object\":\"" + object + "\",\"created\":" + created
+                    + ",\"model\":" + model + ",\"choices\":[";
+        }
+
+        String usage() {
+            return "\"usage\":{\"prompt_tokens\":" + promptTokens + ",\"completion_tokens\":" + outputTokens
+                    + ",\"total_tokens\":" + (promptTokens + outputTokens) + "}";
+        }
+    }
+
+    /**
+     * 一个异步响应的非阻塞写出：数据先进队列，isReady 为 true 时才写，写不动时等容器回调 onWritePossible 接着写。
+     * 队列最多积压一次响应的全部 token，不会无限增长；最后一段数据写完并 flush 后结束异步请求。
+     */
+    private static final class Output implements WriteListener {
+
+        private final AsyncContext async;
+        private final AtomicBoolean closed;
+        private final ServletOutputStream out;
+        private final ArrayDeque<byte[]> pending = new ArrayDeque<>();
+        private boolean flushed = true;
+        private boolean ended;
+
+        Output(AsyncContext async, AtomicBoolean closed) throws IOException {
+            this.async = async;
+            this.closed = closed;
+            this.out = async.getResponse().getOutputStream();
+            out.setWriteListener(this);
+        }
+
+        /** end 为 true 表示这是最后一段数据 */
+        synchronized void send(byte[] bytes, boolean end) {
+            if (closed.get()) {
+                return;
+            }
+            pending.add(bytes);
+            ended |= end;
+            drain();
+        }
+
+        @Override
+        public synchronized void onWritePossible() {
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            complete(async, closed);
+        }
+
+        private void drain() {
+            if (closed.get()) {
+                return;
+            }
+            try {
+                while (out.isReady()) {
+                    byte[] next = pending.poll();
+                    if (next != null) {
+                        out.write(next);
+                        flushed = false;
+                    } else if (!flushed) {
+                        out.flush();
+                        flushed = true;
+                    } else {
+                        if (ended) {
+                            complete(async, closed);
+                        }
+                        return;
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // 客户端已断开
+                complete(async, closed);
+            }
+        }
+    }
+
+    /** 一条 SSE 流：每次调度发送一个 token，发完后补 finish_reason、可选的 usage chunk 与 [DONE] */
+    private final class Stream {
+
+        private final Output output;
+        private final Completion completion;
+        private final SplittableRandom random;
+        private final boolean includeUsage;
+        private final byte[] tokenChunk;
+        private int sent;
+
+        Stream(Output output, Completion completion, SplittableRandom random, boolean includeUsage) {
+            this.output = output;
+            this.completion = completion;
+            this.random = random;
+            this.includeUsage = includeUsage;
+            this.tokenChunk = chunk(completion.chat()
+                    ? "\"delta\":{\"content\":\"" + TOKEN + "\"}" : "\"text\":\"" + TOKEN + "\"", "null");
+        }
+
+        void next() {
+            if (output.closed.get()) {
+                return;
+            }
+            byte[] token = sent == 0 && completion.chat()
+                    ? chunk("\"delta\":{\"role\":\"assistant\",\"content\":\"" + TOKEN + "\"}", "null")
+                    : tokenChunk;
+            sent++;
+            if (sent < completion.outputTokens()) {
+                output.send(token, false);
+                scheduler.schedule(this::next, delayNanos(config.getInterTokenDelay(), random),
+                        TimeUnit.NANOSECONDS);
+                return;
+            }
+            output.send(token, false);
+            output.send(chunk(completion.chat() ? "\"delta\":{}" : "\"text\":\"\"",
+                    "\"" + completion.finishReason() + "\""), false);
+            if (includeUsage) {
+                output.send(("data: " + completion.header(object()) + "]," + completion.usage() + "}\n\n")
+                        .getBytes(StandardCharsets.UTF_8), false);
+            }
+            output.send(DONE, true);
+        }
+
+        private byte[] chunk(String choice, String finishReason) {
+            return ("data: " + completion.header(object()) + "{\"index\":0," + choice
+                    + ",\"finish_reason\":" + finishReason + "}]}\n\n").getBytes(StandardCharsets.UTF_8);
+        }
+
+        private String object() {
+            return completion.chat() ? "chat.completion.chunk" : "text_completion";
+        }
+    }
+
+    /** 客户端断开、超时或出错时停止后续调度 */
+    private record ClosedListener(AtomicBoolean closed) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            closed.set(true);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            closed.set(true);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            closed.set(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.jmeterdsl.stub;
+
+import com.example.jmeterdsl.config.LoadTestProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * load-test.stub.enabled=true 时注册桩模型服务。独立于 DispatcherServlet 挂载，
+ * 不经过 MVC 的参数解析与消息转换，压测端校准时桩服务自身开销尽量小。
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "load-test.stub", name = "enabled", havingValue = "true")
+public class StubServerConfiguration {
+
+    @Bean
+    public ServletRegistrationBean<StubLlmServlet> stubLlmServlet(LoadTestProperties properties,
+                                                                  ObjectMapper objectMapper) {
+        ServletRegistrationBean<StubLlmServlet> registration = new ServletRegistrationBean<>(
+                new StubLlmServlet(properties.getStub(), objectMapper), "/stub/v1/*");
+        registration.setName("stubLlmServlet");
+        registration.setAsyncSupported(true);
+        registration.setLoadOnStartup(1);
+        return registration;
+    }
+}
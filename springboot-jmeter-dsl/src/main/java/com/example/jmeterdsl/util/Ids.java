@@ -0,0 +1,15 @@
+package com.example.jmeterdsl.util;
+
+/**
+ * 运行 ID 生成：压测运行、参数扫描与分布式运行共用一个单调 ULID 生成器，
+ * ID 的字典序即创建顺序，按 ID 排序或作为文件名列出时无需再比较创建时间
+ */
+public final class Ids {
+    private static final UlidGenerator MONOTONIC_ULID = UlidGenerator.monotonic();
+
+    private Ids() {}
+
+    public static String monotonicUlid() {
+        return MONOTONIC_ULID.next();
+    }
+}
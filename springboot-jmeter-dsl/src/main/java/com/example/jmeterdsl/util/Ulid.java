@@ -0,0 +1,92 @@
+package com.example.jmeterdsl.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * ULID 的二进制形式与编码：128 位拆为两个 long，msb 高 48 位为毫秒时间戳、低 16 位与 lsb 共 80 位随机数。
+ * 按无符号数比较 (msb, lsb) 与比较编码后的字符串顺序一致；存储时可用两个 BIGINT 或 16 字节 BINARY。
+ */
+public final class Ulid {
+    private static final char[] ENCODING = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray(); // Crockford
+    private static final byte[] ASCII = new byte[32];
+    private static final byte[] DECODING = new byte[128];
+    public static final int LENGTH = 26;
+
+    static {
+        Arrays.fill(DECODING, (byte) -1);
+        for (int i = 0; i < ENCODING.length; i++) {
+            ASCII[i] = (byte) ENCODING[i];
+            DECODING[ENCODING[i]] = (byte) i;
+            DECODING[Character.toLowerCase(ENCODING[i])] = (byte) i;
+        }
+        // Crockford 容错：I/L 视为 1，O 视为 0
+        DECODING['I'] = DECODING['i'] = DECODING['L'] = DECODING['l'] = 1;
+        DECODING['O'] = DECODING['o'] = 0;
+    }
+
+    private Ulid() {}
+
+    public static long timestamp(long msb) {
+        return msb >>> 16;
+    }
+
+    public static String toString(long msb, long lsb) {
+        byte[] out = new byte[LENGTH];
+        encode(msb, lsb, out, 0);
+        return new String(out, StandardCharsets.US_ASCII);
+    }
+
+    /** 写入 dst[off, off + 26) */
+    public static void encode(long msb, long lsb, char[] dst, int off) {
+        for (int i = 0; i < 13; i++) dst[off + i] = (char) ASCII[(int) (msb >>> (61 - 5 * i)) & 31];
+        dst[off + 13] = (char) ASCII[boundary(msb, lsb)];
+        for (int i = 14; i < LENGTH; i++) dst[off + i] = (char) ASCII[(int) (lsb >>> (125 - 5 * i)) & 31];
+    }
+
+    /**
+     * 以 ASCII 写入 dst[off, off + 26)，可直接写进网络或日志缓冲区。
+     * 首字符取 msb 最高 3 位，其余每个字符 5 位：第 0 ~ 12 个字符来自 msb，第 13 个跨两个 long，之后来自 lsb；
+     * 按段展开成两个无分支的循环
+     */
+    public static void encode(long msb, long lsb, byte[] dst, int off) {
+        for (int i = 0; i < 13; i++) dst[off + i] = ASCII[(int) (msb >>> (61 - 5 * i)) & 31];
+        dst[off + 13] = ASCII[boundary(msb, lsb)];
+        for (int i = 14; i < LENGTH; i++) dst[off + i] = ASCII[(int) (lsb >>> (125 - 5 * i)) & 31];
+    }
+
+    /** 16 字节大端写入 dst[off, off + 16)，字节序比较与时间序一致 */
+    public static void toBytes(long msb, long lsb, byte[] dst, int off) {
+        for (int i = 0; i < 8; i++) {
+            dst[off + i] = (byte) (msb >>> (56 - 8 * i));
+            dst[off + 8 + i] = (byte) (lsb >>> (56 - 8 * i));
+        }
+    }
+
+    public static long msb(CharSequence ulid) {
+        return decode(ulid, 0);
+    }
+
+    public static long lsb(CharSequence ulid) {
+        return decode(ulid, 64);
+    }
+
+    /** 第 13 个字符由 msb 最低位与 lsb 最高 4 位组成 */
+    private static int boundary(long msb, long lsb) {
+        return (int) (((msb & 1) << 4) | (lsb >>> 60));
+    }
+
+    /** 解码 128 位中从第 from 位（自最低位起）开始的 64 位 */
+    private static long decode(CharSequence ulid, int from) {
+        if (ulid == null || ulid.length() != LENGTH) throw new IllegalArgumentException("invalid ulid: " + ulid);
+        long hi = 0, lo = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            char c = ulid.charAt(i);
+            int v = c < 128 ? DECODING[c] : -1;
+            if (v < 0 || (i == 0 && v > 7)) throw new IllegalArgumentException("invalid ulid: " + ulid);
+            hi = (hi << 5) | (lo >>> 59);
+            lo = (lo << 5) | v;
+        }
+        return from == 0 ? hi : lo;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.jmeterdsl.util;
+
+import java.security.SecureRandom;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * ULID 生成器，两种模式都不加锁、除返回的 String 外不分配内存：
+ * - random()：80 位随机数来自 ThreadLocalRandom
+ * - monotonic()：同一毫秒内严格递增。时间戳与毫秒内序号打包在一个 AtomicLong 中，发号即一次 CAS；
+ *   随机部分的高 64 位由构造时取自 SecureRandom 的种子与时间戳混合得到（每毫秒不同），低 16 位为毫秒内序号，
+ *   每毫秒最多 65536 个，用尽时自旋等待下一毫秒；时钟回拨时沿用上次的时间戳
+ * next(char[]) / next(byte[]) 写入调用方缓冲区，next(long[]) 给出 (msb, lsb) 二进制形式，都不产生垃圾。
+ */
+public final class UlidGenerator {
+    private static final SecureRandom SEED = new SecureRandom();
+    private static final long GAMMA = 0x9E3779B97F4A7C15L;
+    private static final long SEQUENCE_MASK = 0xFFFFL;
+
+    private final boolean monotonic;
+    private final long seed;
+    private final LongSupplier clock;
+    /** 单调模式的 (时间戳 << 16 | 毫秒内序号)，初始为 -1 表示尚未发号 */
+    private final AtomicLong state = new AtomicLong(-1L);
+
+    private UlidGenerator(boolean monotonic, LongSupplier clock) {
+        this.monotonic = monotonic;
+        this.seed = SEED.nextLong();
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    public static UlidGenerator random() {
+        return new UlidGenerator(false, System::currentTimeMillis);
+    }
+
+    public static UlidGenerator monotonic() {
+        return monotonic(System::currentTimeMillis);
+    }
+
+    /** clock 返回毫秒时间戳，测试或基准中可用逻辑时钟替代系统时钟 */
+    public static UlidGenerator monotonic(LongSupplier clock) {
+        return new UlidGenerator(true, clock);
+    }
+
+    public String next() {
+        if (!monotonic) return Ulid.toString(randomMsb(), ThreadLocalRandom.current().nextLong());
+        long s = reserve();
+        return Ulid.toString(monotonicMsb(s), monotonicLsb(s));
+    }
+
+    public void next(char[] dst, int off) {
+        if (!monotonic) {
+            Ulid.encode(randomMsb(), ThreadLocalRandom.current().nextLong(), dst, off);
+            return;
+        }
+        long s = reserve();
+        Ulid.encode(monotonicMsb(s), monotonicLsb(s), dst, off);
+    }
+
+    public void next(byte[] dst, int off) {
+        if (!monotonic) {
+            Ulid.encode(randomMsb(), ThreadLocalRandom.current().nextLong(), dst, off);
+            return;
+        }
+        long s = reserve();
+        Ulid.encode(monotonicMsb(s), monotonicLsb(s), dst, off);
+    }
+
+    /** 二进制形式：dst[off] = msb，dst[off + 1] = lsb */
+    public void next(long[] dst, int off) {
+        if (!monotonic) {
+            dst[off] = randomMsb();
+            dst[off + 1] = ThreadLocalRandom.current().nextLong();
+            return;
+        }
+        long s = reserve();
+        dst[off] = monotonicMsb(s);
+        dst[off + 1] = monotonicLsb(s);
+    }
+
+    private long randomMsb() {
+        return (clock.getAsLong() << 16) | (ThreadLocalRandom.current().nextInt() & SEQUENCE_MASK);
+    }
+
+    private long reserve() {
+        while (true) {
+            long prev = state.get();
+            long now = clock.getAsLong();
+            long next;
+            if (now > prev >> 16) {
+                next = now << 16;
+            } else if ((prev & SEQUENCE_MASK) == SEQUENCE_MASK) {
+                Thread.onSpinWait(); // 本毫秒序号用尽，等待时钟前进
+                continue;
+            } else {
+                next = prev + 1; // 同一毫秒或时钟回拨：沿用上次时间戳
+            }
+            if (state.compareAndSet(prev, next)) return next;
+        }
+    }
+
+    private long monotonicMsb(long s) {
+        long time = s >>> 16;
+        return (time << 16) | (mix(seed + time * GAMMA) >>> 48);
+    }
+
+    private long monotonicLsb(long s) {
+        long time = s >>> 16;
+        return (mix(seed ^ (time * GAMMA)) << 16) | (s & SEQUENCE_MASK);
+    }
+
+    /** SplittableRandom 的 mix64 */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.jmeterdsl.workload;
+
+import com.example.jmeterdsl.dto.ArrivalProcess;
+import com.example.jmeterdsl.dto.ArrivalRateMetrics;
+import java.util.OptionalLong;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.jmeter.samplers.SampleResult;
+import org.apache.jmeter.threads.JMeterContext;
+import org.apache.jmeter.threads.JMeterVariables;
+
+/**
+ * 开环到达调度：按到达过程预先确定每个请求的计划发送时间，JMeter 线程只作为在途请求的上限。
+ * 线程全部忙碌时请求会晚于计划时间发出，响应时间从计划时间起算，避免协调遗漏（coordinated omission）。
+ */
+public class ArrivalSchedule {
+
+    private static final String INTENDED_START_VAR = "__arrivalIntendedStartMillis";
+    private static final long LATE_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final ArrivalProcess process;
+    private final double targetRps;
+    private final int maxInFlight;
+    private final double meanGapNanos;
+    private final long durationNanos;
+
+    private boolean started;
+    private long startNanos;
+    private long startEpochMillis;
+    private double nextOffsetNanos;
+    private long scheduled;
+    private long lateSends;
+    private long maxLagNanos;
+
+    public ArrivalSchedule(ArrivalProcess process, double targetRps, int maxInFlight, long durationSeconds) {
+        this.process = process;
+        this.targetRps = targetRps;
+        this.maxInFlight = maxInFlight;
+        this.meanGapNanos = TimeUnit.SECONDS.toNanos(1) / targetRps;
+        this.durationNanos = TimeUnit.SECONDS.toNanos(durationSeconds);
+    }
+
+    /**
+     * 领取下一个到达时刻并等待至该时刻；调度结束时停止当前 JMeter 线程并返回 false，
+     * 须在不产生采样结果的步骤中调用，保证线程在发出下一个请求前退出。
+     */
+    public boolean acquire(JMeterContext ctx) throws InterruptedException {
+        OptionalLong intendedNanos = next();
+        if (intendedNanos.isEmpty()) {
+            ctx.getThread().stop();
+            return false;
+        }
+        awaitIntended(intendedNanos.getAsLong());
+        ctx.getVariables().putObject(INTENDED_START_VAR, intendedEpochMillis(intendedNanos.getAsLong()));
+        return true;
+    }
+
+    /** 领取下一个计划到达时刻（System.nanoTime 时基），调度结束时返回空 */
+    public synchronized OptionalLong next() {
+        if (!started) {
+            started = true;
+            startNanos = System.nanoTime();
+            startEpochMillis = System.currentTimeMillis();
+        }
+        if (nextOffsetNanos >= durationNanos) {
+            return OptionalLong.empty();
+        }
+        long intendedNanos = startNanos + (long) nextOffsetNanos;
+        nextOffsetNanos += nextGapNanos();
+        scheduled++;
+        return OptionalLong.of(intendedNanos);
+    }
+
+    /** 等待至计划时刻；已经晚于计划时刻时记录滞后 */
+    public void awaitIntended(long intendedNanos) throws InterruptedException {
+        long waitNanos = intendedNanos - System.nanoTime();
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        } else {
+            recordLag(-waitNanos);
+        }
+    }
+
+    public synchronized long intendedEpochMillis(long intendedNanos) {
+        return startEpochMillis + TimeUnit.NANOSECONDS.toMillis(intendedNanos - startNanos);
+    }
+
+    /** 从计划发送时间到响应结束的耗时（毫秒），包含在途上限导致的排队等待 */
+    public long elapsedFromIntendedStart(SampleResult result, JMeterVariables vars) {
+        Object intended = vars.getObject(INTENDED_START_VAR);
+        if (!(intended instanceof Long intendedMillis)) {
+            return result.getTime();
+        }
+        vars.remove(INTENDED_START_VAR);
+        return result.getEndTime() - Math.min(intendedMillis, result.getStartTime());
+    }
+
+    public synchronized ArrivalRateMetrics summary() {
+        return new ArrivalRateMetrics(process, targetRps, maxInFlight, scheduled, lateSends,
+                maxLagNanos / 1_000_000.0);
+    }
+
+    private double nextGapNanos() {
+        if (process == ArrivalProcess.CONSTANT) {
+            return meanGapNanos;
+        }
+        return -Math.log(1.0 - ThreadLocalRandom.current().nextDouble()) * meanGapNanos;
+    }
+
+    private synchronized void recordLag(long lagNanos) {
+        if (lagNanos > LATE_THRESHOLD_NANOS) {
+            lateSends++;
+        }
+        maxLagNanos = Math.max(maxLagNanos, lagNanos);
+    }
+}
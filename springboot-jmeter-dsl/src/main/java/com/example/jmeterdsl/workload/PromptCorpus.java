@@ -0,0 +1,140 @@
+package com.example.jmeterdsl.workload;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * 只读内存映射的行式语料（JSONL / CSV）：打开时扫描一遍建立行偏移索引，
+ * 之后按行号随机读取，文件内容留在页缓存中，不进入 Java 堆。
+ * 索引每行占 12 字节（起始偏移 + 长度），百万行约 12MB；空行不计入索引。
+ */
+public class PromptCorpus {
+
+    /** 单个映射段的大小，FileChannel.map 单次不能超过 2GB */
+    private static final long SEGMENT_SIZE = 1L << 30;
+
+    private final Path file;
+    private final long size;
+    private final long lastModified;
+    private final MappedByteBuffer[] segments;
+    private final long[] lineStarts;
+    private final int[] lineLengths;
+
+    private PromptCorpus(Path file, long size, long lastModified, MappedByteBuffer[] segments,
+                         long[] lineStarts, int[] lineLengths) {
+        this.file = file;
+        this.size = size;
+        this.lastModified = lastModified;
+        this.segments = segments;
+        this.lineStarts = lineStarts;
+        this.lineLengths = lineLengths;
+    }
+
+    public static PromptCorpus open(Path file) throws IOException {
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int segmentCount = (int) ((size + SEGMENT_SIZE - 1) / SEGMENT_SIZE);
+            MappedByteBuffer[] segments = new MappedByteBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                long position = i * SEGMENT_SIZE;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(SEGMENT_SIZE, size - position));
+            }
+            return index(file, size, lastModified, segments);
+        }
+    }
+
+    private static PromptCorpus index(Path file, long size, long lastModified, MappedByteBuffer[] segments) {
+        long[] starts = new long[1024];
+        int[] lengths = new int[1024];
+        int count = 0;
+        long lineStart = 0;
+        for (int s = 0; s < segments.length; s++) {
+            MappedByteBuffer segment = segments[s];
+            long base = s * SEGMENT_SIZE;
+            int limit = segment.limit();
+            for (int i = 0; i < limit; i++) {
+                if (segment.get(i) != '\n') {
+                    continue;
+                }
+                long end = base + i;
+                int length = trimmedLength(segments, lineStart, end);
+                if (length > 0) {
+                    if (count == starts.length) {
+                        starts = Arrays.copyOf(starts, count * 2);
+                        lengths = Arrays.copyOf(lengths, count * 2);
+                    }
+                    starts[count] = lineStart;
+                    lengths[count] = length;
+                    count++;
+                }
+                lineStart = end + 1;
+            }
+        }
+        int tail = trimmedLength(segments, lineStart, size);
+        if (tail > 0) {
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count + 1);
+                lengths = Arrays.copyOf(lengths, count + 1);
+            }
+            starts[count] = lineStart;
+            lengths[count] = tail;
+            count++;
+        }
+        return new PromptCorpus(file, size, lastModified, segments,
+                Arrays.copyOf(starts, count), Arrays.copyOf(lengths, count));
+    }
+
+    /** 去掉行尾 \r 后的长度，超过 2GB 的单行视为非法 */
+    private static int trimmedLength(MappedByteBuffer[] segments, long start, long end) {
+        long length = end - start;
+        if (length > 0 && byteAt(segments, end - 1) == '\r') {
+            length--;
+        }
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalStateException("语料单行过长，起始偏移: " + start);
+        }
+        return (int) length;
+    }
+
+    private static byte byteAt(MappedByteBuffer[] segments, long position) {
+        return segments[(int) (position / SEGMENT_SIZE)].get((int) (position % SEGMENT_SIZE));
+    }
+
+    public int lineCount() {
+        return lineStarts.length;
+    }
+
+    /** 复制第 index 行（不含换行符）的字节，跨映射段的行分两次复制 */
+    public byte[] line(int index) {
+        byte[] bytes = new byte[lineLengths[index]];
+        long position = lineStarts[index];
+        int copied = 0;
+        while (copied < bytes.length) {
+            int segment = (int) (position / SEGMENT_SIZE);
+            int offset = (int) (position % SEGMENT_SIZE);
+            int chunk = Math.min(bytes.length - copied, segments[segment].limit() - offset);
+            segments[segment].get(offset, bytes, copied, chunk);
+            copied += chunk;
+            position += chunk;
+        }
+        return bytes;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+}
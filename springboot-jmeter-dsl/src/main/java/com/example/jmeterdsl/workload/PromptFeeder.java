@@ -0,0 +1,130 @@
+package com.example.jmeterdsl.workload;
+
+import com.example.jmeterdsl.dto.DatasetFormat;
+import com.example.jmeterdsl.dto.DatasetOrder;
+import com.example.jmeterdsl.dto.PromptDataset;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.jmeter.threads.JMeterVariables;
+
+/**
+ * 单次压测的语料游标：每次迭代取一行，提取提示词后写入 JMeter 变量。
+ * 只在取用时复制单行字节，语料本身始终留在内存映射中。
+ */
+public class PromptFeeder {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final PromptCorpus corpus;
+    private final DatasetFormat format;
+    private final DatasetOrder order;
+    private final JsonPointer pointer;
+    private final int column;
+    private final int firstLine;
+    private final String variable;
+    private final boolean jsonEscape;
+    private final AtomicLong cursor = new AtomicLong();
+
+    public PromptFeeder(PromptCorpus corpus, PromptDataset dataset) {
+        this.corpus = corpus;
+        this.format = dataset.getFormat() != null ? dataset.getFormat() : inferFormat(corpus);
+        this.order = dataset.getOrder();
+        String field = dataset.getField();
+        this.pointer = JsonPointer.compile(field.startsWith("/") ? field : "/" + field);
+        this.column = dataset.getColumn();
+        this.firstLine = format == DatasetFormat.CSV && dataset.isSkipHeader() ? 1 : 0;
+        this.variable = dataset.getVariable();
+        this.jsonEscape = dataset.isJsonEscape();
+        if (corpus.lineCount() <= firstLine) {
+            throw new IllegalArgumentException("语料文件没有可用的数据行: " + corpus.getFile());
+        }
+    }
+
+    public void next(JMeterVariables vars) throws IOException {
+        vars.put(variable, nextValue());
+    }
+
+    /** 取下一条提示词（按配置做 JSON 转义），供不使用 JMeter 变量的引擎调用 */
+    public String nextValue() throws IOException {
+        String prompt = extract(corpus.line(nextIndex()));
+        return jsonEscape ? new String(JsonStringEncoder.getInstance().quoteAsString(prompt)) : prompt;
+    }
+
+    public String getVariable() {
+        return variable;
+    }
+
+    private int nextIndex() {
+        int available = corpus.lineCount() - firstLine;
+        long position = order == DatasetOrder.RANDOM
+                ? ThreadLocalRandom.current().nextInt(available)
+                : cursor.getAndIncrement() % available;
+        return firstLine + (int) position;
+    }
+
+    private String extract(byte[] line) throws IOException {
+        if (format == DatasetFormat.CSV) {
+            return csvField(new String(line, StandardCharsets.UTF_8), column);
+        }
+        JsonNode node = MAPPER.readTree(line).at(pointer);
+        if (node.isMissingNode() || node.isNull()) {
+            return "";
+        }
+        return node.isValueNode() ? node.asText() : node.toString();
+    }
+
+    /** 取第 column 列，支持双引号包裹与 "" 转义 */
+    static String csvField(String line, int column) {
+        int current = 0;
+        int i = 0;
+        int length = line.length();
+        while (i <= length) {
+            StringBuilder value = current == column ? new StringBuilder() : null;
+            if (i < length && line.charAt(i) == '"') {
+                i++;
+                while (i < length) {
+                    char c = line.charAt(i);
+                    if (c == '"') {
+                        if (i + 1 < length && line.charAt(i + 1) == '"') {
+                            append(value, '"');
+                            i += 2;
+                            continue;
+                        }
+                        i++;
+                        break;
+                    }
+                    append(value, c);
+                    i++;
+                }
+            }
+            while (i < length && line.charAt(i) != ',') {
+                append(value, line.charAt(i));
+                i++;
+            }
+            if (value != null) {
+                return value.toString();
+            }
+            current++;
+            i++;
+        }
+        return "";
+    }
+
+    private static void append(StringBuilder value, char c) {
+        if (value != null) {
+            value.append(c);
+        }
+    }
+
+    private static DatasetFormat inferFormat(PromptCorpus corpus) {
+        return corpus.getFile().getFileName().toString().toLowerCase().endsWith(".csv")
+                ? DatasetFormat.CSV
+                : DatasetFormat.JSONL;
+    }
+}
@@ -0,0 +1,40 @@
+-- 压测结果历史：每次完成的压测一行，汇总指标用于趋势查询，直方图用于离线合并/复算分位数
+CREATE TABLE IF NOT EXISTS load_test_result (
+  run_id                   VARCHAR(64)  PRIMARY KEY,
+  run_type                 VARCHAR(16)  NOT NULL,          -- LOCAL / DISTRIBUTED
+  model                    VARCHAR(128) NULL,
+  backend                  VARCHAR(64)  NULL,
+  version                  VARCHAR(64)  NULL,
+  hardware                 VARCHAR(64)  NULL,
+  labels                   VARCHAR(2000) NULL,             -- 全部标签 JSON
+  config_fingerprint       CHAR(64)     NOT NULL,          -- 压测配置（不含标签）的 SHA-256
+  load_model               VARCHAR(16)  NOT NULL,
+  threads                  INT          NOT NULL,
+  target_rps               DOUBLE       NOT NULL,
+  streaming                TINYINT(1)   NOT NULL,
+  started_at               DATETIME(3)  NULL,
+  finished_at              DATETIME(3)  NOT NULL,
+  total_samples            BIGINT       NOT NULL,
+  error_samples            BIGINT       NOT NULL,
+  error_percentage         DOUBLE       NOT NULL,
+  throughput               DOUBLE       NOT NULL,
+  mean_ms                  DOUBLE       NOT NULL,
+  min_ms                   DOUBLE       NOT NULL,
+  p50_ms                   DOUBLE       NOT NULL,
+  p90_ms                   DOUBLE       NOT NULL,
+  p95_ms                   DOUBLE       NOT NULL,
+  p99_ms                   DOUBLE       NOT NULL,
+  p999_ms                  DOUBLE       NOT NULL,
+  max_ms                   DOUBLE       NOT NULL,
+  ttft_p50_ms              DOUBLE       NULL,
+  ttft_p95_ms              DOUBLE       NULL,
+  ttft_p99_ms              DOUBLE       NULL,
+  itl_p95_ms               DOUBLE       NULL,
+  output_token_throughput  DOUBLE       NULL,
+  response_time_histogram  MEDIUMTEXT   NULL,
+  ttft_histogram           MEDIUMTEXT   NULL,
+  request_json             MEDIUMTEXT   NOT NULL,
+  KEY idx_result_labels (model, backend, version, hardware, finished_at),
+  KEY idx_result_fingerprint (config_fingerprint, finished_at),
+  KEY idx_result_finished (finished_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
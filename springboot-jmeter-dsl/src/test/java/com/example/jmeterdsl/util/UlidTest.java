@@ -0,0 +1,187 @@
+package com.example.jmeterdsl.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class UlidTest {
+
+    private static final String ENCODING = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+
+    @Test
+    void roundTripsThroughStringBytesAndBuffers() {
+        SplittableRandom random = new SplittableRandom(7);
+        long[][] cases = {{0, 0}, {-1, -1}, {1, 0}, {0, Long.MIN_VALUE}, {Long.MIN_VALUE, 1}};
+        List<long[]> values = new ArrayList<>(List.of(cases));
+        for (int i = 0; i < 10_000; i++) {
+            values.add(new long[] {random.nextLong(), random.nextLong()});
+        }
+        for (long[] value : values) {
+            long msb = value[0];
+            long lsb = value[1];
+            String ulid = Ulid.toString(msb, lsb);
+            assertThat(ulid).hasSize(Ulid.LENGTH);
+            assertThat(Ulid.msb(ulid)).isEqualTo(msb);
+            assertThat(Ulid.lsb(ulid)).isEqualTo(lsb);
+
+            char[] chars = new char[Ulid.LENGTH + 2];
+            Ulid.encode(msb, lsb, chars, 1);
+            assertThat(new String(chars, 1, Ulid.LENGTH)).isEqualTo(ulid);
+            byte[] ascii = new byte[Ulid.LENGTH + 2];
+            Ulid.encode(msb, lsb, ascii, 1);
+            assertThat(new String(ascii, 1, Ulid.LENGTH, StandardCharsets.US_ASCII)).isEqualTo(ulid);
+
+            byte[] bytes = new byte[18];
+            Ulid.toBytes(msb, lsb, bytes, 2);
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, 2, 16);
+            assertThat(buffer.getLong()).isEqualTo(msb);
+            assertThat(buffer.getLong()).isEqualTo(lsb);
+        }
+    }
+
+    @Test
+    void matchesSpecExample() {
+        // ULID 规范中的示例
+        String ulid = "01ARYZ6S41TSV4RRFFQ69G5FAV";
+        assertThat(Ulid.timestamp(Ulid.msb(ulid))).isEqualTo(1469918176385L);
+        assertThat(Ulid.toString(Ulid.msb(ulid), Ulid.lsb(ulid))).isEqualTo(ulid);
+    }
+
+    @Test
+    void boundaryCharacterSpansMsbAndLsb() {
+        // 第 13 个字符由 msb 最低位与 lsb 最高 4 位组成
+        for (int v = 0; v < 32; v++) {
+            long msb = v >>> 4;
+            long lsb = (long) (v & 15) << 60;
+            String ulid = Ulid.toString(msb, lsb);
+            assertThat(ulid.charAt(13)).isEqualTo(ENCODING.charAt(v));
+            assertThat(ulid.replace(ulid.charAt(13), '0')).isEqualTo("0".repeat(Ulid.LENGTH));
+            assertThat(Ulid.msb(ulid)).isEqualTo(msb);
+            assertThat(Ulid.lsb(ulid)).isEqualTo(lsb);
+        }
+    }
+
+    @Test
+    void decodeAcceptsLowerCaseAndCrockfordAliases() {
+        String canonical = "01ARZ3NDEKTSV4RRFFQ69G5FAV";
+        assertThat(Ulid.msb(canonical.toLowerCase())).isEqualTo(Ulid.msb(canonical));
+        assertThat(Ulid.lsb(canonical.toLowerCase())).isEqualTo(Ulid.lsb(canonical));
+
+        // Crockford 容错：I/L 视为 1，O 视为 0
+        String aliased = "0IARZ3NDEKTSV4RRFFQ69G5LAO";
+        String expected = "01ARZ3NDEKTSV4RRFFQ69G51A0";
+        assertThat(Ulid.msb(aliased)).isEqualTo(Ulid.msb(expected));
+        assertThat(Ulid.lsb(aliased)).isEqualTo(Ulid.lsb(expected));
+        assertThat(Ulid.lsb("01ARZ3NDEKTSV4RRFFQ69G5ilo")).isEqualTo(Ulid.lsb("01ARZ3NDEKTSV4RRFFQ69G5110"));
+    }
+
+    @Test
+    void decodeRejectsInvalidInput() {
+        // 首字符只能是 0 ~ 7，否则超出 128 位
+        assertThatThrownBy(() -> Ulid.msb("8ZZZZZZZZZZZZZZZZZZZZZZZZZ")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Ulid.lsb("Z0000000000000000000000000")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(Ulid.msb("7ZZZZZZZZZZZZZZZZZZZZZZZZZ")).isEqualTo(-1L);
+        // 非 Crockford 字符：U、符号与非 ASCII
+        for (String bad : new String[] {"U", "*", "-", "é", "\u0000"}) {
+            String ulid = "01ARZ3NDEKTSV4RRFFQ69G5FA" + bad;
+            assertThatThrownBy(() -> Ulid.msb(ulid)).as(ulid).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> Ulid.lsb(ulid)).as(ulid).isInstanceOf(IllegalArgumentException.class);
+        }
+        // 长度不是 26
+        for (String bad : new String[] {"", "01ARZ3NDEKTSV4RRFFQ69G5FA", "01ARZ3NDEKTSV4RRFFQ69G5FAV0"}) {
+            assertThatThrownBy(() -> Ulid.msb(bad)).as(bad).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> Ulid.lsb(bad)).as(bad).isInstanceOf(IllegalArgumentException.class);
+        }
+        assertThatThrownBy(() -> Ulid.msb(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void generatorBufferAndBinaryFormsMatchString() {
+        for (UlidGenerator generator : new UlidGenerator[] {UlidGenerator.random(), UlidGenerator.monotonic()}) {
+            for (int i = 0; i < 1000; i++) {
+                char[] chars = new char[Ulid.LENGTH + 1];
+                generator.next(chars, 1);
+                String fromChars = new String(chars, 1, Ulid.LENGTH);
+                assertThat(Ulid.toString(Ulid.msb(fromChars), Ulid.lsb(fromChars))).isEqualTo(fromChars);
+
+                byte[] ascii = new byte[Ulid.LENGTH + 1];
+                generator.next(ascii, 1);
+                String fromBytes = new String(ascii, 1, Ulid.LENGTH, StandardCharsets.US_ASCII);
+                assertThat(Ulid.toString(Ulid.msb(fromBytes), Ulid.lsb(fromBytes))).isEqualTo(fromBytes);
+
+                long[] binary = new long[3];
+                generator.next(binary, 1);
+                String encoded = Ulid.toString(binary[1], binary[2]);
+                assertThat(Ulid.msb(encoded)).isEqualTo(binary[1]);
+                assertThat(Ulid.lsb(encoded)).isEqualTo(binary[2]);
+            }
+        }
+    }
+
+    @Test
+    void runIdsAreOrderedByCreation() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            ids.add(Ids.monotonicUlid());
+        }
+        assertStrictlyIncreasing(ids);
+    }
+
+    @Test
+    void monotonicIsStrictlyIncreasingAcrossMillisecondRollover() {
+        AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+        UlidGenerator generator = UlidGenerator.monotonic(clock::get);
+        List<String> ids = new ArrayList<>();
+        for (int ms = 0; ms < 5; ms++) {
+            for (int i = 0; i < 1000; i++) {
+                ids.add(generator.next());
+            }
+            clock.incrementAndGet();
+        }
+        // 时钟回拨时沿用上次的时间戳
+        clock.addAndGet(-100);
+        ids.add(generator.next());
+        assertStrictlyIncreasing(ids);
+    }
+
+    @Test
+    void monotonicWaitsForNextMillisecondWhenSequenceRunsOut() {
+        long start = 1_700_000_000_000L;
+        AtomicInteger issued = new AtomicInteger();
+        AtomicInteger spins = new AtomicInteger();
+        // 发满 65536 个之后，时钟再被读取若干次才前进，覆盖序号用尽时的自旋等待
+        UlidGenerator generator = UlidGenerator.monotonic(
+                () -> issued.get() < 65536 || spins.incrementAndGet() < 100 ? start : start + 1);
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 65536 + 10; i++) {
+            ids.add(generator.next());
+            issued.incrementAndGet();
+        }
+        assertStrictlyIncreasing(ids);
+        assertThat(Ulid.timestamp(Ulid.msb(ids.get(65535)))).isEqualTo(start);
+        assertThat(Ulid.lsb(ids.get(65535)) & 0xFFFF).isEqualTo(0xFFFF);
+        assertThat(Ulid.timestamp(Ulid.msb(ids.get(65536)))).isEqualTo(start + 1);
+        assertThat(spins.get()).isGreaterThanOrEqualTo(100);
+    }
+
+    private static void assertStrictlyIncreasing(List<String> ids) {
+        for (int i = 1; i < ids.size(); i++) {
+            String prev = ids.get(i - 1);
+            String next = ids.get(i);
+            assertThat(next.compareTo(prev)).as("%s -> %s", prev, next).isPositive();
+            int binary = Long.compareUnsigned(Ulid.msb(next), Ulid.msb(prev));
+            if (binary == 0) {
+                binary = Long.compareUnsigned(Ulid.lsb(next), Ulid.lsb(prev));
+            }
+            assertThat(binary).as("%s -> %s", prev, next).isPositive();
+        }
+    }
+}
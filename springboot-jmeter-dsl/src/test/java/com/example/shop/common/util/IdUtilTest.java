@@ -0,0 +1,105 @@
+package com.example.shop.common.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.shop.common.util.IdUtil.Snowflake;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class IdUtilTest {
+
+    @Test
+    void snowflakeIsStrictlyIncreasingAcrossThreads() throws Exception {
+        Snowflake snowflake = new Snowflake(1, 1);
+        int threads = 8;
+        int perThread = 50_000;
+        long[][] issued = new long[threads][perThread];
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long[] ids = issued[t];
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                // 单个 nextId 与批量 nextIds 交替，两条路径共用同一个状态
+                for (int i = 0; i < perThread; i += 10) {
+                    if ((i / 10) % 2 == 0) {
+                        for (int j = 0; j < 10; j++) {
+                            ids[i + j] = snowflake.nextId();
+                        }
+                    } else {
+                        System.arraycopy(snowflake.nextIds(10), 0, ids, i, 10);
+                    }
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        Set<Long> unique = new HashSet<>();
+        for (long[] ids : issued) {
+            assertStrictlyIncreasing(ids);
+            for (long id : ids) {
+                unique.add(id);
+            }
+        }
+        assertThat(unique).hasSize(threads * perThread);
+    }
+
+    @Test
+    void snowflakeBatchSpansMillisecondBoundary() {
+        long start = 1_700_000_000_000L;
+        AtomicLong reads = new AtomicLong();
+        // 每读 3 次时钟前进 1 毫秒，批量发号必然跨越多个毫秒，并在单毫秒内用尽 4096 个序列号
+        Snowflake snowflake = new Snowflake(3, 7, () -> start + reads.getAndIncrement() / 3);
+        long[] first = snowflake.nextIds(10_000);
+        long[] second = snowflake.nextIds(5);
+        assertThat(first).hasSize(10_000);
+        assertThat(second).hasSize(5);
+        long[] all = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, all, first.length, second.length);
+        assertStrictlyIncreasing(all);
+        assertThat(Arrays.stream(all).distinct().count()).isEqualTo(all.length);
+        assertThat(Arrays.stream(first).map(id -> id >>> 22).distinct().count()).isGreaterThan(2);
+        assertThat(snowflake.nextIds(0)).isEmpty();
+    }
+
+    @Test
+    void snowflakeStaysIncreasingWhenClockGoesBackwards() {
+        long start = 1_700_000_000_000L;
+        long[] ticks = {start, start + 5, start + 1, start - 1000, start + 5, start + 3, start + 6};
+        AtomicInteger index = new AtomicInteger();
+        Snowflake snowflake = new Snowflake(0, 0, () -> ticks[Math.min(index.get(), ticks.length - 1)]);
+        long[] ids = new long[ticks.length * 3];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = snowflake.nextId();
+            if (i % 3 == 2) {
+                index.incrementAndGet();
+            }
+        }
+        assertStrictlyIncreasing(ids);
+        // 回拨期间沿用已发出的最大时间戳
+        assertThat((ids[ids.length - 4] >>> 22) + 1577836800000L).isEqualTo(start + 5);
+        assertThat((ids[ids.length - 1] >>> 22) + 1577836800000L).isEqualTo(start + 6);
+    }
+
+    private static void assertStrictlyIncreasing(long[] ids) {
+        for (int i = 1; i < ids.length; i++) {
+            assertThat(ids[i]).as("#%d", i).isGreaterThan(ids[i - 1]);
+        }
+    }
+}